@@ -33,6 +33,43 @@ tasks.test {
     useJUnitPlatform()
 }
 
+tasks.register<JavaExec>("benchmark") {
+    description = "Compares the execution engines on characteristic missions."
+    group = "verification"
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("com.example.mars.exec.ExecutionBenchmark")
+}
+
+// Opt-in vectorized instruction scanning: `./gradlew build -PvectorApi` compiles src/vector with the
+// incubating jdk.incubator.vector module and runs the application and tests with it resolved
+if (providers.gradleProperty("vectorApi").isPresent) {
+    val incubatorModules = listOf("--add-modules", "jdk.incubator.vector")
+    val vector = sourceSets.create("vector") {
+        compileClasspath += sourceSets["main"].output
+    }
+    sourceSets["test"].runtimeClasspath += vector.output
+
+    tasks.named<JavaCompile>("compileVectorJava") {
+        options.compilerArgs.addAll(incubatorModules)
+    }
+    tasks.test {
+        jvmArgs(incubatorModules)
+    }
+    tasks.named<JavaExec>("run") {
+        classpath += vector.output
+        jvmArgs(incubatorModules)
+    }
+    tasks.named<JavaExec>("benchmark") {
+        jvmArgs(incubatorModules)
+    }
+    tasks.jar {
+        from(vector.output)
+    }
+    tasks.matching { it.name == "shadowJar" }.configureEach {
+        (this as org.gradle.api.tasks.bundling.Jar).from(vector.output)
+    }
+}
+
 spotless {
     java {
         googleJavaFormat("1.17.0")
@@ -1,6 +1,9 @@
 package com.example.mars.app;
 
 import com.example.mars.exec.BoundaryPolicy;
+import com.example.mars.exec.ExecutionEngine;
+import java.nio.file.Path;
+import java.util.Locale;
 
 /**
  * Encapsulates command-line argument parsing and validation for the Mars Rover application.
@@ -14,9 +17,29 @@ import com.example.mars.exec.BoundaryPolicy;
  *   <li>{@code --ignore-oob} - Ignore out-of-bounds moves
  *   <li>{@code --stop-on-oob} - Stop rover on out-of-bounds detection
  *   <li>{@code --fail-fast} - Stop on first error (default)
- *   <li>{@code --collect-errors} - Continue processing after errors (future extension)
+ *   <li>{@code --collect-errors} - Execute every rover and report each out-of-bounds failure,
+ *       instead of stopping at the first one
+ *   <li>{@code --off-heap} - Parse the whole mission into storage outside the Java heap before
+ *       executing it
+ *   <li>{@code --collisions} - Treat the final positions of earlier rovers as obstacles for later
+ *       ones, applying the boundary policy to blocked moves
+ *   <li>{@code --input <path>} - Read the mission from a memory-mapped file instead of STDIN
+ *   <li>{@code --parallel-parse} - Parse the {@code --input} file on all cores before executing it
+ *   <li>{@code --stream-instructions} - Execute instruction lines while they are read, in constant
+ *       memory per rover; repetition syntax is not supported
+ *   <li>{@code --engine <name>} - Execute instructions with the named {@link ExecutionEngine}:
+ *       {@code interpreter} (default), {@code segments}, {@code table}, {@code chunks} or {@code
+ *       swarm}
+ *   <li>{@code --threads <n>} - Execute rovers on {@code n} threads (default 1)
+ *   <li>{@code --program-cache <entries>} - Cache the effects of up to {@code entries} distinct
+ *       instruction strings, so rovers sharing instructions execute in constant time
+ *   <li>{@code --metrics} - Report how many rovers executed without bounds checks, with the
+ *       interpreter or the program cache
  * </ul>
  *
+ * <p>Alternatively, {@code convert <text> <binary>} converts a text mission file into the binary
+ * mission format instead of executing it.
+ *
  * @see BoundaryPolicy
  * @see CliArgumentsException
  */
@@ -26,6 +49,16 @@ public class CliArguments {
   private final boolean stopOnOob;
   private final boolean failFast;
   private final boolean collectErrors;
+  private final Path inputPath;
+  private final Path convertPath;
+  private final boolean parallelParse;
+  private final boolean streamInstructions;
+  private final ExecutionEngine engine;
+  private final int threads;
+  private final int programCacheSize;
+  private final boolean metrics;
+  private final boolean offHeap;
+  private final boolean collisions;
 
   /**
    * Creates a new CliArguments instance with the specified flag settings.
@@ -34,13 +67,46 @@ public class CliArguments {
    * @param stopOnOob whether to stop on out-of-bounds detection
    * @param failFast whether to fail fast on errors
    * @param collectErrors whether to collect errors instead of failing fast
+   * @param inputPath the mission file to read, or null to read from STDIN
+   * @param convertPath the binary mission file to convert the input into, or null to execute it
+   * @param parallelParse whether to parse the input file on multiple cores
+   * @param streamInstructions whether to execute instruction lines while they are read
+   * @param engine the engine executing rover instructions
+   * @param threads the number of threads to execute rovers on
+   * @param programCacheSize the number of instruction effects to cache, or 0 for no cache
+   * @param metrics whether to report execution metrics
+   * @param offHeap whether to hold the parsed mission outside the Java heap
+   * @param collisions whether rovers at rest block the moves of later rovers
    */
   private CliArguments(
-      boolean ignoreOob, boolean stopOnOob, boolean failFast, boolean collectErrors) {
+      boolean ignoreOob,
+      boolean stopOnOob,
+      boolean failFast,
+      boolean collectErrors,
+      Path inputPath,
+      Path convertPath,
+      boolean parallelParse,
+      boolean streamInstructions,
+      ExecutionEngine engine,
+      int threads,
+      int programCacheSize,
+      boolean metrics,
+      boolean offHeap,
+      boolean collisions) {
     this.ignoreOob = ignoreOob;
     this.stopOnOob = stopOnOob;
     this.failFast = failFast;
     this.collectErrors = collectErrors;
+    this.inputPath = inputPath;
+    this.convertPath = convertPath;
+    this.parallelParse = parallelParse;
+    this.streamInstructions = streamInstructions;
+    this.engine = engine;
+    this.threads = threads;
+    this.programCacheSize = programCacheSize;
+    this.metrics = metrics;
+    this.offHeap = offHeap;
+    this.collisions = collisions;
   }
 
   /**
@@ -51,12 +117,26 @@ public class CliArguments {
    * @throws CliArgumentsException if arguments are invalid or conflicting
    */
   public static CliArguments parse(String[] args) throws CliArgumentsException {
+    if (args.length > 0 && args[0].equals("convert")) {
+      return parseConvert(args);
+    }
+
     boolean ignoreOob = false;
     boolean stopOnOob = false;
     boolean failFast = true; // default
     boolean collectErrors = false;
+    Path inputPath = null;
+    boolean parallelParse = false;
+    boolean streamInstructions = false;
+    ExecutionEngine engine = ExecutionEngine.INTERPRETER;
+    int threads = 1;
+    int programCacheSize = 0;
+    boolean metrics = false;
+    boolean offHeap = false;
+    boolean collisions = false;
 
-    for (String arg : args) {
+    for (int i = 0; i < args.length; i++) {
+      String arg = args[i];
       switch (arg) {
         case "--strict":
           ignoreOob = false;
@@ -78,12 +158,147 @@ public class CliArguments {
           failFast = false;
           collectErrors = true;
           break;
+        case "--input":
+          inputPath = Path.of(requireValue(args, ++i, arg));
+          break;
+        case "--parallel-parse":
+          parallelParse = true;
+          break;
+        case "--stream-instructions":
+          streamInstructions = true;
+          break;
+        case "--engine":
+          engine = parseEngine(requireValue(args, ++i, arg));
+          break;
+        case "--threads":
+          threads = parseThreads(requireValue(args, ++i, arg));
+          break;
+        case "--program-cache":
+          programCacheSize = parseProgramCacheSize(requireValue(args, ++i, arg));
+          break;
+        case "--metrics":
+          metrics = true;
+          break;
+        case "--off-heap":
+          offHeap = true;
+          break;
+        case "--collisions":
+          collisions = true;
+          break;
         default:
           throw new CliArgumentsException(formatUsageError("Unknown option: " + arg));
       }
     }
 
-    return new CliArguments(ignoreOob, stopOnOob, failFast, collectErrors);
+    if (parallelParse && inputPath == null) {
+      throw new CliArgumentsException(formatUsageError("--parallel-parse requires --input"));
+    }
+    if (parallelParse && streamInstructions) {
+      throw new CliArgumentsException(
+          formatUsageError("--parallel-parse cannot be combined with --stream-instructions"));
+    }
+    if (threads > 1 && streamInstructions) {
+      throw new CliArgumentsException(
+          formatUsageError("--threads cannot be combined with --stream-instructions"));
+    }
+    if (programCacheSize > 0 && streamInstructions) {
+      throw new CliArgumentsException(
+          formatUsageError("--program-cache cannot be combined with --stream-instructions"));
+    }
+    if (collectErrors && streamInstructions) {
+      throw new CliArgumentsException(
+          formatUsageError("--collect-errors cannot be combined with --stream-instructions"));
+    }
+    if (metrics && streamInstructions) {
+      throw new CliArgumentsException(
+          formatUsageError("--metrics cannot be combined with --stream-instructions"));
+    }
+    // Only the interpreter and the program cache ever skip bounds checks, and the swarm never
+    // consults the cache, so any other engine would report every rover checked
+    if (metrics && engine == ExecutionEngine.SWARM) {
+      throw new CliArgumentsException(
+          formatUsageError("--metrics cannot be combined with --engine swarm"));
+    }
+    if (metrics && engine != ExecutionEngine.INTERPRETER && programCacheSize == 0) {
+      throw new CliArgumentsException(
+          formatUsageError("--metrics requires --engine interpreter or --program-cache"));
+    }
+    if (offHeap && streamInstructions) {
+      throw new CliArgumentsException(
+          formatUsageError("--off-heap cannot be combined with --stream-instructions"));
+    }
+    if (offHeap && parallelParse) {
+      throw new CliArgumentsException(
+          formatUsageError("--off-heap cannot be combined with --parallel-parse"));
+    }
+    if (collisions) {
+      // Rovers depend on the ones before them, so they are interpreted one at a time
+      String conflict = null;
+      if (threads > 1) {
+        conflict = "--threads";
+      } else if (engine != ExecutionEngine.INTERPRETER) {
+        conflict = "--engine";
+      } else if (streamInstructions) {
+        conflict = "--stream-instructions";
+      } else if (programCacheSize > 0) {
+        conflict = "--program-cache";
+      } else if (collectErrors) {
+        conflict = "--collect-errors";
+      } else if (metrics) {
+        conflict = "--metrics";
+      }
+      if (conflict != null) {
+        throw new CliArgumentsException(
+            formatUsageError("--collisions cannot be combined with " + conflict));
+      }
+    }
+
+    return new CliArguments(
+        ignoreOob,
+        stopOnOob,
+        failFast,
+        collectErrors,
+        inputPath,
+        null,
+        parallelParse,
+        streamInstructions,
+        engine,
+        threads,
+        programCacheSize,
+        metrics,
+        offHeap,
+        collisions);
+  }
+
+  /**
+   * Parses the arguments of the {@code convert} subcommand.
+   *
+   * @param args the command-line arguments, starting with {@code convert}
+   * @return CLI arguments naming the text input and the binary output
+   * @throws CliArgumentsException if the input or output path is missing or extra arguments follow
+   */
+  private static CliArguments parseConvert(String[] args) throws CliArgumentsException {
+    if (args.length != 3) {
+      throw new CliArgumentsException(
+          formatUsageError("convert requires a text input path and a binary output path"));
+    }
+    Path text = Path.of(requireValue(args, 1, "convert"));
+    Path binary = Path.of(requireValue(args, 2, "convert"));
+    return new CliArguments(
+        false,
+        false,
+        true,
+        false,
+        text,
+        binary,
+        false,
+        false,
+        ExecutionEngine.INTERPRETER,
+        1,
+        0,
+        false,
+        false,
+        false);
   }
 
   /**
@@ -119,6 +334,167 @@ public class CliArguments {
     return collectErrors;
   }
 
+  /**
+   * Returns the mission file to read instead of STDIN, if one was given.
+   *
+   * @return the path given with {@code --input}, or null to read from STDIN
+   */
+  public Path getInputPath() {
+    return inputPath;
+  }
+
+  /**
+   * Returns whether the input file should be parsed on multiple cores.
+   *
+   * @return true if {@code --parallel-parse} was given
+   */
+  public boolean isParallelParse() {
+    return parallelParse;
+  }
+
+  /**
+   * Returns whether instruction lines should be executed while they are read.
+   *
+   * @return true if {@code --stream-instructions} was given
+   */
+  public boolean isStreamInstructions() {
+    return streamInstructions;
+  }
+
+  /**
+   * Returns the engine that executes rover instructions.
+   *
+   * @return the engine given with {@code --engine}, or the interpreter by default
+   */
+  public ExecutionEngine getEngine() {
+    return engine;
+  }
+
+  /**
+   * Returns the number of threads to execute rovers on.
+   *
+   * @return the count given with {@code --threads}, or 1 to execute rovers sequentially
+   */
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * Returns the number of instruction effects to cache.
+   *
+   * @return the capacity given with {@code --program-cache}, or 0 to execute every rover
+   */
+  public int getProgramCacheSize() {
+    return programCacheSize;
+  }
+
+  /**
+   * Returns whether execution metrics should be reported.
+   *
+   * @return true if {@code --metrics} was given
+   */
+  public boolean isMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Returns whether the parsed mission should be held outside the Java heap.
+   *
+   * @return true if {@code --off-heap} was given
+   */
+  public boolean isOffHeap() {
+    return offHeap;
+  }
+
+  /**
+   * Returns whether rovers at rest should block the moves of later rovers.
+   *
+   * @return true if {@code --collisions} was given
+   */
+  public boolean isCollisions() {
+    return collisions;
+  }
+
+  /**
+   * Returns the binary mission file to convert the input into, if the {@code convert} subcommand
+   * was given.
+   *
+   * @return the binary output path, or null to execute the mission
+   */
+  public Path getConvertPath() {
+    return convertPath;
+  }
+
+  /**
+   * Returns the value following an option that requires one.
+   *
+   * @param args the command-line arguments
+   * @param index the index of the expected value
+   * @param option the option the value belongs to
+   * @return the option value
+   * @throws CliArgumentsException if the value is missing
+   */
+  private static String requireValue(String[] args, int index, String option)
+      throws CliArgumentsException {
+    if (index >= args.length || args[index].startsWith("--")) {
+      throw new CliArgumentsException(formatUsageError("Missing value for option: " + option));
+    }
+    return args[index];
+  }
+
+  /**
+   * Parses the name of an execution engine.
+   *
+   * @param name the engine name, in any case
+   * @return the named engine
+   * @throws CliArgumentsException if no engine has that name
+   */
+  private static ExecutionEngine parseEngine(String name) throws CliArgumentsException {
+    try {
+      return ExecutionEngine.valueOf(name.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new CliArgumentsException(formatUsageError("Unknown engine: " + name));
+    }
+  }
+
+  /**
+   * Parses a thread count.
+   *
+   * @param value the thread count
+   * @return the thread count, at least 1
+   * @throws CliArgumentsException if the value is not a positive integer
+   */
+  private static int parseThreads(String value) throws CliArgumentsException {
+    try {
+      int threads = Integer.parseInt(value);
+      if (threads >= 1) {
+        return threads;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    throw new CliArgumentsException(formatUsageError("Invalid thread count: " + value));
+  }
+
+  /**
+   * Parses a program cache capacity.
+   *
+   * @param value the number of entries
+   * @return the number of entries, at least 1
+   * @throws CliArgumentsException if the value is not a positive integer
+   */
+  private static int parseProgramCacheSize(String value) throws CliArgumentsException {
+    try {
+      int entries = Integer.parseInt(value);
+      if (entries >= 1) {
+        return entries;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    throw new CliArgumentsException(formatUsageError("Invalid program cache size: " + value));
+  }
+
   /**
    * Formats a usage error message with complete usage information.
    *
@@ -127,12 +503,24 @@ public class CliArguments {
    */
   private static String formatUsageError(String errorMessage) {
     return "Usage: java -jar mars-rovers.jar [OPTIONS]\n"
+        + "       java -jar mars-rovers.jar convert <mission.txt> <mission.bin>\n"
         + "Options:\n"
         + "  --strict      Fail on out-of-bounds moves (default)\n"
         + "  --ignore-oob  Skip out-of-bounds moves\n"
         + "  --stop-on-oob Stop rover on out-of-bounds\n"
         + "  --fail-fast   Stop on first error (default)\n"
         + "  --collect-errors Continue processing after errors\n"
+        + "  --input <path> Read the mission from a text or binary file instead of STDIN\n"
+        + "  --parallel-parse Parse the --input text file on all cores\n"
+        + "  --stream-instructions Execute instructions while reading them, without repetition"
+        + " syntax\n"
+        + "  --engine <name> Execute with the interpreter (default), segments, table, chunks"
+        + " or swarm\n"
+        + "  --threads <n> Execute rovers on n threads (default 1)\n"
+        + "  --program-cache <entries> Cache the effects of repeated instruction strings\n"
+        + "  --metrics     Report how many rovers executed without bounds checks\n"
+        + "  --off-heap    Hold the parsed mission outside the Java heap\n"
+        + "  --collisions  Make rovers at rest obstacles for later rovers\n"
         + "\n"
         + errorMessage;
   }
@@ -1,17 +1,32 @@
 package com.example.mars.app;
 
+import com.example.mars.domain.InstructionProgram;
 import com.example.mars.domain.Mission;
+import com.example.mars.domain.OffHeapRoverPlans;
 import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.PackedPositions;
 import com.example.mars.domain.ParseException;
 import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import com.example.mars.exec.BoundaryPolicy;
+import com.example.mars.exec.CollisionAwareRunner;
+import com.example.mars.exec.ExecutionEngine;
+import com.example.mars.exec.ExecutionMetrics;
 import com.example.mars.exec.MissionRunner;
+import com.example.mars.exec.ProgramEffectCache;
+import com.example.mars.exec.RoverOutcome;
+import com.example.mars.exec.RunOptions;
+import com.example.mars.parse.BinaryMission;
 import com.example.mars.parse.InputParser;
-import java.io.BufferedReader;
+import com.example.mars.parse.MissionReader;
+import com.example.mars.parse.ParallelMissionParser;
+import com.example.mars.parse.StreamingMissionReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Main application class for the Mars Rover CLI. Provides command-line interface for parsing rover
@@ -24,9 +39,34 @@ import java.util.List;
  *   <li>{@code --ignore-oob} - Skip out-of-bounds moves
  *   <li>{@code --stop-on-oob} - Stop rover on out-of-bounds detection
  *   <li>{@code --fail-fast} - Stop on first error (default)
- *   <li>{@code --collect-errors} - Continue processing after errors
+ *   <li>{@code --collect-errors} - Execute every rover, printing the final positions of all of them
+ *       and an error on STDERR for each rover that failed under STRICT policy
+ *   <li>{@code --input <path>} - Read the mission from a memory-mapped file instead of STDIN
+ *   <li>{@code --parallel-parse} - Parse the {@code --input} file on all cores before executing it
+ *   <li>{@code --stream-instructions} - Execute instruction lines while they are read, in constant
+ *       memory per rover; repetition syntax is not supported
+ *   <li>{@code --engine <name>} - Execute instructions with the {@code interpreter} (default),
+ *       {@code segments}, {@code table}, {@code chunks} or {@code swarm} engine; streamed
+ *       instructions are always interpreted, and the swarm engine parses the whole mission before
+ *       executing it
+ *   <li>{@code --threads <n>} - Execute rovers on a fork/join pool of {@code n} threads, after
+ *       parsing the whole mission
+ *   <li>{@code --program-cache <entries>} - Cache the effects of repeated instruction strings and
+ *       of their fragments, specialize hot instruction strings, and report the cache's hits and
+ *       misses on STDERR
+ *   <li>{@code --metrics} - Report on STDERR how many rovers provably stayed on the plateau and
+ *       executed without bounds checks, and how many were checked; requires the interpreter or the
+ *       program cache, the only paths that skip bounds checks
+ *   <li>{@code --off-heap} - Parse the whole mission into direct buffers outside the Java heap
+ *       before executing it, so heap usage does not grow with the mission
+ *   <li>{@code --collisions} - Parse the whole mission, then execute its rovers in order with the
+ *       final position of each an obstacle for the rovers after it
  * </ul>
  *
+ * <p>{@code convert <text> <binary>} parses a text mission file once and writes it in the binary
+ * mission format. A binary mission given with {@code --input} is recognized by its magic bytes and
+ * executed straight from the mapped file, skipping text parsing altogether.
+ *
  * <p>Exit codes:
  *
  * <ul>
@@ -35,7 +75,8 @@ import java.util.List;
  *   <li>2 - Usage error (invalid command-line arguments)
  * </ul>
  *
- * <p>Input is read from STDIN and should follow the mission format:
+ * <p>Input is read from STDIN, or from the file given with {@code --input}, and should follow the
+ * mission format:
  *
  * <ol>
  *   <li>Plateau upper-right coordinates: "maxX maxY"
@@ -50,6 +91,10 @@ import java.util.List;
  *
  * @see CliArguments
  * @see InputParser
+ * @see MissionReader
+ * @see BinaryMission
+ * @see ParallelMissionParser
+ * @see StreamingMissionReader
  * @see MissionRunner
  */
 public final class Main {
@@ -79,8 +124,14 @@ public final class Main {
       // Scenario 1: Parse CLI arguments
       CliArguments cli = CliArguments.parse(args);
 
+      if (cli.getConvertPath() != null) {
+        int rovers = BinaryMission.convert(cli.getInputPath(), cli.getConvertPath());
+        System.out.println("Converted " + rovers + " rover(s) to " + cli.getConvertPath());
+        return 0;
+      }
+
       // Show prompt if reading from System.in interactively (not piped)
-      if (inputStream == System.in && System.console() != null) {
+      if (cli.getInputPath() == null && inputStream == System.in && System.console() != null) {
         System.err.println("Please input your plateau and rover commands using:");
         System.err.println("Line 1: Plateau upper-right coordinates (e.g., '5 5')");
         System.err.println("For each rover:");
@@ -90,19 +141,74 @@ public final class Main {
         System.err.println();
       }
 
-      // Read all input from input stream
-      List<String> inputLines = readFromStream(inputStream);
-
-      // Parse mission from input
-      Mission mission = InputParser.parse(inputLines);
-
-      // Execute mission with appropriate boundary policy
-      List<Position> finalPositions = MissionRunner.run(mission, cli.getBoundaryPolicy());
+      PackedPositions finalPositions;
+      ProgramEffectCache cache =
+          cli.getProgramCacheSize() > 0 ? new ProgramEffectCache(cli.getProgramCacheSize()) : null;
+      ExecutionMetrics metrics = cli.isMetrics() ? new ExecutionMetrics() : null;
+      ForkJoinPool pool = cli.getThreads() > 1 ? new ForkJoinPool(cli.getThreads()) : null;
+      RunOptions options = new RunOptions(cli.getEngine(), cache, metrics, pool);
+      List<String> errors = cli.isCollectErrors() ? new ArrayList<>() : null;
+      try {
+        if (cli.getInputPath() != null && BinaryMission.isBinary(cli.getInputPath())) {
+          // Precompiled missions are executed straight from the mapped file
+          Mission mission = BinaryMission.load(cli.getInputPath());
+          finalPositions = execute(mission, cli, options, errors);
+        } else if (cli.isStreamInstructions()) {
+          // Execute each instruction line chunk by chunk, without holding it in memory
+          StreamingMissionReader reader =
+              cli.getInputPath() != null
+                  ? StreamingMissionReader.open(cli.getInputPath())
+                  : StreamingMissionReader.open(inputStream);
+          finalPositions = runStreamingInstructions(reader, cli.getBoundaryPolicy());
+        } else if (cli.isParallelParse()) {
+          // Split the file into ranges parsed on all cores, then execute the whole mission
+          Mission mission =
+              pool != null
+                  ? ParallelMissionParser.parse(cli.getInputPath(), pool)
+                  : ParallelMissionParser.parse(cli.getInputPath());
+          finalPositions = execute(mission, cli, options, errors);
+        } else if (pool != null
+            || cli.getEngine() == ExecutionEngine.SWARM
+            || cli.isOffHeap()
+            || cli.isCollisions()) {
+          // Rovers run in parallel, in lockstep, off the heap or around each other, so the whole
+          // mission is parsed first
+          Mission mission = readMission(openInput(cli, inputStream), cli.isOffHeap());
+          finalPositions = execute(mission, cli, options, errors);
+        } else {
+          // Stream the mission from input, executing each rover as soon as its plan is parsed
+          MissionReader reader = openInput(cli, inputStream);
+          finalPositions = runStreaming(reader, cli.getBoundaryPolicy(), options, errors);
+        }
+      } finally {
+        if (pool != null) {
+          pool.shutdown();
+        }
+      }
 
       // Print final positions to STDOUT with prefix
       System.out.println("Rover(s) final position is: ");
-      for (Position position : finalPositions) {
-        System.out.println(position.x() + " " + position.y() + " " + position.heading());
+      PositionWriter.write(finalPositions, System.out);
+      if (cache != null) {
+        System.err.printf(
+            "Program cache: %d hit(s), %d miss(es), %d eviction(s)%n",
+            cache.hits(), cache.misses(), cache.evictions());
+        System.err.printf(
+            "Fragment cache: %d hit(s), %d miss(es)%n",
+            cache.fragmentHits(), cache.fragmentMisses());
+        System.err.printf("Specialized programs: %d%n", cache.specializations());
+      }
+      if (metrics != null) {
+        System.err.printf(
+            "Bounds checks: %d rover(s) unchecked, %d checked%n",
+            metrics.uncheckedRovers(), metrics.checkedRovers());
+      }
+      if (errors != null && !errors.isEmpty()) {
+        // Collected execution errors, reported as a fail-fast run reports its only one
+        for (String error : errors) {
+          System.err.println("Execution Error: " + error);
+        }
+        return 1;
       }
 
       // Return success code
@@ -136,22 +242,195 @@ public final class Main {
   }
 
   /**
-   * Reads all lines from the given input stream until EOF is reached.
+   * Executes a complete mission, spreading its rovers across the pool if the options give one.
    *
-   * @param inputStream the input stream to read from
-   * @return list of input lines from the stream
-   * @throws IOException if reading from the stream fails
+   * @param mission the mission to execute
+   * @param cli the parsed command-line arguments
+   * @param options the engine, program cache, metrics and pool to execute the rovers with
+   * @param errors the list to add the error of each failed rover to, or null to fail fast
+   * @return the final rover positions in input order
+   * @throws OutOfBoundsException if STRICT policy is used, errors are not collected and a rover
+   *     moves out of bounds
    */
-  private static List<String> readFromStream(InputStream inputStream) throws IOException {
-    List<String> lines = new ArrayList<>();
+  private static PackedPositions execute(
+      Mission mission, CliArguments cli, RunOptions options, List<String> errors)
+      throws OutOfBoundsException {
+    BoundaryPolicy policy = cli.getBoundaryPolicy();
+    if (cli.isCollisions()) {
+      return CollisionAwareRunner.run(mission, policy);
+    }
+    if (errors != null) {
+      PackedPositions finalPositions = new PackedPositions();
+      for (RoverOutcome outcome : MissionRunner.runOutcomes(mission, policy, options)) {
+        finalPositions.add(collect(outcome, errors));
+      }
+      return finalPositions;
+    }
+    return MissionRunner.run(mission, policy, options);
+  }
 
-    try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-      String line;
-      while ((line = reader.readLine()) != null) {
-        lines.add(line);
+  /**
+   * Adds the error of a rover that failed to the collected errors.
+   *
+   * @param outcome the outcome of the rover
+   * @param errors the collected errors
+   * @return the final position of the rover
+   */
+  private static Position collect(RoverOutcome outcome, List<String> errors) {
+    if (outcome.isFailed()) {
+      errors.add(outcome.failureMessage());
+    }
+    return outcome.position();
+  }
+
+  /**
+   * Reads every rover plan from the mission reader into a complete mission.
+   *
+   * @param missionReader the streaming reader to take rover plans from, closed on return
+   * @param offHeap whether to pack the plans into {@link OffHeapRoverPlans} as they are read
+   * @return the parsed mission
+   * @throws IOException if reading from the input fails
+   * @throws ParseException if the input is invalid, or uses repetition syntax off the heap
+   */
+  private static Mission readMission(MissionReader missionReader, boolean offHeap)
+      throws IOException, ParseException {
+    try (MissionReader reader = missionReader) {
+      RoverPlan plan;
+      if (offHeap) {
+        OffHeapRoverPlans.Builder plans = OffHeapRoverPlans.builder();
+        while ((plan = reader.next()) != null) {
+          if (InstructionProgram.hasRepetitions(plan.instructions())) {
+            throw new ParseException(
+                "Rover #"
+                    + reader.roverCount()
+                    + " uses repetition syntax, which off-heap missions cannot hold");
+          }
+          plans.add(plan);
+        }
+        return new Mission(reader.plateau(), plans.build());
+      }
+      List<RoverPlan> plans = new ArrayList<>();
+      while ((plan = reader.next()) != null) {
+        plans.add(plan);
       }
+      return new Mission(reader.plateau(), plans);
     }
+  }
 
-    return lines;
+  /**
+   * Opens the mission input, memory-mapping the file given with {@code --input} if present and
+   * otherwise reading from the input stream.
+   *
+   * @param cli the parsed command-line arguments
+   * @param inputStream the input stream to read from when no file is given
+   * @return a streaming reader positioned at the first rover plan
+   * @throws IOException if the input cannot be opened or read
+   * @throws ParseException if the input is empty or the plateau line is invalid
+   */
+  private static MissionReader openInput(CliArguments cli, InputStream inputStream)
+      throws IOException, ParseException {
+    if (cli.getInputPath() != null) {
+      return MissionReader.open(cli.getInputPath());
+    }
+    return MissionReader.open(new InputStreamReader(inputStream));
+  }
+
+  /**
+   * Parses rover plans one at a time from the mission reader and executes each as soon as it is
+   * read, so that only a single rover plan is held in memory at once.
+   *
+   * <p>The whole input is always parsed before an execution error is reported, so that a parse
+   * error anywhere in the input takes precedence over an out-of-bounds move, exactly as if the
+   * mission had been parsed in full before execution.
+   *
+   * @param missionReader the streaming reader to take rover plans from, closed on return
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param options the engine, program cache and metrics to execute each rover with
+   * @param errors the list to add the error of each failed rover to, or null to fail fast
+   * @return the final rover positions in input order
+   * @throws IOException if reading from the input fails
+   * @throws ParseException if the input is invalid
+   * @throws OutOfBoundsException if STRICT policy is used, errors are not collected and a rover
+   *     moves out of bounds
+   */
+  private static PackedPositions runStreaming(
+      MissionReader missionReader, BoundaryPolicy policy, RunOptions options, List<String> errors)
+      throws IOException, ParseException, OutOfBoundsException {
+    PackedPositions finalPositions = new PackedPositions();
+    OutOfBoundsException executionError = null;
+
+    try (MissionReader reader = missionReader) {
+      RoverPlan plan;
+      while ((plan = reader.next()) != null) {
+        if (executionError != null) {
+          continue; // keep validating the remaining input
+        }
+        if (errors != null) {
+          RoverOutcome outcome =
+              MissionRunner.runRoverOutcome(
+                  reader.plateau(), plan, reader.roverCount() - 1, policy, options);
+          finalPositions.add(collect(outcome, errors));
+          continue;
+        }
+        try {
+          finalPositions.add(
+              MissionRunner.runRover(
+                  reader.plateau(), plan, reader.roverCount() - 1, policy, options));
+        } catch (OutOfBoundsException e) {
+          executionError = e;
+        }
+      }
+    }
+
+    if (executionError != null) {
+      throw executionError;
+    }
+    return finalPositions;
+  }
+
+  /**
+   * Executes each rover while its instruction line is being read, so that memory use per rover is
+   * constant regardless of the length of its instructions.
+   *
+   * <p>As with {@link #runStreaming}, the whole input is parsed before an execution error is
+   * reported, so parse errors take precedence over out-of-bounds moves.
+   *
+   * @param missionReader the streaming reader to take rovers from, closed on return
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @return the final rover positions in input order
+   * @throws IOException if reading from the input fails
+   * @throws ParseException if the input is invalid
+   * @throws OutOfBoundsException if STRICT policy is used and a rover moves out of bounds
+   */
+  private static PackedPositions runStreamingInstructions(
+      StreamingMissionReader missionReader, BoundaryPolicy policy)
+      throws IOException, ParseException, OutOfBoundsException {
+    PackedPositions finalPositions = new PackedPositions();
+    OutOfBoundsException executionError = null;
+
+    try (StreamingMissionReader reader = missionReader) {
+      Position start;
+      while ((start = reader.nextRover()) != null) {
+        if (executionError != null) {
+          continue; // the reader still validates the skipped instructions
+        }
+        try {
+          finalPositions.add(
+              MissionRunner.runRover(
+                  reader.plateau(),
+                  start,
+                  reader.instructions(),
+                  reader.roverCount() - 1,
+                  policy));
+        } catch (OutOfBoundsException e) {
+          executionError = e;
+        }
+      }
+    }
+
+    if (executionError != null) {
+      throw executionError;
+    }
+    return finalPositions;
   }
 }
@@ -0,0 +1,95 @@
+package com.example.mars.app;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.PackedPositions;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Prints final rover positions one per line, as "x y heading", formatting the digits straight into
+ * a reusable byte buffer.
+ *
+ * <p>Positions are read from a {@link PackedPositions} without creating a {@link
+ * com.example.mars.domain.Position Position} or a {@link String} per rover, so printing the
+ * results of a mission of millions of rovers creates no garbage beyond its buffer.
+ */
+final class PositionWriter {
+
+  private static final int BUFFER_BYTES = 1 << 16;
+
+  /** Longest line: two coordinates of up to 11 characters, two spaces and a heading. */
+  private static final int MAX_LINE_BYTES = 11 + 1 + 11 + 1 + 1;
+
+  private static final byte[] HEADINGS = new byte[Direction.values().length];
+  private static final byte[] LINE_SEPARATOR =
+      System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+  static {
+    for (Direction heading : Direction.values()) {
+      HEADINGS[heading.ordinal()] = (byte) heading.name().charAt(0);
+    }
+  }
+
+  private final OutputStream out;
+  private final byte[] buffer = new byte[BUFFER_BYTES];
+  private int length;
+
+  private PositionWriter(OutputStream out) {
+    this.out = out;
+  }
+
+  /**
+   * Prints every position in index order and flushes the stream.
+   *
+   * @param positions the positions to print
+   * @param out the stream to print to
+   * @throws IOException if writing to the stream fails
+   */
+  static void write(PackedPositions positions, OutputStream out) throws IOException {
+    PositionWriter writer = new PositionWriter(out);
+    for (int i = 0; i < positions.size(); i++) {
+      writer.line(positions.x(i), positions.y(i), positions.heading(i));
+    }
+    writer.flush();
+  }
+
+  private void line(int x, int y, int heading) throws IOException {
+    if (length + MAX_LINE_BYTES + LINE_SEPARATOR.length > buffer.length) {
+      out.write(buffer, 0, length);
+      length = 0;
+    }
+    integer(x);
+    buffer[length++] = ' ';
+    integer(y);
+    buffer[length++] = ' ';
+    buffer[length++] = HEADINGS[heading];
+    for (byte b : LINE_SEPARATOR) {
+      buffer[length++] = b;
+    }
+  }
+
+  /** Appends the decimal digits of an integer, with a leading minus sign if it is negative. */
+  private void integer(int value) {
+    long remaining = value;
+    if (remaining < 0) {
+      buffer[length++] = '-';
+      remaining = -remaining;
+    }
+    int digits = 1;
+    for (long bound = 10; bound <= remaining; bound *= 10) {
+      digits++;
+    }
+    for (int i = length + digits - 1; i >= length; i--) {
+      buffer[i] = (byte) ('0' + remaining % 10);
+      remaining /= 10;
+    }
+    length += digits;
+  }
+
+  private void flush() throws IOException {
+    out.write(buffer, 0, length);
+    length = 0;
+    out.flush();
+  }
+}
@@ -0,0 +1,24 @@
+package com.example.mars.domain;
+
+/**
+ * Exception thrown when a rover attempts to move onto a cell where an earlier rover of the mission
+ * has come to rest, in collision-aware execution.
+ *
+ * <p>A blocked cell is handled by the boundary policy exactly as the plateau edge is, so this
+ * exception is an {@link OutOfBoundsException}, and callers handling STRICT failures report
+ * collisions alike.
+ *
+ * @see com.example.mars.exec.CollisionAwareRunner
+ */
+public class CollisionException extends OutOfBoundsException {
+
+  /**
+   * Constructs a new CollisionException with the specified detail message.
+   *
+   * @param message the detail message, identifying the rover, the occupied cell and the rover's
+   *     position before the blocked move
+   */
+  public CollisionException(String message) {
+    super(message);
+  }
+}
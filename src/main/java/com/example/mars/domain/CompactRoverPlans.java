@@ -0,0 +1,193 @@
+package com.example.mars.domain;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact, columnar in-heap storage for rover plans. Start coordinates and headings live in
+ * parallel primitive arrays and all instructions share a single arena packed two bits per
+ * instruction, indexed through an offset table. Compared with one {@link RoverPlan}, {@link
+ * Position} and {@link String} per rover this removes every per-rover object header and stores
+ * four instructions per byte.
+ *
+ * <p>Instances are immutable once built and are created with a {@link Builder}:
+ *
+ * <pre>{@code
+ * CompactRoverPlans.Builder builder = CompactRoverPlans.builder();
+ * builder.add(new RoverPlan(new Position(1, 2, Direction.N), "LMLMLMLMM"));
+ * Mission mission = new Mission(plateau, builder.build());
+ * }</pre>
+ */
+public final class CompactRoverPlans extends PackedRoverPlans {
+
+  private final int size;
+  private final int[] xs;
+  private final int[] ys;
+  private final byte[] headings;
+  private final long[] offsets;
+  private final long[] arena;
+
+  private CompactRoverPlans(
+      int size, int[] xs, int[] ys, byte[] headings, long[] offsets, long[] arena) {
+    this.size = size;
+    this.xs = xs;
+    this.ys = ys;
+    this.headings = headings;
+    this.offsets = offsets;
+    this.arena = arena;
+  }
+
+  /**
+   * Creates a builder for compact rover plans.
+   *
+   * @return an empty builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Packs the given rover plans into compact storage.
+   *
+   * @param plans the plans to pack
+   * @return compact storage holding the same plans in the same order
+   * @throws IllegalArgumentException if any instruction is not L, R or M
+   */
+  public static CompactRoverPlans of(List<RoverPlan> plans) {
+    Builder builder = builder();
+    for (RoverPlan plan : plans) {
+      builder.add(plan);
+    }
+    return builder.build();
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public int startX(int rover) {
+    return xs[rover];
+  }
+
+  @Override
+  public int startY(int rover) {
+    return ys[rover];
+  }
+
+  @Override
+  public int startHeading(int rover) {
+    return headings[rover];
+  }
+
+  @Override
+  public long instructionOffset(int rover) {
+    return offsets[rover];
+  }
+
+  @Override
+  public long instructionCount(int rover) {
+    return offsets[rover + 1] - offsets[rover];
+  }
+
+  @Override
+  public long word(long index) {
+    return arena[(int) index];
+  }
+
+  /** Accumulates rover plans into growable primitive columns. */
+  public static final class Builder {
+    private int size;
+    private int[] xs = new int[16];
+    private int[] ys = new int[16];
+    private byte[] headings = new byte[16];
+    private long[] offsets = new long[17];
+    private long[] arena = new long[16];
+    private long instructions;
+
+    private Builder() {}
+
+    /**
+     * Appends a rover plan.
+     *
+     * @param plan the plan to append
+     * @return this builder
+     * @throws IllegalArgumentException if any instruction is not L, R or M
+     */
+    public Builder add(RoverPlan plan) {
+      Position start = plan.start();
+      return add(start.x(), start.y(), start.heading(), plan.instructions());
+    }
+
+    /**
+     * Appends a rover plan given as its parts.
+     *
+     * @param x the start x-coordinate
+     * @param y the start y-coordinate
+     * @param heading the start heading
+     * @param plan the instruction sequence
+     * @return this builder
+     * @throws IllegalArgumentException if any instruction is not L, R or M
+     */
+    public Builder add(int x, int y, Direction heading, CharSequence plan) {
+      if (size == xs.length) {
+        int capacity = Math.max(16, size + (size >> 1));
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        headings = Arrays.copyOf(headings, capacity);
+        offsets = Arrays.copyOf(offsets, capacity + 1);
+      }
+
+      for (int i = 0; i < plan.length(); i++) {
+        toCode(plan.charAt(i)); // validate before anything is written
+      }
+
+      long end = instructions + plan.length();
+      ensureArena(end);
+      for (int i = 0; i < plan.length(); i++) {
+        long index = instructions + i;
+        arena[(int) (index / INSTRUCTIONS_PER_WORD)] |=
+            (long) toCode(plan.charAt(i)) << ((index % INSTRUCTIONS_PER_WORD) << 1);
+      }
+
+      xs[size] = x;
+      ys[size] = y;
+      headings[size] = (byte) heading.ordinal();
+      offsets[size + 1] = end;
+      instructions = end;
+      size++;
+      return this;
+    }
+
+    /**
+     * Builds the compact plans, trimming every column to its final size.
+     *
+     * @return the compact rover plans
+     */
+    public CompactRoverPlans build() {
+      return new CompactRoverPlans(
+          size,
+          Arrays.copyOf(xs, size),
+          Arrays.copyOf(ys, size),
+          Arrays.copyOf(headings, size),
+          Arrays.copyOf(offsets, size + 1),
+          Arrays.copyOf(arena, wordsFor(instructions)));
+    }
+
+    private void ensureArena(long instructionCount) {
+      int words = wordsFor(instructionCount);
+      if (words > arena.length) {
+        arena = Arrays.copyOf(arena, Math.max(words, arena.length + (arena.length >> 1)));
+      }
+    }
+
+    private static int wordsFor(long instructionCount) {
+      long words = wordCount(instructionCount);
+      if (words > Integer.MAX_VALUE - 8) {
+        throw new IllegalStateException("Too many instructions: " + instructionCount);
+      }
+      return (int) words;
+    }
+  }
+}
@@ -0,0 +1,215 @@
+package com.example.mars.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Instructions written with repetition syntax, parsed into a tree that can be executed without
+ * expanding the repetitions.
+ *
+ * <p>The grammar extends a plain sequence of {@code L}, {@code R} and {@code M} instructions with
+ * two forms of repetition:
+ *
+ * <ul>
+ *   <li>an instruction followed by a count repeats that instruction, e.g. {@code M500}
+ *   <li>a parenthesized sequence followed by {@code x} and a count repeats the whole sequence, e.g.
+ *       {@code (LMMRM)x1000000}; groups may be nested
+ * </ul>
+ *
+ * <p>Counts are positive decimal integers. The expanded sequence may be at most {@link
+ * Long#MAX_VALUE} instructions long.
+ */
+public final class InstructionProgram {
+
+  /** Deepest nesting of groups accepted, which bounds the recursion of parsing and execution. */
+  public static final int MAX_DEPTH = 64;
+
+  private final List<Item> items;
+  private final long length;
+
+  private InstructionProgram(List<Item> items, long length) {
+    this.items = List.copyOf(items);
+    this.length = length;
+  }
+
+  /** An element of a program: a repeated instruction or a repeated group. */
+  public sealed interface Item permits Run, Group {
+
+    /**
+     * Returns how many instructions this item expands to.
+     *
+     * @return the expanded length
+     */
+    long length();
+  }
+
+  /**
+   * An instruction repeated a number of times.
+   *
+   * @param instruction the instruction, one of L, R or M
+   * @param count the number of repetitions, at least 1
+   */
+  public record Run(char instruction, long count) implements Item {
+    @Override
+    public long length() {
+      return count;
+    }
+  }
+
+  /**
+   * A sequence of items repeated a number of times.
+   *
+   * @param body the repeated sequence
+   * @param count the number of repetitions, at least 1
+   */
+  public record Group(InstructionProgram body, long count) implements Item {
+    @Override
+    public long length() {
+      return body.length() * count;
+    }
+  }
+
+  /**
+   * Returns whether instructions use repetition syntax, that is whether they hold a count or a
+   * group. Instructions without repetition syntax are plain sequences of L, R and M.
+   *
+   * @param instructions the instructions to inspect
+   * @return true if the instructions contain a digit or a parenthesis
+   */
+  public static boolean hasRepetitions(CharSequence instructions) {
+    for (int i = 0; i < instructions.length(); i++) {
+      char c = instructions.charAt(i);
+      if (c == '(' || isDigit(c)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Parses instructions written with repetition syntax.
+   *
+   * @param instructions the instructions to parse
+   * @return the parsed program
+   * @throws InstructionSyntaxException if the instructions do not follow the grammar
+   * @throws IllegalArgumentException if the instructions are empty
+   */
+  public static InstructionProgram parse(CharSequence instructions) {
+    Parser parser = new Parser(instructions);
+    InstructionProgram program = parser.sequence(0);
+    if (parser.position < instructions.length()) {
+      throw parser.error("unexpected '" + instructions.charAt(parser.position) + "'");
+    }
+    if (program.items.isEmpty()) {
+      throw new IllegalArgumentException("Instructions cannot be empty");
+    }
+    return program;
+  }
+
+  /**
+   * Returns the items of this program in execution order.
+   *
+   * @return the unmodifiable list of items
+   */
+  public List<Item> items() {
+    return items;
+  }
+
+  /**
+   * Returns how many instructions this program expands to.
+   *
+   * @return the expanded length
+   */
+  public long length() {
+    return length;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  /** Recursive-descent parser over the instruction characters. */
+  private static final class Parser {
+    private final CharSequence text;
+    private int position;
+
+    private Parser(CharSequence text) {
+      this.text = text;
+    }
+
+    private InstructionProgram sequence(int depth) {
+      List<Item> items = new ArrayList<>();
+      long length = 0;
+      while (position < text.length()) {
+        char c = text.charAt(position);
+        Item item;
+        if (c == 'L' || c == 'R' || c == 'M') {
+          position++;
+          item = new Run(c, peekDigit() ? count() : 1);
+        } else if (c == '(') {
+          if (depth == MAX_DEPTH) {
+            throw error("groups nested more than " + MAX_DEPTH + " deep");
+          }
+          int open = position++;
+          InstructionProgram body = sequence(depth + 1);
+          if (body.items.isEmpty()) {
+            throw error("empty group");
+          }
+          if (position == text.length() || text.charAt(position) != ')') {
+            throw errorAt(open, "unclosed group");
+          }
+          position++;
+          if (position == text.length() || text.charAt(position) != 'x') {
+            throw error("expected 'x' and a count after group");
+          }
+          position++;
+          long count = count();
+          if (Long.MAX_VALUE / count < body.length) {
+            throw errorAt(open, "group expands to too many instructions");
+          }
+          item = new Group(body, count);
+        } else {
+          break;
+        }
+        if (Long.MAX_VALUE - length < item.length()) {
+          throw error("instructions expand to too many instructions");
+        }
+        length += item.length();
+        items.add(item);
+      }
+      return new InstructionProgram(items, length);
+    }
+
+    private boolean peekDigit() {
+      return position < text.length() && isDigit(text.charAt(position));
+    }
+
+    private long count() {
+      int start = position;
+      long count = 0;
+      while (peekDigit()) {
+        int digit = text.charAt(position) - '0';
+        if (count > (Long.MAX_VALUE - digit) / 10) {
+          throw errorAt(start, "count is too large");
+        }
+        count = count * 10 + digit;
+        position++;
+      }
+      if (position == start) {
+        throw error("expected a count");
+      }
+      if (count == 0) {
+        throw errorAt(start, "count must be positive");
+      }
+      return count;
+    }
+
+    private InstructionSyntaxException error(String reason) {
+      return errorAt(position, reason);
+    }
+
+    private InstructionSyntaxException errorAt(int index, String reason) {
+      return new InstructionSyntaxException(index + 1, reason);
+    }
+  }
+}
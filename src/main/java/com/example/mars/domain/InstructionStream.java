@@ -0,0 +1,23 @@
+package com.example.mars.domain;
+
+import java.io.IOException;
+
+/**
+ * Source of a single rover's instructions, delivered in chunks so that an instruction sequence of
+ * any length can be executed in constant memory.
+ *
+ * <p>Each chunk is validated before it is returned and holds only {@code L}, {@code R} and
+ * {@code M} characters. A chunk may be a reusable view that is only valid until the next call to
+ * {@link #nextChunk()}.
+ */
+public interface InstructionStream {
+
+  /**
+   * Reads the next chunk of instructions.
+   *
+   * @return the next non-empty chunk, or null once the rover's instructions are exhausted
+   * @throws ParseException if the instructions or the rover specification are invalid
+   * @throws IOException if reading from the input fails
+   */
+  CharSequence nextChunk() throws ParseException, IOException;
+}
@@ -0,0 +1,42 @@
+package com.example.mars.domain;
+
+/**
+ * Exception thrown when instructions do not follow the repetition grammar of {@link
+ * InstructionProgram}. It carries the position of the offending character and the reason apart
+ * from its message, so callers can report the error in their own words.
+ */
+public class InstructionSyntaxException extends IllegalArgumentException {
+
+  private final int character;
+  private final String reason;
+
+  /**
+   * Constructs a new InstructionSyntaxException for a character of the instructions.
+   *
+   * @param character the 1-based position of the character at which parsing failed
+   * @param reason what is wrong at that character
+   */
+  public InstructionSyntaxException(int character, String reason) {
+    super("Invalid instructions at character " + character + ": " + reason);
+    this.character = character;
+    this.reason = reason;
+  }
+
+  /**
+   * Returns the position of the character at which parsing failed.
+   *
+   * @return the 1-based character position
+   */
+  public int character() {
+    return character;
+  }
+
+  /**
+   * Returns what is wrong at the failing character.
+   *
+   * @return the reason, such as "unclosed group"
+   */
+  public String reason() {
+    return reason;
+  }
+}
@@ -0,0 +1,249 @@
+package com.example.mars.domain;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Off-heap storage for rover plans, laid out as in {@link CompactRoverPlans} but held in direct
+ * buffers outside the Java heap. Missions larger than the heap can be held in memory this way, and
+ * the garbage collector never scans or copies them, however many rovers they hold.
+ *
+ * <p>Start positions, the offset table and the instruction arena are each held in a series of
+ * equally sized direct buffers allocated as the mission grows, so no buffer is ever copied to grow
+ * and no column is limited to the 2 GB of a single buffer. Every field is naturally aligned and the
+ * buffer size is a multiple of eight, so no field straddles two buffers.
+ *
+ * <p>Direct buffers are limited in total by {@code -XX:MaxDirectMemorySize}, which defaults to the
+ * maximum heap size, and are released once the plans are no longer reachable.
+ *
+ * <pre>{@code
+ * OffHeapRoverPlans.Builder builder = OffHeapRoverPlans.builder();
+ * builder.add(new RoverPlan(new Position(1, 2, Direction.N), "LMLMLMLMM"));
+ * Mission mission = new Mission(plateau, builder.build());
+ * }</pre>
+ */
+public final class OffHeapRoverPlans extends PackedRoverPlans {
+
+  /** Base-2 logarithm of the size of each direct buffer, 1 MB. */
+  static final int DEFAULT_CHUNK_SHIFT = 20;
+
+  /** Size of each rover record: start x, y and heading ordinal, then a reserved int. */
+  private static final int RECORD_BYTES = 16;
+
+  private final int size;
+  private final Column records;
+  private final Column offsets;
+  private final Column arena;
+
+  private OffHeapRoverPlans(int size, Column records, Column offsets, Column arena) {
+    this.size = size;
+    this.records = records;
+    this.offsets = offsets;
+    this.arena = arena;
+  }
+
+  /**
+   * Creates a builder for off-heap rover plans.
+   *
+   * @return an empty builder
+   */
+  public static Builder builder() {
+    return new Builder(DEFAULT_CHUNK_SHIFT);
+  }
+
+  /**
+   * Creates a builder allocating direct buffers of the given size.
+   *
+   * @param chunkShift base-2 logarithm of the buffer size, from 4 to 30
+   * @return an empty builder
+   */
+  static Builder builder(int chunkShift) {
+    if (chunkShift < 4 || chunkShift > 30) {
+      throw new IllegalArgumentException("Chunk shift must be between 4 and 30: " + chunkShift);
+    }
+    return new Builder(chunkShift);
+  }
+
+  /**
+   * Packs the given rover plans into off-heap storage.
+   *
+   * @param plans the plans to pack
+   * @return off-heap storage holding the same plans in the same order
+   * @throws IllegalArgumentException if any instruction is not L, R or M
+   */
+  public static OffHeapRoverPlans of(List<RoverPlan> plans) {
+    Builder builder = builder();
+    for (RoverPlan plan : plans) {
+      builder.add(plan);
+    }
+    return builder.build();
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public int startX(int rover) {
+    return records.getInt((long) rover * RECORD_BYTES);
+  }
+
+  @Override
+  public int startY(int rover) {
+    return records.getInt((long) rover * RECORD_BYTES + 4);
+  }
+
+  @Override
+  public int startHeading(int rover) {
+    return records.getInt((long) rover * RECORD_BYTES + 8);
+  }
+
+  @Override
+  public long instructionOffset(int rover) {
+    return offsets.getLong((long) rover * Long.BYTES);
+  }
+
+  @Override
+  public long instructionCount(int rover) {
+    return instructionOffset(rover + 1) - instructionOffset(rover);
+  }
+
+  @Override
+  public long word(long index) {
+    return arena.getLong(index * Long.BYTES);
+  }
+
+  /** Accumulates rover plans into off-heap columns. */
+  public static final class Builder {
+    private final Column records;
+    private final Column offsets;
+    private final Column arena;
+    private int size;
+    private long instructions;
+    private long pendingWord;
+    private boolean built;
+
+    private Builder(int chunkShift) {
+      this.records = new Column(chunkShift);
+      this.offsets = new Column(chunkShift);
+      this.arena = new Column(chunkShift);
+      offsets.putLong(0, 0);
+    }
+
+    /**
+     * Appends a rover plan.
+     *
+     * @param plan the plan to append
+     * @return this builder
+     * @throws IllegalArgumentException if any instruction is not L, R or M
+     * @throws IllegalStateException if the plans have already been built
+     */
+    public Builder add(RoverPlan plan) {
+      Position start = plan.start();
+      return add(start.x(), start.y(), start.heading(), plan.instructions());
+    }
+
+    /**
+     * Appends a rover plan given as its parts.
+     *
+     * @param x the start x-coordinate
+     * @param y the start y-coordinate
+     * @param heading the start heading
+     * @param plan the instruction sequence
+     * @return this builder
+     * @throws IllegalArgumentException if any instruction is not L, R or M
+     * @throws IllegalStateException if the plans have already been built
+     */
+    public Builder add(int x, int y, Direction heading, CharSequence plan) {
+      if (built) {
+        throw new IllegalStateException("Off-heap rover plans have already been built");
+      }
+      if (size == Integer.MAX_VALUE - 8) {
+        throw new IllegalStateException("Too many rovers: " + size);
+      }
+      for (int i = 0; i < plan.length(); i++) {
+        toCode(plan.charAt(i)); // validate before anything is written
+      }
+
+      for (int i = 0; i < plan.length(); i++) {
+        int slot = (int) (instructions % INSTRUCTIONS_PER_WORD);
+        pendingWord |= (long) toCode(plan.charAt(i)) << (slot << 1);
+        instructions++;
+        if (slot == INSTRUCTIONS_PER_WORD - 1) {
+          arena.putLong((instructions / INSTRUCTIONS_PER_WORD - 1) * Long.BYTES, pendingWord);
+          pendingWord = 0;
+        }
+      }
+
+      long record = (long) size * RECORD_BYTES;
+      records.putInt(record, x);
+      records.putInt(record + 4, y);
+      records.putInt(record + 8, heading.ordinal());
+      size++;
+      offsets.putLong((long) size * Long.BYTES, instructions);
+      return this;
+    }
+
+    /**
+     * Builds the off-heap plans. The columns are handed over without copying, so a builder builds
+     * a single set of plans.
+     *
+     * @return the off-heap rover plans
+     * @throws IllegalStateException if the plans have already been built
+     */
+    public OffHeapRoverPlans build() {
+      if (built) {
+        throw new IllegalStateException("Off-heap rover plans have already been built");
+      }
+      built = true;
+      if (instructions % INSTRUCTIONS_PER_WORD != 0) {
+        arena.putLong(instructions / INSTRUCTIONS_PER_WORD * Long.BYTES, pendingWord);
+      }
+      return new OffHeapRoverPlans(size, records, offsets, arena);
+    }
+  }
+
+  /** A growable series of little-endian direct buffers addressed by a byte position. */
+  private static final class Column {
+    private final int chunkShift;
+    private final long chunkMask;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+
+    private Column(int chunkShift) {
+      this.chunkShift = chunkShift;
+      this.chunkMask = (1L << chunkShift) - 1;
+    }
+
+    private int getInt(long position) {
+      return chunk(position).getInt((int) (position & chunkMask));
+    }
+
+    private long getLong(long position) {
+      return chunk(position).getLong((int) (position & chunkMask));
+    }
+
+    private void putInt(long position, int value) {
+      allocate(position).putInt((int) (position & chunkMask), value);
+    }
+
+    private void putLong(long position, long value) {
+      allocate(position).putLong((int) (position & chunkMask), value);
+    }
+
+    private ByteBuffer chunk(long position) {
+      return chunks.get((int) (position >>> chunkShift));
+    }
+
+    /** Returns the buffer holding a position, allocating buffers up to it as needed. */
+    private ByteBuffer allocate(long position) {
+      int index = (int) (position >>> chunkShift);
+      while (chunks.size() <= index) {
+        chunks.add(ByteBuffer.allocateDirect(1 << chunkShift).order(ByteOrder.LITTLE_ENDIAN));
+      }
+      return chunks.get(index);
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package com.example.mars.domain;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * List of rover positions held in primitive arrays, for the final positions of missions with very
+ * many rovers. Each position takes a {@code long} packing its x-coordinate into the upper and its
+ * y-coordinate into the lower 32 bits, and a byte holding its heading ordinal, instead of a {@link
+ * Position} record and a reference to it.
+ *
+ * <p>Positions are read and written through primitive accessors, and visited in bulk with {@link
+ * #forEachPosition}, without a {@link Position} per rover. {@link #get(int)} acts as a flyweight
+ * view, creating a {@link Position} on demand, so the list can be used anywhere a {@code
+ * List<Position>} is expected.
+ *
+ * <p>Positions at distinct indices may be set by different threads, provided the list is read only
+ * once all writes are complete.
+ *
+ * @see PackedRoverPlans
+ */
+public final class PackedPositions extends AbstractList<Position> implements RandomAccess {
+
+  private static final Direction[] HEADINGS = Direction.values();
+
+  private long[] coordinates;
+  private byte[] headings;
+  private int size;
+
+  /** Creates an empty list that grows as positions are added. */
+  public PackedPositions() {
+    this(0, 16);
+  }
+
+  private PackedPositions(int size, int capacity) {
+    this.coordinates = new long[capacity];
+    this.headings = new byte[capacity];
+    this.size = size;
+  }
+
+  /**
+   * Creates a list of the given number of positions, each at (0, 0) facing north until it is set.
+   *
+   * @param size the number of positions
+   * @return the list of positions
+   * @throws IllegalArgumentException if the size is negative
+   */
+  public static PackedPositions ofSize(int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("Size cannot be negative: " + size);
+    }
+    return new PackedPositions(size, size);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the x-coordinate of a position.
+   *
+   * @param index zero-based position index
+   * @return the x-coordinate
+   */
+  public int x(int index) {
+    return (int) (coordinates[checkIndex(index)] >> 32);
+  }
+
+  /**
+   * Returns the y-coordinate of a position.
+   *
+   * @param index zero-based position index
+   * @return the y-coordinate
+   */
+  public int y(int index) {
+    return (int) coordinates[checkIndex(index)];
+  }
+
+  /**
+   * Returns the {@link Direction#ordinal() ordinal} of a position's heading.
+   *
+   * @param index zero-based position index
+   * @return the heading ordinal
+   */
+  public int heading(int index) {
+    return headings[checkIndex(index)];
+  }
+
+  /**
+   * Creates the position at an index.
+   *
+   * @param index zero-based position index
+   * @return the position
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  @Override
+  public Position get(int index) {
+    return new Position(x(index), y(index), HEADINGS[heading(index)]);
+  }
+
+  /**
+   * Sets the position at an index.
+   *
+   * @param index zero-based position index
+   * @param x the x-coordinate
+   * @param y the y-coordinate
+   * @param heading the heading ordinal
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public void set(int index, int x, int y, int heading) {
+    coordinates[checkIndex(index)] = pack(x, y);
+    headings[index] = (byte) heading;
+  }
+
+  /**
+   * Appends a position.
+   *
+   * @param x the x-coordinate
+   * @param y the y-coordinate
+   * @param heading the heading ordinal
+   */
+  public void add(int x, int y, int heading) {
+    if (size == coordinates.length) {
+      int capacity = Math.max(16, size + (size >> 1));
+      coordinates = Arrays.copyOf(coordinates, capacity);
+      headings = Arrays.copyOf(headings, capacity);
+    }
+    coordinates[size] = pack(x, y);
+    headings[size] = (byte) heading;
+    size++;
+  }
+
+  /**
+   * Appends a position.
+   *
+   * @param position the position to append
+   * @return true
+   */
+  @Override
+  public boolean add(Position position) {
+    add(position.x(), position.y(), position.heading().ordinal());
+    return true;
+  }
+
+  /**
+   * Passes every position to an action in index order, without creating a {@link Position} per
+   * entry.
+   *
+   * @param action the action to perform on each position
+   */
+  public void forEachPosition(PositionConsumer action) {
+    for (int i = 0; i < size; i++) {
+      long packed = coordinates[i];
+      action.accept((int) (packed >> 32), (int) packed, headings[i]);
+    }
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Position index " + index + " out of range: " + size);
+    }
+    return index;
+  }
+
+  private static long pack(int x, int y) {
+    return (long) x << 32 | (y & 0xFFFFFFFFL);
+  }
+
+  /** Receives the parts of a position. */
+  @FunctionalInterface
+  public interface PositionConsumer {
+
+    /**
+     * Performs this action on a position.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @param heading the heading ordinal
+     */
+    void accept(int x, int y, int heading);
+  }
+}
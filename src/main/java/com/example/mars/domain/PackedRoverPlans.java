@@ -0,0 +1,182 @@
+package com.example.mars.domain;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of rover plans whose instructions are packed two bits per instruction into a
+ * shared arena of 64-bit words. Each word holds 32 instructions, least significant bits first.
+ * Start positions and instruction ranges are exposed through primitive accessors so that execution
+ * can run directly over the packed form without materializing a {@link RoverPlan} per rover.
+ *
+ * <p>{@link #get(int)} acts as a flyweight view: it decodes a rover into a new {@link RoverPlan} on
+ * demand, which keeps packed storage usable anywhere a {@code List<RoverPlan>} is expected,
+ * including as the plans of a {@link Mission}.
+ *
+ * <p>Instruction codes are {@link #LEFT}, {@link #RIGHT} and {@link #MOVE}; the fourth code is
+ * unused.
+ *
+ * @see CompactRoverPlans
+ */
+public abstract class PackedRoverPlans extends AbstractList<RoverPlan> implements RandomAccess {
+
+  /** Code for an {@code L} instruction. */
+  public static final int LEFT = 0;
+
+  /** Code for an {@code R} instruction. */
+  public static final int RIGHT = 1;
+
+  /** Code for an {@code M} instruction. */
+  public static final int MOVE = 2;
+
+  /** Number of instructions held by each arena word. */
+  public static final int INSTRUCTIONS_PER_WORD = 32;
+
+  private static final Direction[] HEADINGS = Direction.values();
+
+  /**
+   * Returns the x-coordinate of a rover's start position.
+   *
+   * @param rover zero-based rover index
+   * @return the start x-coordinate
+   */
+  public abstract int startX(int rover);
+
+  /**
+   * Returns the y-coordinate of a rover's start position.
+   *
+   * @param rover zero-based rover index
+   * @return the start y-coordinate
+   */
+  public abstract int startY(int rover);
+
+  /**
+   * Returns the {@link Direction#ordinal() ordinal} of a rover's start heading.
+   *
+   * @param rover zero-based rover index
+   * @return the start heading ordinal
+   */
+  public abstract int startHeading(int rover);
+
+  /**
+   * Returns the index in the arena of a rover's first instruction.
+   *
+   * @param rover zero-based rover index
+   * @return the arena index of the rover's first instruction
+   */
+  public abstract long instructionOffset(int rover);
+
+  /**
+   * Returns the number of instructions in a rover's plan.
+   *
+   * @param rover zero-based rover index
+   * @return the instruction count
+   */
+  public abstract long instructionCount(int rover);
+
+  /**
+   * Returns an arena word holding 32 consecutive packed instructions.
+   *
+   * @param index zero-based word index
+   * @return the packed word
+   */
+  public abstract long word(long index);
+
+  /**
+   * Returns the code of the instruction at the given arena index.
+   *
+   * @param index arena index of the instruction
+   * @return one of {@link #LEFT}, {@link #RIGHT} or {@link #MOVE}
+   */
+  public final int instruction(long index) {
+    return codeAt(word(index / INSTRUCTIONS_PER_WORD), (int) (index % INSTRUCTIONS_PER_WORD));
+  }
+
+  /**
+   * Returns a rover's start position.
+   *
+   * @param rover zero-based rover index
+   * @return the start position and heading
+   */
+  public Position start(int rover) {
+    return new Position(startX(rover), startY(rover), HEADINGS[startHeading(rover)]);
+  }
+
+  /**
+   * Decodes a rover's plan into a new {@link RoverPlan}.
+   *
+   * @param rover zero-based rover index
+   * @return the decoded plan
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @throws IllegalStateException if the instructions do not fit in a {@link String}
+   */
+  @Override
+  public RoverPlan get(int rover) {
+    if (rover < 0 || rover >= size()) {
+      throw new IndexOutOfBoundsException("Rover index " + rover + " out of range: " + size());
+    }
+    long count = instructionCount(rover);
+    if (count > Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException("Rover #" + (rover + 1) + " has too many instructions");
+    }
+    long offset = instructionOffset(rover);
+    char[] instructions = new char[(int) count];
+    for (int i = 0; i < instructions.length; i++) {
+      instructions[i] = toChar(instruction(offset + i));
+    }
+    return new RoverPlan(start(rover), new String(instructions));
+  }
+
+  /**
+   * Returns the number of arena words needed to hold the given number of instructions.
+   *
+   * @param instructions the instruction count
+   * @return the word count
+   */
+  public static long wordCount(long instructions) {
+    return (instructions + INSTRUCTIONS_PER_WORD - 1) / INSTRUCTIONS_PER_WORD;
+  }
+
+  /**
+   * Extracts an instruction code from an arena word.
+   *
+   * @param word the packed word
+   * @param slot position of the instruction within the word, from 0 to 31
+   * @return the instruction code
+   */
+  public static int codeAt(long word, int slot) {
+    return (int) (word >>> (slot << 1)) & 3;
+  }
+
+  /**
+   * Encodes an instruction character.
+   *
+   * @param instruction one of {@code L}, {@code R} or {@code M}
+   * @return the instruction code
+   * @throws IllegalArgumentException if the character is not an instruction
+   */
+  public static int toCode(char instruction) {
+    return switch (instruction) {
+      case 'L' -> LEFT;
+      case 'R' -> RIGHT;
+      case 'M' -> MOVE;
+      default -> throw new IllegalArgumentException("Not an instruction: " + instruction);
+    };
+  }
+
+  /**
+   * Decodes an instruction code.
+   *
+   * @param code one of {@link #LEFT}, {@link #RIGHT} or {@link #MOVE}
+   * @return the instruction character
+   * @throws IllegalArgumentException if the code is not an instruction
+   */
+  public static char toChar(int code) {
+    return switch (code) {
+      case LEFT -> 'L';
+      case RIGHT -> 'R';
+      case MOVE -> 'M';
+      default -> throw new IllegalArgumentException("Not an instruction code: " + code);
+    };
+  }
+}
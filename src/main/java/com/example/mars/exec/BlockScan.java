@@ -0,0 +1,141 @@
+package com.example.mars.exec;
+
+import com.example.mars.domain.OutOfBoundsException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Executes a single very long instruction sequence across the workers of a fork/join pool with a
+ * parallel prefix scan over blocks of instructions.
+ *
+ * <p>The sequence is split into blocks and the {@link PathEffect} of each block, a rotation plus a
+ * translation carrying the block's relative bounding box, is computed on all workers at once.
+ * Effects compose associatively, so {@link Arrays#parallelPrefix} then yields the composed effect
+ * of every prefix of blocks. The bounding box of a prefix only grows as blocks are added, so the
+ * first block whose composed extents leave the plateau from the rover's start is found by binary
+ * search. Every block before it stays on the plateau and is applied at once.
+ *
+ * <p>From that block on, blocks are taken in order: a block whose effect fits the plateau from the
+ * rover's position is applied whole and any other is rescanned one instruction at a time, so that
+ * the boundary policy applies to the exact failing move. Under STRICT the first rescanned block
+ * holds the failing instruction, which is reported with its index in the whole sequence.
+ *
+ * <p>Results and errors are identical to the character-by-character interpreter in {@link
+ * MissionRunner}.
+ */
+public final class BlockScan {
+
+  /** Length from which a rover's instructions are worth splitting across workers. */
+  public static final int PARALLEL_THRESHOLD = 1 << 20;
+
+  /** Fewest instructions in a block, so that scheduling costs little next to scanning. */
+  static final int MIN_BLOCK = 1 << 16;
+
+  /** Blocks per worker, so that workers that finish early can steal the remaining blocks. */
+  private static final int BLOCKS_PER_WORKER = 8;
+
+  private BlockScan() {}
+
+  /**
+   * Executes an instruction sequence on a rover, computing the effects of its blocks on the pool.
+   *
+   * @param rover the rover to update, placed at its start position
+   * @param instructions the instructions to execute
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param roverIndex zero-based index of the rover, used for error reporting
+   * @param pool the pool to compute block effects on
+   * @return true if the instructions were executed, or false, leaving the rover untouched, if they
+   *     hold any character other than L, R and M
+   * @throws OutOfBoundsException if STRICT policy is used and the rover attempts an out-of-bounds
+   *     move
+   */
+  public static boolean execute(
+      RoverCursor rover,
+      CharSequence instructions,
+      BoundaryPolicy policy,
+      int roverIndex,
+      ForkJoinPool pool)
+      throws OutOfBoundsException {
+    int length = instructions.length();
+    int blocks =
+        (int)
+            Math.max(
+                1, Math.min((long) pool.getParallelism() * BLOCKS_PER_WORKER, length / MIN_BLOCK));
+    int[] ends = new int[blocks];
+    for (int block = 0; block < blocks; block++) {
+      ends[block] = (int) ((long) length * (block + 1) / blocks);
+    }
+
+    PathEffect[] effects = new PathEffect[blocks];
+    pool.invoke(new BlockEffectsTask(instructions, ends, effects, 0, blocks));
+    for (PathEffect effect : effects) {
+      if (effect == null) {
+        return false;
+      }
+    }
+
+    PathEffect[] prefixes = effects.clone();
+    pool.submit(() -> Arrays.parallelPrefix(prefixes, PathEffect::then)).join();
+
+    // The first block whose composed extents leave the plateau
+    int low = 0;
+    int high = blocks;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (prefixes[middle].fits(rover)) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    if (low > 0) {
+      prefixes[low - 1].applyTo(rover);
+    }
+
+    int start = low == 0 ? 0 : ends[low - 1];
+    for (int block = low; block < blocks; block++) {
+      if (effects[block].fits(rover)) {
+        effects[block].applyTo(rover);
+      } else {
+        if (policy.interpret(rover, instructions, start, ends[block], roverIndex)
+            == BoundaryPolicy.STOPPED) {
+          return true;
+        }
+      }
+      start = ends[block];
+    }
+    return true;
+  }
+
+  /** Computes the effects of a range of blocks, splitting it in halves across the pool. */
+  private static final class BlockEffectsTask extends RecursiveAction {
+    private final CharSequence instructions;
+    private final int[] ends;
+    private final PathEffect[] effects;
+    private final int from;
+    private final int to;
+
+    private BlockEffectsTask(
+        CharSequence instructions, int[] ends, PathEffect[] effects, int from, int to) {
+      this.instructions = instructions;
+      this.ends = ends;
+      this.effects = effects;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > 1) {
+        int middle = (from + to) >>> 1;
+        invokeAll(
+            new BlockEffectsTask(instructions, ends, effects, from, middle),
+            new BlockEffectsTask(instructions, ends, effects, middle, to));
+        return;
+      }
+      int start = from == 0 ? 0 : ends[from - 1];
+      effects[from] = PathEffect.of(instructions, start, ends[from]);
+    }
+  }
+}
@@ -1,9 +1,19 @@
 package com.example.mars.exec;
 
+import com.example.mars.domain.CollisionException;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.Position;
+
 /**
  * Defines policies for handling out-of-bounds (OOB) rover movements during mission execution. These
  * policies determine the behavior when a rover attempts to move beyond the defined plateau
  * boundaries, enabling different safety and operational modes for mission control.
+ *
+ * <p>Each policy is a strategy supplying its own handling of a {@link #blocked blocked move} and
+ * its own {@link #interpret interpreter loop}. Since a run uses a single policy, the engines' calls
+ * into it only ever see one implementation, and each loop is compiled without any branch on the
+ * policy. A new policy is added as a new constant implementing both methods, without touching the
+ * engines.
  */
 public enum BoundaryPolicy {
   /**
@@ -11,19 +21,167 @@ public enum BoundaryPolicy {
    * exception, preventing the rover from executing invalid moves and maintaining strict adherence
    * to the defined operational area.
    */
-  STRICT,
+  STRICT {
+    @Override
+    boolean blocked(RoverCursor rover, int roverIndex, long instructionIndex, long moves)
+        throws OutOfBoundsException {
+      throw MissionRunner.outOfBounds(rover.position(), roverIndex, instructionIndex);
+    }
+
+    @Override
+    boolean collided(RoverCursor rover, int roverIndex, long instructionIndex, int x, int y)
+        throws OutOfBoundsException {
+      Position from = rover.position();
+      throw new CollisionException(
+          String.format(
+              "Rover #%d instruction %d collides with a rover at (%d,%d) from (%d,%d,%s)",
+              roverIndex + 1,
+              instructionIndex + 1,
+              x,
+              y,
+              from.x(),
+              from.y(),
+              from.heading()));
+    }
+
+    @Override
+    int interpret(RoverCursor rover, CharSequence instructions, int from, int to, int roverIndex)
+        throws OutOfBoundsException {
+      for (int i = from; i < to; i++) {
+        switch (instructions.charAt(i)) {
+          case 'L' -> rover.turnLeft();
+          case 'R' -> rover.turnRight();
+          case 'M' -> {
+            if (!rover.move()) {
+              throw MissionRunner.outOfBounds(rover.position(), roverIndex, i);
+            }
+          }
+          default -> {
+            return i;
+          }
+        }
+      }
+      return to;
+    }
+  },
 
   /**
    * Ignore boundary violations. Out-of-bounds moves are silently ignored, allowing the rover to
    * continue operation without executing the invalid move. The rover remains at its current
    * position when an OOB move is attempted.
    */
-  IGNORE,
+  IGNORE {
+    @Override
+    boolean blocked(RoverCursor rover, int roverIndex, long instructionIndex, long moves) {
+      // Skip this move, continue to next instruction
+      rover.ignore(moves);
+      return true;
+    }
+
+    @Override
+    int interpret(RoverCursor rover, CharSequence instructions, int from, int to, int roverIndex) {
+      for (int i = from; i < to; i++) {
+        switch (instructions.charAt(i)) {
+          case 'L' -> rover.turnLeft();
+          case 'R' -> rover.turnRight();
+          case 'M' -> {
+            if (!rover.move()) {
+              rover.ignore(1);
+            }
+          }
+          default -> {
+            return i;
+          }
+        }
+      }
+      return to;
+    }
+  },
 
   /**
    * Stop mission execution on out-of-bounds detection. When an OOB move is encountered, the entire
    * mission is halted, preventing any further rover commands from being executed. This provides
    * maximum safety by ensuring no unintended operations occur.
    */
-  STOP_ON_OOB
+  STOP_ON_OOB {
+    @Override
+    boolean blocked(RoverCursor rover, int roverIndex, long instructionIndex, long moves) {
+      // Stop processing instructions for this rover
+      rover.stop(instructionIndex);
+      return false;
+    }
+
+    @Override
+    int interpret(RoverCursor rover, CharSequence instructions, int from, int to, int roverIndex) {
+      for (int i = from; i < to; i++) {
+        switch (instructions.charAt(i)) {
+          case 'L' -> rover.turnLeft();
+          case 'R' -> rover.turnRight();
+          case 'M' -> {
+            if (!rover.move()) {
+              rover.stop(i);
+              return STOPPED;
+            }
+          }
+          default -> {
+            return i;
+          }
+        }
+      }
+      return to;
+    }
+  };
+
+  /** Returned by {@link #interpret} when the rover stopped at a blocked move. */
+  static final int STOPPED = -1;
+
+  /**
+   * Applies this policy to a move that would leave the plateau, leaving the rover where it is and
+   * noting on it whether it stopped or how many moves it ignored.
+   *
+   * @param rover the rover whose move was blocked
+   * @param roverIndex zero-based index of the rover, used for error reporting
+   * @param instructionIndex zero-based index of the blocked move, used for error reporting
+   * @param moves the number of moves blocked: the blocked move and the rest of its run, for engines
+   *     that evaluate runs of moves at once
+   * @return false if the rover must stop processing further instructions
+   * @throws OutOfBoundsException if this policy reports out-of-bounds moves as errors
+   */
+  abstract boolean blocked(RoverCursor rover, int roverIndex, long instructionIndex, long moves)
+      throws OutOfBoundsException;
+
+  /**
+   * Applies this policy to a move onto a cell where another rover rests, in collision-aware
+   * execution. The move is skipped or stops the rover exactly as a move off the plateau would.
+   *
+   * @param rover the rover whose move was blocked
+   * @param roverIndex zero-based index of the rover, used for error reporting
+   * @param instructionIndex zero-based index of the blocked move, used for error reporting
+   * @param x the x-coordinate of the occupied cell
+   * @param y the y-coordinate of the occupied cell
+   * @return false if the rover must stop processing further instructions
+   * @throws CollisionException if this policy reports blocked moves as errors
+   * @see CollisionAwareRunner
+   */
+  boolean collided(RoverCursor rover, int roverIndex, long instructionIndex, int x, int y)
+      throws OutOfBoundsException {
+    return blocked(rover, roverIndex, instructionIndex, 1);
+  }
+
+  /**
+   * Interprets a range of instructions one character at a time with a loop specialized for this
+   * policy, stopping before the first character other than L, R and M.
+   *
+   * @param rover the rover to update
+   * @param instructions the instructions holding the range
+   * @param from index of the first instruction to execute
+   * @param to index following the last instruction to execute
+   * @param roverIndex zero-based index of the rover, used for error reporting
+   * @return {@code to} if every instruction executed, {@link #STOPPED} if the rover stopped at a
+   *     blocked move, or else the index of the first character other than L, R and M
+   * @throws OutOfBoundsException if this policy reports out-of-bounds moves as errors
+   */
+  abstract int interpret(
+      RoverCursor rover, CharSequence instructions, int from, int to, int roverIndex)
+      throws OutOfBoundsException;
 }
@@ -0,0 +1,225 @@
+package com.example.mars.exec;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.PackedRoverPlans;
+
+/**
+ * Executes instructions eight at a time through a precomputed table of chunk effects, so that a
+ * rover away from the plateau edges advances a whole chunk with a single lookup.
+ *
+ * <p>For every sequence of {@value #CHUNK} instructions, of which there are {@code 3^8 = 6561}, and
+ * every start heading, the table holds the final heading, the displacement and the bounding box of
+ * every position visited, relative to the start position. A chunk whose bounding box fits on the
+ * plateau from the rover's position cannot meet an edge, so it is applied at once whatever the
+ * boundary policy. Otherwise, near an edge or around an invalid character, the chunk is executed
+ * one instruction at a time exactly as by the interpreter.
+ *
+ * <p>Each entry packs into a single int, so the whole table takes about 100 KB. Packed instructions
+ * are aligned to arena words, so each 16-bit quarter of a word is one chunk whose key is read
+ * through a 256-entry table per byte without decoding instructions.
+ *
+ * <p>Results and errors are identical to the character-by-character interpreter in {@link
+ * MissionRunner}.
+ */
+public final class ChunkTable {
+
+  /** Number of instructions in a chunk. */
+  static final int CHUNK = 8;
+
+  /** Number of distinct chunks of L, R and M instructions. */
+  private static final int CHUNKS = 6561;
+
+  /** Effect of each chunk, indexed by {@code heading * CHUNKS + key}. */
+  private static final int[] EFFECTS = new int[4 * CHUNKS];
+
+  /**
+   * Base-3 key of each byte of four packed instruction codes, or -1 if the byte holds the unused
+   * code.
+   */
+  private static final int[] BYTE_KEYS = new int[256];
+
+  // Layout of an effect: the next heading, then the displacement biased by CHUNK, then the
+  // distances from the start to the west, east, south and north sides of the bounding box
+  private static final int DX_SHIFT = 2;
+  private static final int DY_SHIFT = 7;
+  private static final int WEST_SHIFT = 12;
+  private static final int EAST_SHIFT = 16;
+  private static final int SOUTH_SHIFT = 20;
+  private static final int NORTH_SHIFT = 24;
+
+  static {
+    Direction[] headings = Direction.values();
+    for (Direction start : headings) {
+      for (int key = 0; key < CHUNKS; key++) {
+        EFFECTS[start.ordinal() * CHUNKS + key] = effect(start, key);
+      }
+    }
+
+    for (int codes = 0; codes < BYTE_KEYS.length; codes++) {
+      int key = 0;
+      for (int slot = 3; slot >= 0 && key >= 0; slot--) {
+        int code = codes >>> (slot << 1) & 3;
+        key = code == TransitionTable.INVALID ? -1 : key * 3 + code;
+      }
+      BYTE_KEYS[codes] = key;
+    }
+  }
+
+  private ChunkTable() {}
+
+  /**
+   * Executes an instruction sequence on a rover, applying the boundary policy to out-of-bounds
+   * moves.
+   *
+   * <p>Execution stops at the first character that is not an instruction and returns its index,
+   * leaving the caller to report it or to execute the sequence some other way, for instance as
+   * repetition syntax.
+   *
+   * @param rover the rover to update, placed at its start position
+   * @param instructions the instructions to execute
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param roverIndex zero-based index of the rover, used for error reporting
+   * @return the index of the first invalid character, or -1 if every instruction executed or the
+   *     rover stopped under STOP_ON_OOB
+   * @throws OutOfBoundsException if STRICT policy is used and the rover attempts an out-of-bounds
+   *     move
+   */
+  public static int execute(
+      RoverCursor rover, CharSequence instructions, BoundaryPolicy policy, int roverIndex)
+      throws OutOfBoundsException {
+    int length = instructions.length();
+    int i = 0;
+    while (i < length) {
+      if (length - i >= CHUNK) {
+        int key = 0;
+        int invalid = 0;
+        for (int k = CHUNK - 1; k >= 0; k--) {
+          int code = TransitionTable.code(instructions.charAt(i + k));
+          invalid |= code & code >> 1;
+          key = key * 3 + code;
+        }
+        if (invalid == 0 && apply(rover, key)) {
+          i += CHUNK;
+          continue;
+        }
+      }
+
+      // Near an edge, or around an invalid character: one instruction at a time
+      int end = Math.min(i + CHUNK, length);
+      for (; i < end; i++) {
+        char instruction = instructions.charAt(i);
+        if (TransitionTable.code(instruction) == TransitionTable.INVALID) {
+          return i;
+        }
+        if (!MissionRunner.step(rover, instruction, policy, roverIndex, i)) {
+          return -1;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Executes the instructions of one rover held in packed form, reading chunk keys straight from
+   * the arena words.
+   *
+   * @param rover the rover to update, placed at its start position
+   * @param plans the packed rover plans
+   * @param roverIndex zero-based index of the rover to execute, also used for error reporting
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @throws OutOfBoundsException if STRICT policy is used and the rover attempts an out-of-bounds
+   *     move
+   */
+  public static void execute(
+      RoverCursor rover, PackedRoverPlans plans, int roverIndex, BoundaryPolicy policy)
+      throws OutOfBoundsException {
+    long offset = plans.instructionOffset(roverIndex);
+    long count = plans.instructionCount(roverIndex);
+    long instructionIndex = 0;
+    while (instructionIndex < count) {
+      long index = offset + instructionIndex;
+      int slot = (int) (index % PackedRoverPlans.INSTRUCTIONS_PER_WORD);
+      if (slot % CHUNK == 0 && count - instructionIndex >= CHUNK) {
+        long word = plans.word(index / PackedRoverPlans.INSTRUCTIONS_PER_WORD);
+        int codes = (int) (word >>> (slot << 1)) & 0xFFFF;
+        int low = BYTE_KEYS[codes & 0xFF];
+        int high = BYTE_KEYS[codes >>> 8];
+        if ((low | high) >= 0 && apply(rover, low + 81 * high)) {
+          instructionIndex += CHUNK;
+          continue;
+        }
+      }
+
+      // Near an edge, or up to the next chunk boundary: one instruction at a time
+      long end = Math.min(count, instructionIndex + CHUNK - slot % CHUNK);
+      for (; instructionIndex < end; instructionIndex++) {
+        index = offset + instructionIndex;
+        long word = plans.word(index / PackedRoverPlans.INSTRUCTIONS_PER_WORD);
+        int code =
+            PackedRoverPlans.codeAt(word, (int) (index % PackedRoverPlans.INSTRUCTIONS_PER_WORD));
+        char instruction = PackedRoverPlans.toChar(code);
+        if (!MissionRunner.step(rover, instruction, policy, roverIndex, instructionIndex)) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Applies a chunk to the rover if its bounding box fits on the plateau.
+   *
+   * @param rover the rover to update
+   * @param key the base-3 key of the chunk
+   * @return true if the chunk was applied, false if it might meet an edge
+   */
+  private static boolean apply(RoverCursor rover, int key) {
+    int effect = EFFECTS[rover.heading() * CHUNKS + key];
+    int x = rover.x();
+    int y = rover.y();
+    // In long arithmetic, as the extents of a rover at the edge of a vast plateau overflow an int
+    if ((long) x - (effect >>> WEST_SHIFT & 15) < 0
+        || (long) x + (effect >>> EAST_SHIFT & 15) > rover.maxX()
+        || (long) y - (effect >>> SOUTH_SHIFT & 15) < 0
+        || (long) y + (effect >>> NORTH_SHIFT & 15) > rover.maxY()) {
+      return false;
+    }
+    rover.update(
+        x + (effect >>> DX_SHIFT & 31) - CHUNK,
+        y + (effect >>> DY_SHIFT & 31) - CHUNK,
+        effect & 3);
+    return true;
+  }
+
+  /** Computes the packed effect of a chunk from a start heading, following {@link Direction}. */
+  private static int effect(Direction start, int key) {
+    Direction heading = start;
+    int x = 0;
+    int y = 0;
+    int west = 0;
+    int east = 0;
+    int south = 0;
+    int north = 0;
+    for (int k = 0; k < CHUNK; k++, key /= 3) {
+      switch (key % 3) {
+        case PackedRoverPlans.LEFT -> heading = heading.rotateLeft();
+        case PackedRoverPlans.RIGHT -> heading = heading.rotateRight();
+        default -> {
+          x += heading.dx();
+          y += heading.dy();
+          west = Math.max(west, -x);
+          east = Math.max(east, x);
+          south = Math.max(south, -y);
+          north = Math.max(north, y);
+        }
+      }
+    }
+    return heading.ordinal()
+        | (x + CHUNK) << DX_SHIFT
+        | (y + CHUNK) << DY_SHIFT
+        | west << WEST_SHIFT
+        | east << EAST_SHIFT
+        | south << SOUTH_SHIFT
+        | north << NORTH_SHIFT;
+  }
+}
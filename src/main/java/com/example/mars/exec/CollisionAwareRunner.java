@@ -0,0 +1,189 @@
+package com.example.mars.exec;
+
+import com.example.mars.domain.CollisionException;
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.InstructionProgram;
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.PackedPositions;
+import com.example.mars.domain.PackedRoverPlans;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.RoverPlan;
+
+/**
+ * Executes the rovers of a mission in order, with every rover that has come to rest an obstacle
+ * for the rovers after it.
+ *
+ * <p>Each rover moves as in {@link MissionRunner}, except that a move onto a cell where an earlier
+ * rover rests is blocked, and the boundary policy decides what happens, as at the plateau edge:
+ * STRICT fails with a {@link CollisionException}, IGNORE skips the move and STOP_ON_OOB stops the
+ * rover. Only final positions are obstacles: rovers never meet while moving, since each one moves
+ * only once all rovers before it have finished. A rover may start on an occupied cell, and rests
+ * there if it does not move away.
+ *
+ * <p>Occupied cells are held in an {@link OccupancyIndex} chosen from the plateau size and the
+ * number of rovers, so every move costs one constant-time lookup whether the plateau is small or
+ * vast and sparsely occupied. Since each rover depends on the ones before it, rovers execute one
+ * at a time, with the interpreter; repetition syntax executes expanded.
+ */
+public final class CollisionAwareRunner {
+
+  private static final int[] DX = new int[4];
+  private static final int[] DY = new int[4];
+
+  static {
+    for (Direction heading : Direction.values()) {
+      DX[heading.ordinal()] = heading.dx();
+      DY[heading.ordinal()] = heading.dy();
+    }
+  }
+
+  private CollisionAwareRunner() {}
+
+  /**
+   * Executes every rover of a mission in order, each blocked by the final positions of the rovers
+   * before it.
+   *
+   * @param mission the mission containing plateau and rover plans to execute
+   * @param policy the policy for handling moves off the plateau or onto an occupied cell
+   * @return the final rover positions in input order, one per rover plan
+   * @throws OutOfBoundsException if STRICT policy is used and a rover attempts an out-of-bounds
+   *     move, or a {@link CollisionException} if it attempts to move onto an occupied cell
+   * @throws IllegalArgumentException if an invalid instruction character is encountered
+   */
+  public static PackedPositions run(Mission mission, BoundaryPolicy policy)
+      throws OutOfBoundsException {
+    int rovers = mission.plans().size();
+    return run(mission, policy, OccupancyIndex.forPlateau(mission.plateau(), rovers));
+  }
+
+  /**
+   * Executes every rover of a mission in order, with the occupied cells held in the given index.
+   *
+   * @param mission the mission containing plateau and rover plans to execute
+   * @param policy the policy for handling moves off the plateau or onto an occupied cell
+   * @param occupancy an empty index of the mission's plateau
+   * @return the final rover positions in input order, one per rover plan
+   * @throws OutOfBoundsException if STRICT policy is used and a rover's move is blocked
+   */
+  static PackedPositions run(Mission mission, BoundaryPolicy policy, OccupancyIndex occupancy)
+      throws OutOfBoundsException {
+    Plateau plateau = mission.plateau();
+    PackedRoverPlans packed = mission.plans() instanceof PackedRoverPlans plans ? plans : null;
+    PackedPositions finalPositions = PackedPositions.ofSize(mission.plans().size());
+    RoverCursor rover = new RoverCursor(plateau);
+
+    for (int roverIndex = 0; roverIndex < finalPositions.size(); roverIndex++) {
+      if (packed != null) {
+        rover.reset(
+            packed.startX(roverIndex), packed.startY(roverIndex), packed.startHeading(roverIndex));
+        long offset = packed.instructionOffset(roverIndex);
+        long count = packed.instructionCount(roverIndex);
+        for (long i = 0; i < count; i++) {
+          char instruction = PackedRoverPlans.toChar(packed.instruction(offset + i));
+          if (!step(rover, instruction, policy, occupancy, roverIndex, i)) {
+            break;
+          }
+        }
+      } else {
+        RoverPlan plan = mission.plans().get(roverIndex);
+        execute(rover.reset(plan.start()), plan.instructions(), policy, occupancy, roverIndex);
+      }
+
+      // A rover resting off the plateau, where it may have been placed, blocks no move
+      if (plateau.contains(rover.x(), rover.y())) {
+        occupancy.occupy(rover.x(), rover.y());
+      }
+      finalPositions.set(roverIndex, rover.x(), rover.y(), rover.heading());
+    }
+
+    return finalPositions;
+  }
+
+  /** Executes a rover's instructions, expanding any repetitions one instruction at a time. */
+  private static void execute(
+      RoverCursor rover,
+      String instructions,
+      BoundaryPolicy policy,
+      OccupancyIndex occupancy,
+      int roverIndex)
+      throws OutOfBoundsException {
+    if (InstructionProgram.hasRepetitions(instructions)) {
+      InstructionProgram program;
+      try {
+        program = InstructionProgram.parse(instructions);
+      } catch (IllegalArgumentException e) {
+        program = null; // rejected below, at its first invalid character
+      }
+      if (program != null) {
+        execute(rover, program, 0, policy, occupancy, roverIndex);
+        return;
+      }
+    }
+    for (int i = 0; i < instructions.length(); i++) {
+      if (!step(rover, instructions.charAt(i), policy, occupancy, roverIndex, i)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Executes a parsed program from the given instruction index.
+   *
+   * @return the index following the program's last instruction, or -1 if the rover stopped
+   */
+  private static long execute(
+      RoverCursor rover,
+      InstructionProgram program,
+      long instructionIndex,
+      BoundaryPolicy policy,
+      OccupancyIndex occupancy,
+      int roverIndex)
+      throws OutOfBoundsException {
+    long index = instructionIndex;
+    for (InstructionProgram.Item item : program.items()) {
+      switch (item) {
+        case InstructionProgram.Run run -> {
+          for (long i = 0; i < run.count(); i++) {
+            if (!step(rover, run.instruction(), policy, occupancy, roverIndex, index++)) {
+              return -1;
+            }
+          }
+        }
+        case InstructionProgram.Group group -> {
+          for (long i = 0; i < group.count(); i++) {
+            index = execute(rover, group.body(), index, policy, occupancy, roverIndex);
+            if (index < 0) {
+              return -1;
+            }
+          }
+        }
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Executes a single instruction, applying the policy to a move onto an occupied cell before
+   * executing it as {@link MissionRunner} would.
+   *
+   * @return false if the rover must stop processing further instructions
+   */
+  private static boolean step(
+      RoverCursor rover,
+      char instruction,
+      BoundaryPolicy policy,
+      OccupancyIndex occupancy,
+      int roverIndex,
+      long instructionIndex)
+      throws OutOfBoundsException {
+    if (instruction == 'M') {
+      int x = rover.x() + DX[rover.heading()];
+      int y = rover.y() + DY[rover.heading()];
+      if (occupancy.isOccupied(x, y)) {
+        return policy.collided(rover, roverIndex, instructionIndex, x, y);
+      }
+    }
+    return MissionRunner.step(rover, instruction, policy, roverIndex, instructionIndex);
+  }
+}
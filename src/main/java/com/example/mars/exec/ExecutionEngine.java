@@ -0,0 +1,44 @@
+package com.example.mars.exec;
+
+/**
+ * Selects how {@link MissionRunner} executes rover instructions. All engines produce the same final
+ * positions and report the same errors; they differ only in how the work is done, and so in which
+ * instruction sequences they execute fastest.
+ */
+public enum ExecutionEngine {
+  /**
+   * Interprets instructions one character at a time. Suits short instruction sequences, which it
+   * executes without any preparation or allocation.
+   */
+  INTERPRETER,
+
+  /**
+   * Compiles each rover's instructions into a {@link SegmentProgram} of straight-line move runs and
+   * evaluates each run in constant time. Suits move-heavy sequences, which execute in time
+   * proportional to their number of turns.
+   */
+  SEGMENTS,
+
+  /**
+   * Executes instructions one at a time as a state machine over the precomputed {@link
+   * TransitionTable}, looking up the next heading and move delta of each instruction instead of
+   * branching on it. Suits long, turn-heavy sequences that the segments engine cannot shorten.
+   */
+  TABLE,
+
+  /**
+   * Executes instructions eight at a time through the precomputed {@link ChunkTable} of chunk
+   * effects, applying each chunk that stays clear of the plateau edges with a single lookup and
+   * executing the rest one instruction at a time. Suits long sequences on large plateaus, where
+   * rovers spend most of their time away from the edges.
+   */
+  CHUNKS,
+
+  /**
+   * Executes a whole mission in lockstep blocks of rovers with the {@link LockstepSwarm}, advancing
+   * every rover of a block by one instruction per step over arrays of coordinates and headings.
+   * Suits missions of very many rovers with short instruction sequences. Single rovers, such as
+   * rovers executed as they are read, are interpreted.
+   */
+  SWARM
+}
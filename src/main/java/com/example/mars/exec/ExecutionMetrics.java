@@ -0,0 +1,61 @@
+package com.example.mars.exec;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how rovers were executed, so that the share of rovers taking the fast path can be
+ * monitored.
+ *
+ * <p>Before a rover executes, {@link MissionRunner} checks whether its path provably stays on the
+ * plateau: either its instruction count is within the rover's {@link RoverCursor#margin() margin}
+ * from the nearest edge, or the bounding box of its cached {@link PathEffect} fits the plateau from
+ * its start. Such a rover executes without any bounds checks and is counted as unchecked. Every
+ * other rover executes with the policy-aware, bounds-checked loop of its engine and is counted as
+ * checked.
+ *
+ * <p>The margin test costs constant time but only proves short paths, and only the interpreter
+ * takes it. A rover near an edge is proven only by a cached bounding box: without a cache, finding
+ * the box would take a pass over the instructions as long as the checked loop it would save. With
+ * no cache, the other engines therefore count every rover as checked. The cache holds instruction
+ * strings only, so packed plans are proven by the margin test alone.
+ *
+ * <p>Metrics are thread-safe and may be shared by the workers of a parallel run.
+ */
+public final class ExecutionMetrics {
+
+  private final LongAdder uncheckedRovers = new LongAdder();
+  private final LongAdder checkedRovers = new LongAdder();
+
+  /** Records a rover executed without bounds checks. */
+  void recordUnchecked() {
+    uncheckedRovers.increment();
+  }
+
+  /** Records a rover executed with bounds checks. */
+  void recordChecked() {
+    checkedRovers.increment();
+  }
+
+  /** Records a number of rovers executed with bounds checks. */
+  void recordChecked(int rovers) {
+    checkedRovers.add(rovers);
+  }
+
+  /**
+   * Returns how many rovers were proven to stay on the plateau and executed without bounds checks.
+   *
+   * @return the unchecked rover count
+   */
+  public long uncheckedRovers() {
+    return uncheckedRovers.sum();
+  }
+
+  /**
+   * Returns how many rovers executed with bounds checks.
+   *
+   * @return the checked rover count
+   */
+  public long checkedRovers() {
+    return checkedRovers.sum();
+  }
+}
@@ -0,0 +1,186 @@
+package com.example.mars.exec;
+
+import com.example.mars.domain.OutOfBoundsException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An instruction string cut into content-defined fragments, each compiled to its {@link
+ * PathEffect}, so that fragments shared by many instruction strings are compiled only once.
+ *
+ * <p>Fragment boundaries are chosen by a rolling gear hash: the hash is shifted left by one bit per
+ * instruction and a random value for the instruction is added, so it depends only on the last 64
+ * instructions. A fragment ends where the top bits of the hash are all zero, which happens after
+ * about {@value #AVERAGE_LENGTH} instructions, subject to a minimum and maximum length. Because a
+ * boundary depends only on the instructions just before it, a route fragment concatenated into
+ * different instruction strings is cut at the same places in each once the hash has resynchronized,
+ * and its interior fragments are identical wherever it appears. The effects of fragments are
+ * hash-consed in a {@link ProgramEffectCache}.
+ *
+ * <p>A program executes fragment by fragment: a fragment whose effect fits the plateau from the
+ * rover's position is applied at once, and any other fragment is interpreted one instruction at a
+ * time, so that the boundary policy applies to the exact failing move.
+ *
+ * <p>Programs are tiered like the JIT: a program whose rovers keep meeting edges is executed as
+ * above until it has been executed {@link ProgramEffectCache#specializeAfter() a number of times},
+ * then specialized into a {@link SpecializedProgram}, which executes its later rovers instead.
+ */
+public final class FragmentedProgram {
+
+  /** Fewest instructions in a fragment, except the last one of a string. */
+  static final int MIN_LENGTH = 64;
+
+  /** Most instructions in a fragment. */
+  static final int MAX_LENGTH = 1024;
+
+  /** Expected number of instructions past the minimum length before a fragment ends. */
+  static final int AVERAGE_LENGTH = 128;
+
+  /** Shift leaving the top bits of the hash, which depend on all of the last 64 instructions. */
+  private static final int BOUNDARY_SHIFT =
+      Long.SIZE - Integer.numberOfTrailingZeros(AVERAGE_LENGTH);
+
+  /** Random value added to the rolling hash for each instruction character. */
+  private static final long[] GEAR = new long[128];
+
+  static {
+    SplittableRandom random = new SplittableRandom(0x5EED_F4A6_3E47L);
+    for (int i = 0; i < GEAR.length; i++) {
+      GEAR[i] = random.nextLong();
+    }
+  }
+
+  private final int[] ends;
+  private final PathEffect[] effects;
+  private final PathEffect effect;
+  private final ProgramEffectCache cache;
+
+  // Shared by rovers on every thread; exactly one execution reaches the threshold and specializes
+  private final AtomicInteger executions = new AtomicInteger();
+  private volatile SpecializedProgram specialized;
+
+  private FragmentedProgram(
+      int[] ends, PathEffect[] effects, PathEffect effect, ProgramEffectCache cache) {
+    this.ends = ends;
+    this.effects = effects;
+    this.effect = effect;
+    this.cache = cache;
+  }
+
+  /**
+   * Cuts an instruction string into fragments and looks the effect of each up in a cache.
+   *
+   * @param instructions the instructions to compile
+   * @param cache the cache holding the effects of fragments seen before
+   * @return the compiled program, or null if the instructions hold any character other than L, R
+   *     and M
+   */
+  static FragmentedProgram compile(String instructions, ProgramEffectCache cache) {
+    int[] ends = new int[Math.max(1, instructions.length() / (MIN_LENGTH + AVERAGE_LENGTH))];
+    PathEffect[] effects = new PathEffect[ends.length];
+    int fragments = 0;
+    PathEffect effect = PathEffect.IDENTITY;
+
+    int start = 0;
+    long gear = 0;
+    int hash = 0;
+    for (int i = 0; i < instructions.length(); i++) {
+      char instruction = instructions.charAt(i);
+      if (instruction != 'L' && instruction != 'R' && instruction != 'M') {
+        return null;
+      }
+      gear = (gear << 1) + GEAR[instruction];
+      hash = 31 * hash + instruction;
+
+      int length = i + 1 - start;
+      boolean boundary =
+          length >= MIN_LENGTH && gear >>> BOUNDARY_SHIFT == 0 || length == MAX_LENGTH;
+      if (boundary || i + 1 == instructions.length()) {
+        if (fragments == ends.length) {
+          ends = Arrays.copyOf(ends, fragments * 2);
+          effects = Arrays.copyOf(effects, fragments * 2);
+        }
+        PathEffect fragment = cache.fragmentEffect(instructions, start, i + 1, hash);
+        ends[fragments] = i + 1;
+        effects[fragments] = fragment;
+        fragments++;
+        effect = effect.then(fragment);
+        start = i + 1;
+        hash = 0;
+      }
+    }
+    return new FragmentedProgram(
+        Arrays.copyOf(ends, fragments), Arrays.copyOf(effects, fragments), effect, cache);
+  }
+
+  /**
+   * Returns the effect of the whole instruction string.
+   *
+   * @return the composed effect of every fragment
+   */
+  public PathEffect effect() {
+    return effect;
+  }
+
+  /**
+   * Returns the number of fragments the instruction string was cut into.
+   *
+   * @return the number of fragments
+   */
+  public int fragmentCount() {
+    return ends.length;
+  }
+
+  /**
+   * Returns whether this program has been specialized.
+   *
+   * @return true if its rovers execute as a {@link SpecializedProgram}
+   */
+  public boolean isSpecialized() {
+    return specialized != null;
+  }
+
+  /**
+   * Executes this program on a rover, applying the boundary policy to out-of-bounds moves.
+   *
+   * @param rover the rover to update, placed at its start position
+   * @param instructions the instruction string this program was compiled from
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param roverIndex zero-based index of the rover, used for error reporting
+   * @throws OutOfBoundsException if STRICT policy is used and the rover attempts an out-of-bounds
+   *     move
+   */
+  public void execute(
+      RoverCursor rover, CharSequence instructions, BoundaryPolicy policy, int roverIndex)
+      throws OutOfBoundsException {
+    SpecializedProgram program = specialized;
+    if (program == null && executions.get() < cache.specializeAfter()) {
+      if (executions.incrementAndGet() == cache.specializeAfter()) {
+        program = SpecializedProgram.compile(instructions);
+        if (program != null) {
+          specialized = program;
+          cache.recordSpecialization();
+        }
+      }
+    }
+    if (program != null) {
+      program.execute(rover, policy, roverIndex);
+      return;
+    }
+
+    int start = 0;
+    for (int fragment = 0; fragment < ends.length; fragment++) {
+      int end = ends[fragment];
+      if (effects[fragment].fits(rover)) {
+        effects[fragment].applyTo(rover);
+      } else {
+        if (policy.interpret(rover, instructions, start, end, roverIndex)
+            == BoundaryPolicy.STOPPED) {
+          return;
+        }
+      }
+      start = end;
+    }
+  }
+}
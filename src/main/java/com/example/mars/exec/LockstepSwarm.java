@@ -0,0 +1,311 @@
+package com.example.mars.exec;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.PackedPositions;
+import com.example.mars.domain.PackedRoverPlans;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Executes the rovers of a mission in lockstep, a block of rovers at a time, with the state of the
+ * block held as a structure of arrays.
+ *
+ * <p>The coordinates and headings of up to {@value #BLOCK} rovers are held in parallel {@code
+ * int[]} arrays, and every rover of the block advances by one instruction per step: the
+ * instruction of each rover is fetched into an array of codes, then a single branch-free loop over
+ * the arrays applies the turns and the moves that stay on the plateau. Rovers that have finished,
+ * stopped or failed are masked out with an idle code, and are dropped from the arrays once they
+ * make up half the block, so swarms of short programs with uneven lengths stay dense. Blocked
+ * moves are rare, so the boundary policy is applied in a separate pass over the block only on
+ * steps where some rover was blocked.
+ *
+ * <p>Results and errors are identical to running the rovers one after the other: if several rovers
+ * fail, the error of the lowest-indexed one is reported. A rover whose instructions hold any
+ * character other than L, R and M, such as repetition syntax, leaves the lockstep and is executed
+ * on its own by {@link MissionRunner}. Suits missions of very many rovers with short instruction
+ * sequences.
+ */
+public final class LockstepSwarm {
+
+  /** Number of rovers advanced together. */
+  static final int BLOCK = 1024;
+
+  /** Code of a rover with no instruction to execute at the current step. */
+  private static final int IDLE = 4;
+
+  /** Code a move is replaced with once the plateau edge has blocked it. */
+  private static final int BLOCKED = 5;
+
+  private static final int OK = 0;
+  private static final int FAILED = 1;
+  private static final int DEFERRED = 2;
+
+  /** Quarter turns to the right of each code: L, R, M, invalid and idle. */
+  private static final int[] TURNS = {3, 1, 0, 0, 0};
+
+  private static final int[] DX = new int[4];
+  private static final int[] DY = new int[4];
+  private static final Direction[] HEADINGS = Direction.values();
+
+  static {
+    for (Direction heading : HEADINGS) {
+      DX[heading.ordinal()] = heading.dx();
+      DY[heading.ordinal()] = heading.dy();
+    }
+  }
+
+  private LockstepSwarm() {}
+
+  /**
+   * Executes every rover of a mission in lockstep blocks.
+   *
+   * @param mission the mission containing plateau and rover plans to execute
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @return list of final rover positions in input order, one per rover plan
+   * @throws OutOfBoundsException if STRICT policy is used and a rover attempts an out-of-bounds
+   *     move
+   * @throws IllegalArgumentException if an invalid instruction character is encountered
+   */
+  public static List<Position> run(Mission mission, BoundaryPolicy policy)
+      throws OutOfBoundsException {
+    PackedPositions finalPositions = PackedPositions.ofSize(mission.plans().size());
+    execute(mission, 0, finalPositions.size(), policy, finalPositions);
+    return new ArrayList<>(finalPositions);
+  }
+
+  /**
+   * Executes a range of the rovers of a mission in lockstep blocks.
+   *
+   * <p>If a rover fails, the final positions of every rover before it in the range are stored
+   * before its error is thrown, so the failing rover is the first of the range without one.
+   *
+   * @param mission the mission containing plateau and rover plans to execute
+   * @param from index of the first rover to execute
+   * @param to index following the last rover to execute
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param finalPositions the list to store final positions in, by rover index
+   * @throws OutOfBoundsException if STRICT policy is used and a rover attempts an out-of-bounds
+   *     move
+   * @throws IllegalArgumentException if an invalid instruction character is encountered
+   */
+  static void execute(
+      Mission mission, int from, int to, BoundaryPolicy policy, PackedPositions finalPositions)
+      throws OutOfBoundsException {
+    Block block = new Block(mission, Math.min(BLOCK, to - from));
+    for (int first = from; first < to; first += BLOCK) {
+      block.load(first, Math.min(to, first + BLOCK));
+      block.run(policy);
+      block.store(policy, finalPositions);
+    }
+  }
+
+  /** The state of a block of rovers, one slot per rover still executing. */
+  private static final class Block {
+    private final Mission mission;
+    private final PackedRoverPlans packed;
+    private final int maxX;
+    private final int maxY;
+
+    // Slots, compacted as rovers finish
+    private final int[] rover;
+    private final int[] x;
+    private final int[] y;
+    private final int[] heading;
+    private final int[] code;
+    private final long[] length;
+    private final long[] offset;
+    private final String[] instructions;
+    private int count;
+
+    // Results, by rover within the block
+    private final int[] finalX;
+    private final int[] finalY;
+    private final int[] finalHeading;
+    private final byte[] status;
+    private final long[] failedAt;
+    private int first;
+    private int rovers;
+
+    private Block(Mission mission, int capacity) {
+      this.mission = mission;
+      this.packed = mission.plans() instanceof PackedRoverPlans plans ? plans : null;
+      this.maxX = mission.plateau().maxX();
+      this.maxY = mission.plateau().maxY();
+      this.rover = new int[capacity];
+      this.x = new int[capacity];
+      this.y = new int[capacity];
+      this.heading = new int[capacity];
+      this.code = new int[capacity];
+      this.length = new long[capacity];
+      this.offset = new long[capacity];
+      this.instructions = packed == null ? new String[capacity] : null;
+      this.finalX = new int[capacity];
+      this.finalY = new int[capacity];
+      this.finalHeading = new int[capacity];
+      this.status = new byte[capacity];
+      this.failedAt = new long[capacity];
+    }
+
+    /** Places the rovers of a range at their start positions. */
+    private void load(int from, int to) {
+      first = from;
+      rovers = to - from;
+      count = rovers;
+      Arrays.fill(status, 0, rovers, (byte) OK);
+      for (int s = 0; s < rovers; s++) {
+        int index = from + s;
+        rover[s] = index;
+        if (packed != null) {
+          x[s] = packed.startX(index);
+          y[s] = packed.startY(index);
+          heading[s] = packed.startHeading(index);
+          offset[s] = packed.instructionOffset(index);
+          length[s] = packed.instructionCount(index);
+        } else {
+          RoverPlan plan = mission.plans().get(index);
+          x[s] = plan.start().x();
+          y[s] = plan.start().y();
+          heading[s] = plan.start().heading().ordinal();
+          instructions[s] = plan.instructions();
+          length[s] = plan.instructions().length();
+        }
+      }
+    }
+
+    /** Advances every rover of the block one instruction per step until all have finished. */
+    private void run(BoundaryPolicy policy) {
+      for (long step = 0; count > 0; step++) {
+        int live = fetch(step);
+        if (live == 0) {
+          break;
+        }
+        if (advance() && policy != BoundaryPolicy.IGNORE) {
+          block(policy, step);
+        }
+        if (live <= count / 2) {
+          compact(step + 1);
+        }
+      }
+      compact(Long.MAX_VALUE);
+    }
+
+    /**
+     * Fetches the code of each slot's instruction at a step, masking out finished rovers.
+     *
+     * @return the number of slots with an instruction to execute
+     */
+    private int fetch(long step) {
+      int live = 0;
+      for (int s = 0; s < count; s++) {
+        if (step >= length[s]) {
+          code[s] = IDLE;
+          continue;
+        }
+        int next =
+            packed != null
+                ? packed.instruction(offset[s] + step)
+                : TransitionTable.code(instructions[s].charAt((int) step));
+        if (next == TransitionTable.INVALID) {
+          // Executed on its own later, from its start, with repetitions or error reporting
+          status[rover[s] - first] = DEFERRED;
+          length[s] = 0;
+          next = IDLE;
+        } else {
+          live++;
+        }
+        code[s] = next;
+      }
+      return live;
+    }
+
+    /**
+     * Executes the fetched codes: turns, and moves whose destination lies on the plateau.
+     *
+     * @return true if some move was blocked by a plateau edge
+     */
+    private boolean advance() {
+      int blocked = 0;
+      for (int s = 0; s < count; s++) {
+        int c = code[s];
+        int h = heading[s];
+        int move = c == PackedRoverPlans.MOVE ? 1 : 0;
+        int nextX = x[s] + move * DX[h];
+        int nextY = y[s] + move * DY[h];
+        int inside = (nextX >= 0) & (nextX <= maxX) & (nextY >= 0) & (nextY <= maxY) ? 1 : 0;
+        x[s] = inside == 1 ? nextX : x[s];
+        y[s] = inside == 1 ? nextY : y[s];
+        heading[s] = (h + TURNS[c]) & 3;
+        int edge = move & (inside ^ 1);
+        code[s] = edge == 1 ? BLOCKED : c;
+        blocked |= edge;
+      }
+      return blocked != 0;
+    }
+
+    /** Applies a STRICT or STOP_ON_OOB policy to the slots whose move was blocked at a step. */
+    private void block(BoundaryPolicy policy, long step) {
+      for (int s = 0; s < count; s++) {
+        if (code[s] == BLOCKED) {
+          if (policy == BoundaryPolicy.STRICT) {
+            status[rover[s] - first] = FAILED;
+            failedAt[rover[s] - first] = step;
+          }
+          length[s] = 0; // stops, leaving the rover where it was
+        }
+      }
+    }
+
+    /** Saves the results of the slots with no instructions left and removes them. */
+    private void compact(long step) {
+      int kept = 0;
+      for (int s = 0; s < count; s++) {
+        if (length[s] <= step) {
+          int r = rover[s] - first;
+          finalX[r] = x[s];
+          finalY[r] = y[s];
+          finalHeading[r] = heading[s];
+          continue;
+        }
+        rover[kept] = rover[s];
+        x[kept] = x[s];
+        y[kept] = y[s];
+        heading[kept] = heading[s];
+        length[kept] = length[s];
+        offset[kept] = offset[s];
+        if (instructions != null) {
+          instructions[kept] = instructions[s];
+        }
+        kept++;
+      }
+      if (instructions != null) {
+        Arrays.fill(instructions, kept, count, null);
+      }
+      count = kept;
+    }
+
+    /** Stores the final positions of the block in rover order, throwing the first failure. */
+    private void store(BoundaryPolicy policy, PackedPositions finalPositions)
+        throws OutOfBoundsException {
+      for (int r = 0; r < rovers; r++) {
+        int index = first + r;
+        if (status[r] == DEFERRED) {
+          RoverPlan plan = mission.plans().get(index);
+          Position position =
+              MissionRunner.runRover(mission.plateau(), plan, index, policy, RunOptions.DEFAULT);
+          finalPositions.set(index, position.x(), position.y(), position.heading().ordinal());
+          continue;
+        }
+        if (status[r] == FAILED) {
+          Position position = new Position(finalX[r], finalY[r], HEADINGS[finalHeading[r]]);
+          throw MissionRunner.outOfBounds(position, index, failedAt[r]);
+        }
+        finalPositions.set(index, finalX[r], finalY[r], finalHeading[r]);
+      }
+    }
+  }
+}
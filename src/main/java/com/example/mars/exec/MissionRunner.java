@@ -1,8 +1,11 @@
 package com.example.mars.exec;
 
 import com.example.mars.domain.*;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Executes rover missions with configurable boundary policies.
@@ -10,22 +13,30 @@ import java.util.List;
  * <p>The MissionRunner processes rover plans sequentially, executing each rover's movement
  * instructions while respecting plateau boundaries according to the specified boundary policy.
  * Different policies provide different behaviors when rovers attempt to move out of bounds.
+ * Since rovers never interact, a mission may also be executed with its rovers spread across a
+ * fork/join pool, with the same results.
  *
  * <p>This class follows a static utility pattern and maintains no internal state, ensuring
  * deterministic execution for the same inputs.
  *
  * @see Mission
  * @see BoundaryPolicy
+ * @see ExecutionEngine
  * @see OutOfBoundsException
  */
 public class MissionRunner {
 
+  /** Largest range of rovers a parallel run executes without splitting it further. */
+  private static final int LEAF_ROVERS = 16;
+
   /**
    * Executes a mission by processing rover plans sequentially.
    *
    * <p>Each rover plan is executed in order, with the rover starting at its designated position and
-   * executing instructions character by character. The boundary policy determines behavior when a
-   * rover attempts to move outside the plateau boundaries:
+   * executing instructions character by character. Instructions written with the repetition syntax
+   * of {@link InstructionProgram} execute without being expanded, as a {@link RepetitionProgram}.
+   * The boundary policy determines behavior when a rover attempts to move outside the plateau
+   * boundaries:
    *
    * <ul>
    *   <li><strong>STRICT</strong>: Throws OutOfBoundsException on first OOB attempt
@@ -49,60 +60,708 @@ public class MissionRunner {
    */
   public static List<Position> run(Mission mission, BoundaryPolicy policy)
       throws OutOfBoundsException {
-    List<Position> finalPositions = new ArrayList<>();
+    return run(mission, policy, RunOptions.DEFAULT);
+  }
 
-    for (int roverIndex = 0; roverIndex < mission.plans().size(); roverIndex++) {
-      RoverPlan plan = mission.plans().get(roverIndex);
-      Rover rover = new Rover(plan.start());
-
-      String instructions = plan.instructions();
-      for (int instructionIndex = 0; instructionIndex < instructions.length(); instructionIndex++) {
-        char instruction = instructions.charAt(instructionIndex);
-
-        switch (instruction) {
-          case 'L':
-            rover.rotateLeft();
-            break;
-          case 'R':
-            rover.rotateRight();
-            break;
-          case 'M':
-            Position nextPosition = rover.peekMove();
-            boolean inBounds = mission.plateau().contains(nextPosition.x(), nextPosition.y());
-
-            if (!inBounds) {
-              switch (policy) {
-                case STRICT:
-                  Position currentPos = rover.getPosition();
-                  String message =
-                      String.format(
-                          "Rover #%d instruction %d out of bounds from (%d,%d,%s)",
-                          roverIndex + 1,
-                          instructionIndex + 1,
-                          currentPos.x(),
-                          currentPos.y(),
-                          currentPos.heading());
-                  throw new OutOfBoundsException(message);
-                case IGNORE:
-                  // Skip this move, continue to next instruction
-                  break;
-                case STOP_ON_OOB:
-                  // Stop processing instructions for this rover
-                  instructionIndex = instructions.length(); // Break outer loop
-                  break;
-              }
-            } else {
-              rover.move();
-            }
-            break;
-          default:
-            throw new IllegalArgumentException("Invalid instruction character: " + instruction);
+  /**
+   * Executes a mission with the given options, returning the final positions packed into primitive
+   * arrays.
+   *
+   * <p>Final positions and errors are the same as for {@link #run(Mission, BoundaryPolicy)}
+   * whatever the options:
+   *
+   * <ul>
+   *   <li>The engine executes each rover's instructions. With the {@link ExecutionEngine#SWARM
+   *       swarm} engine, rovers execute in lockstep blocks.
+   *   <li>With a cache, a rover whose cached effect fits the plateau from its start position is
+   *       moved to its final position at once, and any other rover executes its cached
+   *       instructions fragment by fragment, as described for {@link #runRover}. Packed plans hold
+   *       no instruction strings to look up, so they are always executed by the engine.
+   *   <li>With metrics, each rover is counted as executed with or without bounds checks.
+   *   <li>With a pool, rovers are spread across its workers. Rovers never interact, so they may
+   *       execute in any order on any thread; final positions are still returned in input order,
+   *       and if several rovers fail, the exception of the lowest-indexed one is thrown. A rover
+   *       with at least {@link BlockScan#PARALLEL_THRESHOLD} instructions is itself split across
+   *       the pool. With the swarm engine, each worker executes whole lockstep blocks.
+   * </ul>
+   *
+   * <p>Each final position is stored straight from the executing rover, so no {@link Position} is
+   * created per rover. Suits missions of very many rovers whose positions are printed or aggregated
+   * rather than kept.
+   *
+   * @param mission the mission containing plateau and rover plans to execute
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param options the engine, cache, metrics and pool to execute the mission with
+   * @return the final rover positions in input order, one per rover plan
+   * @throws OutOfBoundsException if STRICT policy is used and a rover attempts an out-of-bounds
+   *     move
+   * @throws IllegalArgumentException if an invalid instruction character is encountered
+   * @see ExecutionMetrics
+   */
+  public static PackedPositions run(Mission mission, BoundaryPolicy policy, RunOptions options)
+      throws OutOfBoundsException {
+    PackedPositions finalPositions = PackedPositions.ofSize(mission.plans().size());
+    int rovers = finalPositions.size();
+    if (options.pool() != null) {
+      Failure failure = new Failure();
+      RoverRangeTask task =
+          new RoverRangeTask(mission, policy, options, finalPositions, null, failure, 0, rovers);
+      options.pool().invoke(task);
+
+      synchronized (failure) {
+        if (failure.exception instanceof OutOfBoundsException e) {
+          throw e;
+        }
+        if (failure.exception instanceof RuntimeException e) {
+          throw e;
         }
       }
+      return finalPositions;
+    }
 
-      finalPositions.add(rover.getPosition());
+    if (options.engine() == ExecutionEngine.SWARM) {
+      if (options.metrics() != null) {
+        options.metrics().recordChecked(rovers);
+      }
+      LockstepSwarm.execute(mission, 0, rovers, policy, finalPositions);
+      return finalPositions;
+    }
+
+    PackedRoverPlans packed = mission.plans() instanceof PackedRoverPlans plans ? plans : null;
+    RoverCursor rover = new RoverCursor(mission.plateau());
+    for (int roverIndex = 0; roverIndex < rovers; roverIndex++) {
+      if (packed != null) {
+        runPackedRover(rover, packed, roverIndex, policy, options.engine(), options.metrics());
+      } else {
+        RoverPlan plan = mission.plans().get(roverIndex);
+        execute(rover.reset(plan.start()), plan, roverIndex, policy, options);
+      }
+      store(finalPositions, roverIndex, rover);
     }
 
     return finalPositions;
   }
+
+  /**
+   * Executes a mission and reports the outcome of every rover instead of throwing at the first
+   * failure, so that a batch run keeps the results of the rovers that did not fail.
+   *
+   * <p>Rovers execute exactly as in {@link #run(Mission, BoundaryPolicy, RunOptions)}, except that
+   * a rover attempting an out-of-bounds move under STRICT policy stops before it, as under
+   * STOP_ON_OOB, and is reported as {@link RoverOutcome.Status#OUT_OF_BOUNDS failed} at that move.
+   * Policies only note what they did on the rover when a move is blocked, so rovers that stay on
+   * the plateau execute at the same cost as in a fail-fast run. With the {@link
+   * ExecutionEngine#SWARM swarm} engine, rovers are interpreted one at a time.
+   *
+   * <p>Example usage:
+   *
+   * <pre>{@code
+   * for (RoverOutcome outcome :
+   *     MissionRunner.runOutcomes(mission, BoundaryPolicy.STRICT, RunOptions.DEFAULT)) {
+   *   if (outcome.isFailed()) {
+   *     System.err.println(outcome.failureMessage());
+   *   }
+   * }
+   * }</pre>
+   *
+   * @param mission the mission containing plateau and rover plans to execute
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param options the engine, cache, metrics and pool to execute the mission with
+   * @return list of rover outcomes in input order, one per rover plan
+   * @throws IllegalArgumentException if an invalid instruction character is encountered
+   */
+  public static List<RoverOutcome> runOutcomes(
+      Mission mission, BoundaryPolicy policy, RunOptions options) {
+    RunOptions perRover = perRover(options);
+    int rovers = mission.plans().size();
+    if (options.pool() != null) {
+      RoverOutcome[] outcomes = new RoverOutcome[rovers];
+      Failure failure = new Failure();
+      RoverRangeTask task =
+          new RoverRangeTask(mission, policy, perRover, null, outcomes, failure, 0, rovers);
+      options.pool().invoke(task);
+
+      synchronized (failure) {
+        if (failure.exception instanceof RuntimeException e) {
+          throw e;
+        }
+      }
+      return new ArrayList<>(Arrays.asList(outcomes));
+    }
+
+    List<RoverOutcome> outcomes = new ArrayList<>(rovers);
+    RoverCursor rover = new RoverCursor(mission.plateau());
+    for (int roverIndex = 0; roverIndex < rovers; roverIndex++) {
+      outcomes.add(runOutcome(rover, mission, roverIndex, policy, perRover));
+    }
+    return outcomes;
+  }
+
+  /**
+   * Executes a single rover plan on the given plateau and reports its outcome instead of throwing
+   * if it fails, as described for {@link #runOutcomes}.
+   *
+   * @param plateau the operational area the rover moves on
+   * @param plan the rover's start position and instructions
+   * @param roverIndex zero-based index of the rover within the mission
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param options the engine, cache, metrics and pool to execute the rover with
+   * @return the outcome of the rover
+   * @throws IllegalArgumentException if an invalid instruction character is encountered
+   */
+  public static RoverOutcome runRoverOutcome(
+      Plateau plateau, RoverPlan plan, int roverIndex, BoundaryPolicy policy, RunOptions options) {
+    RoverCursor rover = new RoverCursor(plateau).reset(plan.start());
+    executeOutcome(rover, plan, roverIndex, policy, perRover(options));
+    return RoverOutcome.of(rover, roverIndex, policy);
+  }
+
+  /**
+   * Executes a single rover plan on the given plateau.
+   *
+   * <p>This is the per-rover step of {@link #run(Mission, BoundaryPolicy, RunOptions)}, exposed so
+   * that rover plans can be executed as they are streamed from the input without first
+   * materializing a complete {@link Mission}. The options apply to the rover as follows:
+   *
+   * <ul>
+   *   <li>If the effect of the rover's cached instructions fits the plateau from its start
+   *       position, no move can meet an edge, so the rover is moved to its final position in
+   *       constant time whatever the policy. Otherwise the rover executes the {@link
+   *       FragmentedProgram} fragment by fragment. Instructions that cannot be cached, such as
+   *       repetition syntax, are executed by the engine.
+   *   <li>A rover with no more instructions than its distance to the nearest edge cannot reach an
+   *       edge, so the interpreter executes it with a loop that performs no bounds checks, without
+   *       any pre-pass over the instructions. Whether a rover took such an unchecked path is
+   *       recorded in the metrics.
+   *   <li>With a pool, a rover with at least {@link BlockScan#PARALLEL_THRESHOLD} instructions has
+   *       them split across the workers: the effects of blocks of instructions are computed in
+   *       parallel and combined by a parallel prefix scan, as described for {@link BlockScan},
+   *       with the same results as a sequential run.
+   *   <li>The swarm engine executes whole missions only, so a single rover is interpreted.
+   * </ul>
+   *
+   * @param plateau the operational area the rover moves on
+   * @param plan the rover's start position and instructions
+   * @param roverIndex zero-based index of the rover within the mission, used for error reporting
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param options the engine, cache, metrics and pool to execute the rover with
+   * @return the final position of the rover
+   * @throws OutOfBoundsException if STRICT policy is used and the rover attempts an out-of-bounds
+   *     move
+   * @throws IllegalArgumentException if an invalid instruction character is encountered
+   */
+  public static Position runRover(
+      Plateau plateau, RoverPlan plan, int roverIndex, BoundaryPolicy policy, RunOptions options)
+      throws OutOfBoundsException {
+    RoverCursor rover = new RoverCursor(plateau).reset(plan.start());
+    execute(rover, plan, roverIndex, policy, perRover(options));
+    return rover.position();
+  }
+
+  /**
+   * Executes a single rover plan on a cursor placed at its start position, splitting very long
+   * instruction sequences across the pool of the options if there is one, as described for {@link
+   * #runRover}.
+   */
+  private static void execute(
+      RoverCursor rover, RoverPlan plan, int roverIndex, BoundaryPolicy policy, RunOptions options)
+      throws OutOfBoundsException {
+    String instructions = plan.instructions();
+    if (options.pool() != null && instructions.length() >= BlockScan.PARALLEL_THRESHOLD) {
+      record(options.metrics(), false);
+      if (!BlockScan.execute(rover, instructions, policy, roverIndex, options.pool())) {
+        execute(rover.reset(plan.start()), plan, roverIndex, policy, options.engine(), null, null);
+      }
+      return;
+    }
+    execute(rover, plan, roverIndex, policy, options.engine(), options.cache(), options.metrics());
+  }
+
+  /**
+   * Executes a single rover plan on a cursor placed at its start position, on the calling thread,
+   * as described for {@link #runRover}.
+   */
+  private static void execute(
+      RoverCursor rover,
+      RoverPlan plan,
+      int roverIndex,
+      BoundaryPolicy policy,
+      ExecutionEngine engine,
+      ProgramEffectCache cache,
+      ExecutionMetrics metrics)
+      throws OutOfBoundsException {
+    String instructions = plan.instructions();
+
+    FragmentedProgram cached = cache != null ? cache.program(instructions) : null;
+    if (cached != null) {
+      boolean fits = cached.effect().fits(rover);
+      record(metrics, fits);
+      if (fits) {
+        cached.effect().applyTo(rover);
+      } else {
+        cached.execute(rover, instructions, policy, roverIndex);
+      }
+      return;
+    }
+
+    if (engine == ExecutionEngine.INTERPRETER && instructions.length() <= rover.margin()) {
+      if (executeUnchecked(rover, instructions)) {
+        record(metrics, true);
+        return;
+      }
+      // Repetitions may expand beyond the margin, and invalid characters are reported in order
+      rover.reset(plan.start());
+    }
+    record(metrics, false);
+
+    if (engine == ExecutionEngine.SEGMENTS) {
+      SegmentProgram program = SegmentProgram.compile(instructions);
+      RepetitionProgram repetitions = program.isComplete() ? null : repetitions(instructions);
+      if (repetitions != null) {
+        repetitions.execute(rover, policy, roverIndex);
+      } else {
+        program.execute(rover, policy, roverIndex);
+      }
+      return;
+    }
+
+    if (engine == ExecutionEngine.TABLE || engine == ExecutionEngine.CHUNKS) {
+      int invalid =
+          engine == ExecutionEngine.TABLE
+              ? TransitionTable.execute(rover, instructions, policy, roverIndex)
+              : ChunkTable.execute(rover, instructions, policy, roverIndex);
+      if (invalid >= 0) {
+        char instruction = instructions.charAt(invalid);
+        RepetitionProgram repetitions = instruction < 'A' ? repetitions(instructions) : null;
+        if (repetitions == null) {
+          throw new IllegalArgumentException("Invalid instruction character: " + instruction);
+        }
+        repetitions.execute(rover.reset(plan.start()), policy, roverIndex);
+      }
+      return;
+    }
+
+    int end = policy.interpret(rover, instructions, 0, instructions.length(), roverIndex);
+    if (end != BoundaryPolicy.STOPPED && end < instructions.length()) {
+      char instruction = instructions.charAt(end);
+      if (instruction < 'A') {
+        // A count or group: start over without expanding the repetitions, since every
+        // instruction executed so far has the same index in the expanded sequence
+        RepetitionProgram repetitions = repetitions(instructions);
+        if (repetitions != null) {
+          repetitions.execute(rover.reset(plan.start()), policy, roverIndex);
+          return;
+        }
+      }
+      throw new IllegalArgumentException("Invalid instruction character: " + instruction);
+    }
+  }
+
+  /**
+   * Compiles instructions that use repetition syntax.
+   *
+   * @param instructions the instructions of a rover plan
+   * @return the compiled program, or null if the instructions do not follow the repetition grammar
+   *     and should be rejected as invalid characters
+   */
+  private static RepetitionProgram repetitions(String instructions) {
+    try {
+      return RepetitionProgram.compile(instructions);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Executes a single rover whose instructions are read from a stream of chunks while it moves, so
+   * that instruction sequences of any length run in constant memory.
+   *
+   * <p>Boundary policies behave exactly as in {@link #run(Mission, BoundaryPolicy)} and STRICT
+   * failures report the instruction's index within the whole sequence. Once a STOP_ON_OOB rover
+   * stops, its remaining instructions are still read, so that the stream can report any invalid
+   * instruction.
+   *
+   * @param plateau the operational area the rover moves on
+   * @param start the rover's start position
+   * @param instructions the rover's instructions
+   * @param roverIndex zero-based index of the rover within the mission, used for error reporting
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @return the final position of the rover
+   * @throws OutOfBoundsException if STRICT policy is used and the rover attempts an out-of-bounds
+   *     move
+   * @throws ParseException if the stream reports invalid instructions
+   * @throws IOException if reading the instructions fails
+   */
+  public static Position runRover(
+      Plateau plateau,
+      Position start,
+      InstructionStream instructions,
+      int roverIndex,
+      BoundaryPolicy policy)
+      throws OutOfBoundsException, ParseException, IOException {
+    RoverCursor rover = new RoverCursor(plateau).reset(start);
+
+    long instructionIndex = 0;
+    CharSequence chunk;
+    while ((chunk = instructions.nextChunk()) != null) {
+      for (int i = 0; i < chunk.length(); i++) {
+        if (!step(rover, chunk.charAt(i), policy, roverIndex, instructionIndex++)) {
+          while (instructions.nextChunk() != null) {
+            // validate the instructions the stopped rover will not execute
+          }
+          return rover.position();
+        }
+      }
+    }
+
+    return rover.position();
+  }
+
+  /**
+   * Executes a single rover held in packed form, reading instruction codes straight from the arena
+   * words without decoding a {@link RoverPlan}.
+   *
+   * @param rover the cursor to execute the rover on, reset to the rover's start position and left
+   *     at its final position
+   * @param plans the packed rover plans
+   * @param roverIndex zero-based index of the rover to execute
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param engine the engine executing the rover's instructions
+   * @param metrics the metrics to record the rover's execution path in, or null
+   * @throws OutOfBoundsException if STRICT policy is used and the rover attempts an out-of-bounds
+   *     move
+   */
+  private static void runPackedRover(
+      RoverCursor rover,
+      PackedRoverPlans plans,
+      int roverIndex,
+      BoundaryPolicy policy,
+      ExecutionEngine engine,
+      ExecutionMetrics metrics)
+      throws OutOfBoundsException {
+    rover.reset(plans.startX(roverIndex), plans.startY(roverIndex), plans.startHeading(roverIndex));
+
+    long index = plans.instructionOffset(roverIndex);
+    long end = index + plans.instructionCount(roverIndex);
+    if (engine == ExecutionEngine.INTERPRETER && end - index <= rover.margin()) {
+      // Packed codes are always valid, so the whole rover runs without bounds checks
+      record(metrics, true);
+      for (; index < end; index++) {
+        switch (plans.instruction(index)) {
+          case PackedRoverPlans.LEFT -> rover.turnLeft();
+          case PackedRoverPlans.RIGHT -> rover.turnRight();
+          default -> rover.moveUnchecked();
+        }
+      }
+      return;
+    }
+    record(metrics, false);
+
+    if (engine == ExecutionEngine.SEGMENTS) {
+      SegmentProgram.compile(plans, roverIndex).execute(rover, policy, roverIndex);
+      return;
+    }
+    if (engine == ExecutionEngine.TABLE) {
+      TransitionTable.execute(rover, plans, roverIndex, policy);
+      return;
+    }
+    if (engine == ExecutionEngine.CHUNKS) {
+      ChunkTable.execute(rover, plans, roverIndex, policy);
+      return;
+    }
+
+    long instructionIndex = 0;
+    boolean running = true;
+    while (running && index < end) {
+      long word = plans.word(index / PackedRoverPlans.INSTRUCTIONS_PER_WORD);
+      int slot = (int) (index % PackedRoverPlans.INSTRUCTIONS_PER_WORD);
+      int slots = (int) Math.min(PackedRoverPlans.INSTRUCTIONS_PER_WORD - slot, end - index);
+      for (int i = 0; running && i < slots; i++) {
+        char instruction = PackedRoverPlans.toChar(PackedRoverPlans.codeAt(word, slot + i));
+        running = step(rover, instruction, policy, roverIndex, instructionIndex++);
+      }
+      index += slots;
+    }
+  }
+
+  /**
+   * Executes a range of rovers, splitting it in halves that idle workers of the pool can steal
+   * until ranges are small, so that rovers with very uneven instruction lengths still balance.
+   *
+   * <p>Rovers within a leaf range run in order. A failure is recorded against its rover index and
+   * rovers after the lowest failure recorded so far are skipped, since their results can no longer
+   * be reported.
+   */
+  private static final class RoverRangeTask extends RecursiveAction {
+    private final Mission mission;
+    private final BoundaryPolicy policy;
+    private final RunOptions options;
+    private final PackedPositions finalPositions;
+    private final RoverOutcome[] outcomes;
+    private final Failure failure;
+    private final int from;
+    private final int to;
+
+    private RoverRangeTask(
+        Mission mission,
+        BoundaryPolicy policy,
+        RunOptions options,
+        PackedPositions finalPositions,
+        RoverOutcome[] outcomes,
+        Failure failure,
+        int from,
+        int to) {
+      this.mission = mission;
+      this.policy = policy;
+      this.options = options;
+      this.finalPositions = finalPositions;
+      this.outcomes = outcomes;
+      this.failure = failure;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      // Swarm leaves hold a whole lockstep block of rovers
+      ExecutionEngine engine = options.engine();
+      int leafRovers = engine == ExecutionEngine.SWARM ? LockstepSwarm.BLOCK : LEAF_ROVERS;
+      if (to - from > leafRovers) {
+        int middle = (from + to) >>> 1;
+        invokeAll(
+            new RoverRangeTask(
+                mission, policy, options, finalPositions, outcomes, failure, from, middle),
+            new RoverRangeTask(
+                mission, policy, options, finalPositions, outcomes, failure, middle, to));
+        return;
+      }
+      if (engine == ExecutionEngine.SWARM) {
+        executeSwarm();
+        return;
+      }
+
+      RoverCursor cursor = new RoverCursor(mission.plateau());
+      for (int roverIndex = from; roverIndex < to; roverIndex++) {
+        if (roverIndex > failure.roverIndex) {
+          return; // a lower-indexed rover has already failed
+        }
+        try {
+          if (outcomes != null) {
+            outcomes[roverIndex] = runOutcome(cursor, mission, roverIndex, policy, options);
+          } else if (mission.plans() instanceof PackedRoverPlans packed) {
+            runPackedRover(cursor, packed, roverIndex, policy, engine, options.metrics());
+            store(finalPositions, roverIndex, cursor);
+          } else {
+            RoverPlan plan = mission.plans().get(roverIndex);
+            execute(cursor.reset(plan.start()), plan, roverIndex, policy, options);
+            store(finalPositions, roverIndex, cursor);
+          }
+        } catch (OutOfBoundsException | RuntimeException e) {
+          failure.record(roverIndex, e);
+          return;
+        }
+      }
+    }
+
+    /** Executes the range in lockstep, recording the failure of its first failing rover. */
+    private void executeSwarm() {
+      if (from > failure.roverIndex) {
+        return; // a lower-indexed rover has already failed
+      }
+      if (options.metrics() != null) {
+        options.metrics().recordChecked(to - from);
+      }
+      try {
+        LockstepSwarm.execute(mission, from, to, policy, finalPositions);
+      } catch (OutOfBoundsException | RuntimeException e) {
+        // The error is that of the block's first failing rover, and blocks never overlap, so the
+        // block's first rover orders it against the failures of other blocks
+        failure.record(from, e);
+      }
+    }
+  }
+
+  /** The failure of the lowest-indexed rover found so far by a parallel run. */
+  private static final class Failure {
+    private volatile int roverIndex = Integer.MAX_VALUE;
+    private Exception exception;
+
+    private synchronized void record(int roverIndex, Exception exception) {
+      if (roverIndex < this.roverIndex) {
+        this.roverIndex = roverIndex;
+        this.exception = exception;
+      }
+    }
+  }
+
+  /** Stores the position of a rover that has finished executing. */
+  private static void store(PackedPositions finalPositions, int roverIndex, RoverCursor rover) {
+    finalPositions.set(roverIndex, rover.x(), rover.y(), rover.heading());
+  }
+
+  /** Returns options executing rovers one at a time in place of a whole-mission engine. */
+  private static RunOptions perRover(RunOptions options) {
+    return options.engine() == ExecutionEngine.SWARM
+        ? options.withEngine(ExecutionEngine.INTERPRETER)
+        : options;
+  }
+
+  /**
+   * Executes one rover of a mission and returns its outcome.
+   *
+   * @param rover the cursor to execute the rover on
+   * @param mission the mission holding the rover
+   * @param roverIndex zero-based index of the rover to execute
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param options the options to execute the rover with, not with the swarm engine
+   * @return the outcome of the rover
+   */
+  private static RoverOutcome runOutcome(
+      RoverCursor rover,
+      Mission mission,
+      int roverIndex,
+      BoundaryPolicy policy,
+      RunOptions options) {
+    if (mission.plans() instanceof PackedRoverPlans packed) {
+      try {
+        runPackedRover(
+            rover, packed, roverIndex, failureFree(policy), options.engine(), options.metrics());
+      } catch (OutOfBoundsException e) {
+        throw new IllegalStateException(e); // not thrown under STOP_ON_OOB
+      }
+    } else {
+      RoverPlan plan = mission.plans().get(roverIndex);
+      executeOutcome(rover.reset(plan.start()), plan, roverIndex, policy, options);
+    }
+    return RoverOutcome.of(rover, roverIndex, policy);
+  }
+
+  /**
+   * Executes a rover plan on a cursor placed at its start position, stopping a rover that fails
+   * under STRICT policy instead of throwing.
+   */
+  private static void executeOutcome(
+      RoverCursor rover,
+      RoverPlan plan,
+      int roverIndex,
+      BoundaryPolicy policy,
+      RunOptions options) {
+    try {
+      execute(rover, plan, roverIndex, failureFree(policy), options);
+    } catch (OutOfBoundsException e) {
+      throw new IllegalStateException(e); // not thrown under STOP_ON_OOB
+    }
+  }
+
+  /**
+   * Returns the policy executing rovers for their outcomes: a STRICT failure stops the rover before
+   * the failing move, exactly as STOP_ON_OOB does, and is told apart only once the rover is done.
+   */
+  private static BoundaryPolicy failureFree(BoundaryPolicy policy) {
+    return policy == BoundaryPolicy.STRICT ? BoundaryPolicy.STOP_ON_OOB : policy;
+  }
+
+  /**
+   * Executes instructions on a rover whose path provably stays on the plateau, without any bounds
+   * checks.
+   *
+   * @param rover the rover to update
+   * @param instructions the instructions to execute
+   * @return true if the instructions were executed, or false, leaving the rover part way, if they
+   *     hold any character other than L, R and M
+   */
+  private static boolean executeUnchecked(RoverCursor rover, String instructions) {
+    for (int i = 0; i < instructions.length(); i++) {
+      switch (instructions.charAt(i)) {
+        case 'L' -> rover.turnLeft();
+        case 'R' -> rover.turnRight();
+        case 'M' -> rover.moveUnchecked();
+        default -> {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Records whether a rover executed without bounds checks, if metrics are kept.
+   *
+   * @param metrics the metrics to update, or null
+   * @param unchecked true if the rover provably stayed on the plateau
+   */
+  private static void record(ExecutionMetrics metrics, boolean unchecked) {
+    if (metrics == null) {
+      return;
+    }
+    if (unchecked) {
+      metrics.recordUnchecked();
+    } else {
+      metrics.recordChecked();
+    }
+  }
+
+  /**
+   * Executes a single instruction, applying the boundary policy to out-of-bounds moves. Nothing is
+   * allocated unless a STRICT failure is reported.
+   *
+   * @param rover the rover to update
+   * @param instruction the instruction character
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param roverIndex zero-based index of the rover, used for error reporting
+   * @param instructionIndex zero-based index of the instruction, used for error reporting
+   * @return false if the rover must stop processing further instructions
+   * @throws OutOfBoundsException if STRICT policy is used and the move is out of bounds
+   */
+  static boolean step(
+      RoverCursor rover,
+      char instruction,
+      BoundaryPolicy policy,
+      int roverIndex,
+      long instructionIndex)
+      throws OutOfBoundsException {
+    switch (instruction) {
+      case 'L':
+        rover.turnLeft();
+        break;
+      case 'R':
+        rover.turnRight();
+        break;
+      case 'M':
+        if (!rover.move()) {
+          return policy.blocked(rover, roverIndex, instructionIndex, 1);
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Invalid instruction character: " + instruction);
+    }
+    return true;
+  }
+
+  /**
+   * Creates the exception reported when a rover under STRICT policy attempts to leave the plateau.
+   *
+   * @param position the rover's position before the failed move
+   * @param roverIndex zero-based index of the rover
+   * @param instructionIndex zero-based index of the failed instruction
+   * @return the exception to throw
+   */
+  static OutOfBoundsException outOfBounds(
+      Position position, int roverIndex, long instructionIndex) {
+    return new OutOfBoundsException(outOfBoundsMessage(position, roverIndex, instructionIndex));
+  }
+
+  /**
+   * Formats the message reported when a rover under STRICT policy attempts to leave the plateau.
+   *
+   * @param position the rover's position before the failed move
+   * @param roverIndex zero-based index of the rover
+   * @param instructionIndex zero-based index of the failed instruction
+   * @return the message, numbering rovers and instructions from one
+   */
+  static String outOfBoundsMessage(Position position, int roverIndex, long instructionIndex) {
+    return String.format(
+        "Rover #%d instruction %d out of bounds from (%d,%d,%s)",
+        roverIndex + 1, instructionIndex + 1, position.x(), position.y(), position.heading());
+  }
 }
@@ -0,0 +1,169 @@
+package com.example.mars.exec;
+
+import com.example.mars.domain.Plateau;
+import java.util.Arrays;
+
+/**
+ * The set of plateau cells occupied by rovers at rest, as used by {@link CollisionAwareRunner}.
+ *
+ * <p>Both implementations answer a lookup in constant time without boxing. A plateau small enough
+ * for it uses a {@link Dense dense} bitset with one bit per cell. Any other plateau uses a {@link
+ * Sparse sparse} open-addressing hash table of packed coordinates, whose size follows the number
+ * of rovers rather than the area of the plateau. The bitset is chosen whenever it takes no more
+ * memory than the hash table the rovers would fill.
+ */
+abstract sealed class OccupancyIndex permits OccupancyIndex.Dense, OccupancyIndex.Sparse {
+
+  /** Largest number of cells always indexed by a bitset, whatever the number of rovers: 2 MB. */
+  static final long DENSE_CELLS = 1L << 24;
+
+  /** Bits per rover taken by a hash table at its highest load factor of one half. */
+  private static final int SPARSE_BITS_PER_ROVER = 2 * Long.SIZE;
+
+  /**
+   * Creates an empty index suited to a plateau and the number of rovers expected to rest on it.
+   *
+   * @param plateau the plateau whose cells are indexed
+   * @param rovers the expected number of occupied cells
+   * @return a dense index if its bitset is small enough, otherwise a sparse index
+   */
+  static OccupancyIndex forPlateau(Plateau plateau, int rovers) {
+    long cells = (plateau.maxX() + 1L) * (plateau.maxY() + 1L);
+    boolean dense =
+        cells <= Math.max(DENSE_CELLS, (long) rovers * SPARSE_BITS_PER_ROVER)
+            && cells / Long.SIZE < Integer.MAX_VALUE - 8;
+    return dense ? new Dense(plateau) : new Sparse(rovers);
+  }
+
+  /**
+   * Returns whether a cell is occupied. Cells off the plateau are never occupied.
+   *
+   * @param x the x-coordinate of the cell
+   * @param y the y-coordinate of the cell
+   * @return true if a rover rests on the cell
+   */
+  abstract boolean isOccupied(int x, int y);
+
+  /**
+   * Marks a cell of the plateau as occupied.
+   *
+   * @param x the x-coordinate of the cell
+   * @param y the y-coordinate of the cell
+   */
+  abstract void occupy(int x, int y);
+
+  /** One bit per plateau cell, row by row. */
+  static final class Dense extends OccupancyIndex {
+    private final int maxX;
+    private final int maxY;
+    private final long[] bits;
+
+    Dense(Plateau plateau) {
+      this.maxX = plateau.maxX();
+      this.maxY = plateau.maxY();
+      long cells = (maxX + 1L) * (maxY + 1L);
+      this.bits = new long[(int) ((cells + Long.SIZE - 1) / Long.SIZE)];
+    }
+
+    @Override
+    boolean isOccupied(int x, int y) {
+      if (x < 0 || x > maxX || y < 0 || y > maxY) {
+        return false;
+      }
+      long cell = cell(x, y);
+      return (bits[(int) (cell >>> 6)] & 1L << cell) != 0;
+    }
+
+    @Override
+    void occupy(int x, int y) {
+      long cell = cell(x, y);
+      bits[(int) (cell >>> 6)] |= 1L << cell;
+    }
+
+    private long cell(int x, int y) {
+      return (long) y * (maxX + 1L) + x;
+    }
+  }
+
+  /**
+   * An open-addressing hash set of cells, each packed into a {@code long}, probed linearly. Cells
+   * of the plateau never have negative coordinates, so a negative key marks an empty slot.
+   */
+  static final class Sparse extends OccupancyIndex {
+    private static final long EMPTY = -1;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private int shift;
+    private int size;
+
+    Sparse(int rovers) {
+      long capacity = Long.highestOneBit(Math.max(16L, rovers) * 2 - 1) << 1;
+      allocate((int) Math.min(capacity, MAX_CAPACITY));
+    }
+
+    @Override
+    boolean isOccupied(int x, int y) {
+      if (x < 0 || y < 0) {
+        return false;
+      }
+      long key = key(x, y);
+      int mask = keys.length - 1;
+      for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+        long found = keys[slot];
+        if (found == key) {
+          return true;
+        }
+        if (found == EMPTY) {
+          return false;
+        }
+      }
+    }
+
+    @Override
+    void occupy(int x, int y) {
+      if (size == keys.length - 1) {
+        throw new IllegalStateException("Too many occupied cells: " + size);
+      }
+      if (insert(key(x, y)) && ++size * 2L > keys.length && keys.length < MAX_CAPACITY) {
+        long[] old = keys;
+        allocate(old.length * 2);
+        for (long key : old) {
+          if (key != EMPTY) {
+            insert(key);
+          }
+        }
+      }
+    }
+
+    /** Adds a key, returning false if it was already present. */
+    private boolean insert(long key) {
+      int mask = keys.length - 1;
+      for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+        long found = keys[slot];
+        if (found == key) {
+          return false;
+        }
+        if (found == EMPTY) {
+          keys[slot] = key;
+          return true;
+        }
+      }
+    }
+
+    private void allocate(int capacity) {
+      keys = new long[capacity];
+      Arrays.fill(keys, EMPTY);
+      shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /** Spreads the key with Fibonacci hashing, taking the top bits as the slot. */
+    private int slot(long key) {
+      return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private static long key(int x, int y) {
+      return (long) x << 32 | y;
+    }
+  }
+}
@@ -0,0 +1,241 @@
+package com.example.mars.exec;
+
+/**
+ * The effect of an instruction sequence on a rover, relative to the rover's start position and
+ * heading, for a rover that never meets a plateau edge.
+ *
+ * <p>An effect is expressed in the rover's own frame, in which the rover starts at the origin
+ * facing north. It records the net number of right turns, the displacement of the final position,
+ * the bounding box of every position the rover occupies along the way and the number of
+ * instructions. Effects {@link #then compose} associatively, so the effect of a sequence repeated
+ * {@code k} times is found with {@code O(log k)} compositions by repeated squaring.
+ *
+ * <p>Placed at an actual position and heading, an effect {@link #fits fits} the plateau if its
+ * bounding box does, in which case no move of the sequence leaves the plateau and the effect can be
+ * {@link #applyTo applied} at once whatever the boundary policy. Coordinates saturate at {@code
+ * ±2^40}, far beyond any plateau, so composing huge effects cannot overflow and a saturated effect
+ * never fits.
+ */
+public final class PathEffect {
+
+  /** The effect of an empty sequence. */
+  public static final PathEffect IDENTITY = new PathEffect(0, 0, 0, 0, 0, 0, 0, 0);
+
+  private static final long LIMIT = 1L << 40;
+
+  private final int rotation;
+  private final long dx;
+  private final long dy;
+  private final long minX;
+  private final long maxX;
+  private final long minY;
+  private final long maxY;
+  private final long length;
+
+  private PathEffect(
+      int rotation, long dx, long dy, long minX, long maxX, long minY, long maxY, long length) {
+    this.rotation = rotation;
+    this.dx = saturate(dx);
+    this.dy = saturate(dy);
+    this.minX = saturate(minX);
+    this.maxX = saturate(maxX);
+    this.minY = saturate(minY);
+    this.maxY = saturate(maxY);
+    this.length = length;
+  }
+
+  /**
+   * Returns the effect of a run of turns.
+   *
+   * @param count the number of turns
+   * @param right true for right turns, false for left turns
+   * @return the effect of the turns
+   */
+  public static PathEffect turns(long count, boolean right) {
+    int quarterTurns = (int) (count & 3);
+    return new PathEffect(right ? quarterTurns : -quarterTurns & 3, 0, 0, 0, 0, 0, 0, count);
+  }
+
+  /**
+   * Returns the effect of a run of moves.
+   *
+   * @param count the number of moves
+   * @return the effect of the moves
+   */
+  public static PathEffect moves(long count) {
+    return new PathEffect(0, 0, count, 0, 0, 0, count, count);
+  }
+
+  /**
+   * Returns the effect of a plain instruction sequence.
+   *
+   * @param instructions the instructions, normally only L, R and M
+   * @return the effect of the instructions, or null if they hold any other character
+   */
+  public static PathEffect of(CharSequence instructions) {
+    return of(instructions, 0, instructions.length());
+  }
+
+  /**
+   * Returns the effect of a range of a plain instruction sequence.
+   *
+   * @param instructions the instructions, normally only L, R and M
+   * @param from index of the first instruction of the range
+   * @param to index following the last instruction of the range
+   * @return the effect of the range, or null if it holds any character other than L, R and M
+   */
+  public static PathEffect of(CharSequence instructions, int from, int to) {
+    int heading = 0;
+    long x = 0;
+    long y = 0;
+    long minX = 0;
+    long maxX = 0;
+    long minY = 0;
+    long maxY = 0;
+    for (int i = from; i < to; i++) {
+      switch (instructions.charAt(i)) {
+        case 'L' -> heading = (heading + 3) & 3;
+        case 'R' -> heading = (heading + 1) & 3;
+        case 'M' -> {
+          x += rotateX(heading, 0, 1);
+          y += rotateY(heading, 0, 1);
+          minX = Math.min(minX, x);
+          maxX = Math.max(maxX, x);
+          minY = Math.min(minY, y);
+          maxY = Math.max(maxY, y);
+        }
+        default -> {
+          return null;
+        }
+      }
+    }
+    return new PathEffect(heading, x, y, minX, maxX, minY, maxY, to - from);
+  }
+
+  /**
+   * Returns the effect of this sequence followed by another.
+   *
+   * @param next the effect of the sequence executed afterwards
+   * @return the combined effect
+   */
+  public PathEffect then(PathEffect next) {
+    // The next effect starts at this one's end, rotated by this one's net rotation
+    long[] box = rotate(rotation, next.minX, next.maxX, next.minY, next.maxY);
+    long endX = dx + rotateX(rotation, next.dx, next.dy);
+    long endY = dy + rotateY(rotation, next.dx, next.dy);
+    return new PathEffect(
+        (rotation + next.rotation) & 3,
+        endX,
+        endY,
+        Math.min(minX, dx + box[0]),
+        Math.max(maxX, dx + box[1]),
+        Math.min(minY, dy + box[2]),
+        Math.max(maxY, dy + box[3]),
+        saturatingAdd(length, next.length));
+  }
+
+  /**
+   * Returns the effect of this sequence repeated a number of times, using repeated squaring.
+   *
+   * @param count the number of repetitions
+   * @return the effect of the repetitions
+   */
+  public PathEffect repeat(long count) {
+    PathEffect result = IDENTITY;
+    PathEffect square = this;
+    for (long remaining = count; remaining > 0; remaining >>>= 1) {
+      if ((remaining & 1) != 0) {
+        result = result.then(square);
+      }
+      if (remaining > 1) {
+        square = square.then(square);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns whether every position along this effect lies on the plateau when it starts at the
+   * rover's current position and heading.
+   *
+   * @param rover the rover the effect would start from
+   * @return true if no move of the sequence would leave the plateau
+   */
+  public boolean fits(RoverCursor rover) {
+    long[] box = rotate(rover.heading(), minX, maxX, minY, maxY);
+    return rover.x() + box[0] >= 0
+        && rover.x() + box[1] <= rover.maxX()
+        && rover.y() + box[2] >= 0
+        && rover.y() + box[3] <= rover.maxY();
+  }
+
+  /**
+   * Moves the rover to the end of this effect. The effect must {@link #fits fit}.
+   *
+   * @param rover the rover to update
+   */
+  public void applyTo(RoverCursor rover) {
+    int heading = rover.heading();
+    rover.update(
+        (int) (rover.x() + rotateX(heading, dx, dy)),
+        (int) (rover.y() + rotateY(heading, dx, dy)),
+        (heading + rotation) & 3);
+  }
+
+  /**
+   * Returns the net number of right turns, modulo four.
+   *
+   * @return the net rotation, from 0 to 3
+   */
+  public int rotation() {
+    return rotation;
+  }
+
+  /**
+   * Returns the number of instructions in the sequence.
+   *
+   * @return the instruction count, saturating at {@link Long#MAX_VALUE}
+   */
+  public long length() {
+    return length;
+  }
+
+  /** Returns the x-component of a frame vector turned right a number of times. */
+  private static long rotateX(int quarterTurns, long x, long y) {
+    return switch (quarterTurns) {
+      case 0 -> x;
+      case 1 -> y;
+      case 2 -> -x;
+      default -> -y;
+    };
+  }
+
+  /** Returns the y-component of a frame vector turned right a number of times. */
+  private static long rotateY(int quarterTurns, long x, long y) {
+    return switch (quarterTurns) {
+      case 0 -> y;
+      case 1 -> -x;
+      case 2 -> -y;
+      default -> x;
+    };
+  }
+
+  /** Returns the bounds {minX, maxX, minY, maxY} of a box turned right a number of times. */
+  private static long[] rotate(int quarterTurns, long minX, long maxX, long minY, long maxY) {
+    return switch (quarterTurns) {
+      case 0 -> new long[] {minX, maxX, minY, maxY};
+      case 1 -> new long[] {minY, maxY, -maxX, -minX};
+      case 2 -> new long[] {-maxX, -minX, -maxY, -minY};
+      default -> new long[] {-maxY, -minY, minX, maxX};
+    };
+  }
+
+  private static long saturate(long value) {
+    return Math.max(-LIMIT, Math.min(LIMIT, value));
+  }
+
+  private static long saturatingAdd(long a, long b) {
+    long sum = a + b;
+    return sum < 0 ? Long.MAX_VALUE : sum;
+  }
+}
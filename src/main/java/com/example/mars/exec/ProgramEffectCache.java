@@ -0,0 +1,282 @@
+package com.example.mars.exec;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of compiled instruction strings, so that rovers sharing an instruction string,
+ * such as a standard survey pattern, execute in constant time after the first, and strings built by
+ * concatenating the same route fragments compile each fragment only once.
+ *
+ * <p>An instruction string compiles to a {@link FragmentedProgram}: the string is cut into
+ * content-defined fragments, and the {@link PathEffect} of each fragment is hash-consed in this
+ * cache, so a fragment shared by any number of strings is computed once. An effect holds the net
+ * rotation, the displacement and the bounding box of the path in the rover's own frame, so one
+ * entry serves every start position and heading. {@link MissionRunner} applies the effect of a
+ * whole string at once whenever it {@link PathEffect#fits fits} the plateau from the rover's start,
+ * which proves that no move meets an edge whatever the boundary policy. A rover whose path may meet
+ * an edge executes fragment by fragment, interpreting only the fragments that may meet it.
+ *
+ * <p>The cache holds at most a fixed number of instruction strings, and as many fragments, evicting
+ * the least recently used when full. Instruction strings that are not plain sequences of L, R and
+ * M, such as repetition syntax, are never cached. Entries keep their instruction strings reachable,
+ * so the capacity also bounds the memory retained for strings that would otherwise be discarded
+ * after execution.
+ *
+ * <p>A cached string whose rovers keep meeting an edge is promoted, after {@link
+ * #specializeAfter()} such executions, to a {@link SpecializedProgram} with its turns and move runs
+ * bound in as constants, so that long-lived processes executing the same patrol programs all day
+ * run them as code compiled for each program.
+ *
+ * <p>A cache is thread-safe and may be shared by the workers of a parallel run. Hit, miss,
+ * eviction and specialization counts are kept for monitoring.
+ */
+public final class ProgramEffectCache {
+
+  /** Executions of a program meeting an edge after which it is specialized by default. */
+  public static final int DEFAULT_SPECIALIZE_AFTER = 1000;
+
+  private final int capacity;
+  private final int specializeAfter;
+  private final Map<String, FragmentedProgram> programs;
+  private final Map<Fragment, PathEffect> fragments;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder fragmentHits = new LongAdder();
+  private final LongAdder fragmentMisses = new LongAdder();
+  private final LongAdder specializations = new LongAdder();
+
+  /**
+   * Creates an empty cache, specializing programs after {@value #DEFAULT_SPECIALIZE_AFTER}
+   * executions.
+   *
+   * @param capacity the maximum number of instruction strings held, and of fragments
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public ProgramEffectCache(int capacity) {
+    this(capacity, DEFAULT_SPECIALIZE_AFTER);
+  }
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param capacity the maximum number of instruction strings held, and of fragments
+   * @param specializeAfter the number of executions meeting an edge after which a program is
+   *     specialized
+   * @throws IllegalArgumentException if the capacity or the number of executions is not positive
+   */
+  public ProgramEffectCache(int capacity, int specializeAfter) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+    }
+    if (specializeAfter < 1) {
+      throw new IllegalArgumentException(
+          "Specialization threshold must be positive: " + specializeAfter);
+    }
+    this.capacity = capacity;
+    this.specializeAfter = specializeAfter;
+    this.programs =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, FragmentedProgram> eldest) {
+            if (size() > ProgramEffectCache.this.capacity) {
+              evictions.increment();
+              return true;
+            }
+            return false;
+          }
+        };
+    this.fragments =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Fragment, PathEffect> eldest) {
+            return size() > ProgramEffectCache.this.capacity;
+          }
+        };
+  }
+
+  /**
+   * Returns the compiled program of an instruction string, compiling and caching it on a miss.
+   *
+   * @param instructions the instructions of a rover plan
+   * @return the compiled program, or null if the instructions are not a plain sequence of L, R and
+   *     M
+   */
+  public FragmentedProgram program(String instructions) {
+    synchronized (programs) {
+      FragmentedProgram program = programs.get(instructions);
+      if (program != null) {
+        hits.increment();
+        return program;
+      }
+    }
+
+    // Compiled outside the lock, so long strings do not hold up other threads
+    misses.increment();
+    FragmentedProgram program = FragmentedProgram.compile(instructions, this);
+    if (program != null) {
+      synchronized (programs) {
+        programs.put(instructions, program);
+      }
+    }
+    return program;
+  }
+
+  /**
+   * Returns the effect of an instruction string, compiling and caching it on a miss.
+   *
+   * @param instructions the instructions of a rover plan
+   * @return the effect of the instructions, or null if they are not a plain sequence of L, R and M
+   */
+  public PathEffect effect(String instructions) {
+    FragmentedProgram program = program(instructions);
+    return program == null ? null : program.effect();
+  }
+
+  /**
+   * Returns the effect of a fragment of an instruction string, computing and caching it on a miss.
+   *
+   * @param instructions the instruction string holding the fragment, only L, R and M
+   * @param from index of the first instruction of the fragment
+   * @param to index following the last instruction of the fragment
+   * @param hash the {@link String#hashCode} of the fragment
+   * @return the effect of the fragment
+   */
+  PathEffect fragmentEffect(String instructions, int from, int to, int hash) {
+    Fragment key = new Fragment(instructions, from, to, hash);
+    synchronized (fragments) {
+      PathEffect effect = fragments.get(key);
+      if (effect != null) {
+        fragmentHits.increment();
+        return effect;
+      }
+    }
+
+    fragmentMisses.increment();
+    PathEffect effect = PathEffect.of(instructions, from, to);
+    // Keyed by a copy, so the entry does not keep the whole instruction string reachable
+    Fragment copy = new Fragment(instructions.substring(from, to), 0, to - from, hash);
+    synchronized (fragments) {
+      fragments.put(copy, effect);
+    }
+    return effect;
+  }
+
+  /**
+   * Returns the maximum number of instruction strings held.
+   *
+   * @return the capacity
+   */
+  public int capacity() {
+    return capacity;
+  }
+
+  /**
+   * Returns the number of executions meeting an edge after which a program is specialized.
+   *
+   * @return the specialization threshold
+   */
+  public int specializeAfter() {
+    return specializeAfter;
+  }
+
+  /** Records a program specialized after reaching the threshold. */
+  void recordSpecialization() {
+    specializations.increment();
+  }
+
+  /**
+   * Returns the number of instruction strings currently held.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    synchronized (programs) {
+      return programs.size();
+    }
+  }
+
+  /**
+   * Returns how many lookups found their instruction string in the cache.
+   *
+   * @return the hit count
+   */
+  public long hits() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns how many lookups had to compile their instruction string.
+   *
+   * @return the miss count
+   */
+  public long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns how many instruction strings were evicted to make room for newer ones.
+   *
+   * @return the eviction count
+   */
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * Returns how many fragments of compiled instruction strings were found in the cache.
+   *
+   * @return the fragment hit count
+   */
+  public long fragmentHits() {
+    return fragmentHits.sum();
+  }
+
+  /**
+   * Returns how many fragments of compiled instruction strings had their effect computed.
+   *
+   * @return the fragment miss count
+   */
+  public long fragmentMisses() {
+    return fragmentMisses.sum();
+  }
+
+  /**
+   * Returns how many programs were specialized after reaching the threshold.
+   *
+   * @return the specialization count
+   */
+  public long specializations() {
+    return specializations.sum();
+  }
+
+  /** A range of an instruction string, compared by content without copying it. */
+  private static final class Fragment {
+    private final String text;
+    private final int from;
+    private final int to;
+    private final int hash;
+
+    private Fragment(String text, int from, int to, int hash) {
+      this.text = text;
+      this.from = from;
+      this.to = to;
+      this.hash = hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Fragment fragment
+          && hash == fragment.hash
+          && to - from == fragment.to - fragment.from
+          && text.regionMatches(from, fragment.text, fragment.from, to - from);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -0,0 +1,230 @@
+package com.example.mars.exec;
+
+import com.example.mars.domain.InstructionProgram;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.Position;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instructions with repetition syntax compiled for execution without expanding the repetitions, so
+ * that run time is logarithmic in each repeat count.
+ *
+ * <p>A run of a single instruction, such as {@code M500}, is evaluated in constant time as in
+ * {@link SegmentProgram}. For a group, such as {@code (LMMRM)x1000000}, the {@link PathEffect} of
+ * one repetition is composed into the effects of 1, 2, 4, ... repetitions by repeated squaring when
+ * the program is compiled. A group then executes by applying, from the largest down, each of these
+ * effects that fits the plateau from the rover's current position, which covers every repetition
+ * that stays on the plateau in {@code O(log k)} steps. A repetition that would leave the plateau is
+ * executed item by item, so that the boundary policy applies to the exact failing move.
+ *
+ * <p>Under IGNORE a rover may keep meeting the edge repetition after repetition. Each repetition
+ * that meets the edge is executed item by item until the rover's state after one recurs, at which
+ * point the repetitions in between are known to form a cycle and whole cycles are skipped.
+ *
+ * <p>Results and errors are identical to executing the expanded instructions with the interpreter
+ * in {@link MissionRunner}; STRICT failures report the index of the failing instruction within the
+ * expanded sequence. A compiled program is immutable and may be executed concurrently.
+ */
+public final class RepetitionProgram {
+
+  private final Node[] nodes;
+
+  private RepetitionProgram(Node[] nodes) {
+    this.nodes = nodes;
+  }
+
+  /**
+   * Compiles instructions written with repetition syntax.
+   *
+   * @param instructions the instructions to compile
+   * @return the compiled program
+   * @throws IllegalArgumentException if the instructions do not follow the grammar of {@link
+   *     InstructionProgram}
+   */
+  public static RepetitionProgram compile(CharSequence instructions) {
+    return compile(InstructionProgram.parse(instructions));
+  }
+
+  /**
+   * Compiles a parsed instruction program.
+   *
+   * @param program the program to compile
+   * @return the compiled program
+   */
+  public static RepetitionProgram compile(InstructionProgram program) {
+    return new RepetitionProgram(compileItems(program.items()));
+  }
+
+  /**
+   * Executes this program on a rover, applying the boundary policy to out-of-bounds moves.
+   *
+   * @param rover the rover to update, placed at its start position
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param roverIndex zero-based index of the rover, used for error reporting
+   * @throws OutOfBoundsException if STRICT policy is used and the rover attempts an out-of-bounds
+   *     move
+   */
+  public void execute(RoverCursor rover, BoundaryPolicy policy, int roverIndex)
+      throws OutOfBoundsException {
+    new Execution(rover, policy, roverIndex).run(nodes);
+  }
+
+  private static Node[] compileItems(List<InstructionProgram.Item> items) {
+    Node[] nodes = new Node[items.size()];
+    for (int i = 0; i < nodes.length; i++) {
+      nodes[i] =
+          switch (items.get(i)) {
+            case InstructionProgram.Run run -> compileRun(run);
+            case InstructionProgram.Group group -> compileGroup(group);
+          };
+    }
+    return nodes;
+  }
+
+  private static Node compileRun(InstructionProgram.Run run) {
+    PathEffect effect =
+        run.instruction() == 'M'
+            ? PathEffect.moves(run.count())
+            : PathEffect.turns(run.count(), run.instruction() == 'R');
+    return new Node(run.instruction(), run.count(), null, new PathEffect[] {effect});
+  }
+
+  private static Node compileGroup(InstructionProgram.Group group) {
+    Node[] body = compileItems(group.body().items());
+    PathEffect once = PathEffect.IDENTITY;
+    for (Node node : body) {
+      once = once.then(node.effect());
+    }
+
+    // powers[i] is the effect of 2^i repetitions, up to the highest bit of the count
+    int bits = Long.SIZE - Long.numberOfLeadingZeros(group.count());
+    PathEffect[] powers = new PathEffect[bits + 1];
+    powers[0] = once;
+    for (int i = 1; i < bits; i++) {
+      powers[i] = powers[i - 1].then(powers[i - 1]);
+    }
+    powers[bits] = once.repeat(group.count());
+    return new Node('(', group.count(), body, powers);
+  }
+
+  /**
+   * A compiled item: a run of one instruction, or a repeated group of nodes.
+   *
+   * @param instruction the instruction of a run, or {@code (} for a group
+   * @param count the number of repetitions
+   * @param body the repeated nodes of a group, or null for a run
+   * @param effects for a run, its effect; for a group, the effects of 2^i repetitions for each bit
+   *     of the count, followed by the effect of the whole group
+   */
+  private record Node(char instruction, long count, Node[] body, PathEffect[] effects) {
+    private PathEffect effect() {
+      return effects[effects.length - 1];
+    }
+  }
+
+  /** The state of one execution of the program. */
+  private static final class Execution {
+    private final RoverCursor rover;
+    private final BoundaryPolicy policy;
+    private final int roverIndex;
+    private long executed;
+
+    private Execution(RoverCursor rover, BoundaryPolicy policy, int roverIndex) {
+      this.rover = rover;
+      this.policy = policy;
+      this.roverIndex = roverIndex;
+    }
+
+    /**
+     * Executes a sequence of nodes.
+     *
+     * @return false if the rover stopped under STOP_ON_OOB
+     */
+    private boolean run(Node[] nodes) throws OutOfBoundsException {
+      for (Node node : nodes) {
+        boolean running =
+            switch (node.instruction()) {
+              case 'L' -> turn(node.count(), false);
+              case 'R' -> turn(node.count(), true);
+              case 'M' -> move(node.count());
+              default -> repeat(node);
+            };
+        if (!running) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean turn(long count, boolean right) {
+      int quarterTurns = (int) (count & 3);
+      rover.turn(right ? quarterTurns : -quarterTurns);
+      executed += count;
+      return true;
+    }
+
+    private boolean move(long count) throws OutOfBoundsException {
+      long reach = rover.reach();
+      if (count <= reach) {
+        rover.advance(count);
+        executed += count;
+        return true;
+      }
+      rover.advance(reach);
+      if (!policy.blocked(rover, roverIndex, executed + reach, count - reach)) {
+        return false;
+      }
+      // The remaining moves of the run are all skipped at the edge
+      executed += count;
+      return true;
+    }
+
+    private boolean repeat(Node group) throws OutOfBoundsException {
+      PathEffect[] powers = group.effects();
+      long length = powers[0].length();
+      long remaining = group.count();
+      // Under IGNORE, the remaining count and ignored moves at each state reached after meeting
+      // the edge
+      Map<Position, long[]> edgeStates = policy == BoundaryPolicy.IGNORE ? new HashMap<>() : null;
+
+      while (remaining > 0) {
+        // Apply the largest blocks of repetitions that stay on the plateau
+        for (int power = powers.length - 2; power >= 0; power--) {
+          long repetitions = 1L << power;
+          if (repetitions <= remaining && powers[power].fits(rover)) {
+            powers[power].applyTo(rover);
+            remaining -= repetitions;
+            executed += repetitions * length;
+          }
+        }
+        if (remaining == 0) {
+          break;
+        }
+
+        // The next repetition meets the edge, so the policy applies within it
+        if (!run(group.body())) {
+          return false;
+        }
+        remaining--;
+
+        if (edgeStates != null) {
+          long[] earlier =
+              edgeStates.putIfAbsent(
+                  rover.position(), new long[] {remaining, rover.ignoredMoves()});
+          if (earlier != null) {
+            // The rover is back in an earlier state, so the repetitions since then cycle
+            long period = earlier[0] - remaining;
+            long skipped = remaining - remaining % period;
+            remaining -= skipped;
+            executed += skipped * length;
+            rover.ignore((rover.ignoredMoves() - earlier[1]) * (skipped / period));
+            edgeStates.clear();
+          }
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,261 @@
+package com.example.mars.exec;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+
+/**
+ * Mutable, allocation-free rover state for the execution hot loop. Coordinates and the heading
+ * ordinal are held as primitive fields and moves are checked against the plateau bounds as raw
+ * ints, so turning and moving never allocate. A {@link Position} is only materialized on request,
+ * when a rover finishes or an error is reported.
+ *
+ * <p>Headings are {@link Direction#ordinal() ordinals}: 0 = N, 1 = E, 2 = S, 3 = W, so a right
+ * turn adds one and a left turn subtracts one, modulo four.
+ *
+ * <p>The cursor also notes what its {@link BoundaryPolicy} did with moves blocked at an edge: the
+ * instruction index at which the rover stopped, and how many moves were ignored. These are only
+ * written when a move is blocked, and are cleared when the cursor is reset.
+ *
+ * <p>A cursor is not thread-safe, but may be {@link #reset reset} and reused for any number of
+ * rovers on the same plateau.
+ */
+public final class RoverCursor {
+
+  private static final Direction[] HEADINGS = Direction.values();
+  private static final int[] DX = {0, 1, 0, -1};
+  private static final int[] DY = {1, 0, -1, 0};
+
+  private final int maxX;
+  private final int maxY;
+  private int x;
+  private int y;
+  private int heading;
+  private long stoppedAt = -1;
+  private long ignoredMoves;
+
+  /**
+   * Creates a cursor for rovers moving on the given plateau.
+   *
+   * @param plateau the operational area the rovers move on
+   */
+  public RoverCursor(Plateau plateau) {
+    this.maxX = plateau.maxX();
+    this.maxY = plateau.maxY();
+  }
+
+  /**
+   * Places the cursor at a rover's start position, clearing what its policy has noted.
+   *
+   * @param x the start x-coordinate
+   * @param y the start y-coordinate
+   * @param heading the start heading ordinal
+   * @return this cursor
+   */
+  public RoverCursor reset(int x, int y, int heading) {
+    this.x = x;
+    this.y = y;
+    this.heading = heading;
+    this.stoppedAt = -1;
+    this.ignoredMoves = 0;
+    return this;
+  }
+
+  /**
+   * Places the cursor at a rover's start position, clearing what its policy has noted.
+   *
+   * @param start the start position
+   * @return this cursor
+   */
+  public RoverCursor reset(Position start) {
+    return reset(start.x(), start.y(), start.heading().ordinal());
+  }
+
+  /**
+   * Moves the cursor to a rover's current state, computed elsewhere, keeping what its policy has
+   * noted.
+   *
+   * @param x the x-coordinate
+   * @param y the y-coordinate
+   * @param heading the heading ordinal
+   */
+  public void update(int x, int y, int heading) {
+    this.x = x;
+    this.y = y;
+    this.heading = heading;
+  }
+
+  /** Rotates the rover 90 degrees to the left. */
+  public void turnLeft() {
+    heading = (heading + 3) & 3;
+  }
+
+  /** Rotates the rover 90 degrees to the right. */
+  public void turnRight() {
+    heading = (heading + 1) & 3;
+  }
+
+  /**
+   * Moves the rover one grid point forward if the destination lies on the plateau.
+   *
+   * @return true if the rover moved, false if the move would leave the plateau
+   */
+  public boolean move() {
+    int nextX = x + DX[heading];
+    int nextY = y + DY[heading];
+    if (nextX < 0 || nextX > maxX || nextY < 0 || nextY > maxY) {
+      return false;
+    }
+    x = nextX;
+    y = nextY;
+    return true;
+  }
+
+  /**
+   * Moves the rover one grid point forward without checking the plateau bounds. The caller must
+   * know that the destination lies on the plateau, for instance from the rover's {@link #margin()}.
+   */
+  public void moveUnchecked() {
+    x += DX[heading];
+    y += DY[heading];
+  }
+
+  /**
+   * Returns how many moves the rover can make in any direction before it could leave the plateau,
+   * that is its distance to the nearest edge.
+   *
+   * @return the number of moves that are certain to succeed, or a negative number if the rover is
+   *     off the plateau
+   */
+  public int margin() {
+    return Math.min(Math.min(x, maxX - x), Math.min(y, maxY - y));
+  }
+
+  /**
+   * Rotates the rover by a number of quarter turns.
+   *
+   * @param quarterTurns the number of right turns, or of left turns if negative
+   */
+  public void turn(int quarterTurns) {
+    heading = (heading + quarterTurns) & 3;
+  }
+
+  /**
+   * Returns how many consecutive moves the rover can make along its heading before the next move
+   * would leave the plateau.
+   *
+   * @return the number of moves that would succeed, possibly zero
+   */
+  public long reach() {
+    return switch (heading) {
+      case 0 -> inRange(x, maxX) && y >= -1 ? Math.max(0, (long) maxY - y) : 0;
+      case 1 -> inRange(y, maxY) && x >= -1 ? Math.max(0, (long) maxX - x) : 0;
+      case 2 -> inRange(x, maxX) && y <= maxY + 1L ? Math.max(0, y) : 0;
+      default -> inRange(y, maxY) && x <= maxX + 1L ? Math.max(0, x) : 0;
+    };
+  }
+
+  /**
+   * Moves the rover forward several grid points at once.
+   *
+   * @param steps the number of moves, at most {@link #reach()}
+   */
+  public void advance(long steps) {
+    x += (int) (DX[heading] * steps);
+    y += (int) (DY[heading] * steps);
+  }
+
+  /**
+   * Returns the current x-coordinate.
+   *
+   * @return the x-coordinate
+   */
+  public int x() {
+    return x;
+  }
+
+  /**
+   * Returns the current y-coordinate.
+   *
+   * @return the y-coordinate
+   */
+  public int y() {
+    return y;
+  }
+
+  /**
+   * Returns the current heading ordinal.
+   *
+   * @return the heading ordinal, from 0 to 3
+   */
+  public int heading() {
+    return heading;
+  }
+
+  /**
+   * Notes that the rover stopped at a blocked move and executes no further instructions.
+   *
+   * @param instructionIndex zero-based index of the blocked move
+   */
+  public void stop(long instructionIndex) {
+    stoppedAt = instructionIndex;
+  }
+
+  /**
+   * Returns the index of the blocked move at which the rover stopped.
+   *
+   * @return the zero-based instruction index, or -1 if the rover has not stopped
+   */
+  public long stoppedAt() {
+    return stoppedAt;
+  }
+
+  /**
+   * Notes moves that were blocked at an edge and skipped.
+   *
+   * @param moves the number of moves skipped
+   */
+  public void ignore(long moves) {
+    ignoredMoves += moves;
+  }
+
+  /**
+   * Returns how many moves were blocked at an edge and skipped since the cursor was reset.
+   *
+   * @return the number of ignored moves
+   */
+  public long ignoredMoves() {
+    return ignoredMoves;
+  }
+
+  /**
+   * Returns the largest x-coordinate on the plateau.
+   *
+   * @return the plateau's maxX
+   */
+  public int maxX() {
+    return maxX;
+  }
+
+  /**
+   * Returns the largest y-coordinate on the plateau.
+   *
+   * @return the plateau's maxY
+   */
+  public int maxY() {
+    return maxY;
+  }
+
+  /**
+   * Materializes the current state as a position.
+   *
+   * @return a new position holding the current coordinates and heading
+   */
+  public Position position() {
+    return new Position(x, y, HEADINGS[heading]);
+  }
+
+  private static boolean inRange(int value, int max) {
+    return value >= 0 && value <= max;
+  }
+}
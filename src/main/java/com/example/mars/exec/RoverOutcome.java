@@ -0,0 +1,69 @@
+package com.example.mars.exec;
+
+import com.example.mars.domain.Position;
+
+/**
+ * The outcome of executing one rover, reported by {@link MissionRunner#runOutcomes} instead of
+ * throwing at the first failure, so that a batch of rovers keeps the results of every rover that
+ * did not fail.
+ *
+ * @param roverIndex zero-based index of the rover within the mission
+ * @param position the final position of the rover; for a rover that failed or stopped, its
+ *     position before the blocked move
+ * @param status whether the rover executed every instruction, failed or stopped
+ * @param failedInstruction zero-based index of the move the rover failed or stopped at, or -1
+ * @param ignoredMoves the number of moves skipped at an edge under IGNORE policy
+ */
+public record RoverOutcome(
+    int roverIndex, Position position, Status status, long failedInstruction, long ignoredMoves) {
+
+  /** How a rover's execution ended. */
+  public enum Status {
+    /** The rover executed all of its instructions, ignoring any blocked moves under IGNORE. */
+    OK,
+
+    /** The rover attempted an out-of-bounds move under STRICT policy and executed no further. */
+    OUT_OF_BOUNDS,
+
+    /** The rover attempted an out-of-bounds move under STOP_ON_OOB policy and stopped there. */
+    STOPPED
+  }
+
+  /**
+   * Returns whether the rover failed, that is whether a fail-fast run would have thrown for it.
+   *
+   * @return true if the status is {@link Status#OUT_OF_BOUNDS}
+   */
+  public boolean isFailed() {
+    return status == Status.OUT_OF_BOUNDS;
+  }
+
+  /**
+   * Returns the message a fail-fast run would have thrown for this rover.
+   *
+   * @return the out-of-bounds message, or null if the rover did not fail
+   */
+  public String failureMessage() {
+    if (!isFailed()) {
+      return null;
+    }
+    return MissionRunner.outOfBoundsMessage(position, roverIndex, failedInstruction);
+  }
+
+  /**
+   * Returns the outcome noted on a cursor after executing a rover.
+   *
+   * @param rover the cursor the rover executed on
+   * @param roverIndex zero-based index of the rover
+   * @param policy the policy the rover was executed under
+   * @return the outcome of the rover
+   */
+  static RoverOutcome of(RoverCursor rover, int roverIndex, BoundaryPolicy policy) {
+    long stoppedAt = rover.stoppedAt();
+    Status status =
+        stoppedAt < 0
+            ? Status.OK
+            : policy == BoundaryPolicy.STRICT ? Status.OUT_OF_BOUNDS : Status.STOPPED;
+    return new RoverOutcome(roverIndex, rover.position(), status, stoppedAt, rover.ignoredMoves());
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.mars.exec;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * How {@link MissionRunner} executes a mission beyond its boundary policy: the engine executing
+ * each rover, and the optional program cache, metrics and fork/join pool. Final positions and
+ * errors are the same whatever the options; they change only how the work is done and what is
+ * recorded on the way.
+ *
+ * <p>Options are immutable. Start from {@link #DEFAULT} and change one option at a time:
+ *
+ * <pre>{@code
+ * RunOptions options = RunOptions.DEFAULT.withEngine(ExecutionEngine.TABLE).withPool(pool);
+ * List<Position> finalPositions = MissionRunner.run(mission, BoundaryPolicy.STRICT, options);
+ * }</pre>
+ *
+ * @param engine the engine executing each rover's instructions
+ * @param cache the cache of compiled instructions shared by rovers with identical instructions,
+ *     or null to execute every rover
+ * @param metrics the metrics to record each rover's execution path in, or null
+ * @param pool the pool to spread rovers, and the instructions of very long rovers, across, or null
+ *     to execute them sequentially on the calling thread
+ */
+public record RunOptions(
+    ExecutionEngine engine, ProgramEffectCache cache, ExecutionMetrics metrics, ForkJoinPool pool) {
+
+  /** The interpreter on the calling thread, with no cache and no metrics. */
+  public static final RunOptions DEFAULT =
+      new RunOptions(ExecutionEngine.INTERPRETER, null, null, null);
+
+  /**
+   * Returns these options with a different engine.
+   *
+   * @param engine the engine executing each rover's instructions
+   * @return the changed options
+   */
+  public RunOptions withEngine(ExecutionEngine engine) {
+    return new RunOptions(engine, cache, metrics, pool);
+  }
+
+  /**
+   * Returns these options with a different program cache.
+   *
+   * @param cache the cache of compiled instructions, or null to execute every rover
+   * @return the changed options
+   */
+  public RunOptions withCache(ProgramEffectCache cache) {
+    return new RunOptions(engine, cache, metrics, pool);
+  }
+
+  /**
+   * Returns these options with different metrics.
+   *
+   * @param metrics the metrics to record each rover's execution path in, or null
+   * @return the changed options
+   */
+  public RunOptions withMetrics(ExecutionMetrics metrics) {
+    return new RunOptions(engine, cache, metrics, pool);
+  }
+
+  /**
+   * Returns these options with a different pool.
+   *
+   * @param pool the pool to execute rovers on, or null to execute them sequentially
+   * @return the changed options
+   */
+  public RunOptions withPool(ForkJoinPool pool) {
+    return new RunOptions(engine, cache, metrics, pool);
+  }
+}
@@ -0,0 +1,198 @@
+package com.example.mars.exec;
+
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.PackedRoverPlans;
+import java.util.Arrays;
+
+/**
+ * An instruction sequence compiled into straight-line segments, so that a rover executes in time
+ * proportional to its number of turns rather than its number of instructions.
+ *
+ * <p>Each segment is a net rotation, folding any run of consecutive {@code L} and {@code R}
+ * instructions into a number of right turns modulo four, followed by a run of consecutive {@code
+ * M} instructions. A run is evaluated in constant time from the rover's {@link RoverCursor#reach()
+ * reach} along its heading:
+ *
+ * <ul>
+ *   <li><strong>IGNORE</strong>: the rover advances by at most its reach, since once a move is
+ *       skipped at the edge every following move in the run is skipped too
+ *   <li><strong>STOP_ON_OOB</strong>: the rover advances by its reach and stops if the run is
+ *       longer
+ *   <li><strong>STRICT</strong>: the rover fails at the move following its reach, whose index is
+ *       the run's first instruction index plus the reach
+ * </ul>
+ *
+ * <p>Results and errors are identical to the character-by-character interpreter in {@link
+ * MissionRunner}, including an invalid instruction character, which is reported once the
+ * instructions before it have executed.
+ */
+public final class SegmentProgram {
+
+  private static final int INITIAL_CAPACITY = 8;
+
+  private final int[] rotations;
+  private final long[] runLengths;
+  private final long[] runStarts;
+  private final int segments;
+  private final int finalRotation;
+  private final boolean invalid;
+  private final char invalidInstruction;
+
+  private SegmentProgram(Builder builder) {
+    this.rotations = builder.rotations;
+    this.runLengths = builder.runLengths;
+    this.runStarts = builder.runStarts;
+    this.segments = builder.segments;
+    this.finalRotation = builder.rotation;
+    this.invalid = builder.invalid;
+    this.invalidInstruction = builder.invalidInstruction;
+  }
+
+  /**
+   * Compiles an instruction sequence.
+   *
+   * @param instructions the instructions, normally only L, R and M
+   * @return the compiled program
+   */
+  public static SegmentProgram compile(CharSequence instructions) {
+    Builder builder = new Builder();
+    for (int i = 0; i < instructions.length(); i++) {
+      char instruction = instructions.charAt(i);
+      switch (instruction) {
+        case 'L' -> builder.turn(3);
+        case 'R' -> builder.turn(1);
+        case 'M' -> builder.move(i);
+        default -> {
+          builder.invalid = true;
+          builder.invalidInstruction = instruction;
+          return builder.build();
+        }
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Compiles the instructions of one rover held in packed form, reading instruction codes straight
+   * from the arena words.
+   *
+   * @param plans the packed rover plans
+   * @param roverIndex zero-based index of the rover to compile
+   * @return the compiled program
+   */
+  public static SegmentProgram compile(PackedRoverPlans plans, int roverIndex) {
+    Builder builder = new Builder();
+    long offset = plans.instructionOffset(roverIndex);
+    long count = plans.instructionCount(roverIndex);
+    long instructionIndex = 0;
+    while (instructionIndex < count) {
+      long index = offset + instructionIndex;
+      long word = plans.word(index / PackedRoverPlans.INSTRUCTIONS_PER_WORD);
+      int slot = (int) (index % PackedRoverPlans.INSTRUCTIONS_PER_WORD);
+      int slots =
+          (int) Math.min(PackedRoverPlans.INSTRUCTIONS_PER_WORD - slot, count - instructionIndex);
+      for (int i = 0; i < slots; i++, instructionIndex++) {
+        int code = PackedRoverPlans.codeAt(word, slot + i);
+        switch (code) {
+          case PackedRoverPlans.LEFT -> builder.turn(3);
+          case PackedRoverPlans.RIGHT -> builder.turn(1);
+          case PackedRoverPlans.MOVE -> builder.move(instructionIndex);
+          default -> PackedRoverPlans.toChar(code); // rejects the unused code
+        }
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the number of move runs in this program.
+   *
+   * @return the number of segments, each evaluated in constant time
+   */
+  public int segmentCount() {
+    return segments;
+  }
+
+  /**
+   * Returns whether every instruction was compiled, that is whether the instructions hold no
+   * invalid character.
+   *
+   * @return true if the instructions are only L, R and M
+   */
+  public boolean isComplete() {
+    return !invalid;
+  }
+
+  /**
+   * Executes this program on a rover, applying the boundary policy to out-of-bounds moves.
+   *
+   * @param rover the rover to update, placed at its start position
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param roverIndex zero-based index of the rover, used for error reporting
+   * @throws OutOfBoundsException if STRICT policy is used and the rover attempts an out-of-bounds
+   *     move
+   * @throws IllegalArgumentException if the instructions contain an invalid character and the
+   *     rover reaches it
+   */
+  public void execute(RoverCursor rover, BoundaryPolicy policy, int roverIndex)
+      throws OutOfBoundsException {
+    for (int segment = 0; segment < segments; segment++) {
+      rover.turn(rotations[segment]);
+      long steps = runLengths[segment];
+      long reach = rover.reach();
+      if (steps <= reach) {
+        rover.advance(steps);
+        continue;
+      }
+      rover.advance(reach);
+      // Under IGNORE the remaining moves of the run are all skipped at the edge
+      if (!policy.blocked(rover, roverIndex, runStarts[segment] + reach, steps - reach)) {
+        return;
+      }
+    }
+    rover.turn(finalRotation);
+    if (invalid) {
+      throw new IllegalArgumentException("Invalid instruction character: " + invalidInstruction);
+    }
+  }
+
+  /** Accumulates segments while instructions are scanned. */
+  private static final class Builder {
+    private int[] rotations = new int[INITIAL_CAPACITY];
+    private long[] runLengths = new long[INITIAL_CAPACITY];
+    private long[] runStarts = new long[INITIAL_CAPACITY];
+    private int segments;
+    private int rotation;
+    private boolean inRun;
+    private boolean invalid;
+    private char invalidInstruction;
+
+    private void turn(int quarterTurns) {
+      rotation = (rotation + quarterTurns) & 3;
+      inRun = false;
+    }
+
+    private void move(long instructionIndex) {
+      if (inRun) {
+        runLengths[segments - 1]++;
+        return;
+      }
+      if (segments == rotations.length) {
+        int capacity = segments * 2;
+        rotations = Arrays.copyOf(rotations, capacity);
+        runLengths = Arrays.copyOf(runLengths, capacity);
+        runStarts = Arrays.copyOf(runStarts, capacity);
+      }
+      rotations[segments] = rotation;
+      runLengths[segments] = 1;
+      runStarts[segments] = instructionIndex;
+      segments++;
+      rotation = 0;
+      inRun = true;
+    }
+
+    private SegmentProgram build() {
+      return new SegmentProgram(this);
+    }
+  }
+}
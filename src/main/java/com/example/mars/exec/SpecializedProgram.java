@@ -0,0 +1,195 @@
+package com.example.mars.exec;
+
+import com.example.mars.domain.OutOfBoundsException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An instruction string specialized into a chain of method handles, one per move run, with the
+ * turns, run lengths and instruction indices of the string bound in as constants.
+ *
+ * <p>The string is split into segments as by {@link SegmentProgram}: a net rotation followed by a
+ * run of moves, evaluated in constant time from the rover's {@link RoverCursor#reach() reach}.
+ * Each segment becomes a method handle with its rotation, run length and first instruction index
+ * bound, and the segments are joined into a balanced tree of {@link MethodHandles#guardWithTest
+ * guards}, each running its second half only if the first did not stop the rover. Once a handle
+ * has been invoked often enough, the JVM customizes its lambda forms, treating the bound values as
+ * constants, so the JIT compiles the whole program straight-line for the rover's start position,
+ * with no instruction array left to read. The tree keeps the depth of the chain logarithmic in its
+ * number of segments, within the JIT's inlining depth.
+ *
+ * <p>Specializing costs far more than compiling a {@link SegmentProgram}, so programs are only
+ * specialized once they have proven hot, as done by {@link FragmentedProgram} for instruction
+ * strings held in a {@link ProgramEffectCache}. Results and errors are identical to the
+ * character-by-character interpreter in {@link MissionRunner}.
+ */
+public final class SpecializedProgram {
+
+  /** Most segments a program may have to be specialized. */
+  static final int MAX_SEGMENTS = 1024;
+
+  /** Type of a specialized program and of each of its segments. */
+  private static final MethodType TYPE =
+      MethodType.methodType(boolean.class, RoverCursor.class, BoundaryPolicy.class, int.class);
+
+  /** Executes one segment: {@code (rotation, steps, runStart, rover, policy, roverIndex)}. */
+  private static final MethodHandle SEGMENT;
+
+  /** Applies the final rotation: {@code (rotation, rover, policy, roverIndex)}. */
+  private static final MethodHandle TURN;
+
+  private static final MethodHandle CONTINUE = constant(true);
+  private static final MethodHandle STOP = constant(false);
+
+  static {
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      SEGMENT =
+          lookup.findStatic(
+              SpecializedProgram.class,
+              "segment",
+              TYPE.insertParameterTypes(0, int.class, long.class, long.class));
+      TURN =
+          lookup.findStatic(
+              SpecializedProgram.class, "turn", TYPE.insertParameterTypes(0, int.class));
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final MethodHandle program;
+  private final int segments;
+
+  private SpecializedProgram(MethodHandle program, int segments) {
+    this.program = program;
+    this.segments = segments;
+  }
+
+  /**
+   * Specializes a plain instruction sequence.
+   *
+   * @param instructions the instructions, only L, R and M
+   * @return the specialized program, or null if the instructions hold any other character or more
+   *     than {@value #MAX_SEGMENTS} move runs
+   */
+  public static SpecializedProgram compile(CharSequence instructions) {
+    List<MethodHandle> steps = new ArrayList<>();
+    int rotation = 0;
+    long runStart = -1;
+    for (int i = 0; i <= instructions.length(); i++) {
+      char instruction = i < instructions.length() ? instructions.charAt(i) : 0;
+      if (instruction == 'M') {
+        if (runStart < 0) {
+          runStart = i;
+        }
+        continue;
+      }
+      if (runStart >= 0) {
+        if (steps.size() == MAX_SEGMENTS) {
+          return null;
+        }
+        steps.add(MethodHandles.insertArguments(SEGMENT, 0, rotation, i - runStart, runStart));
+        rotation = 0;
+        runStart = -1;
+      }
+      switch (instruction) {
+        case 'L' -> rotation = (rotation + 3) & 3;
+        case 'R' -> rotation = (rotation + 1) & 3;
+        case 0 -> {
+          // End of the instructions
+        }
+        default -> {
+          return null;
+        }
+      }
+    }
+    int segments = steps.size();
+    if (rotation != 0) {
+      steps.add(MethodHandles.insertArguments(TURN, 0, rotation));
+    }
+    return new SpecializedProgram(sequence(steps, 0, steps.size()), segments);
+  }
+
+  /**
+   * Returns the number of move runs in this program.
+   *
+   * @return the number of segments, each a method handle of the chain
+   */
+  public int segmentCount() {
+    return segments;
+  }
+
+  /**
+   * Executes this program on a rover, applying the boundary policy to out-of-bounds moves.
+   *
+   * @param rover the rover to update, placed at its start position
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param roverIndex zero-based index of the rover, used for error reporting
+   * @throws OutOfBoundsException if STRICT policy is used and the rover attempts an out-of-bounds
+   *     move
+   */
+  public void execute(RoverCursor rover, BoundaryPolicy policy, int roverIndex)
+      throws OutOfBoundsException {
+    try {
+      // Whether the rover stopped early is of no further use once the program has returned
+      boolean completed = (boolean) program.invokeExact(rover, policy, roverIndex);
+    } catch (OutOfBoundsException | RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Returns a handle of the program type that does nothing but return a value. */
+  private static MethodHandle constant(boolean value) {
+    return MethodHandles.dropArguments(
+        MethodHandles.constant(boolean.class, value), 0, TYPE.parameterList());
+  }
+
+  /** Joins a range of steps into a tree of guards that stops at the first step returning false. */
+  private static MethodHandle sequence(List<MethodHandle> steps, int from, int to) {
+    if (from == to) {
+      return CONTINUE;
+    }
+    if (to - from == 1) {
+      return steps.get(from);
+    }
+    int middle = (from + to) >>> 1;
+    return MethodHandles.guardWithTest(
+        sequence(steps, from, middle), sequence(steps, middle, to), STOP);
+  }
+
+  /**
+   * Turns the rover, then moves it along a run of moves, applying the boundary policy.
+   *
+   * @return false if the rover must stop processing further instructions
+   */
+  private static boolean segment(
+      int rotation,
+      long steps,
+      long runStart,
+      RoverCursor rover,
+      BoundaryPolicy policy,
+      int roverIndex)
+      throws OutOfBoundsException {
+    rover.turn(rotation);
+    long reach = rover.reach();
+    if (steps <= reach) {
+      rover.advance(steps);
+      return true;
+    }
+    rover.advance(reach);
+    // Under IGNORE the remaining moves of the run are all skipped at the edge
+    return policy.blocked(rover, roverIndex, runStart + reach, steps - reach);
+  }
+
+  /** Applies the rotation following the last move run. */
+  private static boolean turn(
+      int rotation, RoverCursor rover, BoundaryPolicy policy, int roverIndex) {
+    rover.turn(rotation);
+    return true;
+  }
+}
@@ -0,0 +1,180 @@
+package com.example.mars.exec;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.PackedRoverPlans;
+import java.util.Arrays;
+
+/**
+ * Executes instructions as a state machine over precomputed transition tables, so that the hot
+ * loop replaces the interpreter's nested switches on the instruction and the heading with table
+ * lookups.
+ *
+ * <p>The state is the rover's heading ordinal. Each instruction is first mapped to its {@link
+ * PackedRoverPlans} code, and the pair {@code (heading, code)} indexes three tables holding the
+ * next heading and the {@code dx}/{@code dy} of the transition: a turn changes the heading with a
+ * zero delta and a move keeps it with the unit delta of the heading. The tables are derived from
+ * {@link Direction} when the class is initialized, so they agree with the domain model by
+ * construction. The only branches left per instruction are the bounds check of a move and the
+ * check for an invalid character.
+ *
+ * <p>Packed instructions already hold codes, so they index the tables without being decoded.
+ *
+ * <p>Results and errors are identical to the character-by-character interpreter in {@link
+ * MissionRunner}.
+ */
+public final class TransitionTable {
+
+  /** Code of every character other than L, R and M, the code unused by packed instructions. */
+  static final int INVALID = 3;
+
+  /** Instruction code of each ASCII character. */
+  private static final byte[] CODES = new byte[128];
+
+  /** Next heading ordinal, indexed by {@code heading << 2 | code}. */
+  private static final int[] NEXT_HEADING = new int[16];
+
+  /** Change of x-coordinate, indexed by {@code heading << 2 | code}. */
+  private static final int[] DX = new int[16];
+
+  /** Change of y-coordinate, indexed by {@code heading << 2 | code}. */
+  private static final int[] DY = new int[16];
+
+  static {
+    Arrays.fill(CODES, (byte) INVALID);
+    CODES['L'] = PackedRoverPlans.LEFT;
+    CODES['R'] = PackedRoverPlans.RIGHT;
+    CODES['M'] = PackedRoverPlans.MOVE;
+
+    for (Direction heading : Direction.values()) {
+      int state = heading.ordinal() << 2;
+      NEXT_HEADING[state | PackedRoverPlans.LEFT] = heading.rotateLeft().ordinal();
+      NEXT_HEADING[state | PackedRoverPlans.RIGHT] = heading.rotateRight().ordinal();
+      NEXT_HEADING[state | PackedRoverPlans.MOVE] = heading.ordinal();
+      NEXT_HEADING[state | INVALID] = heading.ordinal();
+      DX[state | PackedRoverPlans.MOVE] = heading.dx();
+      DY[state | PackedRoverPlans.MOVE] = heading.dy();
+    }
+  }
+
+  private TransitionTable() {}
+
+  /**
+   * Returns the instruction code of a character.
+   *
+   * @param instruction the instruction character
+   * @return the {@link PackedRoverPlans} code of L, R or M, or {@link #INVALID} for any other
+   *     character
+   */
+  static int code(char instruction) {
+    return instruction < CODES.length ? CODES[instruction] : INVALID;
+  }
+
+  /**
+   * Executes an instruction sequence on a rover, applying the boundary policy to out-of-bounds
+   * moves.
+   *
+   * <p>Execution stops at the first character that is not an instruction and returns its index,
+   * leaving the caller to report it or to execute the sequence some other way, for instance as
+   * repetition syntax.
+   *
+   * @param rover the rover to update, placed at its start position
+   * @param instructions the instructions to execute
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @param roverIndex zero-based index of the rover, used for error reporting
+   * @return the index of the first invalid character, or -1 if every instruction executed or the
+   *     rover stopped under STOP_ON_OOB
+   * @throws OutOfBoundsException if STRICT policy is used and the rover attempts an out-of-bounds
+   *     move
+   */
+  public static int execute(
+      RoverCursor rover, CharSequence instructions, BoundaryPolicy policy, int roverIndex)
+      throws OutOfBoundsException {
+    int maxX = rover.maxX();
+    int maxY = rover.maxY();
+    int x = rover.x();
+    int y = rover.y();
+    int heading = rover.heading();
+
+    int length = instructions.length();
+    for (int i = 0; i < length; i++) {
+      char instruction = instructions.charAt(i);
+      int code = code(instruction);
+      if (code == INVALID) {
+        rover.update(x, y, heading);
+        return i;
+      }
+      int transition = heading << 2 | code;
+      int nextX = x + DX[transition];
+      int nextY = y + DY[transition];
+      heading = NEXT_HEADING[transition];
+      // Turns never fail, even for a rover placed off the plateau
+      if ((nextX < 0 | nextX > maxX | nextY < 0 | nextY > maxY) && code == PackedRoverPlans.MOVE) {
+        rover.update(x, y, heading);
+        if (!policy.blocked(rover, roverIndex, i, 1)) {
+          return -1;
+        }
+        continue;
+      }
+      x = nextX;
+      y = nextY;
+    }
+
+    rover.update(x, y, heading);
+    return -1;
+  }
+
+  /**
+   * Executes the instructions of one rover held in packed form, looking transitions up by the
+   * instruction codes read straight from the arena words.
+   *
+   * @param rover the rover to update, placed at its start position
+   * @param plans the packed rover plans
+   * @param roverIndex zero-based index of the rover to execute, also used for error reporting
+   * @param policy the boundary policy for handling out-of-bounds move attempts
+   * @throws OutOfBoundsException if STRICT policy is used and the rover attempts an out-of-bounds
+   *     move
+   */
+  public static void execute(
+      RoverCursor rover, PackedRoverPlans plans, int roverIndex, BoundaryPolicy policy)
+      throws OutOfBoundsException {
+    int maxX = rover.maxX();
+    int maxY = rover.maxY();
+    int x = rover.x();
+    int y = rover.y();
+    int heading = rover.heading();
+
+    long offset = plans.instructionOffset(roverIndex);
+    long count = plans.instructionCount(roverIndex);
+    long instructionIndex = 0;
+    while (instructionIndex < count) {
+      long index = offset + instructionIndex;
+      long word = plans.word(index / PackedRoverPlans.INSTRUCTIONS_PER_WORD);
+      int slot = (int) (index % PackedRoverPlans.INSTRUCTIONS_PER_WORD);
+      int slots =
+          (int) Math.min(PackedRoverPlans.INSTRUCTIONS_PER_WORD - slot, count - instructionIndex);
+      for (int i = 0; i < slots; i++, instructionIndex++) {
+        int code = PackedRoverPlans.codeAt(word, slot + i);
+        if (code == INVALID) {
+          PackedRoverPlans.toChar(code); // rejects the unused code
+        }
+        int transition = heading << 2 | code;
+        int nextX = x + DX[transition];
+        int nextY = y + DY[transition];
+        heading = NEXT_HEADING[transition];
+        if ((nextX < 0 | nextX > maxX | nextY < 0 | nextY > maxY)
+            && code == PackedRoverPlans.MOVE) {
+          rover.update(x, y, heading);
+          if (!policy.blocked(rover, roverIndex, instructionIndex, 1)) {
+            return;
+          }
+          continue;
+        }
+        x = nextX;
+        y = nextY;
+      }
+    }
+
+    rover.update(x, y, heading);
+  }
+}
@@ -0,0 +1,219 @@
+package com.example.mars.parse;
+
+import com.example.mars.domain.Direction;
+
+/**
+ * Allocation-free, table-driven scanner for mission input lines. Each line is scanned once, in
+ * place, with integers parsed directly from the characters, headings decoded from a single
+ * character and instructions validated through a lookup table.
+ *
+ * <p>Tokenization mirrors {@code line.trim().split("\\s+")}: the line is first trimmed of
+ * characters at or below U+0020, and the remainder is split on runs of the regex whitespace class
+ * {@code [ \t\n\x0B\f\r]}. Integers follow {@link Integer#parseInt(String)} exactly, including an
+ * optional sign and Unicode decimal digits.
+ *
+ * <p>To stay allocation-free, tokens and integers are returned packed into a {@code long}:
+ *
+ * <ul>
+ *   <li>a token holds its start index in the upper 32 bits and its end index in the lower 32 bits,
+ *       or {@link #NO_TOKEN} if there is none
+ *   <li>an integer is returned as its value, or {@link #NOT_AN_INT} if the token is not an int
+ * </ul>
+ */
+final class AsciiTokenizer {
+
+  /** Returned by {@link #nextToken} when no further token exists. */
+  static final long NO_TOKEN = -1L;
+
+  /** Returned by {@link #parseInt} when a token is not a valid int. */
+  static final long NOT_AN_INT = Long.MIN_VALUE;
+
+  private static final byte SEPARATOR = 1;
+  private static final byte DIGIT = 2;
+  private static final byte INSTRUCTION = 4;
+
+  /** Character classes for the ASCII range, indexed by character. */
+  private static final byte[] CLASSES = new byte[128];
+
+  /** Headings indexed by character, null where the character is not a heading. */
+  private static final Direction[] HEADINGS = new Direction[128];
+
+  static {
+    for (char c : " \t\n\u000B\f\r".toCharArray()) {
+      CLASSES[c] |= SEPARATOR;
+    }
+    for (char c = '0'; c <= '9'; c++) {
+      CLASSES[c] |= DIGIT;
+    }
+    for (char c : "LRM".toCharArray()) {
+      CLASSES[c] |= INSTRUCTION;
+    }
+    for (Direction heading : Direction.values()) {
+      HEADINGS[heading.name().charAt(0)] = heading;
+    }
+  }
+
+  private AsciiTokenizer() {}
+
+  /**
+   * Returns whether the line is empty after trimming, as {@link String#trim()} would see it.
+   *
+   * @param line the line to check
+   * @return true if every character is at or below U+0020
+   */
+  static boolean isBlank(CharSequence line) {
+    return trimStart(line) == line.length();
+  }
+
+  /**
+   * Returns the index of the first character that {@link String#trim()} would keep.
+   *
+   * @param line the line to trim
+   * @return index of the first character above U+0020, or the line length if there is none
+   */
+  static int trimStart(CharSequence line) {
+    int length = line.length();
+    int index = 0;
+    while (index < length && line.charAt(index) <= ' ') {
+      index++;
+    }
+    return index;
+  }
+
+  /**
+   * Returns the index just past the last character that {@link String#trim()} would keep.
+   *
+   * @param line the line to trim
+   * @param start the trimmed start of the line
+   * @return index just past the last character above U+0020, or start if there is none
+   */
+  static int trimEnd(CharSequence line, int start) {
+    int end = line.length();
+    while (end > start && line.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    return end;
+  }
+
+  /**
+   * Finds the next whitespace-separated token within a trimmed range.
+   *
+   * @param line the line to scan
+   * @param from index to start scanning from
+   * @param end the trimmed end of the line
+   * @return the packed token bounds, or {@link #NO_TOKEN} if no token remains
+   */
+  static long nextToken(CharSequence line, int from, int end) {
+    int start = from;
+    while (start < end && isSeparator(line.charAt(start))) {
+      start++;
+    }
+    if (start == end) {
+      return NO_TOKEN;
+    }
+    int index = start + 1;
+    while (index < end && !isSeparator(line.charAt(index))) {
+      index++;
+    }
+    return ((long) start << 32) | index;
+  }
+
+  /**
+   * Returns the index of the first character of a token.
+   *
+   * @param token the packed token bounds
+   * @return the start index, inclusive
+   */
+  static int start(long token) {
+    return (int) (token >>> 32);
+  }
+
+  /**
+   * Returns the index just past the last character of a token.
+   *
+   * @param token the packed token bounds
+   * @return the end index, exclusive
+   */
+  static int end(long token) {
+    return (int) token;
+  }
+
+  /**
+   * Parses a token as a decimal int with the same rules as {@link Integer#parseInt(String)}.
+   *
+   * @param line the line holding the token
+   * @param token the packed token bounds
+   * @return the value, or {@link #NOT_AN_INT} if the token is not a valid int
+   */
+  static long parseInt(CharSequence line, long token) {
+    int index = start(token);
+    int end = end(token);
+    char first = line.charAt(index);
+    boolean negative = first == '-';
+    if (negative || first == '+') {
+      index++;
+      if (index == end) {
+        return NOT_AN_INT;
+      }
+    }
+
+    long value = 0;
+    for (; index < end; index++) {
+      int digit = digit(line.charAt(index));
+      if (digit < 0) {
+        return NOT_AN_INT;
+      }
+      value = value * 10 + digit;
+      if (value > (long) Integer.MAX_VALUE + 1) {
+        return NOT_AN_INT;
+      }
+    }
+
+    value = negative ? -value : value;
+    return value > Integer.MAX_VALUE ? NOT_AN_INT : value;
+  }
+
+  /**
+   * Decodes a token consisting of a single heading character.
+   *
+   * @param line the line holding the token
+   * @param token the packed token bounds
+   * @return the heading, or null if the token is not exactly one of N, E, S or W
+   */
+  static Direction heading(CharSequence line, long token) {
+    if (end(token) - start(token) != 1) {
+      return null;
+    }
+    char c = line.charAt(start(token));
+    return c < HEADINGS.length ? HEADINGS[c] : null;
+  }
+
+  /**
+   * Returns whether every character in the range is an L, R or M instruction.
+   *
+   * @param line the line to check
+   * @param start index of the first character, inclusive
+   * @param end index of the last character, exclusive
+   * @return true if the range consists only of instruction characters
+   */
+  static boolean isInstructions(CharSequence line, int start, int end) {
+    for (int index = start; index < end; index++) {
+      char c = line.charAt(index);
+      if (c >= CLASSES.length || (CLASSES[c] & INSTRUCTION) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSeparator(char c) {
+    return c < CLASSES.length && (CLASSES[c] & SEPARATOR) != 0;
+  }
+
+  private static int digit(char c) {
+    if (c < CLASSES.length) {
+      return (CLASSES[c] & DIGIT) != 0 ? c - '0' : -1;
+    }
+    return Character.digit(c, 10);
+  }
+}
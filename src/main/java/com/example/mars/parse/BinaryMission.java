@@ -0,0 +1,361 @@
+package com.example.mars.parse;
+
+import com.example.mars.domain.CompactRoverPlans;
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.InstructionProgram;
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.PackedRoverPlans;
+import com.example.mars.domain.ParseException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.RoverPlan;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads and writes precompiled missions in a versioned binary format, so that a mission parsed
+ * once can be executed repeatedly without paying the text parsing cost again.
+ *
+ * <p>A binary mission is loaded by memory-mapping the file and exposing it as the packed plans of
+ * a {@link Mission}. Nothing is copied or decoded up front; rover plans are read from the mapped
+ * bytes as they are executed.
+ *
+ * <p>The file is little-endian and consists of four sections:
+ *
+ * <ol>
+ *   <li>a 64-byte header:
+ *       <ul>
+ *         <li>0: magic bytes {@code MRBN}
+ *         <li>4: format version (short), then a reserved short
+ *         <li>8: plateau maxX and maxY (ints)
+ *         <li>16: rover count (int), then a reserved int
+ *         <li>24: total instruction count (long)
+ *         <li>32: file positions of the offset table and the arena (longs)
+ *         <li>48: file length (long)
+ *         <li>56: CRC32C of everything after the header (int)
+ *         <li>60: CRC32C of the preceding 60 header bytes (int)
+ *       </ul>
+ *   <li>one 16-byte record per rover holding its start x, y and heading ordinal (ints) followed by
+ *       a reserved int
+ *   <li>an offset table of rover count + 1 longs, where rover i's instructions occupy arena indices
+ *       {@code [offset[i], offset[i + 1])}
+ *   <li>the instruction arena, packed as in {@link PackedRoverPlans}
+ * </ol>
+ *
+ * <p>Both checksums are verified when a mission is loaded, along with the consistency of the
+ * section layout with the file length. Every rover record and offset is then validated as the text
+ * parser would validate it, so a start off the plateau is reported as a parse error.
+ */
+public final class BinaryMission {
+
+  /** Format version written by this class and the only version it reads. */
+  public static final short VERSION = 1;
+
+  /** Size of the file header in bytes. */
+  static final int HEADER_BYTES = 64;
+
+  /** Size of each rover record in bytes. */
+  static final int RECORD_BYTES = 16;
+
+  /** Size of each mapped chunk when loading a mission. */
+  static final int DEFAULT_CHUNK_SHIFT = 30;
+
+  private static final int MAGIC = 'M' | 'R' << 8 | 'B' << 16 | 'N' << 24;
+  private static final int BUFFER_BYTES = 1 << 16;
+
+  /** Private constructor to prevent instantiation of utility class. */
+  private BinaryMission() {}
+
+  /**
+   * Returns whether a file starts with the binary mission magic bytes.
+   *
+   * @param file the file to inspect
+   * @return true if the file looks like a binary mission
+   * @throws IOException if the file cannot be read
+   */
+  public static boolean isBinary(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      while (magic.hasRemaining() && channel.read(magic) >= 0) {
+        // keep reading until the magic is complete or the file ends
+      }
+      return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+    }
+  }
+
+  /**
+   * Parses a text mission file and writes it in binary form.
+   *
+   * @param text the text mission file to parse
+   * @param binary the binary mission file to create or replace
+   * @return the number of rovers written
+   * @throws ParseException if the text mission is invalid or uses repetition syntax
+   * @throws IOException if either file cannot be read or written
+   */
+  public static int convert(Path text, Path binary) throws ParseException, IOException {
+    CompactRoverPlans.Builder plans = CompactRoverPlans.builder();
+    Plateau plateau;
+    try (MissionReader reader = MissionReader.open(text)) {
+      plateau = reader.plateau();
+      RoverPlan plan;
+      while ((plan = reader.next()) != null) {
+        if (InstructionProgram.hasRepetitions(plan.instructions())) {
+          throw new ParseException(
+              "Rover #"
+                  + reader.roverCount()
+                  + " uses repetition syntax, which binary missions cannot hold");
+        }
+        plans.add(plan);
+      }
+    }
+    CompactRoverPlans compact = plans.build();
+    write(binary, plateau, compact);
+    return compact.size();
+  }
+
+  /**
+   * Writes a mission in binary form.
+   *
+   * @param file the binary mission file to create or replace
+   * @param plateau the mission plateau
+   * @param plans the rover plans to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Path file, Plateau plateau, PackedRoverPlans plans) throws IOException {
+    int size = plans.size();
+    long offsetsPosition = HEADER_BYTES + (long) size * RECORD_BYTES;
+    long arenaPosition = offsetsPosition + (size + 1L) * Long.BYTES;
+    long instructions =
+        size == 0 ? 0 : plans.instructionOffset(size - 1) + plans.instructionCount(size - 1);
+    long words = PackedRoverPlans.wordCount(instructions);
+    long length = arenaPosition + words * Long.BYTES;
+
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      BodyWriter body = new BodyWriter(channel);
+      for (int rover = 0; rover < size; rover++) {
+        body.putInt(plans.startX(rover));
+        body.putInt(plans.startY(rover));
+        body.putInt(plans.startHeading(rover));
+        body.putInt(0);
+      }
+      for (int rover = 0; rover < size; rover++) {
+        body.putLong(plans.instructionOffset(rover));
+      }
+      body.putLong(instructions);
+      for (long word = 0; word < words; word++) {
+        body.putLong(plans.word(word));
+      }
+      body.flush();
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      header
+          .putInt(MAGIC)
+          .putShort(VERSION)
+          .putShort((short) 0)
+          .putInt(plateau.maxX())
+          .putInt(plateau.maxY())
+          .putInt(size)
+          .putInt(0)
+          .putLong(instructions)
+          .putLong(offsetsPosition)
+          .putLong(arenaPosition)
+          .putLong(length)
+          .putInt((int) body.checksum.getValue());
+      header.putInt(checksum(header.duplicate().flip()));
+      header.flip();
+      while (header.hasRemaining()) {
+        channel.write(header, header.position());
+      }
+    }
+  }
+
+  /**
+   * Memory-maps a binary mission file and exposes it as a {@link Mission} without copying.
+   *
+   * @param file the binary mission file
+   * @return the mission, whose plans are read from the mapped file on demand
+   * @throws ParseException if the file is not a valid binary mission
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  public static Mission load(Path file) throws ParseException, IOException {
+    return load(file, DEFAULT_CHUNK_SHIFT);
+  }
+
+  /**
+   * Memory-maps a binary mission file in chunks of the given size.
+   *
+   * @param file the binary mission file
+   * @param chunkShift base-2 logarithm of the chunk size, from 6 to 30
+   * @return the mission, whose plans are read from the mapped file on demand
+   * @throws ParseException if the file is not a valid binary mission
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  static Mission load(Path file, int chunkShift) throws ParseException, IOException {
+    if (chunkShift < 6 || chunkShift > 30) {
+      throw new IllegalArgumentException("Chunk shift must be between 6 and 30: " + chunkShift);
+    }
+    ByteBuffer[] chunks;
+    long length;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      length = channel.size();
+      if (length < HEADER_BYTES) {
+        throw invalid("file is too short");
+      }
+      long chunkSize = 1L << chunkShift;
+      chunks = new ByteBuffer[(int) ((length + chunkSize - 1) >>> chunkShift)];
+      for (int i = 0; i < chunks.length; i++) {
+        long position = (long) i << chunkShift;
+        long chunkLength = Math.min(chunkSize, length - position);
+        chunks[i] =
+            channel
+                .map(FileChannel.MapMode.READ_ONLY, position, chunkLength)
+                .order(ByteOrder.LITTLE_ENDIAN);
+      }
+    }
+
+    ByteBuffer header = chunks[0].slice(0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    if (header.getInt(0) != MAGIC) {
+      throw invalid("bad magic number");
+    }
+    if (header.getShort(4) != VERSION) {
+      throw invalid("unsupported version " + header.getShort(4));
+    }
+    if (checksum(header.slice(0, 60)) != header.getInt(60)) {
+      throw invalid("header checksum mismatch");
+    }
+
+    int size = header.getInt(16);
+    long instructions = header.getLong(24);
+    long offsetsPosition = header.getLong(32);
+    long arenaPosition = header.getLong(40);
+    long words = PackedRoverPlans.wordCount(instructions);
+    if (size < 0
+        || instructions < 0
+        || header.getLong(48) != length
+        || offsetsPosition != HEADER_BYTES + (long) size * RECORD_BYTES
+        || arenaPosition != offsetsPosition + (size + 1L) * Long.BYTES
+        || length != arenaPosition + words * Long.BYTES) {
+      throw invalid("inconsistent section layout");
+    }
+
+    CRC32C body = new CRC32C();
+    for (int i = 0; i < chunks.length; i++) {
+      ByteBuffer chunk = chunks[i].duplicate();
+      body.update(i == 0 ? chunk.position(HEADER_BYTES) : chunk);
+    }
+    if ((int) body.getValue() != header.getInt(56)) {
+      throw invalid("checksum mismatch");
+    }
+
+    Plateau plateau = new Plateau(header.getInt(8), header.getInt(12));
+    if (plateau.maxX() < 0 || plateau.maxY() < 0) {
+      throw invalid("negative plateau size (" + plateau.maxX() + "," + plateau.maxY() + ")");
+    }
+    MappedRoverPlans plans =
+        new MappedRoverPlans(
+            chunks, chunkShift, size, HEADER_BYTES, offsetsPosition, arenaPosition);
+    validate(plateau, plans, instructions);
+    return new Mission(plateau, plans);
+  }
+
+  /**
+   * Checks every rover record and instruction offset, which hold what the text parser would have
+   * validated: a checksum only proves that the file is unchanged since it was written.
+   *
+   * @param plateau the mission plateau
+   * @param plans the mapped rover plans
+   * @param instructions the total instruction count from the header
+   * @throws ParseException if a heading is not a {@link Direction} ordinal, a rover starts off the
+   *     plateau, or the offsets decrease or do not end at the instruction count
+   */
+  private static void validate(Plateau plateau, PackedRoverPlans plans, long instructions)
+      throws ParseException {
+    long previous = 0;
+    for (int rover = 0; rover < plans.size(); rover++) {
+      int heading = plans.startHeading(rover);
+      if (heading < 0 || heading >= Direction.values().length) {
+        throw invalid("rover #" + (rover + 1) + " heading ordinal " + heading);
+      }
+      int x = plans.startX(rover);
+      int y = plans.startY(rover);
+      if (!plateau.contains(x, y)) {
+        throw invalid(
+            "rover #"
+                + (rover + 1)
+                + " start out of bounds: ("
+                + x
+                + ","
+                + y
+                + ") > plateau ("
+                + plateau.maxX()
+                + ","
+                + plateau.maxY()
+                + ")");
+      }
+      long offset = plans.instructionOffset(rover);
+      if (offset < previous) {
+        throw invalid("rover #" + (rover + 1) + " instruction offset " + offset + " out of order");
+      }
+      previous = offset;
+    }
+    long end = plans.instructionOffset(plans.size());
+    if (end < previous || end != instructions) {
+      throw invalid("instruction offsets end at " + end + " of " + instructions + " instructions");
+    }
+  }
+
+  private static int checksum(ByteBuffer bytes) {
+    CRC32C crc = new CRC32C();
+    crc.update(bytes);
+    return (int) crc.getValue();
+  }
+
+  private static ParseException invalid(String reason) {
+    return new ParseException("Invalid binary mission: " + reason);
+  }
+
+  /** Buffers the sections after the header, checksumming them as they are written. */
+  private static final class BodyWriter {
+    private final FileChannel channel;
+    private final ByteBuffer buffer =
+        ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C checksum = new CRC32C();
+    private long position = HEADER_BYTES;
+
+    private BodyWriter(FileChannel channel) {
+      this.channel = channel;
+    }
+
+    private void putInt(int value) throws IOException {
+      if (buffer.remaining() < Integer.BYTES) {
+        flush();
+      }
+      buffer.putInt(value);
+    }
+
+    private void putLong(long value) throws IOException {
+      if (buffer.remaining() < Long.BYTES) {
+        flush();
+      }
+      buffer.putLong(value);
+    }
+
+    private void flush() throws IOException {
+      buffer.flip();
+      checksum.update(buffer.duplicate());
+      while (buffer.hasRemaining()) {
+        position += channel.write(buffer, position);
+      }
+      buffer.clear();
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.example.mars.parse;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reusable, zero-copy view of a single line held in a {@link ByteBuffer}. Characters are exposed
+ * one byte at a time as ISO-8859-1, which matches the decoded text exactly for ASCII input;
+ * callers that need the exact text of a line containing other bytes should use {@link
+ * #toString()}, which decodes the line as UTF-8.
+ */
+final class ByteLine implements CharSequence {
+
+  /** Largest block of bytes copied out for {@link #scan scanning} at once. */
+  private static final int BLOCK = 8192;
+
+  private ByteBuffer buffer;
+  private int start;
+  private int length;
+  private byte[] scratch = new byte[64];
+
+  /**
+   * Points this view at a new line.
+   *
+   * @param buffer the buffer holding the line
+   * @param start index of the first byte of the line
+   * @param end index one past the last byte of the line, excluding its terminator
+   */
+  void set(ByteBuffer buffer, int start, int end) {
+    this.buffer = buffer;
+    this.start = start;
+    this.length = end - start;
+  }
+
+  /**
+   * Narrows this view to a range of the current line.
+   *
+   * @param from index of the first byte to keep, relative to the current view
+   * @param to index one past the last byte to keep, relative to the current view
+   * @return this view
+   */
+  ByteLine narrow(int from, int to) {
+    this.start += from;
+    this.length = to - from;
+    return this;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    return (char) (buffer.get(start + index) & 0xFF);
+  }
+
+  /**
+   * Returns the given byte range as an ISO-8859-1 string, copying the bytes exactly once.
+   *
+   * @param from index of the first byte, inclusive
+   * @param to index of the last byte, exclusive
+   * @return the bytes of the range as a string
+   */
+  @Override
+  public String subSequence(int from, int to) {
+    return decode(from, to - from, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Validates and counts the instructions in a range of this line, copying the bytes into blocks
+   * for the scanner.
+   *
+   * @param from index of the first byte to scan
+   * @param to index following the last byte to scan
+   * @param scanner the scanner to validate and count the blocks with
+   * @param counts the counts to add the range's instructions to
+   * @return true if every byte of the range is L, R or M
+   */
+  boolean scan(int from, int to, InstructionScanner scanner, InstructionCounts counts) {
+    if (scratch.length < Math.min(BLOCK, to - from)) {
+      scratch = new byte[Math.min(BLOCK, Math.max(to - from, scratch.length * 2))];
+    }
+    for (int offset = from; offset < to; offset += scratch.length) {
+      int count = Math.min(scratch.length, to - offset);
+      buffer.get(start + offset, scratch, 0, count);
+      if (!scanner.scan(scratch, 0, count, counts)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return decode(0, length, StandardCharsets.UTF_8);
+  }
+
+  private String decode(int offset, int count, Charset charset) {
+    if (scratch.length < count) {
+      scratch = new byte[Math.max(count, scratch.length * 2)];
+    }
+    buffer.get(start + offset, scratch, 0, count);
+    return new String(scratch, 0, count, charset);
+  }
+}
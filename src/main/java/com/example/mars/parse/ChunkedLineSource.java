@@ -0,0 +1,175 @@
+package com.example.mars.parse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * {@link LineSource} over a byte channel that can also return a line in fixed-size parts, so that
+ * a line of any length can be consumed in constant memory.
+ *
+ * <p>{@link #nextLine()} returns whole lines and grows its buffer to fit the longest line read that
+ * way. {@link #nextPart()} returns the current line at most one buffer at a time and never grows
+ * the buffer. Both return {@link ByteLine} views, valid until the next read.
+ */
+final class ChunkedLineSource implements LineSource {
+
+  /** Default size of the read buffer. */
+  static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+  private final ReadableByteChannel channel;
+  private final ByteLine line = new ByteLine();
+  private ByteBuffer buffer;
+  private int position;
+  private int limit;
+  private boolean endOfInput;
+  private boolean skipLineFeed;
+  private boolean lineEnded;
+
+  /**
+   * Creates a line source over the given channel using the default buffer size.
+   *
+   * @param channel the byte input to read lines from
+   */
+  ChunkedLineSource(ReadableByteChannel channel) {
+    this(channel, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Creates a line source over the given channel.
+   *
+   * @param channel the byte input to read lines from
+   * @param bufferSize the initial buffer size, which bounds the size of each part
+   */
+  ChunkedLineSource(ReadableByteChannel channel, int bufferSize) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+    }
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocate(bufferSize);
+  }
+
+  @Override
+  public CharSequence nextLine() throws IOException {
+    lineEnded = false;
+    skipLineFeed();
+    int scanned = 0;
+    while (true) {
+      for (int scan = position + scanned; scan < limit; scan++) {
+        byte b = buffer.get(scan);
+        if (b == '\n' || b == '\r') {
+          line.set(buffer, position, scan);
+          position = scan + 1;
+          skipLineFeed = b == '\r';
+          return line;
+        }
+      }
+      scanned = limit - position;
+      if (!fill(true)) {
+        if (scanned == 0) {
+          return null;
+        }
+        // Final line without a terminator
+        line.set(buffer, position, limit);
+        position = limit;
+        return line;
+      }
+    }
+  }
+
+  /**
+   * Returns the next part of the current line. Once the last part of a line has been returned,
+   * the following call returns null and the call after that starts on the next line.
+   *
+   * @return the next part of the current line, possibly empty, or null at the end of the line or
+   *     of the input
+   * @throws IOException if reading from the input fails
+   */
+  ByteLine nextPart() throws IOException {
+    if (lineEnded) {
+      lineEnded = false;
+      return null;
+    }
+    skipLineFeed();
+    if (position == limit && !fill(false)) {
+      return null;
+    }
+    for (int scan = position; scan < limit; scan++) {
+      byte b = buffer.get(scan);
+      if (b == '\n' || b == '\r') {
+        line.set(buffer, position, scan);
+        position = scan + 1;
+        skipLineFeed = b == '\r';
+        lineEnded = true;
+        return line;
+      }
+    }
+    line.set(buffer, position, limit);
+    position = limit;
+    return line;
+  }
+
+  /**
+   * Returns whether the input is exhausted.
+   *
+   * @return true if no further bytes remain
+   * @throws IOException if reading from the input fails
+   */
+  boolean atEnd() throws IOException {
+    skipLineFeed();
+    return position == limit && !fill(false);
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /** Consumes the line feed of a CRLF terminator whose carriage return has been read. */
+  private void skipLineFeed() throws IOException {
+    if (skipLineFeed && (position < limit || fill(false))) {
+      skipLineFeed = false;
+      if (buffer.get(position) == '\n') {
+        position++;
+      }
+    }
+  }
+
+  /**
+   * Reads more input after the unread bytes, compacting the buffer first.
+   *
+   * @param grow whether to grow a full buffer rather than leave it unchanged
+   * @return true if bytes were added, false at the end of the input or if the buffer is full
+   */
+  private boolean fill(boolean grow) throws IOException {
+    if (endOfInput) {
+      return false;
+    }
+    if (position > 0) {
+      buffer.put(0, buffer, position, limit - position);
+      limit -= position;
+      position = 0;
+    }
+    if (limit == buffer.capacity()) {
+      if (!grow) {
+        return false;
+      }
+      if (limit == Integer.MAX_VALUE - 8) {
+        throw new IOException("Line exceeds 2 GB");
+      }
+      ByteBuffer grown = ByteBuffer.allocate((int) Math.min(Integer.MAX_VALUE - 8, limit * 2L));
+      grown.put(0, buffer, 0, limit);
+      buffer = grown;
+    }
+    int read;
+    do {
+      read = channel.read(buffer.limit(buffer.capacity()).position(limit));
+    } while (read == 0);
+    if (read < 0) {
+      endOfInput = true;
+      return false;
+    }
+    limit += read;
+    return true;
+  }
+}
@@ -1,6 +1,8 @@
 package com.example.mars.parse;
 
 import com.example.mars.domain.Direction;
+import com.example.mars.domain.InstructionProgram;
+import com.example.mars.domain.InstructionSyntaxException;
 import com.example.mars.domain.Mission;
 import com.example.mars.domain.ParseException;
 import com.example.mars.domain.Plateau;
@@ -24,9 +26,16 @@ import java.util.List;
  *         <li>Rover instructions: sequence of L, R, M commands
  *       </ul>
  * </ol>
+ *
+ * <p>Lines are scanned once, in place, by {@link AsciiTokenizer}, so parsing a valid line allocates
+ * nothing beyond the resulting domain objects.
  */
 public final class InputParser {
 
+  /** Message reported when the rover lines do not form complete position/instructions pairs. */
+  static final String UNPAIRED_ROVER_LINES =
+      "Rover specifications must come in pairs (position line + instructions line)";
+
   /** Private constructor to prevent instantiation of utility class. */
   private InputParser() {}
 
@@ -48,8 +57,7 @@ public final class InputParser {
     }
 
     // Filter out empty lines
-    List<String> nonEmptyLines =
-        lines.stream().filter(line -> line != null && !line.trim().isEmpty()).toList();
+    List<String> nonEmptyLines = lines.stream().filter(line -> !isBlank(line)).toList();
 
     if (nonEmptyLines.isEmpty()) {
       throw new ParseException("Input cannot be empty");
@@ -65,33 +73,60 @@ public final class InputParser {
     return new Mission(plateau, roverPlans);
   }
 
+  /**
+   * Returns whether the line carries no content and is therefore skipped by the parser.
+   *
+   * @param line the raw input line, possibly null
+   * @return true if the line is null, empty, or whitespace only
+   */
+  static boolean isBlank(CharSequence line) {
+    return line == null || AsciiTokenizer.isBlank(line);
+  }
+
   /**
    * Parses plateau specification from input line.
    *
-   * @param plateauLine the line containing plateau coordinates
+   * @param line the line containing plateau coordinates
    * @return validated Plateau object
    * @throws ParseException if plateau specification is invalid
    */
-  private static Plateau parsePlateau(String plateauLine) throws ParseException {
-    String[] parts = plateauLine.trim().split("\\s+");
-
-    if (parts.length != 2) {
-      throw new ParseException("Plateau line invalid (expected \"X Y\"): \"" + plateauLine + "\"");
-    }
+  static Plateau parsePlateau(CharSequence line) throws ParseException {
+    int start = AsciiTokenizer.trimStart(line);
+    int end = AsciiTokenizer.trimEnd(line, start);
+    long xToken = AsciiTokenizer.nextToken(line, start, end);
+    long yToken = nextToken(line, xToken, end);
 
-    try {
-      int maxX = Integer.parseInt(parts[0]);
-      int maxY = Integer.parseInt(parts[1]);
+    boolean twoFields =
+        yToken != AsciiTokenizer.NO_TOKEN
+            && nextToken(line, yToken, end) == AsciiTokenizer.NO_TOKEN;
 
-      if (maxX < 0 || maxY < 0) {
-        throw new ParseException("Plateau coordinates must be non-negative: " + maxX + " " + maxY);
+    long maxX = AsciiTokenizer.NOT_AN_INT;
+    long maxY = AsciiTokenizer.NOT_AN_INT;
+    if (twoFields) {
+      maxX = AsciiTokenizer.parseInt(line, xToken);
+      maxY = AsciiTokenizer.parseInt(line, yToken);
+      if (maxX != AsciiTokenizer.NOT_AN_INT && maxY != AsciiTokenizer.NOT_AN_INT) {
+        if (maxX < 0 || maxY < 0) {
+          throw new ParseException(
+              "Plateau coordinates must be non-negative: " + maxX + " " + maxY);
+        }
+        return new Plateau((int) maxX, (int) maxY);
       }
+    }
 
-      return new Plateau(maxX, maxY);
-    } catch (NumberFormatException e) {
-      throw new ParseException(
-          "Plateau line invalid (expected \"X Y\"): \"" + plateauLine + "\"", e);
+    String plateauLine = line.toString();
+    if (!plateauLine.contentEquals(line)) {
+      return parsePlateau(plateauLine); // undecoded non-ASCII bytes
+    }
+    NumberFormatException cause = null;
+    if (twoFields) {
+      cause =
+          maxX == AsciiTokenizer.NOT_AN_INT
+              ? numberFormatError(line, xToken)
+              : numberFormatError(line, yToken);
     }
+    throw new ParseException(
+        "Plateau line invalid (expected \"X Y\"): \"" + plateauLine + "\"", cause);
   }
 
   /**
@@ -105,119 +140,234 @@ public final class InputParser {
   private static List<RoverPlan> parseRoverPlans(List<String> roverLines, Plateau plateau)
       throws ParseException {
     if (roverLines.size() % 2 != 0) {
-      throw new ParseException(
-          "Rover specifications must come in pairs (position line + instructions line)");
+      throw new ParseException(UNPAIRED_ROVER_LINES);
     }
 
     List<RoverPlan> roverPlans = new ArrayList<>();
 
     for (int i = 0; i < roverLines.size(); i += 2) {
       int roverIndex = (i / 2) + 1; // 1-indexed for error messages
-      String positionLine = roverLines.get(i);
-      String instructionsLine = roverLines.get(i + 1);
-
-      Position startPosition = parseRoverPosition(positionLine, roverIndex);
-      String instructions = parseInstructions(instructionsLine, roverIndex);
-
-      // Validate rover start position is within plateau bounds
-      if (!plateau.contains(startPosition.x(), startPosition.y())) {
-        throw new ParseException(
-            "Rover #"
-                + roverIndex
-                + " start out of bounds: ("
-                + startPosition.x()
-                + ","
-                + startPosition.y()
-                + ") > plateau ("
-                + plateau.maxX()
-                + ","
-                + plateau.maxY()
-                + ")");
-      }
-
-      roverPlans.add(new RoverPlan(startPosition, instructions));
+      roverPlans.add(
+          parseRoverPlan(roverLines.get(i), roverLines.get(i + 1), roverIndex, plateau));
     }
 
     return roverPlans;
   }
 
   /**
-   * Parses rover starting position from input line.
+   * Parses a single rover plan from its position and instructions lines and validates that the
+   * rover starts on the plateau.
    *
    * @param positionLine the line containing rover position and heading
+   * @param instructionsLine the line containing rover instructions
    * @param roverIndex the rover number for error reporting (1-indexed)
-   * @return validated Position object
-   * @throws ParseException if position specification is invalid
+   * @param plateau the operational plateau for boundary validation
+   * @return validated RoverPlan object
+   * @throws ParseException if the rover specification is invalid
    */
-  private static Position parseRoverPosition(String positionLine, int roverIndex)
+  static RoverPlan parseRoverPlan(
+      CharSequence positionLine, CharSequence instructionsLine, int roverIndex, Plateau plateau)
       throws ParseException {
-    String[] parts = positionLine.trim().split("\\s+");
+    Position startPosition = parseRoverPosition(positionLine, roverIndex);
+    String instructions = parseInstructions(instructionsLine, roverIndex);
+    validateStart(startPosition, roverIndex, plateau);
+    return new RoverPlan(startPosition, instructions);
+  }
 
-    if (parts.length != 3) {
+  /**
+   * Validates that a rover start position lies within the plateau bounds.
+   *
+   * @param startPosition the rover's parsed start position
+   * @param roverIndex the rover number for error reporting (1-indexed)
+   * @param plateau the operational plateau for boundary validation
+   * @throws ParseException if the start position is outside the plateau
+   */
+  static void validateStart(Position startPosition, int roverIndex, Plateau plateau)
+      throws ParseException {
+    if (!plateau.contains(startPosition.x(), startPosition.y())) {
       throw new ParseException(
           "Rover #"
               + roverIndex
-              + " position invalid (expected \"X Y HEADING\"): \""
-              + positionLine
-              + "\"");
+              + " start out of bounds: ("
+              + startPosition.x()
+              + ","
+              + startPosition.y()
+              + ") > plateau ("
+              + plateau.maxX()
+              + ","
+              + plateau.maxY()
+              + ")");
     }
+  }
 
-    try {
-      int x = Integer.parseInt(parts[0]);
-      int y = Integer.parseInt(parts[1]);
-      String headingStr = parts[2];
+  /**
+   * Parses rover starting position from input line.
+   *
+   * @param line the line containing rover position and heading
+   * @param roverIndex the rover number for error reporting (1-indexed)
+   * @return validated Position object
+   * @throws ParseException if position specification is invalid
+   */
+  static Position parseRoverPosition(CharSequence line, int roverIndex) throws ParseException {
+    int start = AsciiTokenizer.trimStart(line);
+    int end = AsciiTokenizer.trimEnd(line, start);
+    long xToken = AsciiTokenizer.nextToken(line, start, end);
+    long yToken = nextToken(line, xToken, end);
+    long headingToken = nextToken(line, yToken, end);
+
+    long x = AsciiTokenizer.NOT_AN_INT;
+    long y = AsciiTokenizer.NOT_AN_INT;
+    Direction heading = null;
+    if (headingToken != AsciiTokenizer.NO_TOKEN
+        && nextToken(line, headingToken, end) == AsciiTokenizer.NO_TOKEN) {
+      x = AsciiTokenizer.parseInt(line, xToken);
+      y = AsciiTokenizer.parseInt(line, yToken);
+      heading = AsciiTokenizer.heading(line, headingToken);
+      if (x != AsciiTokenizer.NOT_AN_INT && y != AsciiTokenizer.NOT_AN_INT && heading != null) {
+        return new Position((int) x, (int) y, heading);
+      }
+    }
 
-      Direction heading;
+    String positionLine = line.toString();
+    if (!positionLine.contentEquals(line)) {
+      return parseRoverPosition(positionLine, roverIndex); // undecoded non-ASCII bytes
+    }
+
+    if (x != AsciiTokenizer.NOT_AN_INT && y != AsciiTokenizer.NOT_AN_INT) {
+      String headingStr = text(line, headingToken);
+      IllegalArgumentException cause = null;
       try {
-        heading = Direction.valueOf(headingStr);
+        Direction.valueOf(headingStr);
       } catch (IllegalArgumentException e) {
-        throw new ParseException(
-            "Rover #"
-                + roverIndex
-                + " invalid heading (expected N, E, S, or W): \""
-                + headingStr
-                + "\"",
-            e);
+        cause = e;
       }
-
-      return new Position(x, y, heading);
-    } catch (NumberFormatException e) {
       throw new ParseException(
           "Rover #"
               + roverIndex
-              + " position invalid (expected \"X Y HEADING\"): \""
-              + positionLine
+              + " invalid heading (expected N, E, S, or W): \""
+              + headingStr
               + "\"",
-          e);
+          cause);
+    }
+
+    NumberFormatException cause = null;
+    if (headingToken != AsciiTokenizer.NO_TOKEN) {
+      cause =
+          x == AsciiTokenizer.NOT_AN_INT
+              ? numberFormatError(line, xToken)
+              : numberFormatError(line, yToken);
     }
+    throw new ParseException(
+        "Rover #"
+            + roverIndex
+            + " position invalid (expected \"X Y HEADING\"): \""
+            + positionLine
+            + "\"",
+        cause);
   }
 
   /**
    * Parses and validates rover instruction sequence.
    *
-   * @param instructionsLine the line containing rover instructions
+   * <p>Instructions may use the repetition syntax of {@link InstructionProgram}, such as {@code
+   * M500} or {@code (LMMRM)x1000000}; they are returned as written, without being expanded.
+   *
+   * @param line the line containing rover instructions
    * @param roverIndex the rover number for error reporting (1-indexed)
    * @return validated instruction string
    * @throws ParseException if instructions are invalid
    */
-  private static String parseInstructions(String instructionsLine, int roverIndex)
-      throws ParseException {
-    String instructions = instructionsLine.trim();
+  static String parseInstructions(CharSequence line, int roverIndex) throws ParseException {
+    int start = AsciiTokenizer.trimStart(line);
+    int end = AsciiTokenizer.trimEnd(line, start);
+    if (start < end && isInstructions(line, start, end)) {
+      return line.subSequence(start, end).toString();
+    }
+
+    String instructionsLine = line.toString();
+    if (!instructionsLine.contentEquals(line)) {
+      return parseInstructions(instructionsLine, roverIndex); // undecoded non-ASCII bytes
+    }
 
+    String instructions = instructionsLine.substring(start, end);
     if (instructions.isEmpty()) {
       throw new ParseException("Rover #" + roverIndex + " instructions cannot be empty");
     }
+    if (InstructionProgram.hasRepetitions(instructions) && isRepetitionSyntax(instructions)) {
+      try {
+        InstructionProgram.parse(instructions);
+        return instructions; // executed without expanding the repetitions
+      } catch (InstructionSyntaxException e) {
+        throw new ParseException(
+            "Rover #"
+                + roverIndex
+                + " invalid instructions at character "
+                + e.character()
+                + ": "
+                + e.reason()
+                + " in \""
+                + instructions
+                + "\"");
+      }
+    }
 
-    // Validate that instructions contain only L, R, M characters
-    if (!instructions.matches("[LRM]+")) {
-      throw new ParseException(
-          "Rover #"
-              + roverIndex
-              + " invalid instructions (expected only L, R, M): \""
-              + instructions
-              + "\"");
+    throw new ParseException(
+        "Rover #"
+            + roverIndex
+            + " invalid instructions (expected only L, R, M): \""
+            + instructions
+            + "\"");
+  }
+
+  /**
+   * Returns whether a trimmed line holds only L, R and M. Long lines are validated in blocks by
+   * {@link InstructionCounts}, which uses the vectorized scanner when it is available.
+   */
+  private static boolean isInstructions(CharSequence line, int start, int end) {
+    if (end - start >= InstructionCounts.SCAN_THRESHOLD) {
+      return InstructionCounts.of(line, start, end) != null;
+    }
+    return AsciiTokenizer.isInstructions(line, start, end);
+  }
+
+  /** Returns whether every character belongs to the repetition grammar of instructions. */
+  private static boolean isRepetitionSyntax(String instructions) {
+    for (int i = 0; i < instructions.length(); i++) {
+      char c = instructions.charAt(i);
+      if ("LRM".indexOf(c) < 0 && !isRepetitionCharacter(c)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether a character belongs to the repetition grammar without being an instruction: a
+   * digit, a parenthesis or the {@code x} that precedes a group's count.
+   */
+  static boolean isRepetitionCharacter(char c) {
+    return (c >= '0' && c <= '9') || c == '(' || c == ')' || c == 'x';
+  }
+
+  /** Returns the token following the given one, or none if the given token is absent. */
+  private static long nextToken(CharSequence line, long previous, int end) {
+    if (previous == AsciiTokenizer.NO_TOKEN) {
+      return AsciiTokenizer.NO_TOKEN;
     }
+    return AsciiTokenizer.nextToken(line, AsciiTokenizer.end(previous), end);
+  }
 
-    return instructions;
+  private static String text(CharSequence line, long token) {
+    return line.subSequence(AsciiTokenizer.start(token), AsciiTokenizer.end(token)).toString();
+  }
+
+  /** Recreates the exception {@link Integer#parseInt} reports for an invalid token. */
+  private static NumberFormatException numberFormatError(CharSequence line, long token) {
+    try {
+      Integer.parseInt(text(line, token));
+      return null;
+    } catch (NumberFormatException e) {
+      return e;
+    }
   }
 }
@@ -0,0 +1,105 @@
+package com.example.mars.parse;
+
+/**
+ * The number of each instruction in a plain instruction sequence, found while validating it in a
+ * single pass.
+ *
+ * <p>Sequences are scanned in blocks by the {@link InstructionScanner} of the platform, which uses
+ * the incubating Vector API when the build includes it and the {@code jdk.incubator.vector} module
+ * is resolved at run time, and a scalar loop otherwise. Both give identical results.
+ *
+ * <p>The parser only needs the verdict: a line that passes is kept as a string of its own length,
+ * and the engines find their own net rotations as they compile it. The counts come with the
+ * validation at no extra cost, since the vectorized scanner reads them from the masks it compares
+ * anyway, and are kept for checking the two scanners against each other.
+ */
+public final class InstructionCounts {
+
+  /** Shortest line worth scanning in blocks; shorter lines are checked one character at a time. */
+  static final int SCAN_THRESHOLD = 256;
+
+  /** Characters copied into a block for scanning at once. */
+  private static final int BLOCK = 8192;
+
+  private long left;
+  private long right;
+  private long moves;
+
+  private InstructionCounts() {}
+
+  /**
+   * Validates and counts a plain instruction sequence.
+   *
+   * @param instructions the instructions, normally only L, R and M
+   * @return the counts, or null if the instructions hold any other character
+   */
+  public static InstructionCounts of(CharSequence instructions) {
+    return of(instructions, 0, instructions.length());
+  }
+
+  /**
+   * Validates and counts a range of a plain instruction sequence.
+   *
+   * @param instructions the instructions, normally only L, R and M
+   * @param from index of the first instruction of the range
+   * @param to index following the last instruction of the range
+   * @return the counts, or null if the range holds any character other than L, R and M
+   */
+  public static InstructionCounts of(CharSequence instructions, int from, int to) {
+    InstructionScanner scanner = InstructionScanner.get();
+    InstructionCounts counts = new InstructionCounts();
+    if (instructions instanceof ByteLine line) {
+      return line.scan(from, to, scanner, counts) ? counts : null;
+    }
+
+    char[] block = new char[Math.min(BLOCK, to - from)];
+    for (int start = from; start < to; start += block.length) {
+      int end = Math.min(to, start + block.length);
+      if (instructions instanceof String string) {
+        string.getChars(start, end, block, 0);
+      } else {
+        for (int i = start; i < end; i++) {
+          block[i - start] = instructions.charAt(i);
+        }
+      }
+      if (!scanner.scan(block, 0, end - start, counts)) {
+        return null;
+      }
+    }
+    return counts;
+  }
+
+  /** Adds the counts of a scanned block. */
+  void add(long left, long right, long moves) {
+    this.left += left;
+    this.right += right;
+    this.moves += moves;
+  }
+
+  /**
+   * Returns the number of left turns.
+   *
+   * @return the count of L instructions
+   */
+  public long left() {
+    return left;
+  }
+
+  /**
+   * Returns the number of right turns.
+   *
+   * @return the count of R instructions
+   */
+  public long right() {
+    return right;
+  }
+
+  /**
+   * Returns the number of moves.
+   *
+   * @return the count of M instructions
+   */
+  public long moves() {
+    return moves;
+  }
+}
@@ -0,0 +1,113 @@
+package com.example.mars.parse;
+
+/**
+ * Validates blocks of instruction characters and counts each instruction in the same pass.
+ *
+ * <p>The scanner in use is chosen once. A build made with {@code -PvectorApi} includes {@code
+ * VectorInstructionScanner}, which compares whole vectors of characters at once with the incubating
+ * {@code jdk.incubator.vector} module; it is loaded reflectively, so the main sources compile and
+ * run without the module. If the class is absent, or the JVM was started without {@code
+ * --add-modules jdk.incubator.vector}, the {@link Scalar} scanner is used instead.
+ */
+abstract class InstructionScanner {
+
+  /** Binary name of the vectorized scanner, compiled only by builds that opt into it. */
+  static final String VECTOR_SCANNER = "com.example.mars.parse.VectorInstructionScanner";
+
+  private static final InstructionScanner INSTANCE = load();
+
+  /**
+   * Returns the scanner of the platform.
+   *
+   * @return the vectorized scanner if it can be loaded, otherwise the scalar one
+   */
+  static InstructionScanner get() {
+    return INSTANCE;
+  }
+
+  /**
+   * Validates and counts a block of instructions held as bytes.
+   *
+   * @param bytes the block
+   * @param from index of the first byte to scan
+   * @param to index following the last byte to scan
+   * @param counts the counts to add the block's instructions to
+   * @return true if every byte is L, R or M, false otherwise, leaving the counts incomplete
+   */
+  abstract boolean scan(byte[] bytes, int from, int to, InstructionCounts counts);
+
+  /**
+   * Validates and counts a block of instructions held as characters.
+   *
+   * @param chars the block
+   * @param from index of the first character to scan
+   * @param to index following the last character to scan
+   * @param counts the counts to add the block's instructions to
+   * @return true if every character is L, R or M, false otherwise, leaving the counts incomplete
+   */
+  abstract boolean scan(char[] chars, int from, int to, InstructionCounts counts);
+
+  /**
+   * Returns whether this scanner compares several characters per instruction.
+   *
+   * @return true for the vectorized scanner
+   */
+  abstract boolean isVectorized();
+
+  private static InstructionScanner load() {
+    try {
+      return (InstructionScanner)
+          Class.forName(VECTOR_SCANNER).getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      // not built with -PvectorApi, or jdk.incubator.vector is not resolved
+      return new Scalar();
+    }
+  }
+
+  /** Scans one character at a time; also scans the tail of blocks for the vectorized scanner. */
+  static final class Scalar extends InstructionScanner {
+
+    @Override
+    boolean scan(byte[] bytes, int from, int to, InstructionCounts counts) {
+      long left = 0;
+      long right = 0;
+      long moves = 0;
+      for (int i = from; i < to; i++) {
+        switch (bytes[i]) {
+          case 'L' -> left++;
+          case 'R' -> right++;
+          case 'M' -> moves++;
+          default -> {
+            return false;
+          }
+        }
+      }
+      counts.add(left, right, moves);
+      return true;
+    }
+
+    @Override
+    boolean scan(char[] chars, int from, int to, InstructionCounts counts) {
+      long left = 0;
+      long right = 0;
+      long moves = 0;
+      for (int i = from; i < to; i++) {
+        switch (chars[i]) {
+          case 'L' -> left++;
+          case 'R' -> right++;
+          case 'M' -> moves++;
+          default -> {
+            return false;
+          }
+        }
+      }
+      counts.add(left, right, moves);
+      return true;
+    }
+
+    @Override
+    boolean isVectorized() {
+      return false;
+    }
+  }
+}
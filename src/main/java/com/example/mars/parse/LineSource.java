@@ -0,0 +1,23 @@
+package com.example.mars.parse;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sequential source of mission input lines. Line terminators follow {@link
+ * java.io.BufferedReader#readLine()}: a line ends at a line feed, a carriage return, or a carriage
+ * return followed immediately by a line feed.
+ *
+ * <p>Implementations may return a reusable view rather than a new {@link String}, so a returned
+ * line is only valid until the next call to {@link #nextLine()}.
+ */
+interface LineSource extends Closeable {
+
+  /**
+   * Advances to the next line of input.
+   *
+   * @return the next line without its terminator, or null once the input is exhausted
+   * @throws IOException if reading from the input fails
+   */
+  CharSequence nextLine() throws IOException;
+}
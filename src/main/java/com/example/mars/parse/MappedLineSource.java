@@ -0,0 +1,164 @@
+package com.example.mars.parse;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link LineSource} that memory-maps a file and returns each line as a {@link ByteLine} view of
+ * the mapped bytes, so no per-line {@link String} is built and no charset decoding takes place.
+ *
+ * <p>A single mapping is limited to 2 GB, so the file is walked through a series of windowed
+ * mappings. A line that straddles the end of a window is remapped at the start of a new window,
+ * which grows as needed up to the 2 GB limit of a single line.
+ *
+ * <p>A source may also cover just a byte range of a channel shared with other sources, which lets
+ * separate threads read different parts of one file.
+ */
+final class MappedLineSource implements LineSource {
+
+  /** Default size of each mapped window. */
+  static final int DEFAULT_WINDOW_SIZE = 1 << 28;
+
+  private final FileChannel channel;
+  private final boolean ownsChannel;
+  private final long size;
+  private final int windowSize;
+  private final ByteLine line = new ByteLine();
+
+  private MappedByteBuffer window;
+  private long windowStart;
+  private int position;
+  private boolean skipLineFeed;
+
+  /**
+   * Opens and maps the given file using the default window size.
+   *
+   * @param path the file to read
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  MappedLineSource(Path path) throws IOException {
+    this(path, DEFAULT_WINDOW_SIZE);
+  }
+
+  /**
+   * Opens and maps the given file using the given window size.
+   *
+   * @param path the file to read
+   * @param windowSize the number of bytes to map at a time
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  MappedLineSource(Path path, int windowSize) throws IOException {
+    this(FileChannel.open(path, StandardOpenOption.READ), true, 0, -1, windowSize);
+  }
+
+  /**
+   * Maps a byte range of a channel that stays open when this source is closed. The range must
+   * start at the beginning of a line.
+   *
+   * @param channel the shared channel to read
+   * @param start file position of the first byte to read
+   * @param end file position one past the last byte to read
+   * @param windowSize the number of bytes to map at a time
+   * @throws IOException if the range cannot be mapped
+   */
+  MappedLineSource(FileChannel channel, long start, long end, int windowSize) throws IOException {
+    this(channel, false, start, end, windowSize);
+  }
+
+  private MappedLineSource(
+      FileChannel channel, boolean ownsChannel, long start, long end, int windowSize)
+      throws IOException {
+    this.channel = channel;
+    this.ownsChannel = ownsChannel;
+    this.windowSize = windowSize;
+    try {
+      if (windowSize <= 0) {
+        throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+      }
+      this.size = end < 0 ? channel.size() : end;
+      map(start, windowSize);
+    } catch (IOException | RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  @Override
+  public CharSequence nextLine() throws IOException {
+    if (skipLineFeed) {
+      skipLineFeed = false;
+      if (available() && window.get(position) == '\n') {
+        position++;
+      }
+    }
+    if (!available()) {
+      return null;
+    }
+
+    int scan = position;
+    while (true) {
+      int limit = window.limit();
+      for (; scan < limit; scan++) {
+        byte b = window.get(scan);
+        if (b == '\n' || b == '\r') {
+          line.set(window, position, scan);
+          position = scan + 1;
+          if (b == '\r') {
+            if (position < limit) {
+              if (window.get(position) == '\n') {
+                position++;
+              }
+            } else {
+              skipLineFeed = true;
+            }
+          }
+          return line;
+        }
+      }
+
+      if (windowStart + limit >= size) {
+        // Final line without a terminator
+        line.set(window, position, limit);
+        position = limit;
+        return line;
+      }
+
+      // The line straddles the end of the window: remap starting at the line
+      long lineStart = windowStart + position;
+      long scanned = windowStart + limit - lineStart;
+      if (scanned >= Integer.MAX_VALUE) {
+        throw new IOException("Line at byte offset " + lineStart + " exceeds 2 GB");
+      }
+      map(lineStart, (int) Math.min(Integer.MAX_VALUE, Math.max(windowSize, scanned * 2)));
+      scan = (int) scanned;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (ownsChannel) {
+      channel.close();
+    }
+  }
+
+  /** Ensures at least one unread byte is mapped, returning false at end of file. */
+  private boolean available() throws IOException {
+    if (position < window.limit()) {
+      return true;
+    }
+    if (windowStart + position >= size) {
+      return false;
+    }
+    map(windowStart + position, windowSize);
+    return true;
+  }
+
+  private void map(long start, int length) throws IOException {
+    window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(length, size - start));
+    windowStart = start;
+    position = 0;
+  }
+}
@@ -0,0 +1,97 @@
+package com.example.mars.parse;
+
+import com.example.mars.domain.PackedRoverPlans;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link PackedRoverPlans} read in place from the sections of a {@link BinaryMission} file. Every
+ * accessor reads straight from the mapped bytes, so opening a mission costs no copying or decoding
+ * regardless of its size.
+ *
+ * <p>A single buffer is limited to 2 GB, so the file is mapped as a series of equally sized chunks.
+ * All fields are naturally aligned and the chunk size is a multiple of eight, so no field straddles
+ * two chunks.
+ */
+final class MappedRoverPlans extends PackedRoverPlans {
+
+  private final ByteBuffer[] chunks;
+  private final int chunkShift;
+  private final long chunkMask;
+  private final int size;
+  private final long recordsPosition;
+  private final long offsetsPosition;
+  private final long arenaPosition;
+
+  /**
+   * Creates a view over mapped mission sections.
+   *
+   * @param chunks the little-endian file chunks, each but the last of size {@code 1 << chunkShift}
+   * @param chunkShift base-2 logarithm of the chunk size, at least 3
+   * @param size the number of rovers
+   * @param recordsPosition file position of the rover records
+   * @param offsetsPosition file position of the instruction offset table
+   * @param arenaPosition file position of the instruction arena
+   */
+  MappedRoverPlans(
+      ByteBuffer[] chunks,
+      int chunkShift,
+      int size,
+      long recordsPosition,
+      long offsetsPosition,
+      long arenaPosition) {
+    this.chunks = chunks;
+    this.chunkShift = chunkShift;
+    this.chunkMask = (1L << chunkShift) - 1;
+    this.size = size;
+    this.recordsPosition = recordsPosition;
+    this.offsetsPosition = offsetsPosition;
+    this.arenaPosition = arenaPosition;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public int startX(int rover) {
+    return getInt(record(rover));
+  }
+
+  @Override
+  public int startY(int rover) {
+    return getInt(record(rover) + 4);
+  }
+
+  @Override
+  public int startHeading(int rover) {
+    return getInt(record(rover) + 8);
+  }
+
+  @Override
+  public long instructionOffset(int rover) {
+    return getLong(offsetsPosition + (long) rover * Long.BYTES);
+  }
+
+  @Override
+  public long instructionCount(int rover) {
+    return instructionOffset(rover + 1) - instructionOffset(rover);
+  }
+
+  @Override
+  public long word(long index) {
+    return getLong(arenaPosition + index * Long.BYTES);
+  }
+
+  private long record(int rover) {
+    return recordsPosition + (long) rover * BinaryMission.RECORD_BYTES;
+  }
+
+  private int getInt(long position) {
+    return chunks[(int) (position >>> chunkShift)].getInt((int) (position & chunkMask));
+  }
+
+  private long getLong(long position) {
+    return chunks[(int) (position >>> chunkShift)].getLong((int) (position & chunkMask));
+  }
+}
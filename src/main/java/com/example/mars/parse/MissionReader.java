@@ -0,0 +1,200 @@
+package com.example.mars.parse;
+
+import com.example.mars.domain.ParseException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Path;
+
+/**
+ * Pull-based streaming parser for mission input. The plateau line is parsed when the reader is
+ * opened, after which each call to {@link #next()} reads exactly one position/instructions pair
+ * and returns it as a {@link RoverPlan}. Memory use is bounded by the size of a single rover plan
+ * rather than by the size of the input.
+ *
+ * <p>Input can be read from any {@link Reader} or directly from a file, which is memory-mapped and
+ * parsed straight from the mapped bytes without decoding or copying each line into a {@link
+ * String}.
+ *
+ * <p>Validation and error messages are identical to {@link InputParser#parse(java.util.List)},
+ * including rover indices. Because the sequential parser rejects unpaired rover lines before
+ * reporting any per-rover error, a rover error is only thrown after the remaining input has been
+ * scanned to confirm that the lines are paired. Plans already returned before an error remain
+ * valid, so callers that need all-or-nothing semantics should defer acting on them until {@link
+ * #next()} returns null.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * try (MissionReader reader = MissionReader.open(new InputStreamReader(System.in))) {
+ *   RoverPlan plan;
+ *   while ((plan = reader.next()) != null) {
+ *     // execute plan against reader.plateau()
+ *   }
+ * }
+ * }</pre>
+ *
+ * @see InputParser
+ */
+public final class MissionReader implements Closeable {
+
+  private final LineSource lines;
+  private final Plateau plateau;
+  private int roverCount;
+
+  private MissionReader(LineSource lines, Plateau plateau) {
+    this.lines = lines;
+    this.plateau = plateau;
+  }
+
+  /**
+   * Opens a streaming parser over the given character input and parses the plateau line.
+   *
+   * @param input the character input containing the mission specification
+   * @return a reader positioned at the first rover plan
+   * @throws ParseException if the input is empty or the plateau line is invalid
+   * @throws IOException if reading from the input fails
+   */
+  public static MissionReader open(Reader input) throws ParseException, IOException {
+    if (input == null) {
+      throw new ParseException("Input lines cannot be null");
+    }
+    return open(new ReaderLineSource(input));
+  }
+
+  /**
+   * Opens a streaming parser over a memory-mapped mission file and parses the plateau line. Files
+   * larger than 2 GB are walked through a series of windowed mappings. Text is interpreted as
+   * UTF-8.
+   *
+   * @param file the mission file to read
+   * @return a reader positioned at the first rover plan
+   * @throws ParseException if the input is empty or the plateau line is invalid
+   * @throws IOException if the file cannot be opened, mapped or read
+   */
+  public static MissionReader open(Path file) throws ParseException, IOException {
+    return open(new MappedLineSource(file));
+  }
+
+  /**
+   * Opens a streaming parser over the given line source and parses the plateau line. The source is
+   * closed if the plateau cannot be parsed.
+   *
+   * @param lines the source of input lines
+   * @return a reader positioned at the first rover plan
+   * @throws ParseException if the input is empty or the plateau line is invalid
+   * @throws IOException if reading from the input fails
+   */
+  static MissionReader open(LineSource lines) throws ParseException, IOException {
+    try {
+      CharSequence plateauLine = nextNonBlankLine(lines);
+      if (plateauLine == null) {
+        throw new ParseException("Input cannot be empty");
+      }
+      return new MissionReader(lines, InputParser.parsePlateau(plateauLine));
+    } catch (ParseException | IOException | RuntimeException e) {
+      lines.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the plateau parsed from the first non-empty input line.
+   *
+   * @return the operational plateau for this mission
+   */
+  public Plateau plateau() {
+    return plateau;
+  }
+
+  /**
+   * Returns the number of rover plans returned so far.
+   *
+   * @return count of plans successfully parsed by {@link #next()}
+   */
+  public int roverCount() {
+    return roverCount;
+  }
+
+  /**
+   * Reads and validates the next rover plan.
+   *
+   * @return the next rover plan, or null once the input is exhausted
+   * @throws ParseException if the next rover specification is invalid or the rover lines are not
+   *     paired
+   * @throws IOException if reading from the input fails
+   */
+  public RoverPlan next() throws ParseException, IOException {
+    CharSequence positionLine = nextNonBlankLine(lines);
+    if (positionLine == null) {
+      return null;
+    }
+
+    // Lines may be reusable views, so each one is parsed before the next is read
+    int roverIndex = roverCount + 1; // 1-indexed for error messages
+    ParseException error = null;
+    Position start = null;
+    try {
+      start = InputParser.parseRoverPosition(positionLine, roverIndex);
+    } catch (ParseException e) {
+      error = e;
+    }
+
+    CharSequence instructionsLine = nextNonBlankLine(lines);
+    if (instructionsLine == null) {
+      throw new ParseException(InputParser.UNPAIRED_ROVER_LINES);
+    }
+
+    String instructions = null;
+    if (error == null) {
+      try {
+        instructions = InputParser.parseInstructions(instructionsLine, roverIndex);
+        InputParser.validateStart(start, roverIndex, plateau);
+      } catch (ParseException e) {
+        error = e;
+      }
+    }
+
+    if (error != null) {
+      // The sequential parser reports unpaired lines ahead of any rover error
+      if (countNonBlankLines(lines) % 2 != 0) {
+        throw new ParseException(InputParser.UNPAIRED_ROVER_LINES);
+      }
+      throw error;
+    }
+
+    roverCount = roverIndex;
+    return new RoverPlan(start, instructions);
+  }
+
+  /**
+   * Closes the underlying input.
+   *
+   * @throws IOException if closing the input fails
+   */
+  @Override
+  public void close() throws IOException {
+    lines.close();
+  }
+
+  private static CharSequence nextNonBlankLine(LineSource lines) throws IOException {
+    CharSequence line;
+    while ((line = lines.nextLine()) != null) {
+      if (!InputParser.isBlank(line)) {
+        return line;
+      }
+    }
+    return null;
+  }
+
+  private static long countNonBlankLines(LineSource lines) throws IOException {
+    long count = 0;
+    while (nextNonBlankLine(lines) != null) {
+      count++;
+    }
+    return count;
+  }
+}
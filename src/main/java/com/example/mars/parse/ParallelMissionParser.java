@@ -0,0 +1,340 @@
+package com.example.mars.parse;
+
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.ParseException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parses a mission file on multiple cores. The memory-mapped file is split into byte ranges at
+ * line boundaries and each range is parsed on a fork/join pool, producing the same {@link Mission}
+ * and the same errors as {@link InputParser#parse(List)} applied to the file's lines.
+ *
+ * <p>Parsing takes two parallel passes:
+ *
+ * <ol>
+ *   <li>each range counts its non-blank lines; a prefix sum over the counts then gives the global
+ *       index of each range's first line, which determines whether that line is the plateau, a
+ *       position line or an instructions line, and which rover it belongs to
+ *   <li>each range parses the rovers whose position line it holds, reading past its end for the
+ *       instructions line of its last rover if needed, and stores them directly at their final
+ *       index in the mission
+ * </ol>
+ *
+ * <p>Errors are reported in the sequential parser's order: an empty input, then an invalid plateau,
+ * then unpaired rover lines, then the lowest-numbered invalid rover. Rover indices in messages are
+ * global, exactly as the sequential parser reports them.
+ *
+ * @see InputParser
+ */
+public final class ParallelMissionParser {
+
+  /** Smallest byte range worth parsing as a separate task. */
+  static final int MIN_CHUNK_BYTES = 1 << 20;
+
+  /** Number of ranges created per thread, so that uneven ranges still balance. */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  /** Private constructor to prevent instantiation of utility class. */
+  private ParallelMissionParser() {}
+
+  /**
+   * Parses a mission file on the common fork/join pool.
+   *
+   * @param file the text mission file to parse
+   * @return the parsed mission
+   * @throws ParseException if the input format is invalid or contains logical errors
+   * @throws IOException if the file cannot be opened, mapped or read
+   */
+  public static Mission parse(Path file) throws ParseException, IOException {
+    return parse(file, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Parses a mission file on the given fork/join pool.
+   *
+   * @param file the text mission file to parse
+   * @param pool the pool to parse byte ranges on
+   * @return the parsed mission
+   * @throws ParseException if the input format is invalid or contains logical errors
+   * @throws IOException if the file cannot be opened, mapped or read
+   */
+  public static Mission parse(Path file, ForkJoinPool pool) throws ParseException, IOException {
+    return parse(file, pool, MIN_CHUNK_BYTES);
+  }
+
+  /**
+   * Parses a mission file on the given pool, using ranges of at least the given size.
+   *
+   * @param file the text mission file to parse
+   * @param pool the pool to parse byte ranges on
+   * @param minChunkBytes the smallest byte range to parse as a separate task
+   * @return the parsed mission
+   * @throws ParseException if the input format is invalid or contains logical errors
+   * @throws IOException if the file cannot be opened, mapped or read
+   */
+  static Mission parse(Path file, ForkJoinPool pool, int minChunkBytes)
+      throws ParseException, IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long maxChunks = Math.max(1, size / minChunkBytes);
+      int chunks = (int) Math.min((long) pool.getParallelism() * CHUNKS_PER_THREAD, maxChunks);
+      long[] starts = new long[chunks + 1];
+      for (int chunk = 0; chunk < chunks; chunk++) {
+        starts[chunk] = size / chunks * chunk;
+      }
+      starts[chunks] = size;
+
+      // Pass 1: align ranges to line starts and count non-blank lines
+      List<long[]> ranges =
+          invokeAll(
+              pool,
+              chunks,
+              chunk -> {
+                long start = lineStart(channel, starts[chunk]);
+                long end = lineStart(channel, starts[chunk + 1]);
+                return new long[] {start, countNonBlankLines(channel, start, end)};
+              });
+
+      long[] counts = new long[chunks];
+      long[] firstLines = new long[chunks + 1];
+      for (int chunk = 0; chunk < chunks; chunk++) {
+        starts[chunk] = ranges.get(chunk)[0];
+        counts[chunk] = ranges.get(chunk)[1];
+        firstLines[chunk + 1] = firstLines[chunk] + counts[chunk];
+      }
+      long totalLines = firstLines[chunks];
+      if (totalLines == 0) {
+        throw new ParseException("Input cannot be empty");
+      }
+
+      int plateauChunk = firstNonEmpty(counts);
+      Plateau plateau = parsePlateau(channel, starts[plateauChunk], size);
+
+      long roverLines = totalLines - 1;
+      if (roverLines % 2 != 0) {
+        throw new ParseException(InputParser.UNPAIRED_ROVER_LINES);
+      }
+      if (roverLines / 2 > Integer.MAX_VALUE - 8) {
+        throw new ParseException("Too many rovers: " + roverLines / 2);
+      }
+
+      // Pass 2: parse the rovers whose position line falls in each range
+      RoverPlan[] plans = new RoverPlan[(int) (roverLines / 2)];
+      AtomicInteger firstFailedChunk = new AtomicInteger(Integer.MAX_VALUE);
+      List<ParseException> errors =
+          invokeAll(
+              pool,
+              chunks,
+              chunk -> {
+                // Rover-line indices exclude the plateau line, which is global line 0
+                long first = Math.max(firstLines[chunk] - 1, 0);
+                long last = firstLines[chunk + 1] - 1;
+                int firstRover = (int) ((first + 1) / 2);
+                int rovers = (int) ((last + 1) / 2 - firstRover);
+                if (rovers <= 0) {
+                  return null;
+                }
+                int skip = (chunk == plateauChunk ? 1 : 0) + (int) (first % 2);
+                ParseException error =
+                    parseRovers(
+                        channel,
+                        starts[chunk],
+                        size,
+                        skip,
+                        plans,
+                        firstRover,
+                        rovers,
+                        plateau,
+                        chunk,
+                        firstFailedChunk);
+                if (error != null) {
+                  firstFailedChunk.accumulateAndGet(chunk, Math::min);
+                }
+                return error;
+              });
+
+      int failed = firstFailedChunk.get();
+      if (failed != Integer.MAX_VALUE) {
+        throw errors.get(failed);
+      }
+      return new Mission(plateau, Collections.unmodifiableList(Arrays.asList(plans)));
+    }
+  }
+
+  /**
+   * Parses the rovers held by one byte range into their slots in the mission.
+   *
+   * @return the first error found in this range, or null if its rovers are valid
+   */
+  private static ParseException parseRovers(
+      FileChannel channel,
+      long rangeStart,
+      long size,
+      int skip,
+      RoverPlan[] plans,
+      int firstRover,
+      int rovers,
+      Plateau plateau,
+      int chunk,
+      AtomicInteger firstFailedChunk)
+      throws IOException {
+    try (LineSource lines = rangeLines(channel, rangeStart, size)) {
+      for (int i = 0; i < skip; i++) {
+        nextNonBlankLine(lines);
+      }
+      for (int rover = firstRover; rover < firstRover + rovers; rover++) {
+        if (firstFailedChunk.get() < chunk) {
+          return null; // an earlier range already holds the reported error
+        }
+        int roverIndex = rover + 1; // 1-indexed for error messages
+        // Lines are reusable views, so each one is parsed before the next is read
+        Position start = null;
+        ParseException error = null;
+        try {
+          start = InputParser.parseRoverPosition(nextNonBlankLine(lines), roverIndex);
+        } catch (ParseException e) {
+          error = e;
+        }
+        CharSequence instructionsLine = nextNonBlankLine(lines);
+        if (error != null) {
+          return error;
+        }
+        try {
+          String instructions = InputParser.parseInstructions(instructionsLine, roverIndex);
+          InputParser.validateStart(start, roverIndex, plateau);
+          plans[rover] = new RoverPlan(start, instructions);
+        } catch (ParseException e) {
+          return e;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static int firstNonEmpty(long[] counts) {
+    int chunk = 0;
+    while (counts[chunk] == 0) {
+      chunk++;
+    }
+    return chunk;
+  }
+
+  private static Plateau parsePlateau(FileChannel channel, long start, long size)
+      throws ParseException, IOException {
+    try (LineSource lines = rangeLines(channel, start, size)) {
+      return InputParser.parsePlateau(nextNonBlankLine(lines));
+    }
+  }
+
+  private static long countNonBlankLines(FileChannel channel, long start, long end)
+      throws IOException {
+    if (start >= end) {
+      return 0;
+    }
+    long count = 0;
+    try (LineSource lines = rangeLines(channel, start, end)) {
+      while (nextNonBlankLine(lines) != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static LineSource rangeLines(FileChannel channel, long start, long end)
+      throws IOException {
+    int window = (int) Math.min(MappedLineSource.DEFAULT_WINDOW_SIZE, Math.max(1, end - start));
+    return new MappedLineSource(channel, start, end, window);
+  }
+
+  private static CharSequence nextNonBlankLine(LineSource lines) throws IOException {
+    CharSequence line;
+    while ((line = lines.nextLine()) != null) {
+      if (!InputParser.isBlank(line)) {
+        return line;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the first position at or after the given one where a line starts. A line starts after
+   * a line feed, or after a carriage return that is not followed by a line feed.
+   */
+  static long lineStart(FileChannel channel, long position) throws IOException {
+    long size = channel.size();
+    if (position <= 0 || position >= size) {
+      return Math.min(Math.max(position, 0), size);
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(8192);
+    long offset = position - 1;
+    byte previous = 0;
+    boolean first = true;
+    while (offset < size) {
+      buffer.clear();
+      int read = channel.read(buffer, offset);
+      if (read <= 0) {
+        break;
+      }
+      for (int i = 0; i < read; i++) {
+        byte b = buffer.get(i);
+        if (!first && (previous == '\n' || (previous == '\r' && b != '\n'))) {
+          return offset + i;
+        }
+        previous = b;
+        first = false;
+      }
+      offset += read;
+    }
+    return size;
+  }
+
+  /** Runs one task per range on the pool and returns their results in range order. */
+  private static <T> List<T> invokeAll(ForkJoinPool pool, int chunks, ChunkTask<T> task)
+      throws IOException {
+    List<Callable<T>> tasks = new ArrayList<>(chunks);
+    for (int chunk = 0; chunk < chunks; chunk++) {
+      int index = chunk;
+      tasks.add(() -> task.run(index));
+    }
+    List<Future<T>> futures = pool.invokeAll(tasks);
+    List<T> results = new ArrayList<>(chunks);
+    for (Future<T> future : futures) {
+      try {
+        results.add(future.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while parsing", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof IOException io) {
+          throw io;
+        }
+        if (e.getCause() instanceof RuntimeException runtime) {
+          throw runtime;
+        }
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+    return results;
+  }
+
+  /** Work performed for a single byte range. */
+  private interface ChunkTask<T> {
+    T run(int chunk) throws IOException;
+  }
+}
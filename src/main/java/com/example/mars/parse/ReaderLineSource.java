@@ -0,0 +1,30 @@
+package com.example.mars.parse;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/** {@link LineSource} over character input, returning each line as a {@link String}. */
+final class ReaderLineSource implements LineSource {
+
+  private final BufferedReader reader;
+
+  /**
+   * Creates a line source over the given reader, buffering it if necessary.
+   *
+   * @param reader the character input to read lines from
+   */
+  ReaderLineSource(Reader reader) {
+    this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+  }
+
+  @Override
+  public CharSequence nextLine() throws IOException {
+    return reader.readLine();
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
@@ -0,0 +1,330 @@
+package com.example.mars.parse;
+
+import com.example.mars.domain.InstructionStream;
+import com.example.mars.domain.ParseException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streaming parser for missions whose instruction lines may be too long to hold in memory. Unlike
+ * {@link MissionReader}, which returns each rover as a complete {@link
+ * com.example.mars.domain.RoverPlan}, this reader returns a rover's start position and then hands
+ * out its instructions as an {@link InstructionStream} of fixed-size chunks read straight from the
+ * input, so an instruction line of any length, including lines beyond 2 GB, is parsed in constant
+ * memory.
+ *
+ * <p>Validation follows {@link InputParser#parse(java.util.List)}, with the same error order and
+ * rover indices, except that instructions are validated as they are streamed:
+ *
+ * <ul>
+ *   <li>an invalid instruction is reported by its one-based position in the instruction line
+ *       rather than by quoting the whole line
+ *   <li>repetition syntax is rejected at its first character, since a repetition cannot be
+ *       executed before the whole of it has been read
+ *   <li>a rover's start position is checked against the plateau once its instructions have been
+ *       read, so an error for an invalid start is raised from the end of the instruction stream
+ * </ul>
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * try (StreamingMissionReader reader = StreamingMissionReader.open(file)) {
+ *   Position start;
+ *   while ((start = reader.nextRover()) != null) {
+ *     InstructionStream instructions = reader.instructions();
+ *     // execute chunks from instructions against reader.plateau()
+ *   }
+ * }
+ * }</pre>
+ *
+ * @see MissionReader
+ */
+public final class StreamingMissionReader implements Closeable {
+
+  private final ChunkedLineSource lines;
+  private final Plateau plateau;
+  private final RoverInstructions instructions = new RoverInstructions();
+  private int roverCount;
+
+  private StreamingMissionReader(ChunkedLineSource lines, Plateau plateau) {
+    this.lines = lines;
+    this.plateau = plateau;
+  }
+
+  /**
+   * Opens a streaming parser over the given byte input and parses the plateau line.
+   *
+   * @param input the byte input containing the mission specification, read as UTF-8
+   * @return a reader positioned at the first rover
+   * @throws ParseException if the input is empty or the plateau line is invalid
+   * @throws IOException if reading from the input fails
+   */
+  public static StreamingMissionReader open(InputStream input) throws ParseException, IOException {
+    if (input == null) {
+      throw new ParseException("Input lines cannot be null");
+    }
+    return open(new ChunkedLineSource(Channels.newChannel(input)));
+  }
+
+  /**
+   * Opens a streaming parser over a mission file and parses the plateau line.
+   *
+   * @param file the mission file to read, as UTF-8
+   * @return a reader positioned at the first rover
+   * @throws ParseException if the input is empty or the plateau line is invalid
+   * @throws IOException if the file cannot be opened or read
+   */
+  public static StreamingMissionReader open(Path file) throws ParseException, IOException {
+    return open(new ChunkedLineSource(FileChannel.open(file, StandardOpenOption.READ)));
+  }
+
+  /**
+   * Opens a streaming parser over the given line source and parses the plateau line. The source is
+   * closed if the plateau cannot be parsed.
+   *
+   * @param lines the source of input lines
+   * @return a reader positioned at the first rover
+   * @throws ParseException if the input is empty or the plateau line is invalid
+   * @throws IOException if reading from the input fails
+   */
+  static StreamingMissionReader open(ChunkedLineSource lines) throws ParseException, IOException {
+    try {
+      CharSequence plateauLine = nextNonBlankLine(lines);
+      if (plateauLine == null) {
+        throw new ParseException("Input cannot be empty");
+      }
+      return new StreamingMissionReader(lines, InputParser.parsePlateau(plateauLine));
+    } catch (ParseException | IOException | RuntimeException e) {
+      lines.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the plateau parsed from the first non-empty input line.
+   *
+   * @return the operational plateau for this mission
+   */
+  public Plateau plateau() {
+    return plateau;
+  }
+
+  /**
+   * Returns the number of rovers returned so far.
+   *
+   * @return count of start positions returned by {@link #nextRover()}
+   */
+  public int roverCount() {
+    return roverCount;
+  }
+
+  /**
+   * Advances to the next rover and parses its start position. Any instructions of the previous
+   * rover that were not read are skipped, but still validated.
+   *
+   * @return the start position of the next rover, or null once the input is exhausted
+   * @throws ParseException if the previous rover's instructions or the next rover's position are
+   *     invalid, or the rover lines are not paired
+   * @throws IOException if reading from the input fails
+   */
+  public Position nextRover() throws ParseException, IOException {
+    instructions.drain();
+
+    CharSequence positionLine = nextNonBlankLine(lines);
+    if (positionLine == null) {
+      return null;
+    }
+
+    int roverIndex = roverCount + 1; // 1-indexed for error messages
+    Position start;
+    try {
+      start = InputParser.parseRoverPosition(positionLine, roverIndex);
+    } catch (ParseException e) {
+      // The sequential parser reports unpaired lines ahead of any rover error
+      if (countNonBlankLines(lines) % 2 == 0) {
+        throw new ParseException(InputParser.UNPAIRED_ROVER_LINES);
+      }
+      throw e;
+    }
+
+    roverCount = roverIndex;
+    instructions.begin(start, roverIndex);
+    return start;
+  }
+
+  /**
+   * Returns the instructions of the rover last returned by {@link #nextRover()}.
+   *
+   * @return a stream of the current rover's instructions
+   */
+  public InstructionStream instructions() {
+    return instructions;
+  }
+
+  /**
+   * Closes the underlying input.
+   *
+   * @throws IOException if closing the input fails
+   */
+  @Override
+  public void close() throws IOException {
+    lines.close();
+  }
+
+  private static CharSequence nextNonBlankLine(ChunkedLineSource lines) throws IOException {
+    CharSequence line;
+    while ((line = lines.nextLine()) != null) {
+      if (!InputParser.isBlank(line)) {
+        return line;
+      }
+    }
+    return null;
+  }
+
+  /** Counts the remaining non-blank lines, reading long lines in parts. */
+  private static long countNonBlankLines(ChunkedLineSource lines) throws IOException {
+    long count = 0;
+    boolean content = false;
+    while (true) {
+      CharSequence part = lines.nextPart();
+      if (part != null) {
+        content |= !InputParser.isBlank(part);
+        continue;
+      }
+      if (content) {
+        count++;
+        content = false;
+      }
+      if (lines.atEnd()) {
+        return count;
+      }
+    }
+  }
+
+  /** Validates and streams the instruction line of the current rover. */
+  private final class RoverInstructions implements InstructionStream {
+    private Position start;
+    private int roverIndex;
+    private boolean active;
+    private boolean inLine;
+    private long length;
+    private long pendingBlank = -1;
+
+    private void begin(Position start, int roverIndex) {
+      this.start = start;
+      this.roverIndex = roverIndex;
+      this.active = true;
+      this.inLine = false;
+      this.length = 0;
+      this.pendingBlank = -1;
+    }
+
+    private void drain() throws ParseException, IOException {
+      while (nextChunk() != null) {
+        // validate and discard the rest of the instructions
+      }
+    }
+
+    @Override
+    public CharSequence nextChunk() throws ParseException, IOException {
+      while (active) {
+        ByteLine part = lines.nextPart();
+        if (part == null) {
+          if (inLine) {
+            finish();
+            return null;
+          }
+          if (lines.atEnd()) {
+            active = false;
+            throw new ParseException(InputParser.UNPAIRED_ROVER_LINES);
+          }
+          continue; // a blank line ahead of the instructions
+        }
+
+        int from = 0;
+        if (!inLine) {
+          from = AsciiTokenizer.trimStart(part);
+          if (from == part.length()) {
+            continue;
+          }
+          inLine = true;
+        }
+
+        // Instructions may be followed by trailing blanks, but nothing may follow those
+        int to = from;
+        if (pendingBlank < 0) {
+          while (to < part.length() && isInstruction(part.charAt(to))) {
+            to++;
+          }
+        }
+        for (int i = to; i < part.length(); i++) {
+          if (part.charAt(i) > ' ') {
+            if (pendingBlank >= 0) {
+              fail(pendingBlank, false);
+            }
+            fail(length + (to - from), InputParser.isRepetitionCharacter(part.charAt(to)));
+          }
+        }
+        if (to < part.length() && pendingBlank < 0) {
+          pendingBlank = length + (to - from);
+        }
+
+        length += to - from;
+        if (to > from) {
+          return part.narrow(from, to);
+        }
+      }
+      return null;
+    }
+
+    private void finish() throws ParseException, IOException {
+      active = false;
+      try {
+        InputParser.validateStart(start, roverIndex, plateau);
+      } catch (ParseException e) {
+        reportRoverError(e);
+      }
+    }
+
+    private void fail(long index, boolean repetition) throws ParseException, IOException {
+      active = false;
+      while (lines.nextPart() != null) {
+        // skip the rest of the instruction line
+      }
+      if (repetition) {
+        reportRoverError(
+            new ParseException(
+                "Rover #"
+                    + roverIndex
+                    + " uses repetition syntax at character "
+                    + (index + 1)
+                    + ", which is not supported with --stream-instructions"));
+      }
+      reportRoverError(
+          new ParseException(
+              "Rover #"
+                  + roverIndex
+                  + " invalid instructions (expected only L, R, M) at character "
+                  + (index + 1)));
+    }
+
+    private void reportRoverError(ParseException error) throws ParseException, IOException {
+      // The sequential parser reports unpaired lines ahead of any rover error
+      if (countNonBlankLines(lines) % 2 != 0) {
+        throw new ParseException(InputParser.UNPAIRED_ROVER_LINES);
+      }
+      throw error;
+    }
+  }
+
+  private static boolean isInstruction(char c) {
+    return c == 'L' || c == 'R' || c == 'M';
+  }
+}
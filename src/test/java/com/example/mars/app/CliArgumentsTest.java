@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.example.mars.exec.BoundaryPolicy;
+import com.example.mars.exec.ExecutionEngine;
+import java.nio.file.Path;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -163,4 +165,267 @@ class CliArgumentsTest {
     assertThat(cli.isFailFast()).isFalse();
     assertThat(cli.isCollectErrors()).isTrue();
   }
+
+  /** Test --input option takes the following argument as the mission file */
+  @Test
+  void parse_inputOption_setsInputPath() throws CliArgumentsException {
+    // When parsing --input with a path
+    CliArguments cli = CliArguments.parse(new String[] {"--input", "mission.txt", "--ignore-oob"});
+
+    // Then the input path is set and other flags still apply
+    assertThat(cli.getInputPath()).isEqualTo(Path.of("mission.txt"));
+    assertThat(cli.getBoundaryPolicy()).isEqualTo(BoundaryPolicy.IGNORE);
+  }
+
+  /** Test STDIN is used when no --input option is given */
+  @Test
+  void parse_noInputOption_readsStdin() throws CliArgumentsException {
+    assertThat(CliArguments.parse(new String[] {}).getInputPath()).isNull();
+  }
+
+  /** Test --input without a value is a usage error */
+  @ParameterizedTest
+  @ValueSource(strings = {"", "--strict"})
+  void parse_inputOptionWithoutValue_throwsException(String next) {
+    String[] args = next.isEmpty() ? new String[] {"--input"} : new String[] {"--input", next};
+
+    assertThatThrownBy(() -> CliArguments.parse(args))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("Usage: java -jar mars-rovers.jar [OPTIONS]")
+        .hasMessageContaining("Missing value for option: --input");
+  }
+
+  /** Test convert subcommand takes a text input path and a binary output path */
+  @Test
+  void parse_convertCommand_setsInputAndConvertPaths() throws CliArgumentsException {
+    CliArguments cli = CliArguments.parse(new String[] {"convert", "mission.txt", "mission.bin"});
+
+    assertThat(cli.getInputPath()).isEqualTo(Path.of("mission.txt"));
+    assertThat(cli.getConvertPath()).isEqualTo(Path.of("mission.bin"));
+  }
+
+  /** Test executing a mission has no conversion target */
+  @Test
+  void parse_noConvertCommand_hasNoConvertPath() throws CliArgumentsException {
+    assertThat(CliArguments.parse(new String[] {"--input", "m.bin"}).getConvertPath()).isNull();
+  }
+
+  /** Test convert without exactly two paths is a usage error */
+  @ParameterizedTest
+  @ValueSource(strings = {"convert", "convert a.txt", "convert a.txt b.bin c", "convert a --x"})
+  void parse_convertWithWrongArguments_throwsException(String command) {
+    assertThatThrownBy(() -> CliArguments.parse(command.split(" ")))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("convert <mission.txt> <mission.bin>");
+  }
+
+  /** Test --parallel-parse is enabled alongside an input file */
+  @Test
+  void parse_parallelParseWithInput_setsParallelParse() throws CliArgumentsException {
+    String[] args = {"--parallel-parse", "--input", "mission.txt"};
+
+    assertThat(CliArguments.parse(args).isParallelParse()).isTrue();
+    assertThat(CliArguments.parse(new String[] {}).isParallelParse()).isFalse();
+  }
+
+  /** Test --parallel-parse without an input file is a usage error */
+  @Test
+  void parse_parallelParseWithoutInput_throwsException() {
+    assertThatThrownBy(() -> CliArguments.parse(new String[] {"--parallel-parse"}))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("--parallel-parse requires --input");
+  }
+
+  /** Test --stream-instructions is enabled by its flag */
+  @Test
+  void parse_streamInstructions_setsStreamInstructions() throws CliArgumentsException {
+    assertThat(CliArguments.parse(new String[] {"--stream-instructions"}).isStreamInstructions())
+        .isTrue();
+    assertThat(CliArguments.parse(new String[] {}).isStreamInstructions()).isFalse();
+  }
+
+  /** Test --stream-instructions cannot be combined with --parallel-parse */
+  @Test
+  void parse_streamInstructionsWithParallelParse_throwsException() {
+    String[] args = {"--stream-instructions", "--parallel-parse", "--input", "m.txt"};
+
+    assertThatThrownBy(() -> CliArguments.parse(args))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("cannot be combined");
+  }
+
+  /** Test --engine selects an execution engine by name, defaulting to the interpreter */
+  @Test
+  void parse_engine_setsEngine() throws CliArgumentsException {
+    assertThat(CliArguments.parse(new String[] {"--engine", "segments"}).getEngine())
+        .isEqualTo(ExecutionEngine.SEGMENTS);
+    assertThat(CliArguments.parse(new String[] {"--engine", "TABLE"}).getEngine())
+        .isEqualTo(ExecutionEngine.TABLE);
+    assertThat(CliArguments.parse(new String[] {"--engine", "swarm"}).getEngine())
+        .isEqualTo(ExecutionEngine.SWARM);
+    assertThat(CliArguments.parse(new String[] {}).getEngine())
+        .isEqualTo(ExecutionEngine.INTERPRETER);
+  }
+
+  /** Test an unknown engine name is a usage error */
+  @Test
+  void parse_unknownEngine_throwsException() {
+    assertThatThrownBy(() -> CliArguments.parse(new String[] {"--engine", "turbo"}))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("Unknown engine: turbo");
+  }
+
+  /** Test --threads sets the thread count, defaulting to sequential execution */
+  @Test
+  void parse_threads_setsThreads() throws CliArgumentsException {
+    assertThat(CliArguments.parse(new String[] {"--threads", "8"}).getThreads()).isEqualTo(8);
+    assertThat(CliArguments.parse(new String[] {}).getThreads()).isEqualTo(1);
+  }
+
+  /** Test a thread count that is not a positive integer is a usage error */
+  @ParameterizedTest
+  @ValueSource(strings = {"0", "-2", "many"})
+  void parse_invalidThreads_throwsException(String threads) {
+    assertThatThrownBy(() -> CliArguments.parse(new String[] {"--threads", threads}))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("Invalid thread count: " + threads);
+  }
+
+  /** Test --threads cannot be combined with --stream-instructions */
+  @Test
+  void parse_threadsWithStreamInstructions_throwsException() {
+    String[] args = {"--threads", "2", "--stream-instructions"};
+
+    assertThatThrownBy(() -> CliArguments.parse(args))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("cannot be combined");
+  }
+
+  /** Test --collect-errors cannot be combined with --stream-instructions */
+  @Test
+  void parse_collectErrorsWithStreamInstructions_throwsException() {
+    String[] args = {"--collect-errors", "--stream-instructions"};
+
+    assertThatThrownBy(() -> CliArguments.parse(args))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("--collect-errors cannot be combined");
+  }
+
+  /** Test --program-cache sets the cache capacity, defaulting to no cache */
+  @Test
+  void parse_programCache_setsCapacity() throws CliArgumentsException {
+    assertThat(CliArguments.parse(new String[] {"--program-cache", "512"}).getProgramCacheSize())
+        .isEqualTo(512);
+    assertThat(CliArguments.parse(new String[] {}).getProgramCacheSize()).isZero();
+  }
+
+  /** Test a cache capacity that is not a positive integer is a usage error */
+  @ParameterizedTest
+  @ValueSource(strings = {"0", "-1", "big"})
+  void parse_invalidProgramCache_throwsException(String entries) {
+    assertThatThrownBy(() -> CliArguments.parse(new String[] {"--program-cache", entries}))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("Invalid program cache size: " + entries);
+  }
+
+  /** Test --program-cache cannot be combined with --stream-instructions */
+  @Test
+  void parse_programCacheWithStreamInstructions_throwsException() {
+    String[] args = {"--program-cache", "16", "--stream-instructions"};
+
+    assertThatThrownBy(() -> CliArguments.parse(args))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("cannot be combined");
+  }
+
+  /** Test --metrics enables execution metrics, which are off by default */
+  @Test
+  void parse_metrics_enablesMetrics() throws CliArgumentsException {
+    assertThat(CliArguments.parse(new String[] {"--metrics"}).isMetrics()).isTrue();
+    assertThat(CliArguments.parse(new String[] {}).isMetrics()).isFalse();
+  }
+
+  /** Test --metrics cannot be combined with --stream-instructions */
+  @Test
+  void parse_metricsWithStreamInstructions_throwsException() {
+    String[] args = {"--metrics", "--stream-instructions"};
+
+    assertThatThrownBy(() -> CliArguments.parse(args))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("cannot be combined");
+  }
+
+  /** Test --metrics needs an execution path that can skip bounds checks */
+  @Test
+  void parse_metricsWithEngineThatAlwaysChecks_throwsException() throws CliArgumentsException {
+    String[] segments = {"--metrics", "--engine", "segments"};
+    String[] swarm = {"--metrics", "--engine", "swarm", "--program-cache", "16"};
+    String[] cached = {"--metrics", "--engine", "table", "--program-cache", "16"};
+
+    assertThatThrownBy(() -> CliArguments.parse(segments))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("--metrics requires --engine interpreter or --program-cache");
+    assertThatThrownBy(() -> CliArguments.parse(swarm))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("--metrics cannot be combined with --engine swarm");
+    assertThat(CliArguments.parse(cached).isMetrics()).isTrue();
+  }
+
+  /** Test --off-heap holds the mission off the heap, which is off by default */
+  @Test
+  void parse_offHeap_enablesOffHeapMissions() throws CliArgumentsException {
+    assertThat(CliArguments.parse(new String[] {"--off-heap"}).isOffHeap()).isTrue();
+    assertThat(CliArguments.parse(new String[] {}).isOffHeap()).isFalse();
+  }
+
+  /** Test --off-heap cannot be combined with options that never hold the parsed mission */
+  @Test
+  void parse_offHeapWithStreamingOrParallelParsing_throwsException() {
+    String[] streaming = {"--off-heap", "--stream-instructions"};
+    String[] parallel = {"--off-heap", "--input", "mission.txt", "--parallel-parse"};
+
+    assertThatThrownBy(() -> CliArguments.parse(streaming))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("--off-heap cannot be combined with --stream-instructions");
+    assertThatThrownBy(() -> CliArguments.parse(parallel))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("--off-heap cannot be combined with --parallel-parse");
+  }
+
+  /** Test --collisions makes rovers at rest obstacles, which is off by default */
+  @Test
+  void parse_collisions_enablesCollisions() throws CliArgumentsException {
+    assertThat(CliArguments.parse(new String[] {"--collisions"}).isCollisions()).isTrue();
+    assertThat(CliArguments.parse(new String[] {}).isCollisions()).isFalse();
+  }
+
+  /** Test --collisions cannot be combined with options that run rovers out of order or apart */
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "--threads 2",
+        "--engine segments",
+        "--stream-instructions",
+        "--program-cache 16",
+        "--collect-errors",
+        "--metrics"
+      })
+  void parse_collisionsWithConflictingOption_throwsException(String option) {
+    String[] args = ("--collisions " + option).split(" ");
+
+    assertThatThrownBy(() -> CliArguments.parse(args))
+        .isInstanceOf(CliArgumentsException.class)
+        .hasMessageContaining("--collisions cannot be combined with " + option.split(" ")[0]);
+  }
+
+  /** Test --collisions runs with the interpreter and any boundary policy */
+  @Test
+  void parse_collisionsWithInterpreterAndPolicy_succeeds() throws CliArgumentsException {
+    CliArguments cli =
+        CliArguments.parse(
+            new String[] {"--collisions", "--engine", "interpreter", "--stop-on-oob"});
+
+    assertThat(cli.isCollisions()).isTrue();
+    assertThat(cli.getBoundaryPolicy()).isEqualTo(BoundaryPolicy.STOP_ON_OOB);
+  }
 }
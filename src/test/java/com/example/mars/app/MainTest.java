@@ -4,8 +4,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -173,6 +177,325 @@ class MainTest {
     assertThat(testOut.toString()).isEmpty();
   }
 
+  /** A parse error later in the input takes precedence over an earlier out-of-bounds move. */
+  @Test
+  void parseErrorAfterOutOfBoundsMove_showsParseErrorAndExits1() {
+    // Given a first rover that moves out of bounds and a second rover with an invalid heading
+    String input = "5 5\n" + "0 0 S\n" + "M\n" + "1 1 Q\n" + "M\n";
+
+    InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+
+    // When running in strict mode (default)
+    int exitCode = Main.run(new String[] {}, inputStream);
+
+    // Then the whole input is validated before the execution error is reported
+    assertThat(exitCode).isEqualTo(1);
+    String errorOutput = testErr.toString();
+    assertThat(errorOutput).contains("Parse Error:");
+    assertThat(errorOutput).contains("Rover #2 invalid heading");
+    assertThat(testOut.toString()).isEmpty();
+  }
+
+  /** The --input option reads the mission from a memory-mapped file instead of STDIN. */
+  @Test
+  void inputFile_readsMissionFromFile() throws IOException {
+    // Given the canonical input in a file and an empty STDIN
+    Path file = Files.createTempFile("mission", ".txt");
+    Files.writeString(file, "5 5\n" + "1 2 N\n" + "LMLMLMLMM\n" + "3 3 E\n" + "MMRMMRMRRM\n");
+    InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+
+    try {
+      // When running with --input
+      int exitCode = Main.run(new String[] {"--input", file.toString()}, inputStream);
+
+      // Then the mission from the file is executed
+      assertThat(exitCode).isEqualTo(0);
+      assertThat(testOut.toString()).contains("1 3 N").contains("5 1 E");
+      assertThat(testErr.toString()).isEmpty();
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /** A converted binary mission runs with the same output as its text source. */
+  @Test
+  void convertedBinaryInput_runsLikeTextInput() throws IOException {
+    Path text = Files.createTempFile("mission", ".txt");
+    Path binary = Files.createTempFile("mission", ".bin");
+    Files.writeString(text, "5 5\n" + "1 2 N\n" + "LMLMLMLMM\n" + "3 3 E\n" + "MMRMMRMRRM\n");
+    InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+
+    try {
+      // When converting the text file and running the binary file
+      int convertExit =
+          Main.run(new String[] {"convert", text.toString(), binary.toString()}, inputStream);
+      assertThat(convertExit).isEqualTo(0);
+      assertThat(testOut.toString()).contains("Converted 2 rover(s)");
+      testOut.reset();
+
+      int exitCode = Main.run(new String[] {"--input", binary.toString()}, inputStream);
+
+      // Then the binary mission produces the text mission's result
+      assertThat(exitCode).isEqualTo(0);
+      assertThat(testOut.toString()).contains("1 3 N").contains("5 1 E");
+      assertThat(testErr.toString()).isEmpty();
+    } finally {
+      Files.delete(text);
+      Files.delete(binary);
+    }
+  }
+
+  /** Parallel parsing reports the same rover error as sequential parsing. */
+  @Test
+  void parallelParse_reportsSameErrorsAsSequentialParse() throws IOException {
+    Path file = Files.createTempFile("mission", ".txt");
+    Files.writeString(file, "5 5\n" + "1 2 N\n" + "LMLMLMLMM\n" + "3 3 Q\n" + "MMRMMRMRRM\n");
+    InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+
+    try {
+      int exitCode =
+          Main.run(new String[] {"--parallel-parse", "--input", file.toString()}, inputStream);
+
+      assertThat(exitCode).isEqualTo(1);
+      assertThat(testErr.toString()).contains("Parse Error: Rover #2 invalid heading");
+      assertThat(testOut.toString()).isEmpty();
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /** Streaming instructions produces the same output as regular execution. */
+  @Test
+  void streamInstructions_executesCanonicalInput() {
+    String input = "5 5\n" + "1 2 N\n" + "LMLMLMLMM\n" + "3 3 E\n" + "MMRMMRMRRM\n";
+    InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+
+    int exitCode = Main.run(new String[] {"--stream-instructions"}, inputStream);
+
+    assertThat(exitCode).isEqualTo(0);
+    assertThat(testOut.toString()).contains("1 3 N").contains("5 1 E");
+    assertThat(testErr.toString()).isEmpty();
+  }
+
+  /** Streaming instructions still lets a later parse error win over an out-of-bounds move. */
+  @Test
+  void streamInstructions_parseErrorAfterOutOfBoundsMove_showsParseError() {
+    String input = "5 5\n" + "5 5 N\n" + "MM\n" + "1 1 E\n" + "MMX\n";
+    InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+
+    int exitCode = Main.run(new String[] {"--stream-instructions"}, inputStream);
+
+    assertThat(exitCode).isEqualTo(1);
+    assertThat(testErr.toString()).contains("Parse Error: Rover #2 invalid instructions");
+    assertThat(testOut.toString()).isEmpty();
+  }
+
+  /** The segments engine prints the same positions as the interpreter. */
+  @Test
+  void segmentsEngine_printsFinalPositions() {
+    String input = "5 5\n" + "1 2 N\n" + "LMLMLMLMM\n" + "3 3 E\n" + "MMRMMRMRRM\n";
+    InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+
+    int exitCode = Main.run(new String[] {"--engine", "segments"}, inputStream);
+
+    assertThat(exitCode).isEqualTo(0);
+    assertThat(testOut.toString()).contains("1 3 N").contains("5 1 E");
+    assertThat(testErr.toString()).isEmpty();
+  }
+
+  /** Rovers sharing instructions are served from the program cache, whose counts are reported. */
+  @Test
+  void programCache_reportsHitsAndMisses() {
+    String input =
+        "5 5\n" + "1 2 N\n" + "LMLMLMLMM\n" + "3 3 E\n" + "LMLMLMLMM\n" + "0 0 N\n" + "MMRMM\n";
+    InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+
+    int exitCode = Main.run(new String[] {"--program-cache", "8"}, inputStream);
+
+    assertThat(exitCode).isEqualTo(0);
+    assertThat(testOut.toString()).contains("1 3 N").contains("4 3 E").contains("2 2 E");
+    assertThat(testErr.toString())
+        .contains("Program cache: 1 hit(s), 2 miss(es), 0 eviction(s)");
+  }
+
+  /** Rovers that provably stay on the plateau are reported as executed without bounds checks. */
+  @Test
+  void metrics_reportsUncheckedAndCheckedRovers() {
+    String input = "9 9\n" + "5 5 N\n" + "LMLM\n" + "1 2 N\n" + "LMLMLMLMM\n";
+    InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+
+    int exitCode = Main.run(new String[] {"--metrics"}, inputStream);
+
+    assertThat(exitCode).isEqualTo(0);
+    assertThat(testOut.toString()).containsSubsequence("4 4 S", "1 3 N");
+    assertThat(testErr.toString()).contains("Bounds checks: 1 rover(s) unchecked, 1 checked");
+  }
+
+  /** With --collect-errors, every rover is printed and each failure is reported. */
+  @Test
+  void collectErrors_printsEveryRoverAndReportsEachFailure() {
+    String input =
+        "5 5\n" + "0 0 S\n" + "M\n" + "1 2 N\n" + "LMLMLMLMM\n" + "5 5 E\n" + "LLMRRMM\n";
+
+    for (String[] args :
+        List.of(
+            new String[] {"--collect-errors"},
+            new String[] {"--collect-errors", "--threads", "2"},
+            new String[] {"--collect-errors", "--engine", "swarm"})) {
+      testOut.reset();
+      testErr.reset();
+      InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+
+      int exitCode = Main.run(args, inputStream);
+
+      assertThat(exitCode).isEqualTo(1);
+      assertThat(testOut.toString()).containsSubsequence("0 0 S", "1 3 N", "5 5 E");
+      assertThat(testErr.toString())
+          .containsSubsequence(
+              "Execution Error: Rover #1 instruction 1 out of bounds from (0,0,S)",
+              "Execution Error: Rover #3 instruction 7 out of bounds from (5,5,E)");
+    }
+  }
+
+  /** With --collect-errors and no failures, the run succeeds as usual. */
+  @Test
+  void collectErrors_withoutFailures_exits0() {
+    String input = "5 5\n" + "1 2 N\n" + "LMLMLMLMM\n";
+    InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+
+    int exitCode = Main.run(new String[] {"--collect-errors"}, inputStream);
+
+    assertThat(exitCode).isEqualTo(0);
+    assertThat(testOut.toString()).contains("1 3 N");
+    assertThat(testErr.toString()).doesNotContain("Execution Error");
+  }
+
+  /** The swarm engine parses the whole mission, then prints its rovers in input order. */
+  @Test
+  void swarmEngine_printsFinalPositionsInInputOrder() {
+    String input = "5 5\n" + "1 2 N\n" + "LMLMLMLMM\n" + "3 3 E\n" + "MMRMMRMRRM\n";
+    InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+
+    int exitCode = Main.run(new String[] {"--engine", "swarm"}, inputStream);
+
+    assertThat(exitCode).isEqualTo(0);
+    assertThat(testOut.toString()).containsSubsequence("1 3 N", "5 1 E");
+  }
+
+  /** Rovers executed on several threads are printed in input order. */
+  @Test
+  void threads_printsFinalPositionsInInputOrder() {
+    String input = "5 5\n" + "1 2 N\n" + "LMLMLMLMM\n" + "3 3 E\n" + "MMRMMRMRRM\n";
+    InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+
+    int exitCode = Main.run(new String[] {"--threads", "4"}, inputStream);
+
+    assertThat(exitCode).isEqualTo(0);
+    assertThat(testOut.toString()).containsSubsequence("1 3 N", "5 1 E");
+    assertThat(testErr.toString()).isEmpty();
+  }
+
+  /** Parallel execution still lets a later parse error win over an out-of-bounds move. */
+  @Test
+  void threads_parseErrorAfterOutOfBoundsMove_showsParseError() {
+    String input = "5 5\n" + "5 5 N\n" + "MM\n" + "1 1 E\n" + "MMX\n";
+    InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+
+    int exitCode = Main.run(new String[] {"--threads", "2"}, inputStream);
+
+    assertThat(exitCode).isEqualTo(1);
+    assertThat(testErr.toString()).contains("Parse Error: Rover #2 invalid instructions");
+    assertThat(testOut.toString()).isEmpty();
+  }
+
+  /** A mission held off the heap runs like one held on it, on one thread or several. */
+  @Test
+  void offHeap_printsFinalPositionsInInputOrder() {
+    String input = "5 5\n" + "1 2 N\n" + "LMLMLMLMM\n" + "3 3 E\n" + "MMRMMRMRRM\n";
+
+    for (String[] args :
+        List.of(new String[] {"--off-heap"}, new String[] {"--off-heap", "--threads", "2"})) {
+      testOut.reset();
+      int exitCode = Main.run(args, new ByteArrayInputStream(input.getBytes()));
+
+      assertThat(exitCode).isEqualTo(0);
+      assertThat(testOut.toString()).containsSubsequence("1 3 N", "5 1 E");
+      assertThat(testErr.toString()).isEmpty();
+    }
+  }
+
+  /** Repetition syntax cannot be packed off the heap, and is reported as a parse error. */
+  @Test
+  void offHeap_repetitions_showsParseError() {
+    String input = "5 5\n" + "1 2 N\n" + "LMLMLMLMM\n" + "0 0 N\n" + "M3\n";
+    InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+
+    int exitCode = Main.run(new String[] {"--off-heap"}, inputStream);
+
+    assertThat(exitCode).isEqualTo(1);
+    assertThat(testErr.toString())
+        .contains("Parse Error: Rover #2 uses repetition syntax, which off-heap missions cannot");
+    assertThat(testOut.toString()).isEmpty();
+  }
+
+  /** With --collisions, a rover resting in the path of a later rover blocks its move. */
+  @Test
+  void collisions_blockMovesOntoRestingRovers() {
+    String input = "5 5\n" + "1 2 N\n" + "M\n" + "1 0 N\n" + "MMMM\n";
+    String[] args = {"--collisions", "--stop-on-oob"};
+
+    int exitCode = Main.run(args, new ByteArrayInputStream(input.getBytes()));
+
+    assertThat(exitCode).isEqualTo(0);
+    assertThat(testOut.toString()).containsSubsequence("1 3 N", "1 2 N");
+    assertThat(testErr.toString()).isEmpty();
+
+    testOut.reset();
+    exitCode = Main.run(new String[] {}, new ByteArrayInputStream(input.getBytes()));
+
+    assertThat(exitCode).isEqualTo(0);
+    assertThat(testOut.toString()).containsSubsequence("1 3 N", "1 4 N");
+  }
+
+  /** Under the default strict policy, a collision is reported as an execution error. */
+  @Test
+  void collisions_strict_showsExecutionError() {
+    String input = "5 5\n" + "1 2 N\n" + "M\n" + "1 0 N\n" + "MMMM\n";
+
+    InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+
+    int exitCode = Main.run(new String[] {"--collisions"}, inputStream);
+
+    assertThat(exitCode).isEqualTo(1);
+    assertThat(testErr.toString())
+        .contains("Execution Error: Rover #2 instruction 3 collides with a rover at (1,3)");
+  }
+
+  /** Repeated instructions execute without being spelled out. */
+  @Test
+  void repetitions_printsFinalPositions() {
+    String input = "5 5\n" + "0 0 N\n" + "(M5RM5R)x1000000001\n";
+    InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+
+    int exitCode = Main.run(new String[] {}, inputStream);
+
+    assertThat(exitCode).isEqualTo(0);
+    assertThat(testOut.toString()).contains("5 5 S");
+    assertThat(testErr.toString()).isEmpty();
+  }
+
+  /** A missing --input file is reported as an input error. */
+  @Test
+  void missingInputFile_showsInputErrorAndExits1() {
+    InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+
+    int exitCode = Main.run(new String[] {"--input", "does-not-exist.txt"}, inputStream);
+
+    assertThat(exitCode).isEqualTo(1);
+    assertThat(testErr.toString()).contains("Input Error:");
+    assertThat(testOut.toString()).isEmpty();
+  }
+
   /** Test ignore-oob mode with out of bounds move */
   @Test
   void outOfBoundsMove_ignoreMode_skipsInvalidMoveAndContinues() {
@@ -0,0 +1,54 @@
+package com.example.mars.app;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.PackedPositions;
+import com.example.mars.domain.Position;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PositionWriterTest {
+
+  @Test
+  void write_printsOnePositionPerLine() throws IOException {
+    PackedPositions positions = new PackedPositions();
+    positions.add(new Position(1, 3, Direction.N));
+    positions.add(new Position(5, 1, Direction.E));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    PositionWriter.write(positions, out);
+
+    String separator = System.lineSeparator();
+    assertThat(out.toString(StandardCharsets.US_ASCII))
+        .isEqualTo("1 3 N" + separator + "5 1 E" + separator);
+  }
+
+  @Test
+  void write_matchesStringConcatenation_acrossBufferRefills() throws IOException {
+    // Enough lines to refill the buffer several times, with coordinates of every length and sign
+    Random random = new Random(24);
+    PackedPositions positions = new PackedPositions();
+    positions.add(new Position(Integer.MIN_VALUE, Integer.MAX_VALUE, Direction.S));
+    positions.add(new Position(0, -1, Direction.W));
+    for (int i = 0; i < 20_000; i++) {
+      int x = random.nextInt() >> random.nextInt(32);
+      int y = random.nextInt() >>> random.nextInt(32);
+      positions.add(new Position(x, y, Direction.values()[random.nextInt(4)]));
+    }
+    StringBuilder expected = new StringBuilder();
+    for (Position position : positions) {
+      expected
+          .append(position.x() + " " + position.y() + " " + position.heading())
+          .append(System.lineSeparator());
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    PositionWriter.write(positions, out);
+
+    assertThat(out.toString(StandardCharsets.US_ASCII)).isEqualTo(expected.toString());
+  }
+}
@@ -0,0 +1,96 @@
+package com.example.mars.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CompactRoverPlansTest {
+
+  @Test
+  void of_roundTripsPlansInOrder() {
+    List<RoverPlan> plans =
+        List.of(
+            new RoverPlan(new Position(1, 2, Direction.N), "LMLMLMLMM"),
+            new RoverPlan(new Position(3, 3, Direction.E), "MMRMMRMRRM"),
+            new RoverPlan(new Position(0, 0, Direction.W), ""),
+            new RoverPlan(new Position(7, 4, Direction.S), "R"));
+
+    CompactRoverPlans compact = CompactRoverPlans.of(plans);
+
+    assertThat(compact).hasSize(4);
+    assertThat(compact).isEqualTo(plans);
+    assertThat(new Mission(new Plateau(9, 9), compact))
+        .isEqualTo(new Mission(new Plateau(9, 9), plans));
+  }
+
+  @Test
+  void instructionsCrossingWordBoundaries_areDecodedExactly() {
+    Random random = new Random(42);
+    List<RoverPlan> plans = new ArrayList<>();
+    for (int rover = 0; rover < 200; rover++) {
+      StringBuilder instructions = new StringBuilder();
+      int length = random.nextInt(100);
+      for (int i = 0; i < length; i++) {
+        instructions.append("LRM".charAt(random.nextInt(3)));
+      }
+      Direction heading = Direction.values()[random.nextInt(4)];
+      plans.add(new RoverPlan(new Position(rover, rover * 2, heading), instructions.toString()));
+    }
+
+    CompactRoverPlans compact = CompactRoverPlans.of(plans);
+
+    assertThat(compact).isEqualTo(plans);
+    long offset = 0;
+    for (int rover = 0; rover < plans.size(); rover++) {
+      assertThat(compact.instructionOffset(rover)).isEqualTo(offset);
+      assertThat(compact.instructionCount(rover))
+          .isEqualTo(plans.get(rover).instructions().length());
+      offset += compact.instructionCount(rover);
+    }
+  }
+
+  @Test
+  void primitiveAccessors_exposeStartAndCodes() {
+    CompactRoverPlans compact =
+        CompactRoverPlans.builder()
+            .add(4, 5, Direction.S, "MLR")
+            .add(new RoverPlan(new Position(6, 7, Direction.W), "RRM"))
+            .build();
+
+    assertThat(compact.startX(1)).isEqualTo(6);
+    assertThat(compact.startY(1)).isEqualTo(7);
+    assertThat(compact.startHeading(1)).isEqualTo(Direction.W.ordinal());
+    assertThat(compact.start(0)).isEqualTo(new Position(4, 5, Direction.S));
+    assertThat(compact.instruction(0)).isEqualTo(PackedRoverPlans.MOVE);
+    assertThat(compact.instruction(1)).isEqualTo(PackedRoverPlans.LEFT);
+    assertThat(compact.instruction(3)).isEqualTo(PackedRoverPlans.RIGHT);
+    assertThat(compact.word(0)).isEqualTo(0b10_01_01_01_00_10L);
+  }
+
+  @Test
+  void invalidInstruction_isRejectedWithoutCorruptingBuilder() {
+    CompactRoverPlans.Builder builder = CompactRoverPlans.builder().add(0, 0, Direction.N, "LM");
+
+    assertThatThrownBy(() -> builder.add(1, 1, Direction.E, "MMX"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Not an instruction: X");
+
+    CompactRoverPlans compact = builder.add(2, 2, Direction.E, "RR").build();
+    assertThat(compact)
+        .containsExactly(
+            new RoverPlan(new Position(0, 0, Direction.N), "LM"),
+            new RoverPlan(new Position(2, 2, Direction.E), "RR"));
+  }
+
+  @Test
+  void get_withIndexOutOfRange_throws() {
+    CompactRoverPlans compact = CompactRoverPlans.builder().build();
+
+    assertThat(compact).isEmpty();
+    assertThatThrownBy(() -> compact.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+}
@@ -0,0 +1,82 @@
+package com.example.mars.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class InstructionProgramTest {
+
+  @Test
+  void parse_plainInstructions_yieldsSingleRuns() {
+    InstructionProgram program = InstructionProgram.parse("LMR");
+
+    assertThat(program.items())
+        .containsExactly(
+            new InstructionProgram.Run('L', 1),
+            new InstructionProgram.Run('M', 1),
+            new InstructionProgram.Run('R', 1));
+    assertThat(program.length()).isEqualTo(3);
+  }
+
+  @Test
+  void parse_countsAndNestedGroups_keepTheTree() {
+    InstructionProgram program = InstructionProgram.parse("M500(L(MR)x3)x1000000");
+
+    List<InstructionProgram.Item> items = program.items();
+    assertThat(items).hasSize(2);
+    assertThat(items.get(0)).isEqualTo(new InstructionProgram.Run('M', 500));
+    InstructionProgram.Group group = (InstructionProgram.Group) items.get(1);
+    assertThat(group.count()).isEqualTo(1_000_000);
+    assertThat(group.body().length()).isEqualTo(7);
+    assertThat(program.length()).isEqualTo(500 + 7_000_000L);
+  }
+
+  @Test
+  void parse_expansionBeyondLongRange_isRejected() {
+    assertThatThrownBy(() -> InstructionProgram.parse("((M)x9999999999)x9999999999"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid instructions at character 1: group expands to too many instructions");
+  }
+
+  @Test
+  void parse_deeplyNestedGroups_isRejected() {
+    String instructions = "(".repeat(65) + "M" + ")x2".repeat(65);
+
+    assertThatThrownBy(() -> InstructionProgram.parse(instructions))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("nested more than 64 deep");
+  }
+
+  @ParameterizedTest
+  @MethodSource("malformedInstructions")
+  void parse_malformedInstructions_reportsTheCharacter(
+      String instructions, int character, String reason) {
+    assertThatThrownBy(() -> InstructionProgram.parse(instructions))
+        .isInstanceOf(InstructionSyntaxException.class)
+        .hasMessage("Invalid instructions at character " + character + ": " + reason);
+  }
+
+  private static Stream<Arguments> malformedInstructions() {
+    return Stream.of(
+        Arguments.of("M0", 2, "count must be positive"),
+        Arguments.of("(LM", 1, "unclosed group"),
+        Arguments.of("(LM)3", 5, "expected 'x' and a count after group"),
+        Arguments.of("(LM)x", 6, "expected a count"),
+        Arguments.of("()x3", 2, "empty group"),
+        Arguments.of("LM)x2", 3, "unexpected ')'"),
+        Arguments.of("LMX", 3, "unexpected 'X'"));
+  }
+
+  @Test
+  void hasRepetitions_detectsCountsAndGroups() {
+    assertThat(InstructionProgram.hasRepetitions("LMRMM")).isFalse();
+    assertThat(InstructionProgram.hasRepetitions("M5")).isTrue();
+    assertThat(InstructionProgram.hasRepetitions("(LM)x2")).isTrue();
+  }
+}
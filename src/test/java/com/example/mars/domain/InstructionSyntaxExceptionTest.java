@@ -0,0 +1,24 @@
+package com.example.mars.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class InstructionSyntaxExceptionTest {
+
+  @Test
+  void constructor_setsCharacterReasonAndMessage() {
+    InstructionSyntaxException exception = new InstructionSyntaxException(5, "unclosed group");
+
+    assertThat(exception.character()).isEqualTo(5);
+    assertThat(exception.reason()).isEqualTo("unclosed group");
+    assertThat(exception.getMessage())
+        .isEqualTo("Invalid instructions at character 5: unclosed group");
+  }
+
+  @Test
+  void inheritance_extendsIllegalArgumentException() {
+    assertThat(new InstructionSyntaxException(1, "test"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,110 @@
+package com.example.mars.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class OffHeapRoverPlansTest {
+
+  @Test
+  void of_roundTripsPlansInOrder() {
+    List<RoverPlan> plans =
+        List.of(
+            new RoverPlan(new Position(1, 2, Direction.N), "LMLMLMLMM"),
+            new RoverPlan(new Position(3, 3, Direction.E), "MMRMMRMRRM"),
+            new RoverPlan(new Position(0, 0, Direction.W), ""),
+            new RoverPlan(new Position(7, 4, Direction.S), "R"));
+
+    OffHeapRoverPlans offHeap = OffHeapRoverPlans.of(plans);
+
+    assertThat(offHeap).hasSize(4);
+    assertThat(offHeap).isEqualTo(plans);
+    assertThat(new Mission(new Plateau(9, 9), offHeap))
+        .isEqualTo(new Mission(new Plateau(9, 9), plans));
+  }
+
+  @Test
+  void columnsSpanningManyBuffers_matchCompactStorage() {
+    List<RoverPlan> plans = randomPlans(new Random(23), 500);
+    CompactRoverPlans compact = CompactRoverPlans.of(plans);
+
+    // 16-byte buffers hold a single rover record, two offsets or two arena words
+    OffHeapRoverPlans.Builder builder = OffHeapRoverPlans.builder(4);
+    for (RoverPlan plan : plans) {
+      builder.add(plan);
+    }
+    OffHeapRoverPlans offHeap = builder.build();
+
+    assertThat(offHeap).isEqualTo(plans);
+    for (int rover = 0; rover < plans.size(); rover++) {
+      assertThat(offHeap.startX(rover)).isEqualTo(compact.startX(rover));
+      assertThat(offHeap.startY(rover)).isEqualTo(compact.startY(rover));
+      assertThat(offHeap.startHeading(rover)).isEqualTo(compact.startHeading(rover));
+      assertThat(offHeap.instructionOffset(rover)).isEqualTo(compact.instructionOffset(rover));
+      assertThat(offHeap.instructionCount(rover)).isEqualTo(compact.instructionCount(rover));
+    }
+    long words = PackedRoverPlans.wordCount(offHeap.instructionOffset(plans.size()));
+    for (long word = 0; word < words; word++) {
+      assertThat(offHeap.word(word)).as("word %d", word).isEqualTo(compact.word(word));
+    }
+  }
+
+  @Test
+  void primitiveAccessors_exposeStartAndCodes() {
+    OffHeapRoverPlans offHeap =
+        OffHeapRoverPlans.builder()
+            .add(4, 5, Direction.S, "MLR")
+            .add(new RoverPlan(new Position(6, 7, Direction.W), "RRM"))
+            .build();
+
+    assertThat(offHeap.start(0)).isEqualTo(new Position(4, 5, Direction.S));
+    assertThat(offHeap.startHeading(1)).isEqualTo(Direction.W.ordinal());
+    assertThat(offHeap.instruction(1)).isEqualTo(PackedRoverPlans.LEFT);
+    assertThat(offHeap.word(0)).isEqualTo(0b10_01_01_01_00_10L);
+  }
+
+  @Test
+  void invalidInstruction_isRejectedWithoutCorruptingBuilder() {
+    OffHeapRoverPlans.Builder builder = OffHeapRoverPlans.builder().add(0, 0, Direction.N, "LM");
+
+    assertThatThrownBy(() -> builder.add(1, 1, Direction.E, "MMX"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Not an instruction: X");
+
+    OffHeapRoverPlans offHeap = builder.add(2, 2, Direction.E, "RR").build();
+    assertThat(offHeap)
+        .containsExactly(
+            new RoverPlan(new Position(0, 0, Direction.N), "LM"),
+            new RoverPlan(new Position(2, 2, Direction.E), "RR"));
+  }
+
+  @Test
+  void builder_afterBuild_isRejected() {
+    OffHeapRoverPlans.Builder builder = OffHeapRoverPlans.builder();
+    OffHeapRoverPlans offHeap = builder.build();
+
+    assertThat(offHeap).isEmpty();
+    assertThatThrownBy(() -> builder.add(0, 0, Direction.N, "M"))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(builder::build).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> offHeap.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  private static List<RoverPlan> randomPlans(Random random, int rovers) {
+    List<RoverPlan> plans = new ArrayList<>();
+    for (int rover = 0; rover < rovers; rover++) {
+      int length = random.nextInt(10) == 0 ? random.nextInt(300) : random.nextInt(40);
+      StringBuilder instructions = new StringBuilder();
+      for (int i = 0; i < length; i++) {
+        instructions.append("LRM".charAt(random.nextInt(3)));
+      }
+      Direction heading = Direction.values()[random.nextInt(4)];
+      plans.add(new RoverPlan(new Position(rover, -rover, heading), instructions.toString()));
+    }
+    return plans;
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.mars.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PackedPositionsTest {
+
+  @Test
+  void add_roundTripsPositionsInOrder() {
+    List<Position> positions = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      positions.add(new Position(i, 3 * i, Direction.values()[i % 4]));
+    }
+    // Coordinates are kept whole, including the sign of either half of the packed word
+    positions.add(new Position(-1, Integer.MIN_VALUE, Direction.W));
+    positions.add(new Position(Integer.MAX_VALUE, -7, Direction.S));
+
+    PackedPositions packed = new PackedPositions();
+    for (Position position : positions) {
+      packed.add(position);
+    }
+
+    assertThat(packed).hasSize(positions.size());
+    assertThat(packed).isEqualTo(positions);
+    assertThat(packed.x(100)).isEqualTo(-1);
+    assertThat(packed.y(100)).isEqualTo(Integer.MIN_VALUE);
+    assertThat(packed.heading(100)).isEqualTo(Direction.W.ordinal());
+  }
+
+  @Test
+  void ofSize_holdsPositionsUntilTheyAreSet() {
+    PackedPositions packed = PackedPositions.ofSize(3);
+
+    packed.set(2, 5, 1, Direction.E.ordinal());
+    packed.set(0, 1, 3, Direction.N.ordinal());
+
+    assertThat(packed)
+        .containsExactly(
+            new Position(1, 3, Direction.N),
+            new Position(0, 0, Direction.N),
+            new Position(5, 1, Direction.E));
+  }
+
+  @Test
+  void forEachPosition_visitsEveryPositionInOrder() {
+    PackedPositions packed = new PackedPositions();
+    packed.add(1, 3, Direction.N.ordinal());
+    packed.add(5, 1, Direction.E.ordinal());
+
+    StringBuilder visited = new StringBuilder();
+    packed.forEachPosition((x, y, heading) -> visited.append(x).append(y).append(heading));
+
+    assertThat(visited.toString()).isEqualTo("130511");
+  }
+
+  @Test
+  void accessors_withIndexOutOfRange_throw() {
+    PackedPositions packed = PackedPositions.ofSize(1);
+
+    assertThatThrownBy(() -> packed.get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> packed.x(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> packed.set(1, 0, 0, 0))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> PackedPositions.ofSize(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,106 @@
+package com.example.mars.exec;
+
+import static com.example.mars.exec.ReferenceInterpreter.PLATEAUS;
+import static com.example.mars.exec.ReferenceInterpreter.interpret;
+import static com.example.mars.exec.ReferenceInterpreter.outcome;
+import static com.example.mars.exec.ReferenceInterpreter.randomStart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class BlockScanTest {
+
+  private static final Plateau PLATEAU = new Plateau(50, 50);
+
+  private static ForkJoinPool pool;
+
+  @BeforeAll
+  static void startPool() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @AfterAll
+  static void stopPool() {
+    pool.shutdown();
+  }
+
+  @Test
+  void execute_underStrict_reportsTheFailingInstructionOfALateBlock() {
+    // Circles on the spot for most of the sequence, then heads north off the plateau
+    String instructions = "MRMRMRMR".repeat(100_000) + "M".repeat(100);
+    RoverCursor rover = new RoverCursor(PLATEAU).reset(new Position(10, 10, Direction.N));
+
+    assertThatThrownBy(
+            () -> BlockScan.execute(rover, instructions, BoundaryPolicy.STRICT, 0, pool))
+        .isInstanceOf(OutOfBoundsException.class)
+        .hasMessage("Rover #1 instruction 800041 out of bounds from (10,50,N)");
+  }
+
+  @Test
+  void execute_instructionsThatAreNotPlain_leaveTheRoverUntouched() throws OutOfBoundsException {
+    String instructions = "M".repeat(200_000) + "X";
+    RoverCursor rover = new RoverCursor(PLATEAU).reset(new Position(10, 10, Direction.N));
+
+    boolean executed = BlockScan.execute(rover, instructions, BoundaryPolicy.IGNORE, 0, pool);
+
+    assertThat(executed).isFalse();
+    assertThat(rover.position()).isEqualTo(new Position(10, 10, Direction.N));
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void execute_matchesTheInterpreter(BoundaryPolicy policy) {
+    Random random = new Random(16);
+    for (int trial = 0; trial < 2 * PLATEAUS.size(); trial++) {
+      Plateau plateau = PLATEAUS.get(trial % PLATEAUS.size());
+      Position start = randomStart(random, plateau);
+      // Mostly turning on the spot, with an occasional drift towards an edge
+      StringBuilder instructions = new StringBuilder();
+      while (instructions.length() < 400_000) {
+        instructions.append(random.nextInt(500) == 0 ? "MMMMMMMMMM" : "MRMRMLMLLMRM");
+      }
+      String plan = instructions.toString();
+
+      Object expected = outcome(() -> interpret(plateau, start, plan, policy));
+      Object actual =
+          outcome(
+              () -> {
+                RoverCursor rover = new RoverCursor(plateau).reset(start);
+                assertThat(BlockScan.execute(rover, plan, policy, 0, pool)).isTrue();
+                return rover.position();
+              });
+      assertThat(actual).as("%s %s", plateau, start).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void run_withALongRoverOnAPool_matchesTheSequentialRun() throws OutOfBoundsException {
+    // One rover long enough to be split across the pool among ordinary ones
+    String longInstructions = "MMRMMRMMRMMRMRML".repeat(BlockScan.PARALLEL_THRESHOLD / 16 + 1);
+    Mission mission =
+        new Mission(
+            PLATEAU,
+            List.of(
+                new RoverPlan(new Position(1, 2, Direction.N), "LMLMLMLMM"),
+                new RoverPlan(new Position(25, 25, Direction.E), longInstructions),
+                new RoverPlan(new Position(3, 3, Direction.E), "MMRMMRMRRM")));
+
+    assertThat(
+            MissionRunner.run(mission, BoundaryPolicy.IGNORE, RunOptions.DEFAULT.withPool(pool)))
+        .isEqualTo(MissionRunner.run(mission, BoundaryPolicy.IGNORE));
+  }
+}
@@ -1,7 +1,12 @@
 package com.example.mars.exec;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
@@ -33,4 +38,51 @@ class BoundaryPolicyTest {
     assertThat(BoundaryPolicy.IGNORE).isNotNull();
     assertThat(BoundaryPolicy.STOP_ON_OOB).isNotNull();
   }
+
+  @Test
+  void interpret_strict_reportsTheBlockedMove() {
+    RoverCursor rover = new RoverCursor(new Plateau(3, 3)).reset(new Position(1, 1, Direction.N));
+
+    assertThatThrownBy(() -> BoundaryPolicy.STRICT.interpret(rover, "MMMRM", 0, 5, 1))
+        .isInstanceOf(OutOfBoundsException.class)
+        .hasMessage("Rover #2 instruction 3 out of bounds from (1,3,N)");
+  }
+
+  @Test
+  void interpret_ignore_skipsBlockedMoves() throws OutOfBoundsException {
+    RoverCursor rover = new RoverCursor(new Plateau(3, 3)).reset(new Position(1, 1, Direction.N));
+
+    assertThat(BoundaryPolicy.IGNORE.interpret(rover, "MMMRM", 0, 5, 1)).isEqualTo(5);
+    assertThat(rover.position()).isEqualTo(new Position(2, 3, Direction.E));
+  }
+
+  @Test
+  void interpret_stopOnOob_stopsAtTheBlockedMove() throws OutOfBoundsException {
+    RoverCursor rover = new RoverCursor(new Plateau(3, 3)).reset(new Position(1, 1, Direction.N));
+
+    assertThat(BoundaryPolicy.STOP_ON_OOB.interpret(rover, "MMMRM", 0, 5, 1))
+        .isEqualTo(BoundaryPolicy.STOPPED);
+    assertThat(rover.position()).isEqualTo(new Position(1, 3, Direction.N));
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void interpret_stopsBeforeTheFirstCharacterThatIsNotAnInstruction(BoundaryPolicy policy)
+      throws OutOfBoundsException {
+    RoverCursor rover = new RoverCursor(new Plateau(5, 5)).reset(new Position(1, 1, Direction.N));
+
+    assertThat(policy.interpret(rover, "XMRM4ML", 1, 7, 0)).isEqualTo(4);
+    assertThat(rover.position()).isEqualTo(new Position(2, 2, Direction.E));
+  }
+
+  @Test
+  void blocked_appliesEachPolicy() throws OutOfBoundsException {
+    RoverCursor rover = new RoverCursor(new Plateau(3, 3)).reset(new Position(0, 0, Direction.S));
+
+    assertThat(BoundaryPolicy.IGNORE.blocked(rover, 0, 4, 1)).isTrue();
+    assertThat(BoundaryPolicy.STOP_ON_OOB.blocked(rover, 0, 4, 1)).isFalse();
+    assertThatThrownBy(() -> BoundaryPolicy.STRICT.blocked(rover, 0, 4, 1))
+        .isInstanceOf(OutOfBoundsException.class)
+        .hasMessage("Rover #1 instruction 5 out of bounds from (0,0,S)");
+  }
 }
@@ -0,0 +1,149 @@
+package com.example.mars.exec;
+
+import static com.example.mars.exec.ReferenceInterpreter.PLATEAUS;
+import static com.example.mars.exec.ReferenceInterpreter.interpret;
+import static com.example.mars.exec.ReferenceInterpreter.outcome;
+import static com.example.mars.exec.ReferenceInterpreter.randomStart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.mars.domain.CompactRoverPlans;
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class ChunkTableTest {
+
+  private static final Plateau PLATEAU = new Plateau(9, 7);
+
+  @Test
+  void execute_appliesChunksAwayFromTheEdges() throws OutOfBoundsException {
+    RoverCursor rover = new RoverCursor(new Plateau(100, 100)).reset(50, 50, 0);
+
+    // Each chunk moves three north, turns right, moves three east and turns left
+    String instructions = "MMMRMMML".repeat(5) + "R";
+
+    int invalid = ChunkTable.execute(rover, instructions, BoundaryPolicy.STRICT, 0);
+
+    assertThat(invalid).isEqualTo(-1);
+    assertThat(rover.position()).isEqualTo(new Position(65, 65, Direction.E));
+  }
+
+  @Test
+  void execute_invalidCharacter_stopsBeforeIt() throws OutOfBoundsException {
+    RoverCursor rover = new RoverCursor(PLATEAU).reset(new Position(0, 0, Direction.N));
+
+    String instructions = "MMRMMLMMMMRX" + "M".repeat(20);
+
+    int invalid = ChunkTable.execute(rover, instructions, BoundaryPolicy.STRICT, 0);
+
+    assertThat(invalid).isEqualTo(11);
+    assertThat(rover.position()).isEqualTo(new Position(2, 6, Direction.E));
+  }
+
+  @Test
+  void execute_underStrict_reportsTheFailingInstructionWithinAChunk() {
+    RoverCursor rover = new RoverCursor(PLATEAU).reset(new Position(4, 4, Direction.N));
+
+    assertThatThrownBy(
+            () -> ChunkTable.execute(rover, "MMRMMMMMMMMMMMMM", BoundaryPolicy.STRICT, 1))
+        .isInstanceOf(OutOfBoundsException.class)
+        .hasMessage("Rover #2 instruction 9 out of bounds from (9,6,E)");
+  }
+
+  @Test
+  void execute_nearTheLargestCoordinate_stopsAtTheEdge() throws OutOfBoundsException {
+    Plateau plateau = new Plateau(Integer.MAX_VALUE, 5);
+    Position start = new Position(Integer.MAX_VALUE - 3, 0, Direction.E);
+
+    RoverCursor rover = new RoverCursor(plateau).reset(start);
+    ChunkTable.execute(rover, "MMMMMMMM", BoundaryPolicy.IGNORE, 0);
+
+    assertThat(rover.position()).isEqualTo(new Position(Integer.MAX_VALUE, 0, Direction.E));
+    assertThatThrownBy(
+            () ->
+                ChunkTable.execute(
+                    new RoverCursor(plateau).reset(start), "MMMMMMMM", BoundaryPolicy.STRICT, 0))
+        .isInstanceOf(OutOfBoundsException.class)
+        .hasMessage("Rover #1 instruction 4 out of bounds from (2147483647,0,E)");
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void execute_matchesTheInterpreter(BoundaryPolicy policy) {
+    Random random = new Random(13);
+    for (int trial = 0; trial < 2000; trial++) {
+      // Starts range just off the plateau too, and some sequences hold an invalid character
+      Plateau plateau = PLATEAUS.get(trial % PLATEAUS.size());
+      Position start = randomStart(random, plateau);
+      StringBuilder instructions = new StringBuilder();
+      int length = random.nextInt(60);
+      for (int i = 0; i < length; i++) {
+        instructions.append("LRMMMM".charAt(random.nextInt(6)));
+      }
+      if (random.nextInt(10) == 0) {
+        instructions.insert(random.nextInt(instructions.length() + 1), 'X');
+      }
+      String plan = instructions.toString();
+
+      Object expected = outcome(() -> interpret(plateau, start, plan, policy));
+      Object actual =
+          outcome(
+              () -> {
+                RoverCursor rover = new RoverCursor(plateau).reset(start);
+                int invalid = ChunkTable.execute(rover, plan, policy, 0);
+                if (invalid >= 0) {
+                  throw new IllegalArgumentException(
+                      "Invalid instruction character: " + plan.charAt(invalid));
+                }
+                return rover.position();
+              });
+      assertThat(actual).as("%s %s %s", plateau, start, plan).isEqualTo(expected);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void execute_packedPlans_matchTheStrings(BoundaryPolicy policy) {
+    // Rovers of uneven lengths, so that most start part-way through an arena word
+    Random random = new Random(31);
+    CompactRoverPlans.Builder builder = CompactRoverPlans.builder();
+    for (int rover = 0; rover < 40; rover++) {
+      StringBuilder instructions = new StringBuilder();
+      int length = random.nextInt(80);
+      for (int i = 0; i < length; i++) {
+        instructions.append("LRMMM".charAt(random.nextInt(5)));
+      }
+      Position start =
+          new Position(random.nextInt(10), random.nextInt(8), Direction.values()[rover % 4]);
+      builder.add(new RoverPlan(start, instructions.toString()));
+    }
+    CompactRoverPlans plans = builder.build();
+
+    for (int rover = 0; rover < plans.size(); rover++) {
+      RoverPlan plan = plans.get(rover);
+      RoverCursor packed = new RoverCursor(PLATEAU).reset(plan.start());
+      RoverCursor string = new RoverCursor(PLATEAU).reset(plan.start());
+      int roverIndex = rover;
+      Object packedOutcome =
+          outcome(
+              () -> {
+                ChunkTable.execute(packed, plans, roverIndex, policy);
+                return packed.position();
+              });
+      Object stringOutcome =
+          outcome(
+              () -> {
+                ChunkTable.execute(string, plan.instructions(), policy, roverIndex);
+                return string.position();
+              });
+      assertThat(packedOutcome).as("rover %d", rover).isEqualTo(stringOutcome);
+    }
+  }
+}
@@ -0,0 +1,194 @@
+package com.example.mars.exec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.mars.domain.CollisionException;
+import com.example.mars.domain.CompactRoverPlans;
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class CollisionAwareRunnerTest {
+
+  private static final Plateau PLATEAU = new Plateau(5, 5);
+
+  @Test
+  void run_ignore_skipsMovesOntoRestingRovers() throws OutOfBoundsException {
+    Mission mission =
+        mission(
+            new RoverPlan(new Position(1, 2, Direction.N), "M"),
+            new RoverPlan(new Position(1, 0, Direction.N), "MMMMRM"));
+
+    assertThat(CollisionAwareRunner.run(mission, BoundaryPolicy.IGNORE))
+        .containsExactly(new Position(1, 3, Direction.N), new Position(2, 2, Direction.E));
+  }
+
+  @Test
+  void run_stopOnOob_stopsAtTheFirstBlockedMove() throws OutOfBoundsException {
+    Mission mission =
+        mission(
+            new RoverPlan(new Position(1, 2, Direction.N), "M"),
+            new RoverPlan(new Position(1, 0, Direction.N), "MMMMRM"));
+
+    assertThat(CollisionAwareRunner.run(mission, BoundaryPolicy.STOP_ON_OOB))
+        .containsExactly(new Position(1, 3, Direction.N), new Position(1, 2, Direction.N));
+  }
+
+  @Test
+  void run_strict_reportsTheCollision() {
+    Mission mission =
+        mission(
+            new RoverPlan(new Position(1, 2, Direction.N), "M"),
+            new RoverPlan(new Position(1, 0, Direction.N), "MMMMRM"));
+
+    assertThatThrownBy(() -> CollisionAwareRunner.run(mission, BoundaryPolicy.STRICT))
+        .isInstanceOf(CollisionException.class)
+        .hasMessage("Rover #2 instruction 3 collides with a rover at (1,3) from (1,2,N)");
+  }
+
+  @Test
+  void run_strict_stillReportsMovesOffThePlateau() {
+    Mission mission = mission(new RoverPlan(new Position(5, 5, Direction.N), "M"));
+
+    assertThatThrownBy(() -> CollisionAwareRunner.run(mission, BoundaryPolicy.STRICT))
+        .isInstanceOf(OutOfBoundsException.class)
+        .isNotInstanceOf(CollisionException.class)
+        .hasMessage("Rover #1 instruction 1 out of bounds from (5,5,N)");
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void run_roverStartingOnAnOccupiedCell_movesAway(BoundaryPolicy policy)
+      throws OutOfBoundsException {
+    Mission mission =
+        mission(
+            new RoverPlan(new Position(2, 2, Direction.N), ""),
+            new RoverPlan(new Position(2, 2, Direction.E), "M"),
+            new RoverPlan(new Position(2, 2, Direction.S), ""));
+
+    assertThat(CollisionAwareRunner.run(mission, policy))
+        .containsExactly(
+            new Position(2, 2, Direction.N),
+            new Position(3, 2, Direction.E),
+            new Position(2, 2, Direction.S));
+  }
+
+  @Test
+  void run_roversWithoutCollisions_matchMissionRunner() throws OutOfBoundsException {
+    Mission mission =
+        mission(
+            new RoverPlan(new Position(1, 2, Direction.N), "LMLMLMLMM"),
+            new RoverPlan(new Position(3, 3, Direction.E), "MMRMMRMRRM"));
+
+    assertThat(CollisionAwareRunner.run(mission, BoundaryPolicy.STRICT))
+        .containsExactlyElementsOf(MissionRunner.run(mission, BoundaryPolicy.STRICT));
+  }
+
+  @Test
+  void run_repetitions_areBlockedLikeTheirExpansion() throws OutOfBoundsException {
+    Mission repeated =
+        mission(
+            new RoverPlan(new Position(0, 3, Direction.E), ""),
+            new RoverPlan(new Position(0, 0, Direction.N), "M2(RL)x2M3"));
+    Mission expanded =
+        mission(
+            new RoverPlan(new Position(0, 3, Direction.E), ""),
+            new RoverPlan(new Position(0, 0, Direction.N), "MMRLRLMMM"));
+
+    for (BoundaryPolicy policy : List.of(BoundaryPolicy.IGNORE, BoundaryPolicy.STOP_ON_OOB)) {
+      assertThat(CollisionAwareRunner.run(repeated, policy))
+          .containsExactlyElementsOf(CollisionAwareRunner.run(expanded, policy));
+    }
+    assertThatThrownBy(() -> CollisionAwareRunner.run(repeated, BoundaryPolicy.STRICT))
+        .isInstanceOf(CollisionException.class)
+        .hasMessage("Rover #2 instruction 7 collides with a rover at (0,3) from (0,2,N)");
+  }
+
+  @Test
+  void run_invalidInstruction_throwsIllegalArgumentException() {
+    Mission mission = mission(new RoverPlan(new Position(0, 0, Direction.N), "M(X)x2"));
+
+    assertThatThrownBy(() -> CollisionAwareRunner.run(mission, BoundaryPolicy.IGNORE))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void run_matchesAReferenceOfBlockedCells_withEitherIndexAndPlanStorage()
+      throws OutOfBoundsException {
+    Random random = new Random(25);
+    for (int trial = 0; trial < 50; trial++) {
+      Plateau plateau = new Plateau(random.nextInt(12), random.nextInt(12));
+      List<RoverPlan> plans = new ArrayList<>();
+      for (int rover = random.nextInt(40); rover > 0; rover--) {
+        StringBuilder instructions = new StringBuilder();
+        for (int i = random.nextInt(30); i > 0; i--) {
+          instructions.append("LRMM".charAt(random.nextInt(4)));
+        }
+        Position start =
+            new Position(
+                random.nextInt(plateau.maxX() + 1),
+                random.nextInt(plateau.maxY() + 1),
+                Direction.values()[random.nextInt(4)]);
+        plans.add(new RoverPlan(start, instructions.toString()));
+      }
+      Mission listed = new Mission(plateau, plans);
+      Mission packed = new Mission(plateau, CompactRoverPlans.of(plans));
+
+      for (BoundaryPolicy policy : List.of(BoundaryPolicy.IGNORE, BoundaryPolicy.STOP_ON_OOB)) {
+        List<Position> expected = reference(listed, policy);
+        for (Mission mission : List.of(listed, packed)) {
+          assertThat(CollisionAwareRunner.run(mission, policy, new OccupancyIndex.Dense(plateau)))
+              .containsExactlyElementsOf(expected);
+          assertThat(CollisionAwareRunner.run(mission, policy, new OccupancyIndex.Sparse(1)))
+              .containsExactlyElementsOf(expected);
+        }
+      }
+    }
+  }
+
+  /** Executes rovers one at a time, checking each move against a set of occupied positions. */
+  private static List<Position> reference(Mission mission, BoundaryPolicy policy) {
+    Set<List<Integer>> occupied = new HashSet<>();
+    List<Position> finalPositions = new ArrayList<>();
+    for (RoverPlan plan : mission.plans()) {
+      Position position = plan.start();
+      for (char instruction : plan.instructions().toCharArray()) {
+        Direction heading = position.heading();
+        if (instruction == 'L') {
+          position = new Position(position.x(), position.y(), heading.rotateLeft());
+        } else if (instruction == 'R') {
+          position = new Position(position.x(), position.y(), heading.rotateRight());
+        } else {
+          int x = position.x() + heading.dx();
+          int y = position.y() + heading.dy();
+          boolean blocked =
+              !mission.plateau().contains(x, y) || occupied.contains(List.of(x, y));
+          if (!blocked) {
+            position = new Position(x, y, heading);
+          } else if (policy == BoundaryPolicy.STOP_ON_OOB) {
+            break;
+          }
+        }
+      }
+      occupied.add(List.of(position.x(), position.y()));
+      finalPositions.add(position);
+    }
+    return finalPositions;
+  }
+
+  private static Mission mission(RoverPlan... plans) {
+    return new Mission(PLATEAU, List.of(plans));
+  }
+}
@@ -0,0 +1,137 @@
+package com.example.mars.exec;
+
+import com.example.mars.domain.CompactRoverPlans;
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares the execution engines on a few characteristic missions and prints the median time per
+ * instruction of each.
+ *
+ * <p>This is a plain harness rather than a unit test: each engine is warmed up before it is
+ * measured, and the final positions are folded into a checksum printed with the results, which
+ * keeps the JIT from eliminating the work and shows at a glance that all engines agree. Run it with
+ * {@code ./gradlew benchmark}; an optional argument scales the number of instructions per mission.
+ */
+public final class ExecutionBenchmark {
+
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 9;
+
+  private ExecutionBenchmark() {}
+
+  public static void main(String[] args) throws OutOfBoundsException {
+    int scale = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+    Map<String, Mission> missions = missions(scale);
+
+    System.out.printf("%-22s %-12s %12s %18s%n", "mission", "engine", "ns/instr", "checksum");
+    for (Map.Entry<String, Mission> entry : missions.entrySet()) {
+      Mission mission = entry.getValue();
+      long instructions = instructionCount(mission);
+      for (ExecutionEngine engine : ExecutionEngine.values()) {
+        RunOptions options = RunOptions.DEFAULT.withEngine(engine);
+        long checksum = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+          checksum += checksum(MissionRunner.run(mission, BoundaryPolicy.IGNORE, options));
+        }
+        long[] times = new long[MEASURED_ROUNDS];
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+          long start = System.nanoTime();
+          checksum += checksum(MissionRunner.run(mission, BoundaryPolicy.IGNORE, options));
+          times[round] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        double perInstruction = (double) times[MEASURED_ROUNDS / 2] / instructions;
+        System.out.printf(
+            "%-22s %-12s %12.3f %18x%n",
+            entry.getKey(),
+            engine.name().toLowerCase(Locale.ROOT),
+            perInstruction,
+            checksum / (WARMUP_ROUNDS + MEASURED_ROUNDS));
+      }
+    }
+  }
+
+  /** Builds the benchmark missions, in list form and in packed form. */
+  private static Map<String, Mission> missions(int scale) {
+    Random random = new Random(42);
+    Plateau plateau = new Plateau(1000, 1000);
+    Map<String, Mission> missions = new LinkedHashMap<>();
+
+    // Many short rovers, as in the classic problem
+    List<RoverPlan> shortPlans = new ArrayList<>();
+    for (int i = 0; i < 100_000 * scale; i++) {
+      shortPlans.add(new RoverPlan(randomStart(random, plateau), randomInstructions(random, 10)));
+    }
+    addMission(missions, "short-rovers", plateau, shortPlans);
+
+    // A few long rovers turning often, with short move runs
+    List<RoverPlan> turnHeavy = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      turnHeavy.add(
+          new RoverPlan(randomStart(random, plateau), randomInstructions(random, 100_000 * scale)));
+    }
+    addMission(missions, "turn-heavy", plateau, turnHeavy);
+
+    // A few long rovers making long straight runs
+    List<RoverPlan> moveHeavy = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      StringBuilder instructions = new StringBuilder();
+      while (instructions.length() < 100_000 * scale) {
+        instructions.append(random.nextBoolean() ? 'L' : 'R').append("M".repeat(500));
+      }
+      moveHeavy.add(new RoverPlan(randomStart(random, plateau), instructions.toString()));
+    }
+    addMission(missions, "move-heavy", plateau, moveHeavy);
+
+    return missions;
+  }
+
+  private static void addMission(
+      Map<String, Mission> missions, String name, Plateau plateau, List<RoverPlan> plans) {
+    missions.put(name, new Mission(plateau, plans));
+    missions.put(name + "/packed", new Mission(plateau, CompactRoverPlans.of(plans)));
+  }
+
+  private static Position randomStart(Random random, Plateau plateau) {
+    return new Position(
+        random.nextInt(plateau.maxX() + 1),
+        random.nextInt(plateau.maxY() + 1),
+        Direction.values()[random.nextInt(4)]);
+  }
+
+  private static String randomInstructions(Random random, int length) {
+    char[] instructions = new char[length];
+    for (int i = 0; i < length; i++) {
+      instructions[i] = "LRMM".charAt(random.nextInt(4));
+    }
+    return new String(instructions);
+  }
+
+  private static long instructionCount(Mission mission) {
+    long count = 0;
+    for (RoverPlan plan : mission.plans()) {
+      count += plan.instructions().length();
+    }
+    return count;
+  }
+
+  private static long checksum(List<Position> positions) {
+    long checksum = 0;
+    for (Position position : positions) {
+      checksum = checksum * 31 + position.hashCode();
+    }
+    return checksum;
+  }
+}
@@ -0,0 +1,135 @@
+package com.example.mars.exec;
+
+import static com.example.mars.exec.ReferenceInterpreter.PLATEAUS;
+import static com.example.mars.exec.ReferenceInterpreter.interpret;
+import static com.example.mars.exec.ReferenceInterpreter.outcome;
+import static com.example.mars.exec.ReferenceInterpreter.randomInstructions;
+import static com.example.mars.exec.ReferenceInterpreter.randomStart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.mars.domain.CompactRoverPlans;
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class ExecutionMetricsTest {
+
+  private static final Plateau PLATEAU = new Plateau(10, 10);
+
+  @Test
+  void run_countsRoversWithinTheirMarginAsUnchecked() throws OutOfBoundsException {
+    List<RoverPlan> plans =
+        List.of(
+            new RoverPlan(new Position(5, 5, Direction.N), "MMRML"),
+            new RoverPlan(new Position(1, 2, Direction.N), "LMLMLMLMM"),
+            new RoverPlan(new Position(5, 5, Direction.E), "MMMMM"),
+            new RoverPlan(new Position(5, 5, Direction.E), "MMMMMM"));
+
+    for (Mission mission :
+        List.of(new Mission(PLATEAU, plans), new Mission(PLATEAU, CompactRoverPlans.of(plans)))) {
+      ExecutionMetrics metrics = new ExecutionMetrics();
+
+      List<Position> positions =
+          MissionRunner.run(
+              mission, BoundaryPolicy.IGNORE, RunOptions.DEFAULT.withMetrics(metrics));
+
+      assertThat(positions)
+          .containsExactly(
+              new Position(6, 7, Direction.N),
+              new Position(1, 3, Direction.N),
+              new Position(10, 5, Direction.E),
+              new Position(10, 5, Direction.E));
+      assertThat(metrics.uncheckedRovers()).isEqualTo(2);
+      assertThat(metrics.checkedRovers()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void run_withACache_countsRoversWhoseEffectFitsAsUnchecked() throws OutOfBoundsException {
+    // Too long for the margin, but its bounding box fits from the first start only
+    String instructions = "MRMLMRMLMRMLMRML";
+    Mission mission =
+        new Mission(
+            PLATEAU,
+            List.of(
+                new RoverPlan(new Position(1, 1, Direction.N), instructions),
+                new RoverPlan(new Position(1, 1, Direction.E), instructions)));
+    ExecutionMetrics metrics = new ExecutionMetrics();
+
+    MissionRunner.run(
+        mission,
+        BoundaryPolicy.IGNORE,
+        RunOptions.DEFAULT.withCache(new ProgramEffectCache(4)).withMetrics(metrics));
+
+    assertThat(metrics.uncheckedRovers()).isEqualTo(1);
+    assertThat(metrics.checkedRovers()).isEqualTo(1);
+  }
+
+  @Test
+  void run_repetitionsWithinTheMargin_executeChecked() throws OutOfBoundsException {
+    Mission mission =
+        new Mission(PLATEAU, List.of(new RoverPlan(new Position(5, 5, Direction.N), "M9")));
+    ExecutionMetrics metrics = new ExecutionMetrics();
+
+    List<Position> positions =
+        MissionRunner.run(
+            mission, BoundaryPolicy.STOP_ON_OOB, RunOptions.DEFAULT.withMetrics(metrics));
+
+    assertThat(positions).containsExactly(new Position(5, 10, Direction.N));
+    assertThat(metrics.checkedRovers()).isEqualTo(1);
+  }
+
+  @Test
+  void run_invalidInstructionWithinTheMargin_isRejected() {
+    Mission mission =
+        new Mission(PLATEAU, List.of(new RoverPlan(new Position(5, 5, Direction.N), "MX")));
+
+    assertThatThrownBy(
+            () ->
+                MissionRunner.run(
+                    mission,
+                    BoundaryPolicy.STRICT,
+                    RunOptions.DEFAULT.withMetrics(new ExecutionMetrics())))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid instruction character: X");
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void run_uncheckedRoversMatchTheInterpreter(BoundaryPolicy policy) {
+    Random random = new Random(17);
+    long unchecked = 0;
+    for (Plateau plateau : PLATEAUS) {
+      List<RoverPlan> plans = new ArrayList<>();
+      for (int rover = 0; rover < 500; rover++) {
+        String instructions = randomInstructions(random, random.nextInt(8), "LRMM");
+        plans.add(new RoverPlan(randomStart(random, plateau), instructions));
+      }
+
+      for (Mission mission :
+          List.of(
+              new Mission(plateau, plans), new Mission(plateau, CompactRoverPlans.of(plans)))) {
+        ExecutionMetrics metrics = new ExecutionMetrics();
+        Object expected = outcome(() -> interpret(mission, policy));
+        Object actual =
+            outcome(
+                () ->
+                    MissionRunner.run(mission, policy, RunOptions.DEFAULT.withMetrics(metrics)));
+
+        assertThat(actual).as("%s", plateau).isEqualTo(expected);
+        unchecked += metrics.uncheckedRovers();
+      }
+    }
+    assertThat(unchecked).isPositive();
+  }
+}
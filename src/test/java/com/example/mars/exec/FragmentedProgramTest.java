@@ -0,0 +1,124 @@
+package com.example.mars.exec;
+
+import static com.example.mars.exec.ReferenceInterpreter.PLATEAUS;
+import static com.example.mars.exec.ReferenceInterpreter.interpret;
+import static com.example.mars.exec.ReferenceInterpreter.outcome;
+import static com.example.mars.exec.ReferenceInterpreter.randomInstructions;
+import static com.example.mars.exec.ReferenceInterpreter.randomStart;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class FragmentedProgramTest {
+
+  @Test
+  void compile_cutsFragmentsWithinTheLengthBounds() {
+    String instructions = randomInstructions(new Random(15), 100_000, "LRMM");
+
+    FragmentedProgram program =
+        FragmentedProgram.compile(instructions, new ProgramEffectCache(100_000));
+
+    int fragments = program.fragmentCount();
+    assertThat(fragments)
+        .isBetween(
+            instructions.length() / FragmentedProgram.MAX_LENGTH,
+            instructions.length() / FragmentedProgram.MIN_LENGTH);
+    assertThat(program.effect().length()).isEqualTo(instructions.length());
+  }
+
+  @Test
+  void compile_sharesFragmentsOfConcatenatedRoutes() {
+    // Two strings concatenating the same long routes in different orders, after different prefixes
+    Random random = new Random(16);
+    String first = randomInstructions(random, 5000, "LRMM");
+    String second = randomInstructions(random, 5000, "LRMM");
+    ProgramEffectCache cache = new ProgramEffectCache(1000);
+
+    FragmentedProgram.compile("MRM" + first + second, cache);
+    long misses = cache.fragmentMisses();
+    FragmentedProgram.compile("LLMMRMLRM" + second + first, cache);
+
+    // Apart from the fragments around the joins, every fragment has been seen before
+    assertThat(cache.fragmentMisses() - misses).isLessThan(10);
+    assertThat(cache.fragmentHits()).isGreaterThan(misses / 2);
+  }
+
+  @Test
+  void compile_instructionsThatAreNotPlain_isNull() {
+    ProgramEffectCache cache = new ProgramEffectCache(4);
+
+    assertThat(FragmentedProgram.compile("MMX", cache)).isNull();
+    assertThat(FragmentedProgram.compile("M3", cache)).isNull();
+  }
+
+  @Test
+  void execute_onManyThreads_specializesOnceAtTheThreshold() {
+    String instructions = "MMMMMMMMMMRMMMMMMMMMM";
+    ProgramEffectCache cache = new ProgramEffectCache(4, 5000);
+    FragmentedProgram program = FragmentedProgram.compile(instructions, cache);
+    Plateau plateau = new Plateau(7, 5);
+    ForkJoinPool pool = new ForkJoinPool(8);
+    try {
+      Runnable executions =
+          () ->
+              IntStream.range(0, 4999)
+                  .parallel()
+                  .forEach(
+                      rover -> {
+                        RoverCursor cursor =
+                            new RoverCursor(plateau).reset(new Position(0, 0, Direction.N));
+                        try {
+                          program.execute(cursor, instructions, BoundaryPolicy.IGNORE, rover);
+                        } catch (OutOfBoundsException e) {
+                          throw new AssertionError(e);
+                        }
+                      });
+
+      pool.submit(executions).join();
+      assertThat(program.isSpecialized()).isFalse();
+
+      pool.submit(executions).join();
+      assertThat(program.isSpecialized()).isTrue();
+      assertThat(cache.specializations()).isEqualTo(1);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void execute_matchesTheInterpreter(BoundaryPolicy policy) {
+    Random random = new Random(17);
+    ProgramEffectCache cache = new ProgramEffectCache(10_000);
+    for (int trial = 0; trial < 300; trial++) {
+      Plateau plateau = PLATEAUS.get(trial % PLATEAUS.size());
+      Position start = randomStart(random, plateau);
+      // Mostly turning on the spot, with an occasional drift towards an edge
+      StringBuilder instructions = new StringBuilder();
+      int length = random.nextInt(3000);
+      while (instructions.length() < length) {
+        instructions.append(random.nextInt(50) == 0 ? "MMMMMMMMMM" : "MRMRMLMLLMRM");
+      }
+      String plan = instructions.toString();
+
+      Object expected = outcome(() -> interpret(plateau, start, plan, policy));
+      Object actual =
+          outcome(
+              () -> {
+                RoverCursor rover = new RoverCursor(plateau).reset(start);
+                FragmentedProgram.compile(plan, cache).execute(rover, plan, policy, 0);
+                return rover.position();
+              });
+      assertThat(actual).as("%s %s %s", plateau, start, plan).isEqualTo(expected);
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.example.mars.exec;
+
+import static com.example.mars.exec.ReferenceInterpreter.PLATEAUS;
+import static com.example.mars.exec.ReferenceInterpreter.interpret;
+import static com.example.mars.exec.ReferenceInterpreter.outcome;
+import static com.example.mars.exec.ReferenceInterpreter.randomInstructions;
+import static com.example.mars.exec.ReferenceInterpreter.randomStart;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.mars.domain.CompactRoverPlans;
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class LockstepSwarmTest {
+
+  private static final Plateau PLATEAU = new Plateau(12, 9);
+
+  @Test
+  void run_executesEachRoverLikeTheCanonicalExample() throws OutOfBoundsException {
+    Mission mission =
+        new Mission(
+            new Plateau(5, 5),
+            List.of(
+                new RoverPlan(new Position(1, 2, Direction.N), "LMLMLMLMM"),
+                new RoverPlan(new Position(3, 3, Direction.E), "MMRMMRMRRM")));
+
+    assertThat(LockstepSwarm.run(mission, BoundaryPolicy.STRICT))
+        .containsExactly(new Position(1, 3, Direction.N), new Position(5, 1, Direction.E));
+  }
+
+  @Test
+  void run_emptyMission_isEmpty() throws OutOfBoundsException {
+    Mission mission = new Mission(PLATEAU, List.of());
+
+    assertThat(LockstepSwarm.run(mission, BoundaryPolicy.STRICT)).isEmpty();
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void run_matchesTheInterpreter(BoundaryPolicy policy) {
+    // More than two blocks of rovers of very uneven lengths, many of which meet an edge
+    Random random = new Random(19);
+    for (Plateau plateau : PLATEAUS) {
+      List<RoverPlan> plans = randomPlans(random, plateau, 2500);
+
+      for (Mission mission :
+          List.of(
+              new Mission(plateau, plans), new Mission(plateau, CompactRoverPlans.of(plans)))) {
+        Object expected = outcome(() -> interpret(mission, policy));
+        Object actual = outcome(() -> LockstepSwarm.run(mission, policy));
+
+        assertThat(actual).as("%s", plateau).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  void run_underStrict_reportsTheLowestIndexedFailure() {
+    // The later rover fails at an earlier step than the first one
+    List<RoverPlan> plans =
+        new ArrayList<>(
+            Collections.nCopies(10, new RoverPlan(new Position(5, 5, Direction.N), "LRLRMLR")));
+    plans.add(new RoverPlan(new Position(0, 0, Direction.N), "RRRRRRRRRRM"));
+    plans.add(new RoverPlan(new Position(0, 0, Direction.S), "M"));
+    Mission mission = new Mission(PLATEAU, plans);
+
+    assertThat(outcome(() -> LockstepSwarm.run(mission, BoundaryPolicy.STRICT)))
+        .isEqualTo("OutOfBoundsException: Rover #11 instruction 11 out of bounds from (0,0,S)");
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void run_roversLeavingTheLockstep_matchTheInterpreter(BoundaryPolicy policy) {
+    // Repetitions and invalid characters are executed on their own, in rover order
+    List<RoverPlan> plans = new ArrayList<>(randomPlans(new Random(21), PLATEAU, 40));
+    plans.add(5, new RoverPlan(new Position(3, 3, Direction.E), "(MMRM)x3L"));
+    plans.add(20, new RoverPlan(new Position(6, 4, Direction.W), "MMM"));
+    plans.add(30, new RoverPlan(new Position(6, 4, Direction.W), "MMXM"));
+    Mission mission = new Mission(PLATEAU, plans);
+
+    assertThat(outcome(() -> LockstepSwarm.run(mission, policy)))
+        .isEqualTo(outcome(() -> interpret(mission, policy)));
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void run_inParallel_matchesTheInterpreter(BoundaryPolicy policy) {
+    Random random = new Random(22);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    RunOptions options = RunOptions.DEFAULT.withEngine(ExecutionEngine.SWARM).withPool(pool);
+    try {
+      for (Plateau plateau : PLATEAUS) {
+        Mission mission = new Mission(plateau, randomPlans(random, plateau, 5000));
+
+        assertThat(outcome(() -> MissionRunner.run(mission, policy, options)))
+            .as("%s", plateau)
+            .isEqualTo(outcome(() -> interpret(mission, policy)));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static List<RoverPlan> randomPlans(Random random, Plateau plateau, int rovers) {
+    List<RoverPlan> plans = new ArrayList<>();
+    for (int rover = 0; rover < rovers; rover++) {
+      int length = random.nextInt(10) == 0 ? random.nextInt(300) : random.nextInt(12);
+      String instructions = randomInstructions(random, length, "LRMM");
+      plans.add(new RoverPlan(randomStart(random, plateau), instructions));
+    }
+    return plans;
+  }
+}
@@ -3,7 +3,12 @@ package com.example.mars.exec;
 import static org.assertj.core.api.Assertions.*;
 
 import com.example.mars.domain.*;
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
@@ -37,6 +42,29 @@ class MissionRunnerTest {
     assertThat(result.get(1)).isEqualTo(new Position(5, 1, Direction.E));
   }
 
+  /** The list of positions is the packed result itself, not a copy of it */
+  @Test
+  void shouldReturnPackedPositionsWithoutCopying() throws OutOfBoundsException {
+    // Given: a mission of two rovers
+    Plateau plateau = new Plateau(5, 5);
+    RoverPlan plan1 = new RoverPlan(new Position(1, 2, Direction.N), "LMLMLMLMM");
+    RoverPlan plan2 = new RoverPlan(new Position(3, 3, Direction.E), "MMRMMRMRRM");
+    Mission mission = new Mission(plateau, List.of(plan1, plan2));
+
+    // When/Then: sequential and parallel runs return the packed positions
+    assertThat(MissionRunner.run(mission, BoundaryPolicy.STRICT))
+        .isInstanceOf(PackedPositions.class);
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      assertThat(
+              MissionRunner.run(mission, BoundaryPolicy.STRICT, RunOptions.DEFAULT.withPool(pool)))
+          .isInstanceOf(PackedPositions.class)
+          .containsExactly(new Position(1, 3, Direction.N), new Position(5, 1, Direction.E));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
   /** Acceptance Criteria Scenario 2: Out-of-bounds with STRICT policy throws exception */
   @Test
   void shouldThrowExceptionForOutOfBoundsWithStrictPolicy() {
@@ -267,4 +295,313 @@ class MissionRunnerTest {
     assertThat(result.get(1))
         .isEqualTo(new Position(3, 3, Direction.N)); // Edge rover moved west, rotated, then north
   }
+
+  /** Compact packed plans execute to the same positions and errors as list-backed plans */
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void shouldExecuteCompactPlansLikeListPlans(BoundaryPolicy policy) {
+    // Given: rovers whose plans span several packed words and leave the plateau
+    Plateau plateau = new Plateau(4, 4);
+    List<RoverPlan> plans =
+        List.of(
+            new RoverPlan(new Position(1, 2, Direction.N), "LMLMLMLMM"),
+            new RoverPlan(new Position(0, 0, Direction.E), "MMRRMMLLMMMMMMLMMMMRMRMRMLLMRMMM"),
+            new RoverPlan(new Position(2, 2, Direction.S), "MRMRMRMLLLLMMMMMMRRM"),
+            new RoverPlan(new Position(4, 4, Direction.W), "M".repeat(70) + "RMLM"));
+    Mission listMission = new Mission(plateau, plans);
+    Mission compactMission = new Mission(plateau, CompactRoverPlans.of(plans));
+
+    // When/Then: both representations agree on the outcome
+    Object expected;
+    try {
+      expected = MissionRunner.run(listMission, policy);
+    } catch (OutOfBoundsException e) {
+      expected = e.getMessage();
+    }
+    Object actual;
+    try {
+      actual = MissionRunner.run(compactMission, policy);
+    } catch (OutOfBoundsException e) {
+      actual = e.getMessage();
+    }
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  /** Every engine executes list, packed and off-heap plans like the interpreter */
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void shouldExecuteWithEveryEngineLikeInterpreter(BoundaryPolicy policy) {
+    // Given: rovers with long move runs that reach the plateau edge
+    Plateau plateau = new Plateau(4, 4);
+    List<RoverPlan> plans =
+        List.of(
+            new RoverPlan(new Position(1, 2, Direction.N), "LMLMLMLMM"),
+            new RoverPlan(new Position(0, 0, Direction.E), "MMMMMMMMLMMRRLLMMMMMMLMMMMMMM"),
+            new RoverPlan(new Position(4, 4, Direction.W), "M".repeat(70) + "RMLM"));
+
+    for (Mission mission :
+        List.of(
+            new Mission(plateau, plans),
+            new Mission(plateau, CompactRoverPlans.of(plans)),
+            new Mission(plateau, OffHeapRoverPlans.of(plans)))) {
+      // When/Then: all engines agree on the outcome
+      Object expected;
+      try {
+        expected = MissionRunner.run(mission, policy, RunOptions.DEFAULT);
+      } catch (OutOfBoundsException e) {
+        expected = e.getMessage();
+      }
+      for (ExecutionEngine engine : ExecutionEngine.values()) {
+        Object actual;
+        try {
+          actual = MissionRunner.run(mission, policy, RunOptions.DEFAULT.withEngine(engine));
+        } catch (OutOfBoundsException e) {
+          actual = e.getMessage();
+        }
+        assertThat(actual).as("%s", engine).isEqualTo(expected);
+      }
+    }
+  }
+
+  /** Repetition syntax executes like the expanded instructions with every engine */
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void shouldExecuteRepetitionsLikeExpandedInstructions(BoundaryPolicy policy) {
+    // Given: the same rovers written with repetitions and spelled out in full
+    Plateau plateau = new Plateau(5, 5);
+    Position start = new Position(1, 2, Direction.N);
+    List<RoverPlan> compressed =
+        List.of(
+            new RoverPlan(start, "M2(RM2L)x3M9"),
+            new RoverPlan(start, "LM(LM3(RM)x2)x4R2"));
+    List<RoverPlan> expanded =
+        List.of(
+            new RoverPlan(start, "MMRMMLRMMLRMMLMMMMMMMMM"),
+            new RoverPlan(start, "LM" + "LMMMRMRM".repeat(4) + "RR"));
+
+    for (ExecutionEngine engine : ExecutionEngine.values()) {
+      // When/Then: both spellings agree on the outcome
+      RunOptions options = RunOptions.DEFAULT.withEngine(engine);
+      Object expected;
+      try {
+        expected = MissionRunner.run(new Mission(plateau, expanded), policy, options);
+      } catch (OutOfBoundsException e) {
+        expected = e.getMessage();
+      }
+      Object actual;
+      try {
+        actual = MissionRunner.run(new Mission(plateau, compressed), policy, options);
+      } catch (OutOfBoundsException e) {
+        actual = e.getMessage();
+      }
+      assertThat(actual).isEqualTo(expected);
+    }
+  }
+
+  /** Parallel runs return positions in input order and the lowest-indexed failure */
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void shouldExecuteInParallelLikeSequentially(BoundaryPolicy policy) {
+    // Given: many rovers with very uneven instruction lengths, several of which leave the plateau
+    Plateau plateau = new Plateau(9, 9);
+    Random random = new Random(10);
+    List<RoverPlan> plans = new ArrayList<>();
+    for (int rover = 0; rover < 500; rover++) {
+      StringBuilder instructions = new StringBuilder();
+      int length = rover % 50 == 7 ? 20_000 : random.nextInt(30);
+      for (int i = 0; i < length; i++) {
+        instructions.append("LRMMM".charAt(random.nextInt(5)));
+      }
+      Position start = new Position(random.nextInt(10), random.nextInt(10), Direction.N);
+      plans.add(new RoverPlan(start, rover < 300 ? "" : instructions.toString()));
+    }
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (Mission mission :
+          List.of(new Mission(plateau, plans), new Mission(plateau, CompactRoverPlans.of(plans)))) {
+        for (ExecutionEngine engine : ExecutionEngine.values()) {
+          // When/Then: parallel and sequential runs agree on the outcome
+          RunOptions options = RunOptions.DEFAULT.withEngine(engine);
+          Object expected;
+          try {
+            expected = MissionRunner.run(mission, policy, options);
+          } catch (OutOfBoundsException e) {
+            expected = e.getMessage();
+          }
+          Object actual;
+          try {
+            actual = MissionRunner.run(mission, policy, options.withPool(pool));
+          } catch (OutOfBoundsException e) {
+            actual = e.getMessage();
+          }
+          assertThat(actual).isEqualTo(expected);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /** Packed results hold the positions of rovers executed one by one, with every engine */
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void shouldPackPositionsLikeRoversExecutedOneByOne(BoundaryPolicy policy) {
+    // Given: more rovers than a lockstep block, some of which leave the plateau
+    Plateau plateau = new Plateau(9, 9);
+    Random random = new Random(24);
+    List<RoverPlan> plans = new ArrayList<>();
+    for (int rover = 0; rover < 3000; rover++) {
+      StringBuilder instructions = new StringBuilder();
+      int length = random.nextInt(rover < 2500 ? 5 : 40);
+      for (int i = 0; i < length; i++) {
+        instructions.append("LRMMM".charAt(random.nextInt(5)));
+      }
+      Position start = new Position(random.nextInt(10), random.nextInt(10), Direction.N);
+      plans.add(new RoverPlan(start, instructions.toString()));
+    }
+    Object expected;
+    try {
+      List<Position> positions = new ArrayList<>();
+      for (int rover = 0; rover < plans.size(); rover++) {
+        positions.add(
+            MissionRunner.runRover(plateau, plans.get(rover), rover, policy, RunOptions.DEFAULT));
+      }
+      expected = positions;
+    } catch (OutOfBoundsException e) {
+      expected = e.getMessage();
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (Mission mission :
+          List.of(new Mission(plateau, plans), new Mission(plateau, CompactRoverPlans.of(plans)))) {
+        for (ExecutionEngine engine : ExecutionEngine.values()) {
+          // When/Then: sequential and parallel packed results match
+          RunOptions options = RunOptions.DEFAULT.withEngine(engine);
+          Object sequential;
+          Object parallel;
+          try {
+            sequential = MissionRunner.run(mission, policy, options);
+          } catch (OutOfBoundsException e) {
+            sequential = e.getMessage();
+          }
+          try {
+            parallel = MissionRunner.run(mission, policy, options.withPool(pool));
+          } catch (OutOfBoundsException e) {
+            parallel = e.getMessage();
+          }
+          assertThat(sequential).as("%s", engine).isEqualTo(expected);
+          assertThat(parallel).as("%s in parallel", engine).isEqualTo(expected);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /** Streamed instructions execute like a plan, reporting indices across chunk boundaries */
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void shouldExecuteStreamedInstructionsLikePlans(BoundaryPolicy policy) throws Exception {
+    // Given: a rover whose instructions arrive in chunks of three and leave the plateau
+    Plateau plateau = new Plateau(4, 4);
+    Position start = new Position(2, 2, Direction.N);
+    String instructions = "MMRMMLMRRMMMMMLLM";
+
+    // When/Then: streaming and planned execution agree on the outcome
+    Object expected;
+    try {
+      RoverPlan plan = new RoverPlan(start, instructions);
+      expected = MissionRunner.runRover(plateau, plan, 2, policy, RunOptions.DEFAULT);
+    } catch (OutOfBoundsException e) {
+      expected = e.getMessage();
+    }
+    Object actual;
+    ChunkedInstructions stream = new ChunkedInstructions(instructions, 3);
+    try {
+      actual = MissionRunner.runRover(plateau, start, stream, 2, policy);
+    } catch (OutOfBoundsException e) {
+      actual = e.getMessage();
+    }
+    assertThat(actual).isEqualTo(expected);
+    if (policy == BoundaryPolicy.STOP_ON_OOB) {
+      assertThat(stream.exhausted()).isTrue();
+    }
+  }
+
+  /** Steady-state execution allocates nothing per instruction */
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void shouldNotAllocatePerInstruction(BoundaryPolicy policy) throws OutOfBoundsException {
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+      return;
+    }
+
+    // Given: short and long plans that stay on the plateau, including blocked moves
+    Plateau plateau = new Plateau(3, 3);
+    String pattern = policy == BoundaryPolicy.IGNORE ? "MMMMRMMMMR" : "MRMRMRMRLR";
+    RoverPlan shortPlan = new RoverPlan(new Position(0, 0, Direction.N), pattern);
+    RoverPlan longPlan = new RoverPlan(new Position(0, 0, Direction.N), pattern.repeat(100_000));
+    Mission packed = new Mission(plateau, CompactRoverPlans.of(List.of(longPlan)));
+    Mission packedShort = new Mission(plateau, CompactRoverPlans.of(List.of(shortPlan)));
+
+    // When: measuring the bytes allocated by each run after warming up
+    for (int i = 0; i < 3; i++) {
+      MissionRunner.runRover(plateau, longPlan, 0, policy, RunOptions.DEFAULT);
+      MissionRunner.run(packed, policy);
+    }
+    long shortBytes =
+        allocatedBytes(
+            () -> MissionRunner.runRover(plateau, shortPlan, 0, policy, RunOptions.DEFAULT));
+    long longBytes =
+        allocatedBytes(
+            () -> MissionRunner.runRover(plateau, longPlan, 0, policy, RunOptions.DEFAULT));
+    long shortPacked = allocatedBytes(() -> MissionRunner.run(packedShort, policy));
+    long longPacked = allocatedBytes(() -> MissionRunner.run(packed, policy));
+
+    // Then: a million instructions allocate no more than ten
+    assertThat(longBytes - shortBytes).isLessThan(1024);
+    assertThat(longPacked - shortPacked).isLessThan(1024);
+  }
+
+  private static long allocatedBytes(Execution execution) throws OutOfBoundsException {
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().threadId();
+    long before = threads.getThreadAllocatedBytes(threadId);
+    execution.run();
+    return threads.getThreadAllocatedBytes(threadId) - before;
+  }
+
+  /** Execution under measurement. */
+  private interface Execution {
+    void run() throws OutOfBoundsException;
+  }
+
+  /** Instruction stream delivering a fixed string in chunks of a given size. */
+  private static final class ChunkedInstructions implements InstructionStream {
+    private final String instructions;
+    private final int chunkSize;
+    private int offset;
+
+    private ChunkedInstructions(String instructions, int chunkSize) {
+      this.instructions = instructions;
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public CharSequence nextChunk() {
+      if (offset == instructions.length()) {
+        return null;
+      }
+      int end = Math.min(instructions.length(), offset + chunkSize);
+      CharSequence chunk = instructions.subSequence(offset, end);
+      offset = end;
+      return chunk;
+    }
+
+    private boolean exhausted() {
+      return offset == instructions.length();
+    }
+  }
 }
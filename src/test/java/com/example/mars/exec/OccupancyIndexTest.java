@@ -0,0 +1,104 @@
+package com.example.mars.exec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.mars.domain.Plateau;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class OccupancyIndexTest {
+
+  @Test
+  void forPlateau_smallPlateau_usesDenseIndex() {
+    assertThat(OccupancyIndex.forPlateau(new Plateau(5, 5), 2))
+        .isInstanceOf(OccupancyIndex.Dense.class);
+    assertThat(OccupancyIndex.forPlateau(new Plateau(4095, 4095), 1))
+        .isInstanceOf(OccupancyIndex.Dense.class);
+  }
+
+  @Test
+  void forPlateau_vastPlateau_usesSparseIndex() {
+    Plateau plateau = new Plateau(Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    assertThat(OccupancyIndex.forPlateau(plateau, 1_000))
+        .isInstanceOf(OccupancyIndex.Sparse.class);
+    assertThat(OccupancyIndex.forPlateau(new Plateau(4096, 4095), 1))
+        .isInstanceOf(OccupancyIndex.Sparse.class);
+  }
+
+  @Test
+  void forPlateau_manyRovers_usesDenseIndexNoLargerThanTheirHashTable() {
+    // 2^25 cells take as many bits as a hash table of 2^18 rovers at half load
+    Plateau plateau = new Plateau(8191, 4095);
+
+    assertThat(OccupancyIndex.forPlateau(plateau, 1 << 18))
+        .isInstanceOf(OccupancyIndex.Dense.class);
+    assertThat(OccupancyIndex.forPlateau(plateau, (1 << 18) - 1))
+        .isInstanceOf(OccupancyIndex.Sparse.class);
+  }
+
+  @Test
+  void isOccupied_offThePlateau_isFalse() {
+    Plateau plateau = new Plateau(3, 3);
+
+    for (OccupancyIndex index : List.of(new OccupancyIndex.Dense(plateau), sparse())) {
+      index.occupy(0, 0);
+      index.occupy(3, 3);
+
+      assertThat(index.isOccupied(0, 0)).isTrue();
+      assertThat(index.isOccupied(3, 3)).isTrue();
+      assertThat(index.isOccupied(-1, 0)).isFalse();
+      assertThat(index.isOccupied(0, -1)).isFalse();
+      assertThat(index.isOccupied(Integer.MIN_VALUE, Integer.MIN_VALUE)).isFalse();
+      assertThat(index.isOccupied(4, 3)).isFalse();
+      assertThat(index.isOccupied(3, 4)).isFalse();
+    }
+  }
+
+  @Test
+  void occupy_matchesAHashSetOfCells() {
+    Random random = new Random(25);
+    Plateau plateau = new Plateau(300, 200);
+    // The sparse index starts small and grows many times over
+    List<OccupancyIndex> indexes = List.of(new OccupancyIndex.Dense(plateau), sparse());
+    Set<Long> expected = new HashSet<>();
+
+    for (int i = 0; i < 20_000; i++) {
+      int x = random.nextInt(301);
+      int y = random.nextInt(201);
+      expected.add((long) x << 32 | y);
+      for (OccupancyIndex index : indexes) {
+        index.occupy(x, y);
+      }
+    }
+
+    for (int x = -1; x <= 301; x++) {
+      for (int y = -1; y <= 201; y++) {
+        boolean occupied = expected.contains((long) x << 32 | y);
+        for (OccupancyIndex index : indexes) {
+          assertThat(index.isOccupied(x, y)).as("(%d,%d)", x, y).isEqualTo(occupied);
+        }
+      }
+    }
+  }
+
+  @Test
+  void sparse_keepsCellsWithLargeCoordinatesApart() {
+    OccupancyIndex index = sparse();
+
+    index.occupy(Integer.MAX_VALUE, 0);
+    index.occupy(0, Integer.MAX_VALUE);
+
+    assertThat(index.isOccupied(Integer.MAX_VALUE, 0)).isTrue();
+    assertThat(index.isOccupied(0, Integer.MAX_VALUE)).isTrue();
+    assertThat(index.isOccupied(Integer.MAX_VALUE, Integer.MAX_VALUE)).isFalse();
+    assertThat(index.isOccupied(0, 0)).isFalse();
+  }
+
+  private static OccupancyIndex sparse() {
+    return new OccupancyIndex.Sparse(1);
+  }
+}
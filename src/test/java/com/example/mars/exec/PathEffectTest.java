@@ -0,0 +1,141 @@
+package com.example.mars.exec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PathEffectTest {
+
+  @Test
+  void applyTo_matchesStepByStepExecution() {
+    Random random = new Random(11);
+    Plateau plateau = new Plateau(40, 40);
+    for (int trial = 0; trial < 500; trial++) {
+      String instructions = randomInstructions(random, 12);
+      Position start = new Position(20, 20, Direction.values()[random.nextInt(4)]);
+
+      RoverCursor expected = new RoverCursor(plateau).reset(start);
+      for (char instruction : instructions.toCharArray()) {
+        switch (instruction) {
+          case 'L' -> expected.turnLeft();
+          case 'R' -> expected.turnRight();
+          default -> expected.move();
+        }
+      }
+      RoverCursor actual = new RoverCursor(plateau).reset(start);
+      PathEffect effect = effectOf(instructions);
+      assertThat(effect.fits(actual)).isTrue();
+      effect.applyTo(actual);
+
+      assertThat(actual.position()).as(instructions).isEqualTo(expected.position());
+      assertThat(effect.length()).isEqualTo(instructions.length());
+    }
+  }
+
+  @Test
+  void of_matchesTheComposedEffect() {
+    Random random = new Random(14);
+    Plateau plateau = new Plateau(12, 12);
+    for (int trial = 0; trial < 500; trial++) {
+      String instructions = randomInstructions(random, random.nextInt(16));
+      PathEffect composed = effectOf(instructions);
+      PathEffect direct = PathEffect.of(instructions);
+
+      int x = random.nextInt(13);
+      int y = random.nextInt(13);
+      RoverCursor left = new RoverCursor(plateau).reset(x, y, trial & 3);
+      RoverCursor right = new RoverCursor(plateau).reset(x, y, trial & 3);
+      assertThat(direct.fits(left)).as(instructions).isEqualTo(composed.fits(right));
+      assertThat(direct.length()).isEqualTo(composed.length());
+      if (direct.fits(left)) {
+        direct.applyTo(left);
+        composed.applyTo(right);
+        assertThat(left.position()).as(instructions).isEqualTo(right.position());
+      }
+    }
+  }
+
+  @Test
+  void of_instructionsWithOtherCharacters_isNull() {
+    assertThat(PathEffect.of("MMLX")).isNull();
+    assertThat(PathEffect.of("M5")).isNull();
+    assertThat(PathEffect.of("").length()).isZero();
+  }
+
+  @Test
+  void then_isAssociative() {
+    Random random = new Random(12);
+    Plateau plateau = new Plateau(100, 100);
+    for (int trial = 0; trial < 200; trial++) {
+      PathEffect a = effectOf(randomInstructions(random, 8));
+      PathEffect b = effectOf(randomInstructions(random, 8));
+      PathEffect c = effectOf(randomInstructions(random, 8));
+
+      RoverCursor left = new RoverCursor(plateau).reset(50, 50, trial & 3);
+      RoverCursor right = new RoverCursor(plateau).reset(50, 50, trial & 3);
+      a.then(b).then(c).applyTo(left);
+      a.then(b.then(c)).applyTo(right);
+
+      assertThat(left.position()).isEqualTo(right.position());
+    }
+  }
+
+  @Test
+  void fits_detectsAnyPositionOffThePlateau() {
+    // Out three and back: the end is on the plateau but the path is not
+    PathEffect effect = effectOf("MMMRRMMM");
+    RoverCursor rover = new RoverCursor(new Plateau(5, 5));
+
+    assertThat(effect.fits(rover.reset(0, 2, Direction.N.ordinal()))).isTrue();
+    assertThat(effect.fits(rover.reset(0, 3, Direction.N.ordinal()))).isFalse();
+    assertThat(effect.fits(rover.reset(2, 0, Direction.W.ordinal()))).isFalse();
+    assertThat(effect.fits(rover.reset(3, 0, Direction.W.ordinal()))).isTrue();
+  }
+
+  @Test
+  void repeat_composesByRepeatedSquaring() {
+    PathEffect square = effectOf("MMR");
+
+    assertThat(square.repeat(4).rotation()).isZero();
+    assertThat(square.repeat(1_000_000_000_000L).length()).isEqualTo(3_000_000_000_000L);
+
+    RoverCursor rover = new RoverCursor(new Plateau(2, 2)).reset(0, 0, Direction.N.ordinal());
+    PathEffect loops = square.repeat(4_000_000_000_001L);
+    assertThat(loops.fits(rover)).isTrue();
+    loops.applyTo(rover);
+    assertThat(rover.position()).isEqualTo(new Position(0, 2, Direction.E));
+  }
+
+  @Test
+  void repeat_ofALongDrift_saturatesAndNeverFits() {
+    PathEffect drift = PathEffect.moves(1 << 30).repeat(1L << 40);
+    RoverCursor rover =
+        new RoverCursor(new Plateau(Integer.MAX_VALUE, Integer.MAX_VALUE)).reset(0, 0, 0);
+
+    assertThat(drift.fits(rover)).isFalse();
+    assertThat(drift.length()).isEqualTo(Long.MAX_VALUE);
+  }
+
+  private static PathEffect effectOf(String instructions) {
+    PathEffect effect = PathEffect.IDENTITY;
+    for (char instruction : instructions.toCharArray()) {
+      effect =
+          effect.then(
+              instruction == 'M' ? PathEffect.moves(1) : PathEffect.turns(1, instruction == 'R'));
+    }
+    return effect;
+  }
+
+  private static String randomInstructions(Random random, int maxLength) {
+    StringBuilder instructions = new StringBuilder();
+    int length = random.nextInt(maxLength + 1);
+    for (int i = 0; i < length; i++) {
+      instructions.append("LRM".charAt(random.nextInt(3)));
+    }
+    return instructions.toString();
+  }
+}
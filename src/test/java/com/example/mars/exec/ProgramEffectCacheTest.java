@@ -0,0 +1,148 @@
+package com.example.mars.exec;
+
+import static com.example.mars.exec.ReferenceInterpreter.PLATEAUS;
+import static com.example.mars.exec.ReferenceInterpreter.interpret;
+import static com.example.mars.exec.ReferenceInterpreter.outcome;
+import static com.example.mars.exec.ReferenceInterpreter.randomStart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class ProgramEffectCacheTest {
+
+  @Test
+  void effect_countsHitsAndMisses() {
+    ProgramEffectCache cache = new ProgramEffectCache(4);
+
+    PathEffect first = cache.effect("LMLMLMLMM");
+    PathEffect second = cache.effect(new String("LMLMLMLMM"));
+    cache.effect("MMRMMRMRRM");
+
+    assertThat(second).isSameAs(first);
+    assertThat(cache.hits()).isEqualTo(1);
+    assertThat(cache.misses()).isEqualTo(2);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void effect_evictsTheLeastRecentlyUsedEntry() {
+    ProgramEffectCache cache = new ProgramEffectCache(2);
+    cache.effect("M");
+    cache.effect("MM");
+    cache.effect("M"); // now more recently used than MM
+    cache.effect("MMM");
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.evictions()).isEqualTo(1);
+
+    cache.effect("M");
+    cache.effect("MM");
+    assertThat(cache.hits()).isEqualTo(2);
+    assertThat(cache.misses()).isEqualTo(4);
+  }
+
+  @Test
+  void effect_ofInstructionsThatAreNotPlain_isNotCached() {
+    ProgramEffectCache cache = new ProgramEffectCache(4);
+
+    assertThat(cache.effect("(MR)x4")).isNull();
+    assertThat(cache.effect("(MR)x4")).isNull();
+    assertThat(cache.size()).isZero();
+    assertThat(cache.misses()).isEqualTo(2);
+  }
+
+  @Test
+  void constructor_rejectsANonPositiveCapacity() {
+    assertThatThrownBy(() -> new ProgramEffectCache(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Cache capacity must be positive: 0");
+  }
+
+  @Test
+  void constructor_rejectsANonPositiveSpecializationThreshold() {
+    assertThatThrownBy(() -> new ProgramEffectCache(4, 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Specialization threshold must be positive: 0");
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void runRover_hotProgramsMeetingAnEdge_areSpecialized(BoundaryPolicy policy) {
+    // Patrols along the edges, run often enough to be specialized part way through
+    Plateau plateau = new Plateau(10, 10);
+    List<String> patterns = List.of("MMMMMMMMMMMMRMMMMMMMMMMMMR", "LMMRMMMMMMMMMMMM", "RMLM");
+    ProgramEffectCache cache = new ProgramEffectCache(8, 20);
+
+    for (int i = 0; i < 300; i++) {
+      Position start = new Position(i % 11, (i * 7) % 11, Direction.values()[i & 3]);
+      RoverPlan plan = new RoverPlan(start, patterns.get(i % patterns.size()));
+      int roverIndex = i;
+      ExecutionEngine engine = ExecutionEngine.INTERPRETER;
+
+      assertThat(
+              outcome(
+                  () ->
+                      List.of(
+                          MissionRunner.runRover(
+                              plateau,
+                              plan,
+                              roverIndex,
+                              policy,
+                              RunOptions.DEFAULT.withEngine(engine).withCache(cache)))))
+          .isEqualTo(
+              outcome(
+                  () ->
+                      List.of(
+                          interpret(plateau, start, plan.instructions(), policy, roverIndex))));
+    }
+    assertThat(cache.program(patterns.get(0)).isSpecialized()).isTrue();
+    assertThat(cache.specializations()).isPositive();
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void run_withCache_matchesTheInterpreter(BoundaryPolicy policy) {
+    // A fleet sharing a few survey patterns, some of which lead rovers off the plateau
+    Random random = new Random(14);
+    List<String> patterns = List.of("MMRMMRMMRMM", "LMMMMMRMMMMMM", "MRMLMRML", "MMMMMMMMMMMM");
+    for (Plateau plateau : PLATEAUS) {
+      List<RoverPlan> plans = new ArrayList<>();
+      for (int i = 0; i < 400; i++) {
+        Position start = randomStart(random, plateau);
+        plans.add(new RoverPlan(start, patterns.get(random.nextInt(patterns.size()))));
+      }
+      Mission mission = new Mission(plateau, plans);
+      ProgramEffectCache cache = new ProgramEffectCache(2);
+      Object expected = outcome(() -> interpret(mission, policy));
+
+      for (ExecutionEngine engine : ExecutionEngine.values()) {
+        RunOptions options = RunOptions.DEFAULT.withEngine(engine).withCache(cache);
+        assertThat(outcome(() -> MissionRunner.run(mission, policy, options)))
+            .as("%s %s", plateau, engine)
+            .isEqualTo(expected);
+      }
+      assertThat(
+              outcome(
+                  () ->
+                      MissionRunner.run(
+                          mission,
+                          policy,
+                          RunOptions.DEFAULT.withCache(cache).withPool(new ForkJoinPool(3)))))
+          .as("%s", plateau)
+          .isEqualTo(expected);
+      assertThat(cache.hits()).isPositive();
+    }
+  }
+}
@@ -0,0 +1,216 @@
+package com.example.mars.exec;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.InstructionProgram;
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Support for the differential tests of the execution engines: a reference interpreter that the
+ * engines are compared against, the capture of an execution's outcome, and random starts near the
+ * edges of plateaus of every size.
+ *
+ * <p>The reference shares no code with the engines. It moves one instruction at a time on a {@link
+ * Position}, with coordinates in {@code long} arithmetic, and follows the rules of {@link
+ * MissionRunner}: moves off the plateau are handled by the boundary policy, repetition syntax
+ * executes as its expansion, and the first character that is neither an instruction nor valid
+ * repetition syntax is rejected when it is reached.
+ */
+final class ReferenceInterpreter {
+
+  /**
+   * Plateaus to compare engines on: a small one, a single cell, and ones whose edges lie at the
+   * largest coordinate, where a step past the edge overflows an {@code int}.
+   */
+  static final List<Plateau> PLATEAUS =
+      List.of(
+          new Plateau(7, 5),
+          new Plateau(0, 0),
+          new Plateau(Integer.MAX_VALUE, 5),
+          new Plateau(4, Integer.MAX_VALUE),
+          new Plateau(Integer.MAX_VALUE, Integer.MAX_VALUE));
+
+  /** Farthest distance from an edge at which random starts are placed. */
+  private static final int EDGE_DISTANCE = 12;
+
+  private ReferenceInterpreter() {}
+
+  /** An execution under test, returning a final position or a list of them. */
+  interface Execution {
+    Object run() throws Exception;
+  }
+
+  /**
+   * Runs an execution, capturing how it ends.
+   *
+   * @param execution the execution to run
+   * @return the execution's result, or the class and message of the exception thrown
+   */
+  static Object outcome(Execution execution) {
+    try {
+      return execution.run();
+    } catch (Exception e) {
+      return e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+  }
+
+  /**
+   * Executes a rover as the first of its mission.
+   *
+   * @see #interpret(Plateau, Position, String, BoundaryPolicy, int)
+   */
+  static Position interpret(
+      Plateau plateau, Position start, String instructions, BoundaryPolicy policy)
+      throws OutOfBoundsException {
+    return interpret(plateau, start, instructions, policy, 0);
+  }
+
+  /**
+   * Executes a rover one instruction at a time.
+   *
+   * @param plateau the plateau the rover moves on
+   * @param start the rover's start position, which may lie off the plateau
+   * @param instructions the instructions, possibly with repetition syntax
+   * @param policy the boundary policy for moves off the plateau
+   * @param roverIndex zero-based index of the rover, used for error reporting
+   * @return the final position
+   * @throws OutOfBoundsException if STRICT policy is used and the rover attempts to leave
+   * @throws IllegalArgumentException if an invalid character is reached
+   */
+  static Position interpret(
+      Plateau plateau, Position start, String instructions, BoundaryPolicy policy, int roverIndex)
+      throws OutOfBoundsException {
+    long x = start.x();
+    long y = start.y();
+    Direction heading = start.heading();
+    for (int i = 0; i < instructions.length(); i++) {
+      char instruction = instructions.charAt(i);
+      switch (instruction) {
+        case 'L' -> heading = heading.rotateLeft();
+        case 'R' -> heading = heading.rotateRight();
+        case 'M' -> {
+          long nextX = x + heading.dx();
+          long nextY = y + heading.dy();
+          if (nextX >= 0 && nextX <= plateau.maxX() && nextY >= 0 && nextY <= plateau.maxY()) {
+            x = nextX;
+            y = nextY;
+          } else if (policy == BoundaryPolicy.STRICT) {
+            throw new OutOfBoundsException(
+                String.format(
+                    "Rover #%d instruction %d out of bounds from (%d,%d,%s)",
+                    roverIndex + 1, i + 1, x, y, heading));
+          } else if (policy == BoundaryPolicy.STOP_ON_OOB) {
+            return new Position((int) x, (int) y, heading);
+          }
+        }
+        default -> {
+          String expanded = instruction < 'A' ? expand(instructions) : null;
+          if (expanded == null) {
+            throw new IllegalArgumentException("Invalid instruction character: " + instruction);
+          }
+          // Every instruction so far has the same index in the expansion
+          return interpret(plateau, start, expanded, policy, roverIndex);
+        }
+      }
+    }
+    return new Position((int) x, (int) y, heading);
+  }
+
+  /**
+   * Executes every rover of a mission in order, stopping at the first failure.
+   *
+   * @param mission the mission to execute
+   * @param policy the boundary policy for moves off the plateau
+   * @return the final positions in input order
+   * @throws OutOfBoundsException if STRICT policy is used and a rover attempts to leave
+   */
+  static List<Position> interpret(Mission mission, BoundaryPolicy policy)
+      throws OutOfBoundsException {
+    List<Position> positions = new ArrayList<>();
+    for (RoverPlan plan : mission.plans()) {
+      int roverIndex = positions.size();
+      positions.add(
+          interpret(mission.plateau(), plan.start(), plan.instructions(), policy, roverIndex));
+    }
+    return positions;
+  }
+
+  /**
+   * Returns instructions with their repetitions written out.
+   *
+   * @param instructions instructions in repetition syntax, expanding to fewer than 2^31
+   * @return the expansion, or null if the instructions do not follow the grammar
+   */
+  static String expand(String instructions) {
+    try {
+      return expand(InstructionProgram.parse(instructions));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns a parsed program with its repetitions written out.
+   *
+   * @param program a program expanding to fewer than 2^31 instructions
+   * @return the expansion
+   */
+  static String expand(InstructionProgram program) {
+    StringBuilder expanded = new StringBuilder();
+    for (InstructionProgram.Item item : program.items()) {
+      switch (item) {
+        case InstructionProgram.Run run ->
+            expanded.append(String.valueOf(run.instruction()).repeat((int) run.count()));
+        case InstructionProgram.Group group ->
+            expanded.append(expand(group.body()).repeat((int) group.count()));
+      }
+    }
+    return expanded.toString();
+  }
+
+  /**
+   * Returns a random start within a few cells of a corner of the plateau, or just beyond its edges
+   * where coordinates allow, so that short instruction sequences reach the edges.
+   *
+   * @param random the source of randomness
+   * @param plateau the plateau to start on
+   * @return the start position
+   */
+  static Position randomStart(Random random, Plateau plateau) {
+    return new Position(
+        randomCoordinate(random, plateau.maxX()),
+        randomCoordinate(random, plateau.maxY()),
+        Direction.values()[random.nextInt(4)]);
+  }
+
+  /**
+   * Returns random instructions.
+   *
+   * @param random the source of randomness
+   * @param length the number of instructions
+   * @param alphabet the characters to draw the instructions from
+   * @return the instructions
+   */
+  static String randomInstructions(Random random, int length, String alphabet) {
+    char[] instructions = new char[length];
+    for (int i = 0; i < length; i++) {
+      instructions[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+    }
+    return new String(instructions);
+  }
+
+  /** Returns a coordinate from one beyond the low edge to one beyond the high edge. */
+  private static int randomCoordinate(Random random, int max) {
+    int fromEdge = random.nextInt(Math.min(max, EDGE_DISTANCE) + 2) - 1;
+    if (random.nextBoolean()) {
+      return fromEdge;
+    }
+    return (int) Math.min(Integer.MAX_VALUE, (long) max - fromEdge);
+  }
+}
@@ -0,0 +1,110 @@
+package com.example.mars.exec;
+
+import static com.example.mars.exec.ReferenceInterpreter.PLATEAUS;
+import static com.example.mars.exec.ReferenceInterpreter.expand;
+import static com.example.mars.exec.ReferenceInterpreter.interpret;
+import static com.example.mars.exec.ReferenceInterpreter.outcome;
+import static com.example.mars.exec.ReferenceInterpreter.randomStart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.InstructionProgram;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class RepetitionProgramTest {
+
+  private static final Plateau PLATEAU = new Plateau(6, 4);
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void execute_matchesTheExpandedInstructions(BoundaryPolicy policy) {
+    Random random = new Random(13);
+    for (int trial = 0; trial < 1500; trial++) {
+      String instructions = randomProgram(random, 0);
+      if (instructions.isEmpty()) {
+        continue;
+      }
+      // Starts range just off the plateau too
+      Plateau plateau = PLATEAUS.get(trial % PLATEAUS.size());
+      Position start = randomStart(random, plateau);
+      String expanded = expand(InstructionProgram.parse(instructions));
+
+      Object expected = outcome(() -> interpret(plateau, start, expanded, policy));
+      Object actual =
+          outcome(
+              () -> {
+                RoverCursor rover = new RoverCursor(plateau).reset(start);
+                RepetitionProgram.compile(instructions).execute(rover, policy, 0);
+                return rover.position();
+              });
+      assertThat(actual).as("%s %s %s", plateau, start, instructions).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void execute_hugeLoopOnThePlateau_runsInLogarithmicTime() throws OutOfBoundsException {
+    RoverCursor rover = new RoverCursor(PLATEAU).reset(0, 0, Direction.N.ordinal());
+
+    RepetitionProgram.compile("(M4RM6R)x100000000000000001")
+        .execute(rover, BoundaryPolicy.STRICT, 0);
+
+    assertThat(rover.position()).isEqualTo(new Position(6, 4, Direction.S));
+  }
+
+  @Test
+  void execute_hugeLoopUnderIgnore_skipsRepetitionsOnceTheyCycle() throws OutOfBoundsException {
+    String motif = "(MMRMLMMRM)x";
+    RoverCursor rover = new RoverCursor(PLATEAU).reset(1, 1, Direction.N.ordinal());
+
+    RepetitionProgram.compile(motif + "1000000000000000007")
+        .execute(rover, BoundaryPolicy.IGNORE, 0);
+
+    // Any count that is long enough and agrees modulo 12 reaches the same cycle state
+    String shorter = motif + (1200 + 1000000000000000007L % 12);
+    Position expected =
+        interpret(
+            PLATEAU,
+            new Position(1, 1, Direction.N),
+            expand(InstructionProgram.parse(shorter)),
+            BoundaryPolicy.IGNORE);
+    assertThat(rover.position()).isEqualTo(expected);
+  }
+
+  @Test
+  void execute_hugeLoopUnderStrict_reportsTheExpandedIndex() {
+    RoverCursor rover = new RoverCursor(PLATEAU).reset(0, 0, Direction.E.ordinal());
+    RepetitionProgram program = RepetitionProgram.compile("L(MRML)x999999999999");
+
+    // Instruction 1 is L, then each repetition of four climbs one step north and east
+    assertThatThrownBy(() -> program.execute(rover, BoundaryPolicy.STRICT, 0))
+        .isInstanceOf(OutOfBoundsException.class)
+        .hasMessage("Rover #1 instruction 18 out of bounds from (4,4,N)");
+  }
+
+  /** Returns a random program whose expansion stays small. */
+  private static String randomProgram(Random random, int depth) {
+    StringBuilder program = new StringBuilder();
+    int items = random.nextInt(4);
+    for (int i = 0; i < items; i++) {
+      if (depth < 3 && random.nextInt(3) == 0) {
+        String body = randomProgram(random, depth + 1);
+        if (!body.isEmpty()) {
+          program.append('(').append(body).append(")x").append(1 + random.nextInt(9));
+        }
+      } else {
+        program.append("LRM".charAt(random.nextInt(3)));
+        if (random.nextBoolean()) {
+          program.append(1 + random.nextInt(12));
+        }
+      }
+    }
+    return program.toString();
+  }
+}
@@ -0,0 +1,145 @@
+package com.example.mars.exec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.Rover;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class RoverCursorTest {
+
+  @ParameterizedTest
+  @EnumSource(Direction.class)
+  void turnsAndMoves_matchRover(Direction heading) {
+    Plateau plateau = new Plateau(5, 5);
+    RoverCursor cursor = new RoverCursor(plateau).reset(new Position(2, 2, heading));
+    Rover rover = new Rover(new Position(2, 2, heading));
+
+    for (char instruction : "MLMRRMMLMLLLRM".toCharArray()) {
+      switch (instruction) {
+        case 'L' -> {
+          cursor.turnLeft();
+          rover.rotateLeft();
+        }
+        case 'R' -> {
+          cursor.turnRight();
+          rover.rotateRight();
+        }
+        default -> {
+          assertThat(cursor.move()).isTrue();
+          rover.move();
+        }
+      }
+      assertThat(cursor.position()).isEqualTo(rover.getPosition());
+    }
+  }
+
+  @Test
+  void move_offThePlateau_isRejectedWithoutMoving() {
+    RoverCursor cursor = new RoverCursor(new Plateau(1, 1));
+
+    assertThat(cursor.reset(1, 1, Direction.N.ordinal()).move()).isFalse();
+    assertThat(cursor.reset(1, 1, Direction.E.ordinal()).move()).isFalse();
+    assertThat(cursor.reset(0, 0, Direction.S.ordinal()).move()).isFalse();
+    assertThat(cursor.reset(0, 0, Direction.W.ordinal()).move()).isFalse();
+    assertThat(cursor.position()).isEqualTo(new Position(0, 0, Direction.W));
+  }
+
+  @Test
+  void move_atIntegerLimit_doesNotOverflowOntoThePlateau() {
+    RoverCursor cursor = new RoverCursor(new Plateau(Integer.MAX_VALUE, Integer.MAX_VALUE));
+
+    cursor.reset(Integer.MAX_VALUE, 0, Direction.E.ordinal());
+
+    assertThat(cursor.move()).isFalse();
+    assertThat(cursor.x()).isEqualTo(Integer.MAX_VALUE);
+  }
+
+  @Test
+  void accessors_exposePrimitiveState() {
+    RoverCursor cursor = new RoverCursor(new Plateau(5, 5)).reset(3, 4, Direction.S.ordinal());
+
+    cursor.turnLeft();
+
+    assertThat(cursor.x()).isEqualTo(3);
+    assertThat(cursor.y()).isEqualTo(4);
+    assertThat(cursor.heading()).isEqualTo(Direction.E.ordinal());
+  }
+
+  @Test
+  void reach_countsTheMovesThatSucceed() {
+    RoverCursor cursor = new RoverCursor(new Plateau(3, 2));
+
+    // Includes starts off the plateau, from which a rover may move back onto it
+    for (int x = -2; x <= 5; x++) {
+      for (int y = -2; y <= 4; y++) {
+        for (int heading = 0; heading < 4; heading++) {
+          long reach = cursor.reset(x, y, heading).reach();
+          int moves = 0;
+          while (moves < 10 && cursor.move()) {
+            moves++;
+          }
+          assertThat(reach).as("(%d,%d,%d)", x, y, heading).isEqualTo(moves);
+
+          cursor.reset(x, y, heading).advance(reach);
+          assertThat(cursor.x()).isEqualTo(x + (heading == 1 ? moves : heading == 3 ? -moves : 0));
+          assertThat(cursor.y()).isEqualTo(y + (heading == 0 ? moves : heading == 2 ? -moves : 0));
+        }
+      }
+    }
+  }
+
+  @Test
+  void turn_foldsQuarterTurns() {
+    RoverCursor cursor = new RoverCursor(new Plateau(1, 1)).reset(0, 0, Direction.N.ordinal());
+
+    cursor.turn(3);
+    assertThat(cursor.heading()).isEqualTo(Direction.W.ordinal());
+    cursor.turn(-2);
+    assertThat(cursor.heading()).isEqualTo(Direction.E.ordinal());
+  }
+
+  @Test
+  void margin_isTheDistanceToTheNearestEdge() {
+    RoverCursor cursor = new RoverCursor(new Plateau(10, 6));
+
+    assertThat(cursor.reset(4, 3, Direction.N.ordinal()).margin()).isEqualTo(3);
+    assertThat(cursor.reset(8, 3, Direction.N.ordinal()).margin()).isEqualTo(2);
+    assertThat(cursor.reset(0, 3, Direction.N.ordinal()).margin()).isZero();
+    assertThat(cursor.reset(-1, 3, Direction.N.ordinal()).margin()).isLessThan(0);
+  }
+
+  @Test
+  void reset_clearsWhatThePolicyNoted_andUpdateKeepsIt() {
+    RoverCursor cursor = new RoverCursor(new Plateau(5, 5)).reset(1, 1, Direction.N.ordinal());
+    cursor.ignore(3);
+    cursor.stop(7);
+
+    cursor.update(2, 2, Direction.E.ordinal());
+    assertThat(cursor.position()).isEqualTo(new Position(2, 2, Direction.E));
+    assertThat(cursor.ignoredMoves()).isEqualTo(3);
+    assertThat(cursor.stoppedAt()).isEqualTo(7);
+
+    cursor.reset(1, 1, Direction.N.ordinal());
+    assertThat(cursor.ignoredMoves()).isZero();
+    assertThat(cursor.stoppedAt()).isEqualTo(-1);
+  }
+
+  @Test
+  void moveUnchecked_movesLikeMoveWithinTheMargin() {
+    RoverCursor checked = new RoverCursor(new Plateau(10, 10)).reset(5, 5, Direction.N.ordinal());
+    RoverCursor unchecked = new RoverCursor(new Plateau(10, 10)).reset(5, 5, Direction.N.ordinal());
+
+    for (int heading = 0; heading < 4; heading++) {
+      checked.turnRight();
+      unchecked.turnRight();
+      assertThat(checked.move()).isTrue();
+      unchecked.moveUnchecked();
+      assertThat(unchecked.position()).isEqualTo(checked.position());
+    }
+  }
+}
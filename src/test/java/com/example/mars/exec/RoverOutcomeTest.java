@@ -0,0 +1,160 @@
+package com.example.mars.exec;
+
+import static com.example.mars.exec.ReferenceInterpreter.PLATEAUS;
+import static com.example.mars.exec.ReferenceInterpreter.expand;
+import static com.example.mars.exec.ReferenceInterpreter.randomStart;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.mars.domain.CompactRoverPlans;
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class RoverOutcomeTest {
+
+  private static final Plateau PLATEAU = new Plateau(8, 6);
+
+  @Test
+  void runOutcomes_underStrict_keepsTheRoversAfterAFailure() {
+    Mission mission =
+        new Mission(
+            new Plateau(5, 5),
+            List.of(
+                new RoverPlan(new Position(1, 2, Direction.N), "LMLMLMLMM"),
+                new RoverPlan(new Position(0, 0, Direction.S), "RRMMLM"),
+                new RoverPlan(new Position(3, 3, Direction.E), "MMRMMRMRRM")));
+
+    List<RoverOutcome> outcomes =
+        MissionRunner.runOutcomes(mission, BoundaryPolicy.STRICT, RunOptions.DEFAULT);
+
+    assertThat(outcomes.get(0))
+        .isEqualTo(
+            new RoverOutcome(0, new Position(1, 3, Direction.N), RoverOutcome.Status.OK, -1, 0));
+    assertThat(outcomes.get(1).status()).isEqualTo(RoverOutcome.Status.OUT_OF_BOUNDS);
+    assertThat(outcomes.get(1).failedInstruction()).isEqualTo(5);
+    assertThat(outcomes.get(1).position()).isEqualTo(new Position(0, 2, Direction.W));
+    assertThat(outcomes.get(1).failureMessage())
+        .isEqualTo("Rover #2 instruction 6 out of bounds from (0,2,W)");
+    assertThat(outcomes.get(2).position()).isEqualTo(new Position(5, 1, Direction.E));
+    assertThat(outcomes.get(2).isFailed()).isFalse();
+    assertThat(outcomes.get(2).failureMessage()).isNull();
+  }
+
+  @Test
+  void runOutcomes_underIgnore_countsIgnoredMoves() {
+    Mission mission =
+        new Mission(PLATEAU, List.of(new RoverPlan(new Position(7, 0, Direction.E), "MMMRMLM")));
+
+    for (ExecutionEngine engine : ExecutionEngine.values()) {
+      RoverOutcome outcome =
+          MissionRunner.runOutcomes(
+                  mission, BoundaryPolicy.IGNORE, RunOptions.DEFAULT.withEngine(engine))
+              .get(0);
+
+      assertThat(outcome.status()).as("%s", engine).isEqualTo(RoverOutcome.Status.OK);
+      assertThat(outcome.position()).as("%s", engine).isEqualTo(new Position(8, 0, Direction.E));
+      assertThat(outcome.ignoredMoves()).as("%s", engine).isEqualTo(4);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void runOutcomes_matchesEachRoverExecutedOnItsOwn(BoundaryPolicy policy) {
+    // Every engine and compilation path, including cached, specialized, repeated and packed rovers
+    Random random = new Random(22);
+    List<Mission> missions = new ArrayList<>();
+    for (Plateau plateau : PLATEAUS) {
+      List<RoverPlan> plans = randomPlans(random, plateau, 300);
+      List<RoverPlan> expanded = new ArrayList<>();
+      for (RoverPlan plan : plans) {
+        expanded.add(new RoverPlan(plan.start(), expand(plan.instructions())));
+      }
+      missions.add(new Mission(plateau, plans));
+      missions.add(new Mission(plateau, CompactRoverPlans.of(expanded)));
+    }
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      for (Mission mission : missions) {
+        List<RoverOutcome> expected = expectedOutcomes(mission, policy);
+        for (ExecutionEngine engine : ExecutionEngine.values()) {
+          RunOptions options = RunOptions.DEFAULT.withEngine(engine);
+          assertThat(MissionRunner.runOutcomes(mission, policy, options))
+              .as("%s %s", mission.plateau(), engine)
+              .isEqualTo(expected);
+          ProgramEffectCache cache = new ProgramEffectCache(16, 3);
+          assertThat(MissionRunner.runOutcomes(mission, policy, options.withCache(cache)))
+              .as("%s %s with a cache", mission.plateau(), engine)
+              .isEqualTo(expected);
+          assertThat(MissionRunner.runOutcomes(mission, policy, options.withPool(pool)))
+              .as("%s %s in parallel", mission.plateau(), engine)
+              .isEqualTo(expected);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /** Returns the outcome of each rover from a plain interpreter loop written out here. */
+  private static List<RoverOutcome> expectedOutcomes(Mission mission, BoundaryPolicy policy) {
+    List<RoverOutcome> outcomes = new ArrayList<>();
+    for (int roverIndex = 0; roverIndex < mission.plans().size(); roverIndex++) {
+      RoverPlan plan = mission.plans().get(roverIndex);
+      String instructions = expand(plan.instructions());
+      RoverCursor rover = new RoverCursor(mission.plateau()).reset(plan.start());
+      RoverOutcome.Status status = RoverOutcome.Status.OK;
+      long failedInstruction = -1;
+      long ignoredMoves = 0;
+      for (int i = 0; i < instructions.length(); i++) {
+        char instruction = instructions.charAt(i);
+        if (instruction == 'L') {
+          rover.turnLeft();
+        } else if (instruction == 'R') {
+          rover.turnRight();
+        } else if (!rover.move()) {
+          if (policy == BoundaryPolicy.IGNORE) {
+            ignoredMoves++;
+            continue;
+          }
+          status =
+              policy == BoundaryPolicy.STRICT
+                  ? RoverOutcome.Status.OUT_OF_BOUNDS
+                  : RoverOutcome.Status.STOPPED;
+          failedInstruction = i;
+          break;
+        }
+      }
+      outcomes.add(
+          new RoverOutcome(roverIndex, rover.position(), status, failedInstruction, ignoredMoves));
+    }
+    return outcomes;
+  }
+
+  private static List<RoverPlan> randomPlans(Random random, Plateau plateau, int rovers) {
+    List<String> patrols = List.of("MMMMMMMMMRMMMMMMMMR", "LMMMMMMMMMMLM", "(MMR)x7M", "M(LM)x3");
+    List<RoverPlan> plans = new ArrayList<>();
+    for (int rover = 0; rover < rovers; rover++) {
+      String instructions;
+      if (random.nextInt(3) == 0) {
+        instructions = patrols.get(random.nextInt(patrols.size()));
+      } else {
+        char[] chars = new char[1 + random.nextInt(40)];
+        for (int i = 0; i < chars.length; i++) {
+          chars[i] = "LRMMM".charAt(random.nextInt(5));
+        }
+        instructions = new String(chars);
+      }
+      plans.add(new RoverPlan(randomStart(random, plateau), instructions));
+    }
+    return plans;
+  }
+}
@@ -0,0 +1,35 @@
+package com.example.mars.exec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class RunOptionsTest {
+
+  @Test
+  void defaultOptions_runTheInterpreterSequentially() {
+    assertThat(RunOptions.DEFAULT)
+        .isEqualTo(new RunOptions(ExecutionEngine.INTERPRETER, null, null, null));
+  }
+
+  @Test
+  void with_changesOneOptionAndLeavesTheOriginalUnchanged() {
+    ProgramEffectCache cache = new ProgramEffectCache(4);
+    ExecutionMetrics metrics = new ExecutionMetrics();
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    RunOptions options =
+        RunOptions.DEFAULT
+            .withEngine(ExecutionEngine.TABLE)
+            .withCache(cache)
+            .withMetrics(metrics)
+            .withPool(pool);
+
+    assertThat(options).isEqualTo(new RunOptions(ExecutionEngine.TABLE, cache, metrics, pool));
+    assertThat(options.withCache(null))
+        .isEqualTo(new RunOptions(ExecutionEngine.TABLE, null, metrics, pool));
+    assertThat(RunOptions.DEFAULT.engine()).isEqualTo(ExecutionEngine.INTERPRETER);
+    assertThat(RunOptions.DEFAULT.pool()).isNull();
+  }
+}
@@ -0,0 +1,115 @@
+package com.example.mars.exec;
+
+import static com.example.mars.exec.ReferenceInterpreter.PLATEAUS;
+import static com.example.mars.exec.ReferenceInterpreter.interpret;
+import static com.example.mars.exec.ReferenceInterpreter.outcome;
+import static com.example.mars.exec.ReferenceInterpreter.randomStart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.mars.domain.CompactRoverPlans;
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class SegmentProgramTest {
+
+  private static final Plateau PLATEAU = new Plateau(7, 5);
+
+  @Test
+  void compile_foldsRotationsAndMoveRuns() {
+    assertThat(SegmentProgram.compile("").segmentCount()).isZero();
+    assertThat(SegmentProgram.compile("LRLRLLL").segmentCount()).isZero();
+    assertThat(SegmentProgram.compile("MMMMMMMM").segmentCount()).isEqualTo(1);
+    assertThat(SegmentProgram.compile("MMMLLMMMRRRMM").segmentCount()).isEqualTo(3);
+  }
+
+  @Test
+  void execute_longRunUnderIgnore_clampsAtTheEdge() throws OutOfBoundsException {
+    RoverCursor rover = new RoverCursor(PLATEAU).reset(new Position(1, 1, Direction.E));
+
+    SegmentProgram.compile("M".repeat(1_000_000) + "LMMMMMMMMMM")
+        .execute(rover, BoundaryPolicy.IGNORE, 0);
+
+    assertThat(rover.position()).isEqualTo(new Position(7, 5, Direction.N));
+  }
+
+  @Test
+  void execute_longRunUnderStrict_reportsTheFirstFailingInstruction() {
+    RoverCursor rover = new RoverCursor(PLATEAU).reset(new Position(1, 1, Direction.N));
+
+    SegmentProgram program = SegmentProgram.compile("RM" + "M".repeat(1000));
+
+    assertThatThrownBy(() -> program.execute(rover, BoundaryPolicy.STRICT, 2))
+        .isInstanceOf(OutOfBoundsException.class)
+        .hasMessage("Rover #3 instruction 8 out of bounds from (7,1,E)");
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void execute_matchesTheInterpreter(BoundaryPolicy policy) {
+    Random random = new Random(9);
+    for (int trial = 0; trial < 2000; trial++) {
+      // Starts range just off the plateau too, and some sequences hold an invalid character
+      Plateau plateau = PLATEAUS.get(trial % PLATEAUS.size());
+      Position start = randomStart(random, plateau);
+      StringBuilder instructions = new StringBuilder();
+      int runs = random.nextInt(12);
+      for (int run = 0; run < runs; run++) {
+        instructions.append("LRLLR".substring(random.nextInt(5)));
+        instructions.append("M".repeat(random.nextInt(12)));
+      }
+      if (random.nextInt(10) == 0) {
+        instructions.insert(random.nextInt(instructions.length() + 1), 'X');
+      }
+      String plan = instructions.toString();
+
+      Object expected = outcome(() -> interpret(plateau, start, plan, policy));
+      Object actual =
+          outcome(
+              () -> {
+                RoverCursor rover = new RoverCursor(plateau).reset(start);
+                SegmentProgram.compile(plan).execute(rover, policy, 0);
+                return rover.position();
+              });
+      assertThat(actual).as("%s %s %s", plateau, start, plan).isEqualTo(expected);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void compile_packedPlan_matchesTheString(BoundaryPolicy policy) {
+    String instructions = "MMMMMMMMMMRMMMMMMMMMMMMMMMMMMMMMMMMMMMMLLMMMMMMMMMMMRMMMMMMMMMMMMM";
+    CompactRoverPlans plans =
+        CompactRoverPlans.builder()
+            .add(new RoverPlan(new Position(0, 0, Direction.N), "RRMM"))
+            .add(new RoverPlan(new Position(0, 0, Direction.E), instructions))
+            .build();
+
+    for (int rover = 0; rover < plans.size(); rover++) {
+      RoverPlan plan = plans.get(rover);
+      RoverCursor packed = new RoverCursor(PLATEAU).reset(plan.start());
+      RoverCursor string = new RoverCursor(PLATEAU).reset(plan.start());
+      int roverIndex = rover;
+      Object packedOutcome =
+          outcome(
+              () -> {
+                SegmentProgram.compile(plans, roverIndex).execute(packed, policy, roverIndex);
+                return packed.position();
+              });
+      Object stringOutcome =
+          outcome(
+              () -> {
+                SegmentProgram.compile(plan.instructions()).execute(string, policy, roverIndex);
+                return string.position();
+              });
+      assertThat(packedOutcome).isEqualTo(stringOutcome);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.example.mars.exec;
+
+import static com.example.mars.exec.ReferenceInterpreter.PLATEAUS;
+import static com.example.mars.exec.ReferenceInterpreter.interpret;
+import static com.example.mars.exec.ReferenceInterpreter.outcome;
+import static com.example.mars.exec.ReferenceInterpreter.randomStart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class SpecializedProgramTest {
+
+  private static final Plateau PLATEAU = new Plateau(7, 5);
+
+  @Test
+  void compile_bindsEachMoveRun() {
+    assertThat(SpecializedProgram.compile("").segmentCount()).isZero();
+    assertThat(SpecializedProgram.compile("LRLRLLL").segmentCount()).isZero();
+    assertThat(SpecializedProgram.compile("MMMMMMMM").segmentCount()).isEqualTo(1);
+    assertThat(SpecializedProgram.compile("MMMLLMMMRRRMM").segmentCount()).isEqualTo(3);
+  }
+
+  @Test
+  void compile_instructionsThatAreNotPlain_isNull() {
+    assertThat(SpecializedProgram.compile("MMXM")).isNull();
+    assertThat(SpecializedProgram.compile("(MR)x4")).isNull();
+  }
+
+  @Test
+  void compile_tooManyMoveRuns_isNull() {
+    assertThat(SpecializedProgram.compile("MR".repeat(SpecializedProgram.MAX_SEGMENTS)))
+        .isNotNull();
+    assertThat(SpecializedProgram.compile("MR".repeat(SpecializedProgram.MAX_SEGMENTS + 1)))
+        .isNull();
+  }
+
+  @Test
+  void execute_underStrict_reportsTheFirstFailingInstruction() {
+    RoverCursor rover = new RoverCursor(PLATEAU).reset(new Position(1, 1, Direction.N));
+
+    SpecializedProgram program = SpecializedProgram.compile("RM" + "M".repeat(1000) + "LM");
+
+    assertThatThrownBy(() -> program.execute(rover, BoundaryPolicy.STRICT, 2))
+        .isInstanceOf(OutOfBoundsException.class)
+        .hasMessage("Rover #3 instruction 8 out of bounds from (7,1,E)");
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void execute_matchesTheInterpreter(BoundaryPolicy policy) {
+    Random random = new Random(20);
+    for (int trial = 0; trial < 500; trial++) {
+      String plan = randomInstructions(random);
+      SpecializedProgram program = SpecializedProgram.compile(plan);
+      Plateau plateau = PLATEAUS.get(trial % PLATEAUS.size());
+      // The same program for many start positions, as once it is hot
+      for (int start = 0; start < 10; start++) {
+        Position position = randomStart(random, plateau);
+
+        Object expected = outcome(() -> interpret(plateau, position, plan, policy));
+        Object actual =
+            outcome(
+                () -> {
+                  RoverCursor rover = new RoverCursor(plateau).reset(position);
+                  program.execute(rover, policy, 0);
+                  return rover.position();
+                });
+        assertThat(actual).as("%s %s %s", plateau, position, plan).isEqualTo(expected);
+      }
+    }
+  }
+
+  private static String randomInstructions(Random random) {
+    StringBuilder instructions = new StringBuilder();
+    int runs = random.nextInt(40);
+    for (int run = 0; run < runs; run++) {
+      instructions.append("LRLLR".substring(random.nextInt(5)));
+      instructions.append("M".repeat(random.nextInt(12)));
+    }
+    return instructions.toString();
+  }
+}
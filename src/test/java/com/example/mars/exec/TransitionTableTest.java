@@ -0,0 +1,131 @@
+package com.example.mars.exec;
+
+import static com.example.mars.exec.ReferenceInterpreter.PLATEAUS;
+import static com.example.mars.exec.ReferenceInterpreter.interpret;
+import static com.example.mars.exec.ReferenceInterpreter.outcome;
+import static com.example.mars.exec.ReferenceInterpreter.randomStart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.mars.domain.CompactRoverPlans;
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.OutOfBoundsException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class TransitionTableTest {
+
+  private static final Plateau PLATEAU = new Plateau(5, 5);
+
+  @Test
+  void execute_followsTheClassicMission() throws OutOfBoundsException {
+    RoverCursor first = new RoverCursor(PLATEAU).reset(new Position(1, 2, Direction.N));
+    RoverCursor second = new RoverCursor(PLATEAU).reset(new Position(3, 3, Direction.E));
+
+    assertThat(TransitionTable.execute(first, "LMLMLMLMM", BoundaryPolicy.STRICT, 0)).isEqualTo(-1);
+    assertThat(TransitionTable.execute(second, "MMRMMRMRRM", BoundaryPolicy.STRICT, 1))
+        .isEqualTo(-1);
+
+    assertThat(first.position()).isEqualTo(new Position(1, 3, Direction.N));
+    assertThat(second.position()).isEqualTo(new Position(5, 1, Direction.E));
+  }
+
+  @Test
+  void execute_invalidCharacter_stopsBeforeIt() throws OutOfBoundsException {
+    RoverCursor rover = new RoverCursor(PLATEAU).reset(new Position(0, 0, Direction.N));
+
+    int invalid = TransitionTable.execute(rover, "MMRéMM", BoundaryPolicy.STRICT, 0);
+
+    assertThat(invalid).isEqualTo(3);
+    assertThat(rover.position()).isEqualTo(new Position(0, 2, Direction.E));
+  }
+
+  @Test
+  void execute_offPlateauStart_turnsWithoutFailing() throws OutOfBoundsException {
+    RoverCursor rover = new RoverCursor(PLATEAU).reset(new Position(-1, 6, Direction.N));
+
+    TransitionTable.execute(rover, "LLRRRRR", BoundaryPolicy.STRICT, 0);
+
+    assertThat(rover.position()).isEqualTo(new Position(-1, 6, Direction.W));
+  }
+
+  @Test
+  void execute_underStrict_reportsTheFailingInstruction() {
+    RoverCursor rover = new RoverCursor(PLATEAU).reset(new Position(4, 1, Direction.N));
+
+    assertThatThrownBy(() -> TransitionTable.execute(rover, "RMMM", BoundaryPolicy.STRICT, 2))
+        .isInstanceOf(OutOfBoundsException.class)
+        .hasMessage("Rover #3 instruction 3 out of bounds from (5,1,E)");
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void execute_matchesTheInterpreter(BoundaryPolicy policy) {
+    Random random = new Random(12);
+    for (int trial = 0; trial < 2000; trial++) {
+      // Starts range just off the plateau too, and some sequences hold an invalid character
+      Plateau plateau = PLATEAUS.get(trial % PLATEAUS.size());
+      Position start = randomStart(random, plateau);
+      StringBuilder instructions = new StringBuilder();
+      int length = random.nextInt(40);
+      for (int i = 0; i < length; i++) {
+        instructions.append("LRMMM".charAt(random.nextInt(5)));
+      }
+      if (random.nextInt(10) == 0) {
+        instructions.insert(random.nextInt(instructions.length() + 1), 'X');
+      }
+      String plan = instructions.toString();
+
+      Object expected = outcome(() -> interpret(plateau, start, plan, policy));
+      Object actual =
+          outcome(
+              () -> {
+                RoverCursor rover = new RoverCursor(plateau).reset(start);
+                int invalid = TransitionTable.execute(rover, plan, policy, 0);
+                if (invalid >= 0) {
+                  throw new IllegalArgumentException(
+                      "Invalid instruction character: " + plan.charAt(invalid));
+                }
+                return rover.position();
+              });
+      assertThat(actual).as("%s %s %s", plateau, start, plan).isEqualTo(expected);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(BoundaryPolicy.class)
+  void execute_packedPlan_matchesTheString(BoundaryPolicy policy) {
+    // Spans several arena words, starting part-way through the first
+    String instructions = "MMMMMMRMMMLMMMMMMMMRRMMMMMMMLMMMMMMMMMMMMLMMMMMRMMMMMMMMMLLMMMMMM";
+    CompactRoverPlans plans =
+        CompactRoverPlans.builder()
+            .add(new RoverPlan(new Position(0, 0, Direction.N), "RRMM"))
+            .add(new RoverPlan(new Position(2, 2, Direction.E), instructions))
+            .build();
+
+    for (int rover = 0; rover < plans.size(); rover++) {
+      RoverPlan plan = plans.get(rover);
+      RoverCursor packed = new RoverCursor(PLATEAU).reset(plan.start());
+      RoverCursor string = new RoverCursor(PLATEAU).reset(plan.start());
+      int roverIndex = rover;
+      Object packedOutcome =
+          outcome(
+              () -> {
+                TransitionTable.execute(packed, plans, roverIndex, policy);
+                return packed.position();
+              });
+      Object stringOutcome =
+          outcome(
+              () -> {
+                TransitionTable.execute(string, plan.instructions(), policy, roverIndex);
+                return string.position();
+              });
+      assertThat(packedOutcome).isEqualTo(stringOutcome);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.example.mars.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.mars.domain.Direction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests for AsciiTokenizer, checking each scanner against the JDK method it replaces: {@link
+ * String#trim()} with {@code split("\\s+")}, {@link Integer#parseInt(String)} and {@code
+ * matches("[LRM]+")}.
+ */
+class AsciiTokenizerTest {
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "5 5",
+        "  1\t2   N  ",
+        "1\u000B2\f3\r4",
+        "\u00015 5\u0001",
+        "5\u00015",
+        "single",
+        " \t ",
+        ""
+      })
+  void tokens_matchTrimAndSplit(String line) {
+    int start = AsciiTokenizer.trimStart(line);
+    int end = AsciiTokenizer.trimEnd(line, start);
+    List<String> tokens = new ArrayList<>();
+    long token = AsciiTokenizer.nextToken(line, start, end);
+    while (token != AsciiTokenizer.NO_TOKEN) {
+      tokens.add(line.substring(AsciiTokenizer.start(token), AsciiTokenizer.end(token)));
+      token = AsciiTokenizer.nextToken(line, AsciiTokenizer.end(token), end);
+    }
+
+    String trimmed = line.trim();
+    List<String> expected = trimmed.isEmpty() ? List.of() : Arrays.asList(trimmed.split("\\s+"));
+    assertThat(tokens).isEqualTo(expected);
+    assertThat(AsciiTokenizer.isBlank(line)).isEqualTo(trimmed.isEmpty());
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "0",
+        "007",
+        "+5",
+        "-0",
+        "-12",
+        "2147483647",
+        "2147483648",
+        "-2147483648",
+        "-2147483649",
+        "99999999999999999999",
+        "+",
+        "-",
+        "+-1",
+        "1-",
+        "1_0",
+        "٣٤",
+        "X"
+      })
+  void parseInt_matchesIntegerParseInt(String token) {
+    long expected;
+    try {
+      expected = Integer.parseInt(token);
+    } catch (NumberFormatException e) {
+      expected = AsciiTokenizer.NOT_AN_INT;
+    }
+
+    assertThat(AsciiTokenizer.parseInt(token, token.length())).isEqualTo(expected);
+  }
+
+  @Test
+  void heading_decodesSingleCharacterOnly() {
+    assertThat(AsciiTokenizer.heading("N", 1)).isEqualTo(Direction.N);
+    assertThat(AsciiTokenizer.heading("E", 1)).isEqualTo(Direction.E);
+    assertThat(AsciiTokenizer.heading("S", 1)).isEqualTo(Direction.S);
+    assertThat(AsciiTokenizer.heading("W", 1)).isEqualTo(Direction.W);
+    assertThat(AsciiTokenizer.heading("n", 1)).isNull();
+    assertThat(AsciiTokenizer.heading("NE", 2)).isNull();
+    assertThat(AsciiTokenizer.heading("Ā", 1)).isNull();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"LRM", "MMMM", "LRMX", "lrm", "L R", "Ā"})
+  void isInstructions_matchesRegex(String instructions) {
+    assertThat(AsciiTokenizer.isInstructions(instructions, 0, instructions.length()))
+        .isEqualTo(instructions.matches("[LRM]+"));
+  }
+}
@@ -0,0 +1,252 @@
+package com.example.mars.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.mars.domain.CompactRoverPlans;
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.PackedRoverPlans;
+import com.example.mars.domain.ParseException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for reading and writing the binary mission format. */
+class BinaryMissionTest {
+
+  private static final List<RoverPlan> CANONICAL =
+      List.of(
+          new RoverPlan(new Position(1, 2, Direction.N), "LMLMLMLMM"),
+          new RoverPlan(new Position(3, 3, Direction.E), "MMRMMRMRRM"));
+
+  private Path text;
+  private Path binary;
+
+  @BeforeEach
+  void createFiles() throws IOException {
+    text = Files.createTempFile("mission", ".txt");
+    binary = Files.createTempFile("mission", ".bin");
+  }
+
+  @AfterEach
+  void deleteFiles() throws IOException {
+    Files.deleteIfExists(text);
+    Files.deleteIfExists(binary);
+  }
+
+  @Test
+  void convert_thenLoad_yieldsParsedMission() throws Exception {
+    Files.writeString(text, "5 5\n1 2 N\nLMLMLMLMM\n\n3 3 E\nMMRMMRMRRM\n");
+
+    int rovers = BinaryMission.convert(text, binary);
+
+    assertThat(rovers).isEqualTo(2);
+    assertThat(BinaryMission.isBinary(binary)).isTrue();
+    assertThat(BinaryMission.isBinary(text)).isFalse();
+    assertThat(BinaryMission.load(binary))
+        .isEqualTo(InputParser.parse(Files.readAllLines(text)));
+  }
+
+  @Test
+  void load_acrossManySmallChunks_readsEveryRover() throws Exception {
+    Random random = new Random(42);
+    List<RoverPlan> plans = new ArrayList<>();
+    for (int rover = 0; rover < 300; rover++) {
+      StringBuilder instructions = new StringBuilder();
+      int length = random.nextInt(150);
+      for (int i = 0; i < length; i++) {
+        instructions.append("LRM".charAt(random.nextInt(3)));
+      }
+      Direction heading = Direction.values()[random.nextInt(4)];
+      plans.add(new RoverPlan(new Position(rover, 7, heading), instructions.toString()));
+    }
+    BinaryMission.write(binary, new Plateau(300, 9), CompactRoverPlans.of(plans));
+
+    Mission mission = BinaryMission.load(binary, 6);
+
+    assertThat(mission.plateau()).isEqualTo(new Plateau(300, 9));
+    assertThat(mission.plans()).isEqualTo(plans);
+  }
+
+  @Test
+  void emptyMission_roundTrips() throws Exception {
+    BinaryMission.write(binary, new Plateau(1, 1), CompactRoverPlans.builder().build());
+
+    Mission mission = BinaryMission.load(binary);
+
+    assertThat(mission.plateau()).isEqualTo(new Plateau(1, 1));
+    assertThat(mission.plans()).isEmpty();
+  }
+
+  @Test
+  void corruptedBody_failsChecksum() throws Exception {
+    writeCanonical();
+    byte[] bytes = Files.readAllBytes(binary);
+    bytes[bytes.length - 1] ^= 1;
+    Files.write(binary, bytes);
+
+    assertThatThrownBy(() -> BinaryMission.load(binary))
+        .isInstanceOf(ParseException.class)
+        .hasMessage("Invalid binary mission: checksum mismatch");
+  }
+
+  @Test
+  void corruptedHeader_failsHeaderChecksum() throws Exception {
+    writeCanonical();
+    byte[] bytes = Files.readAllBytes(binary);
+    bytes[8] ^= 1; // plateau maxX
+    Files.write(binary, bytes);
+
+    assertThatThrownBy(() -> BinaryMission.load(binary))
+        .isInstanceOf(ParseException.class)
+        .hasMessage("Invalid binary mission: header checksum mismatch");
+  }
+
+  @Test
+  void truncatedFile_isRejected() throws Exception {
+    writeCanonical();
+    byte[] bytes = Files.readAllBytes(binary);
+    Files.write(binary, Arrays.copyOf(bytes, bytes.length - 8));
+
+    assertThatThrownBy(() -> BinaryMission.load(binary))
+        .isInstanceOf(ParseException.class)
+        .hasMessage("Invalid binary mission: inconsistent section layout");
+  }
+
+  @Test
+  void textFile_isRejected() throws Exception {
+    Files.writeString(text, "5 5\n1 2 N\nLMLMLMLMM\n".repeat(8));
+
+    assertThatThrownBy(() -> BinaryMission.load(text))
+        .isInstanceOf(ParseException.class)
+        .hasMessage("Invalid binary mission: bad magic number");
+  }
+
+  @Test
+  void shortFile_isRejected() throws Exception {
+    Files.writeString(binary, "MRBN");
+
+    assertThat(BinaryMission.isBinary(binary)).isTrue();
+    assertThatThrownBy(() -> BinaryMission.load(binary))
+        .isInstanceOf(ParseException.class)
+        .hasMessage("Invalid binary mission: file is too short");
+  }
+
+  @Test
+  void convert_invalidText_throwsParseException() throws Exception {
+    Files.writeString(text, "5 5\n1 2 N\nLMX\n");
+
+    assertThatThrownBy(() -> BinaryMission.convert(text, binary))
+        .isInstanceOf(ParseException.class)
+        .hasMessageContaining("Rover #1");
+  }
+
+  @Test
+  void convert_repetitionSyntax_throwsParseException() throws Exception {
+    Files.writeString(text, "5 5\n1 2 N\nLM\n3 3 E\n(MR)x4\n");
+
+    assertThatThrownBy(() -> BinaryMission.convert(text, binary))
+        .isInstanceOf(ParseException.class)
+        .hasMessage("Rover #2 uses repetition syntax, which binary missions cannot hold");
+  }
+
+  @Test
+  void invalidHeading_isRejectedDespiteValidChecksums() throws Exception {
+    TamperedPlans plans = new TamperedPlans();
+    plans.heading = 7;
+    BinaryMission.write(binary, new Plateau(5, 5), plans);
+
+    assertThatThrownBy(() -> BinaryMission.load(binary))
+        .isInstanceOf(ParseException.class)
+        .hasMessage("Invalid binary mission: rover #1 heading ordinal 7");
+  }
+
+  @Test
+  void startOffThePlateau_isRejectedAsTheTextParserWould() throws Exception {
+    TamperedPlans plans = new TamperedPlans();
+    plans.startX = 99;
+    BinaryMission.write(binary, new Plateau(5, 5), plans);
+
+    assertThatThrownBy(() -> BinaryMission.load(binary))
+        .isInstanceOf(ParseException.class)
+        .hasMessage("Invalid binary mission: rover #1 start out of bounds: (99,2) > plateau (5,5)");
+  }
+
+  @Test
+  void decreasingOffsets_areRejected() throws Exception {
+    TamperedPlans plans = new TamperedPlans();
+    plans.firstOffset = 12;
+    BinaryMission.write(binary, new Plateau(5, 5), plans);
+
+    assertThatThrownBy(() -> BinaryMission.load(binary))
+        .isInstanceOf(ParseException.class)
+        .hasMessage("Invalid binary mission: rover #2 instruction offset 9 out of order");
+  }
+
+  @Test
+  void negativePlateau_isRejected() throws Exception {
+    BinaryMission.write(binary, new Plateau(-1, 5), CompactRoverPlans.builder().build());
+
+    assertThatThrownBy(() -> BinaryMission.load(binary))
+        .isInstanceOf(ParseException.class)
+        .hasMessage("Invalid binary mission: negative plateau size (-1,5)");
+  }
+
+  private void writeCanonical() throws IOException {
+    BinaryMission.write(binary, new Plateau(5, 5), CompactRoverPlans.of(CANONICAL));
+  }
+
+  /** The canonical plans with the first rover's record or offset overwritten. */
+  private static final class TamperedPlans extends PackedRoverPlans {
+    private final CompactRoverPlans plans = CompactRoverPlans.of(CANONICAL);
+    private int startX = plans.startX(0);
+    private int heading = plans.startHeading(0);
+    private long firstOffset = plans.instructionOffset(0);
+
+    @Override
+    public int size() {
+      return plans.size();
+    }
+
+    @Override
+    public int startX(int rover) {
+      return rover == 0 ? startX : plans.startX(rover);
+    }
+
+    @Override
+    public int startY(int rover) {
+      return plans.startY(rover);
+    }
+
+    @Override
+    public int startHeading(int rover) {
+      return rover == 0 ? heading : plans.startHeading(rover);
+    }
+
+    @Override
+    public long instructionOffset(int rover) {
+      return rover == 0 ? firstOffset : plans.instructionOffset(rover);
+    }
+
+    @Override
+    public long instructionCount(int rover) {
+      return plans.instructionCount(rover);
+    }
+
+    @Override
+    public long word(long index) {
+      return plans.word(index);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.example.mars.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests for ChunkedLineSource, verifying that whole lines and lines read in parts split input
+ * exactly like {@link BufferedReader#readLine()} regardless of the buffer size.
+ */
+class ChunkedLineSourceTest {
+
+  private static final String INPUT =
+      "5 5\r\n1 2 N\rLMLMLMLMM\n\n3 3 E\r\n"
+          + "MMRMMRMRRMMMRMMRMRRMMMRMMRMRRMMMRMMRMRRM\r\r\n  \t\n9 9 S\nLRM";
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 5, 7, 16, 4096})
+  void nextLine_splitsLinesLikeBufferedReader(int bufferSize) throws IOException {
+    List<String> actual = new ArrayList<>();
+    try (ChunkedLineSource source = source(INPUT, bufferSize)) {
+      CharSequence line;
+      while ((line = source.nextLine()) != null) {
+        actual.add(line.toString());
+      }
+    }
+
+    assertThat(actual).isEqualTo(readLines(INPUT));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 5, 7, 16, 4096})
+  void nextPart_reassemblesLinesWithoutGrowingBuffer(int bufferSize) throws IOException {
+    List<String> actual = new ArrayList<>();
+    try (ChunkedLineSource source = source(INPUT, bufferSize)) {
+      while (!source.atEnd()) {
+        StringBuilder line = new StringBuilder();
+        CharSequence part;
+        while ((part = source.nextPart()) != null) {
+          assertThat(part.length()).isLessThanOrEqualTo(bufferSize);
+          line.append(part);
+        }
+        actual.add(line.toString());
+      }
+    }
+
+    assertThat(actual).isEqualTo(readLines(INPUT));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "\n", "\r\n", "\r", "5 5", "5 5\n", "é ü\n5 5"})
+  void handlesEdgeCases(String input) throws IOException {
+    List<String> actual = new ArrayList<>();
+    try (ChunkedLineSource source = source(input, 2)) {
+      CharSequence line;
+      while ((line = source.nextLine()) != null) {
+        actual.add(line.toString());
+      }
+      assertThat(source.atEnd()).isTrue();
+    }
+
+    assertThat(actual).isEqualTo(readLines(input));
+  }
+
+  private static ChunkedLineSource source(String input, int bufferSize) {
+    byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+    return new ChunkedLineSource(
+        Channels.newChannel(new ByteArrayInputStream(bytes)), bufferSize);
+  }
+
+  private static List<String> readLines(String input) throws IOException {
+    List<String> lines = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(new StringReader(input))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+}
@@ -12,6 +12,9 @@ import com.example.mars.domain.RoverPlan;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -184,7 +187,7 @@ class InputParserTest {
   }
 
   @ParameterizedTest
-  @ValueSource(strings = {"LRMX", "ABC", "LRM123", "L R M"})
+  @ValueSource(strings = {"LRMX", "ABC", "LRM123!", "L R M"})
   void parseInstructions_withInvalidCharacters_throwsParseException(String instructions) {
     List<String> input = Arrays.asList("5 5", "1 2 N", instructions);
 
@@ -193,6 +196,38 @@ class InputParserTest {
         .hasMessageContaining("Rover #1 invalid instructions (expected only L, R, M)");
   }
 
+  @ParameterizedTest
+  @ValueSource(strings = {"M500", "(LMMRM)x1000000", "LM3(R(MML)x2M)x12R"})
+  void parseInstructions_withRepetitions_keepsThemUnexpanded(String instructions)
+      throws ParseException {
+    List<String> input = Arrays.asList("5 5", "1 2 N", instructions);
+
+    Mission mission = InputParser.parse(input);
+
+    assertThat(mission.plans().get(0).instructions()).isEqualTo(instructions);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"M0", "(LM", "LM)x2", "(LM)", "(LM)x", "()x3", "M99999999999999999999"})
+  void parseInstructions_withMalformedRepetitions_throwsParseException(String instructions) {
+    List<String> input = Arrays.asList("5 5", "1 2 N", instructions);
+
+    assertThatThrownBy(() -> InputParser.parse(input))
+        .isInstanceOf(ParseException.class)
+        .hasMessageStartingWith("Rover #1 invalid instructions at character ");
+  }
+
+  @Test
+  void parseInstructions_withMalformedRepetitions_reportsTheCharacterAndReason() {
+    List<String> input = Arrays.asList("5 5", "1 2 N", "LM(RM)3");
+
+    assertThatThrownBy(() -> InputParser.parse(input))
+        .isInstanceOf(ParseException.class)
+        .hasMessage(
+            "Rover #1 invalid instructions at character 7: expected 'x' and a count after group"
+                + " in \"LM(RM)3\"");
+  }
+
   @Test
   void parse_withMultipleRovers_indexesCorrectlyInErrors() {
     // Test that second rover gets correct index in error message
@@ -256,4 +291,148 @@ class InputParserTest {
     assertThat(mission.plans().get(0))
         .isEqualTo(new RoverPlan(new Position(0, 0, Direction.N), "L"));
   }
+
+  @Test
+  void randomLines_matchSplitAndRegexParsing() {
+    // Differential check against the original split/regex parsing rules
+    Random random = new Random(42);
+    String alphabet = " \t\u000b\u00010159-+NESWLRMX\u0663";
+    for (int i = 0; i < 20_000; i++) {
+      String plateauLine = i % 4 == 0 ? randomLine(random, alphabet) : "5 5";
+      // A valid position on every other rover, so that instruction lines are reached
+      String positionLine = i % 2 == 0 ? randomLine(random, alphabet) : "1 2 N";
+      String instructionsLine = randomLine(random, alphabet);
+      List<String> input = Arrays.asList(plateauLine, positionLine, instructionsLine);
+
+      String expected = referenceOutcome(plateauLine, positionLine, instructionsLine);
+      String actual;
+      try {
+        actual = InputParser.parse(input).toString();
+      } catch (ParseException e) {
+        actual = e.getMessage();
+      }
+
+      assertThat(actual).as("input %s", input).isEqualTo(expected);
+    }
+  }
+
+  private static String randomLine(Random random, String alphabet) {
+    StringBuilder line = new StringBuilder();
+    int length = 1 + random.nextInt(8);
+    for (int i = 0; i < length; i++) {
+      line.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return line.toString();
+  }
+
+  /** Parses three non-blank lines with the original trim/split/parseInt/matches rules. */
+  private static String referenceOutcome(
+      String plateauLine, String positionLine, String instructionsLine) {
+    List<String> lines =
+        Arrays.asList(plateauLine, positionLine, instructionsLine).stream()
+            .filter(line -> !line.trim().isEmpty())
+            .toList();
+    if (lines.isEmpty()) {
+      return "Input cannot be empty";
+    }
+    String[] plateau = lines.get(0).trim().split("\\s+");
+    String invalidPlateau = "Plateau line invalid (expected \"X Y\"): \"" + lines.get(0) + "\"";
+    if (plateau.length != 2) {
+      return invalidPlateau;
+    }
+    int maxX;
+    int maxY;
+    try {
+      maxX = Integer.parseInt(plateau[0]);
+      maxY = Integer.parseInt(plateau[1]);
+    } catch (NumberFormatException e) {
+      return invalidPlateau;
+    }
+    if (maxX < 0 || maxY < 0) {
+      return "Plateau coordinates must be non-negative: " + maxX + " " + maxY;
+    }
+    if (lines.size() == 1) {
+      return new Mission(new Plateau(maxX, maxY), List.of()).toString();
+    }
+    if (lines.size() != 3) {
+      return "Rover specifications must come in pairs (position line + instructions line)";
+    }
+
+    String[] position = lines.get(1).trim().split("\\s+");
+    String invalidPosition =
+        "Rover #1 position invalid (expected \"X Y HEADING\"): \"" + lines.get(1) + "\"";
+    if (position.length != 3) {
+      return invalidPosition;
+    }
+    int x;
+    int y;
+    try {
+      x = Integer.parseInt(position[0]);
+      y = Integer.parseInt(position[1]);
+    } catch (NumberFormatException e) {
+      return invalidPosition;
+    }
+    Direction heading;
+    try {
+      heading = Direction.valueOf(position[2]);
+    } catch (IllegalArgumentException e) {
+      return "Rover #1 invalid heading (expected N, E, S, or W): \"" + position[2] + "\"";
+    }
+
+    String instructions = lines.get(2).trim();
+    if (!instructions.matches("[LRM]+")) {
+      String error = repetitionError(instructions);
+      if (error != null) {
+        return error;
+      }
+    }
+    if (!new Plateau(maxX, maxY).contains(x, y)) {
+      return "Rover #1 start out of bounds: ("
+          + x
+          + ","
+          + y
+          + ") > plateau ("
+          + maxX
+          + ","
+          + maxY
+          + ")";
+    }
+    return new Mission(
+            new Plateau(maxX, maxY),
+            List.of(new RoverPlan(new Position(x, y, heading), instructions)))
+        .toString();
+  }
+
+  /**
+   * Checks instructions against the repetition grammar, returning null if they follow it. The
+   * random alphabet holds digits but no parentheses, so only instruction counts are covered.
+   */
+  private static String repetitionError(String instructions) {
+    if (!instructions.matches("[LRM0-9]+")) {
+      return "Rover #1 invalid instructions (expected only L, R, M): \"" + instructions + "\"";
+    }
+    Matcher run = Pattern.compile("[LRM]([0-9]*)").matcher(instructions);
+    int end = 0;
+    while (run.find() && run.start() == end) {
+      if (!run.group(1).isEmpty() && Long.parseLong(run.group(1)) == 0) {
+        return invalidRepetition(run.start(1), "count must be positive", instructions);
+      }
+      end = run.end();
+    }
+    if (end < instructions.length()) {
+      String unexpected = "unexpected '" + instructions.charAt(end) + "'";
+      return invalidRepetition(end, unexpected, instructions);
+    }
+    return null;
+  }
+
+  private static String invalidRepetition(int index, String reason, String instructions) {
+    return "Rover #1 invalid instructions at character "
+        + (index + 1)
+        + ": "
+        + reason
+        + " in \""
+        + instructions
+        + "\"";
+  }
 }
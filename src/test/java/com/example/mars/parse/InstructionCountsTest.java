@@ -0,0 +1,98 @@
+package com.example.mars.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class InstructionCountsTest {
+
+  @Test
+  void of_countsEachInstruction() {
+    InstructionCounts counts = InstructionCounts.of("LMLMLMLMMRRM");
+
+    assertThat(counts.left()).isEqualTo(4);
+    assertThat(counts.right()).isEqualTo(2);
+    assertThat(counts.moves()).isEqualTo(6);
+  }
+
+  @Test
+  void of_emptyRange_countsNothing() {
+    InstructionCounts counts = InstructionCounts.of("MXM", 1, 1);
+
+    assertThat(counts.left()).isZero();
+    assertThat(counts.right()).isZero();
+    assertThat(counts.moves()).isZero();
+  }
+
+  @Test
+  void of_longSequences_matchesTheScalarScanner() {
+    Random random = new Random(18);
+    for (int trial = 0; trial < 20; trial++) {
+      String instructions = randomInstructions(random, random.nextInt(50_000));
+      InstructionCounts scalar = scalarCounts(instructions);
+
+      for (CharSequence line :
+          List.of(instructions, new StringBuilder(instructions), byteLine(instructions))) {
+        InstructionCounts counts = InstructionCounts.of(line);
+        assertThat(counts.left()).isEqualTo(scalar.left());
+        assertThat(counts.right()).isEqualTo(scalar.right());
+        assertThat(counts.moves()).isEqualTo(scalar.moves());
+      }
+    }
+  }
+
+  @Test
+  void of_invalidCharacterAnywhere_isNull() {
+    String instructions = randomInstructions(new Random(19), 20_000);
+    // Includes characters whose low byte is an instruction, and positions in the vector tails
+    for (char invalid : new char[] {'X', 'l', ' ', 'Ō', 'Œ'}) {
+      for (int index : new int[] {0, 1, 31, 63, 64, 8191, 8192, 19_998, 19_999}) {
+        String line =
+            instructions.substring(0, index) + invalid + instructions.substring(index + 1);
+
+        assertThat(InstructionCounts.of(line)).as("%s at %d", invalid, index).isNull();
+        if (invalid < 0x80) {
+          assertThat(InstructionCounts.of(byteLine(line))).as("%s at %d", invalid, index).isNull();
+        }
+      }
+    }
+  }
+
+  @Test
+  void of_range_ignoresCharactersOutsideIt() {
+    String line = "XX" + "LRM".repeat(1000) + "XX";
+
+    InstructionCounts counts = InstructionCounts.of(byteLine(line), 2, line.length() - 2);
+
+    assertThat(counts.left()).isEqualTo(1000);
+    assertThat(counts.right()).isEqualTo(1000);
+    assertThat(counts.moves()).isEqualTo(1000);
+  }
+
+  private static InstructionCounts scalarCounts(String instructions) {
+    InstructionCounts counts = InstructionCounts.of("");
+    char[] chars = instructions.toCharArray();
+    assertThat(new InstructionScanner.Scalar().scan(chars, 0, chars.length, counts)).isTrue();
+    return counts;
+  }
+
+  /** Returns the text as a view of a buffer in which it is surrounded by other bytes. */
+  private static ByteLine byteLine(String text) {
+    byte[] bytes = ("5 5\n" + text + "\r\n").getBytes(StandardCharsets.ISO_8859_1);
+    ByteLine line = new ByteLine();
+    line.set(ByteBuffer.wrap(bytes), 4, bytes.length - 2);
+    return line;
+  }
+
+  private static String randomInstructions(Random random, int length) {
+    char[] instructions = new char[length];
+    for (int i = 0; i < length; i++) {
+      instructions[i] = "LRM".charAt(random.nextInt(3));
+    }
+    return new String(instructions);
+  }
+}
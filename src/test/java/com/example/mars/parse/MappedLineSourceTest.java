@@ -0,0 +1,104 @@
+package com.example.mars.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests for MappedLineSource, verifying that windowed mappings split lines exactly like
+ * {@link BufferedReader#readLine()} regardless of where window boundaries fall.
+ */
+class MappedLineSourceTest {
+
+  private static final String INPUT =
+      "5 5\r\n1 2 N\rLMLMLMLMM\n\n3 3 E\r\n"
+          + "MMRMMRMRRMMMRMMRMRRMMMRMMRMRRMMMRMMRMRRM\r\r\n  \t\n9 9 S\nLRM";
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 5, 7, 16, 4096})
+  void splitsLinesLikeBufferedReader(int windowSize) throws IOException {
+    Path file = Files.createTempFile("mission", ".txt");
+    try {
+      Files.writeString(file, INPUT, StandardCharsets.UTF_8);
+
+      List<String> actual = new ArrayList<>();
+      try (MappedLineSource source = new MappedLineSource(file, windowSize)) {
+        CharSequence line;
+        while ((line = source.nextLine()) != null) {
+          actual.add(line.toString());
+        }
+      }
+
+      assertThat(actual).isEqualTo(readLines(INPUT));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "\n", "\r\n", "5 5", "5 5\n", "é ü\n5 5"})
+  void handlesEdgeCases(String input) throws IOException {
+    Path file = Files.createTempFile("mission", ".txt");
+    try {
+      Files.writeString(file, input, StandardCharsets.UTF_8);
+
+      List<String> actual = new ArrayList<>();
+      try (MappedLineSource source = new MappedLineSource(file, 2)) {
+        CharSequence line;
+        while ((line = source.nextLine()) != null) {
+          actual.add(line.toString());
+        }
+      }
+
+      assertThat(actual).isEqualTo(readLines(input));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 3, 4096})
+  void sharedChannelRange_readsOnlyRangeAndLeavesChannelOpen(int windowSize) throws IOException {
+    Path file = Files.createTempFile("mission", ".txt");
+    try {
+      Files.writeString(file, "5 5\n1 2 N\r\nLMLM\n3 3 E\n", StandardCharsets.UTF_8);
+
+      List<String> actual = new ArrayList<>();
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        try (MappedLineSource source = new MappedLineSource(channel, 4, 16, windowSize)) {
+          CharSequence line;
+          while ((line = source.nextLine()) != null) {
+            actual.add(line.toString());
+          }
+        }
+        assertThat(channel.isOpen()).isTrue();
+      }
+
+      assertThat(actual).containsExactly("1 2 N", "LMLM");
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static List<String> readLines(String input) throws IOException {
+    List<String> lines = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(new StringReader(input))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+}
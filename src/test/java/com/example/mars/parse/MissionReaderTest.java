@@ -0,0 +1,162 @@
+package com.example.mars.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.ParseException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Unit tests for the streaming MissionReader, verifying that it yields the same plans and reports
+ * the same errors as {@link InputParser#parse(List)}.
+ */
+class MissionReaderTest {
+
+  @Test
+  void canonicalInput_yieldsPlansInOrder() throws Exception {
+    String input = "5 5\n1 2 N\nLMLMLMLMM\n3 3 E\nMMRMMRMRRM\n";
+
+    try (MissionReader reader = MissionReader.open(new StringReader(input))) {
+      assertThat(reader.plateau()).isEqualTo(new Plateau(5, 5));
+      assertThat(reader.next())
+          .isEqualTo(new RoverPlan(new Position(1, 2, Direction.N), "LMLMLMLMM"));
+      assertThat(reader.roverCount()).isEqualTo(1);
+      assertThat(reader.next())
+          .isEqualTo(new RoverPlan(new Position(3, 3, Direction.E), "MMRMMRMRRM"));
+      assertThat(reader.next()).isNull();
+      assertThat(reader.roverCount()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void nullInput_throwsParseException() {
+    assertThatThrownBy(() -> MissionReader.open((Reader) null))
+        .isInstanceOf(ParseException.class)
+        .hasMessage("Input lines cannot be null");
+  }
+
+  @Test
+  void unboundedInput_isParsedIncrementally() throws Exception {
+    // A source that never ends would exhaust memory if it were materialized before parsing
+    try (MissionReader reader = MissionReader.open(new EndlessMissionReader())) {
+      for (int i = 0; i < 100_000; i++) {
+        assertThat(reader.next()).isNotNull();
+      }
+      assertThat(reader.roverCount()).isEqualTo(100_000);
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("inputs")
+  void matchesSequentialParser(List<String> lines) throws IOException {
+    Mission expected = null;
+    ParseException expectedError = null;
+    try {
+      expected = InputParser.parse(lines);
+    } catch (ParseException e) {
+      expectedError = e;
+    }
+
+    String input = String.join("\n", lines);
+    assertSameOutcome(() -> MissionReader.open(new StringReader(input)), expected, expectedError);
+
+    Path file = Files.createTempFile("mission", ".txt");
+    try {
+      Files.writeString(file, input, StandardCharsets.UTF_8);
+      assertSameOutcome(() -> MissionReader.open(file), expected, expectedError);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static void assertSameOutcome(
+      ReaderFactory factory, Mission expected, ParseException expectedError) throws IOException {
+    try (MissionReader reader = factory.open()) {
+      List<RoverPlan> plans = new ArrayList<>();
+      RoverPlan plan;
+      while ((plan = reader.next()) != null) {
+        plans.add(plan);
+      }
+      assertThat(expectedError).isNull();
+      assertThat(new Mission(reader.plateau(), plans)).isEqualTo(expected);
+    } catch (ParseException e) {
+      assertThat(expectedError).isNotNull();
+      assertThat(e.getMessage()).isEqualTo(expectedError.getMessage());
+    }
+  }
+
+  static Stream<Arguments> inputs() {
+    return Stream.of(
+        Arguments.of(Arrays.asList("5 5", "1 2 N", "LMLMLMLMM", "3 3 E", "MMRMMRMRRM")),
+        Arguments.of(Arrays.asList("", "5 5", "  ", "1 2 N", "", "LMLM", "\t")),
+        Arguments.of(Arrays.asList("5 5")),
+        Arguments.of(Arrays.asList("   ", "\t", "")),
+        Arguments.of(Arrays.asList("5 X", "1 2 N", "LRM")),
+        Arguments.of(Arrays.asList("-1 5")),
+        Arguments.of(Arrays.asList("5 5", "1 2 N")),
+        Arguments.of(Arrays.asList("5 5", "1 2 N", "   ")),
+        Arguments.of(Arrays.asList("5 5", "1 2 X", "LRM")),
+        Arguments.of(Arrays.asList("5 5", "1 2", "LRM")),
+        Arguments.of(Arrays.asList("5 5", "1 2 N", "LRMX")),
+        Arguments.of(Arrays.asList("5 5", "1 2 N", "LRM", "7 1 E", "M")),
+        // Unpaired lines are reported ahead of an earlier rover error
+        Arguments.of(Arrays.asList("5 5", "1 2 N", "LRM", "7 1 E", "M", "1 1 N")),
+        Arguments.of(Arrays.asList("5 5", "1 2 Q", "LRM", "1 1 N")),
+        // Lines outside the plain ASCII shape exercise the general parsing path
+        Arguments.of(Arrays.asList(" 5\t 5 ", "\t+1  02 N\t", "\u000bLRM ")),
+        Arguments.of(Arrays.asList("5 5", "1 2 NE", "LRM")),
+        Arguments.of(Arrays.asList("5 5", "12345678901 2 N", "LRM")),
+        Arguments.of(Arrays.asList("2147483647 5", "2147483647 2 N", "LRM")),
+        Arguments.of(Arrays.asList("5 5", "-0 2 S", "M")),
+        Arguments.of(Arrays.asList("5 5", "1 2 \u00c9", "LRM")),
+        Arguments.of(Arrays.asList("5 5", "1 2 N", "LR\u00c9M")));
+  }
+
+  /** Opens a mission reader for a test input. */
+  private interface ReaderFactory {
+    MissionReader open() throws ParseException, IOException;
+  }
+
+  /** Reader that produces an infinite stream of valid rover plans after a plateau line. */
+  private static final class EndlessMissionReader extends Reader {
+    private static final String PLATEAU = "9 9\n";
+    private static final String ROVER = "1 2 N\nLMLMLMLMM\n";
+    private long offset;
+
+    @Override
+    public int read(char[] buffer, int off, int len) {
+      for (int i = 0; i < len; i++) {
+        buffer[off + i] = charAt(offset++);
+      }
+      return len;
+    }
+
+    private static char charAt(long index) {
+      if (index < PLATEAU.length()) {
+        return PLATEAU.charAt((int) index);
+      }
+      return ROVER.charAt((int) ((index - PLATEAU.length()) % ROVER.length()));
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -0,0 +1,143 @@
+package com.example.mars.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.ParseException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Unit tests for ParallelMissionParser, verifying that splitting a file into ranges yields the same
+ * mission and the same errors as {@link InputParser#parse(List)}.
+ */
+class ParallelMissionParserTest {
+
+  private static ForkJoinPool pool;
+
+  @BeforeAll
+  static void createPool() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @AfterAll
+  static void shutdownPool() {
+    pool.shutdown();
+  }
+
+  @ParameterizedTest
+  @MethodSource("inputs")
+  void matchesSequentialParser(String input) throws IOException {
+    for (int minChunkBytes : new int[] {1, 3, 7, 64, 1 << 20}) {
+      assertSameOutcome(input, minChunkBytes);
+    }
+  }
+
+  @Test
+  void randomMissions_matchSequentialParser() throws IOException {
+    Random random = new Random(42);
+    String[] terminators = {"\n", "\r\n", "\r"};
+    for (int mission = 0; mission < 200; mission++) {
+      StringBuilder input = new StringBuilder();
+      List<String> lines = new ArrayList<>();
+      lines.add("9 9");
+      int rovers = random.nextInt(40);
+      for (int rover = 0; rover < rovers; rover++) {
+        lines.add(random.nextInt(10) + " " + random.nextInt(10) + " " + "NESW".charAt(rover % 4));
+        lines.add("LRM".repeat(random.nextInt(20)) + "M");
+      }
+      if (random.nextInt(4) == 0 && lines.size() > 1) {
+        // Corrupt one line so that some rover is reported as invalid
+        int line = 1 + random.nextInt(lines.size() - 1);
+        lines.set(line, lines.get(line) + (line % 2 == 1 ? " X" : "Q"));
+      }
+      if (random.nextInt(8) == 0 && lines.size() > 1) {
+        lines.remove(1 + random.nextInt(lines.size() - 1));
+      }
+      for (String line : lines) {
+        while (random.nextInt(5) == 0) {
+          input.append(random.nextBoolean() ? " \t" : "").append(terminators[random.nextInt(3)]);
+        }
+        input.append(line).append(terminators[random.nextInt(3)]);
+      }
+      assertSameOutcome(input.toString(), 1 + random.nextInt(64));
+    }
+  }
+
+  @Test
+  void lineStart_findsFirstLineAtOrAfterPosition() throws IOException {
+    Path file = Files.createTempFile("mission", ".txt");
+    try {
+      Files.writeString(file, "ab\r\ncd\ref\ngh");
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        assertThat(ParallelMissionParser.lineStart(channel, 0)).isEqualTo(0);
+        assertThat(ParallelMissionParser.lineStart(channel, 1)).isEqualTo(4);
+        assertThat(ParallelMissionParser.lineStart(channel, 3)).isEqualTo(4); // inside CRLF
+        assertThat(ParallelMissionParser.lineStart(channel, 4)).isEqualTo(4);
+        assertThat(ParallelMissionParser.lineStart(channel, 5)).isEqualTo(7);
+        assertThat(ParallelMissionParser.lineStart(channel, 8)).isEqualTo(10);
+        assertThat(ParallelMissionParser.lineStart(channel, 11)).isEqualTo(12);
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static void assertSameOutcome(String input, int minChunkBytes) throws IOException {
+    Path file = Files.createTempFile("mission", ".txt");
+    try {
+      Files.writeString(file, input, StandardCharsets.UTF_8);
+      Mission expected = null;
+      String expectedError = null;
+      try {
+        expected = InputParser.parse(Files.readAllLines(file));
+      } catch (ParseException e) {
+        expectedError = e.getMessage();
+      }
+
+      try {
+        Mission actual = ParallelMissionParser.parse(file, pool, minChunkBytes);
+        assertThat(expectedError).isNull();
+        assertThat(actual).isEqualTo(expected);
+      } catch (ParseException e) {
+        assertThat(e.getMessage()).isEqualTo(expectedError);
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  static Stream<Arguments> inputs() {
+    return Stream.of(
+        Arguments.of("5 5\n1 2 N\nLMLMLMLMM\n3 3 E\nMMRMMRMRRM\n"),
+        Arguments.of("\n5 5\n  \n1 2 N\n\nLMLM\n\t"),
+        Arguments.of("5 5"),
+        Arguments.of(""),
+        Arguments.of("   \n\t\n"),
+        Arguments.of("5 X\n1 2 N\nLRM"),
+        Arguments.of("5 5\n1 2 N"),
+        Arguments.of("5 5\n1 2 X\nLRM"),
+        Arguments.of("5 5\n1 2 N\nLRMX"),
+        Arguments.of("5 5\n1 2 N\nLRM\n7 1 E\nM"),
+        Arguments.of("5 5\n1 2 N\nLRM\n7 1 E\nM\n1 1 N"),
+        Arguments.of("5 5\r\n1 2 N\r\nLRM\r\n0 0 S\r\nM\r\n1 2 Q\r\nL\r\n3 3 E\r\nLLLX\r\n"),
+        Arguments.of(" 5\t 5 \r\t+1  02 N\t\r\u000bLRM "),
+        Arguments.of("5 5\n1 2 É\nLRM"),
+        Arguments.of("5 5\n1 2 N\nLRÉM"));
+  }
+}
@@ -0,0 +1,259 @@
+package com.example.mars.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.mars.domain.Direction;
+import com.example.mars.domain.InstructionStream;
+import com.example.mars.domain.Mission;
+import com.example.mars.domain.ParseException;
+import com.example.mars.domain.Plateau;
+import com.example.mars.domain.Position;
+import com.example.mars.domain.RoverPlan;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Unit tests for StreamingMissionReader, verifying that streamed instructions yield the same plans
+ * and the same errors as {@link InputParser#parse(List)}.
+ */
+class StreamingMissionReaderTest {
+
+  private static final String INVALID_INSTRUCTIONS =
+      " invalid instructions (expected only L, R, M)";
+
+  @Test
+  void canonicalInput_streamsRoversInOrder() throws Exception {
+    String input = "5 5\n1 2 N\nLMLMLMLMM\n3 3 E\nMMRMMRMRRM\n";
+
+    try (StreamingMissionReader reader = open(input, 4)) {
+      assertThat(reader.plateau()).isEqualTo(new Plateau(5, 5));
+      assertThat(reader.nextRover()).isEqualTo(new Position(1, 2, Direction.N));
+      assertThat(readAll(reader.instructions())).isEqualTo("LMLMLMLMM");
+      assertThat(reader.nextRover()).isEqualTo(new Position(3, 3, Direction.E));
+      assertThat(reader.roverCount()).isEqualTo(2);
+      assertThat(readAll(reader.instructions())).isEqualTo("MMRMMRMRRM");
+      assertThat(reader.nextRover()).isNull();
+    }
+  }
+
+  @Test
+  void unreadInstructions_areValidatedWhenSkipped() throws Exception {
+    String input = "5 5\n1 2 N\nLMLMLXLMM\n";
+
+    try (StreamingMissionReader reader = open(input, 4)) {
+      assertThat(reader.nextRover()).isEqualTo(new Position(1, 2, Direction.N));
+      assertThatThrownBy(reader::nextRover)
+          .isInstanceOf(ParseException.class)
+          .hasMessage("Rover #1" + INVALID_INSTRUCTIONS + " at character 6");
+    }
+  }
+
+  @Test
+  void invalidCharacterAfterTrailingBlanks_isReportedAtFirstBlank() throws Exception {
+    String input = "5 5\n1 2 N\n  LMLM  \t M\n";
+
+    try (StreamingMissionReader reader = open(input, 3)) {
+      reader.nextRover();
+      assertThatThrownBy(() -> readAll(reader.instructions()))
+          .isInstanceOf(ParseException.class)
+          .hasMessage("Rover #1" + INVALID_INSTRUCTIONS + " at character 5");
+    }
+  }
+
+  @Test
+  void repetitionSyntax_isRejectedAsUnsupported() throws Exception {
+    for (String instructions : List.of("LM500", "LM(LM)x1000", "LMx", "LM)")) {
+      String input = "5 5\n1 2 N\nLRM\n3 3 E\n" + instructions + "\n";
+
+      try (StreamingMissionReader reader = open(input, 2)) {
+        reader.nextRover();
+        assertThat(reader.nextRover()).isEqualTo(new Position(3, 3, Direction.E));
+        assertThatThrownBy(() -> readAll(reader.instructions()))
+            .as(instructions)
+            .isInstanceOf(ParseException.class)
+            .hasMessage(
+                "Rover #2 uses repetition syntax at character 3,"
+                    + " which is not supported with --stream-instructions");
+      }
+    }
+  }
+
+  @Test
+  void gigantic_instructionLine_isStreamedInConstantMemory() throws Exception {
+    long length = 50_000_000L;
+    InputStream input = new GeneratedInput("9 9\n4 4 N\n", 'R', length, "\n");
+
+    try (StreamingMissionReader reader = StreamingMissionReader.open(input)) {
+      assertThat(reader.nextRover()).isEqualTo(new Position(4, 4, Direction.N));
+      long total = 0;
+      CharSequence chunk;
+      while ((chunk = reader.instructions().nextChunk()) != null) {
+        assertThat(chunk.length()).isLessThanOrEqualTo(ChunkedLineSource.DEFAULT_BUFFER_SIZE);
+        total += chunk.length();
+      }
+      assertThat(total).isEqualTo(length);
+      assertThat(reader.nextRover()).isNull();
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("inputs")
+  void matchesSequentialParser(List<String> lines) throws IOException {
+    for (int bufferSize : new int[] {1, 2, 5, 4096}) {
+      assertSameOutcome(lines, bufferSize);
+    }
+  }
+
+  @Test
+  void randomMissions_matchSequentialParser() throws IOException {
+    Random random = new Random(42);
+    for (int mission = 0; mission < 300; mission++) {
+      List<String> lines = new ArrayList<>();
+      lines.add("9 9");
+      int rovers = random.nextInt(6);
+      for (int rover = 0; rover < rovers; rover++) {
+        lines.add(random.nextInt(12) + " " + random.nextInt(10) + " " + "NESW".charAt(rover % 4));
+        StringBuilder instructions = new StringBuilder(random.nextBoolean() ? " " : "");
+        int length = 1 + random.nextInt(30);
+        for (int i = 0; i < length; i++) {
+          instructions.append("LRM".charAt(random.nextInt(3)));
+        }
+        if (random.nextInt(4) == 0) {
+          // Invalid characters, internal blanks or trailing blanks
+          int at = random.nextInt(instructions.length() + 1);
+          instructions.insert(at, "X \tÉ".charAt(random.nextInt(4)));
+        }
+        lines.add(instructions.toString());
+        if (random.nextInt(5) == 0) {
+          lines.add("");
+        }
+      }
+      if (random.nextInt(10) == 0) {
+        lines.add("1 1 N");
+      }
+      assertSameOutcome(lines, 1 + random.nextInt(8));
+    }
+  }
+
+  private static void assertSameOutcome(List<String> lines, int bufferSize) throws IOException {
+    Mission expected = null;
+    ParseException expectedError = null;
+    try {
+      expected = InputParser.parse(lines);
+    } catch (ParseException e) {
+      expectedError = e;
+    }
+
+    try (StreamingMissionReader reader = open(String.join("\n", lines), bufferSize)) {
+      List<RoverPlan> plans = new ArrayList<>();
+      Position start;
+      while ((start = reader.nextRover()) != null) {
+        plans.add(new RoverPlan(start, readAll(reader.instructions())));
+      }
+      assertThat(expectedError).isNull();
+      assertThat(new Mission(reader.plateau(), plans)).isEqualTo(expected);
+    } catch (ParseException e) {
+      assertThat(expectedError).isNotNull();
+      String expectedMessage = expectedError.getMessage();
+      int invalid = expectedMessage.indexOf(INVALID_INSTRUCTIONS);
+      if (invalid >= 0) {
+        // Streamed instructions are reported by position rather than quoted
+        String prefix = expectedMessage.substring(0, invalid + INVALID_INSTRUCTIONS.length());
+        assertThat(e.getMessage()).startsWith(prefix + " at character ");
+      } else {
+        assertThat(e.getMessage()).isEqualTo(expectedMessage);
+      }
+    }
+  }
+
+  static Stream<Arguments> inputs() {
+    return Stream.of(
+        Arguments.of(Arrays.asList("5 5", "1 2 N", "LMLMLMLMM", "3 3 E", "MMRMMRMRRM")),
+        Arguments.of(Arrays.asList("", "5 5", "  ", "1 2 N", "", "LMLM", "\t")),
+        Arguments.of(Arrays.asList("5 5")),
+        Arguments.of(Arrays.asList("   ", "\t", "")),
+        Arguments.of(Arrays.asList("5 X", "1 2 N", "LRM")),
+        Arguments.of(Arrays.asList("5 5", "1 2 N")),
+        Arguments.of(Arrays.asList("5 5", "1 2 N", "   ")),
+        Arguments.of(Arrays.asList("5 5", "1 2 X", "LRM")),
+        Arguments.of(Arrays.asList("5 5", "1 2", "LRM")),
+        Arguments.of(Arrays.asList("5 5", "1 2 N", "LRMX")),
+        Arguments.of(Arrays.asList("5 5", "1 2 N", "LRM", "7 1 E", "M")),
+        Arguments.of(Arrays.asList("5 5", "1 2 N", "LRM", "7 1 E", "M", "1 1 N")),
+        Arguments.of(Arrays.asList("5 5", "1 2 Q", "LRM", "1 1 N")),
+        Arguments.of(Arrays.asList("5 5", "7 1 E", "LRMX")),
+        Arguments.of(Arrays.asList(" 5\t 5 ", "\t+1  02 N\t", "\u000bLRM ")),
+        Arguments.of(Arrays.asList("5 5", "1 2 N", "LR M")),
+        Arguments.of(Arrays.asList("5 5", "1 2 N", "LRÉM")));
+  }
+
+  private static StreamingMissionReader open(String input, int bufferSize)
+      throws ParseException, IOException {
+    byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+    return StreamingMissionReader.open(
+        new ChunkedLineSource(Channels.newChannel(new ByteArrayInputStream(bytes)), bufferSize));
+  }
+
+  private static String readAll(InstructionStream instructions)
+      throws ParseException, IOException {
+    StringBuilder text = new StringBuilder();
+    CharSequence chunk;
+    while ((chunk = instructions.nextChunk()) != null) {
+      text.append(chunk);
+    }
+    return text.toString();
+  }
+
+  /** Input stream of a prefix, one character repeated many times, and a suffix. */
+  private static final class GeneratedInput extends InputStream {
+    private final byte[] prefix;
+    private final byte[] suffix;
+    private final byte fill;
+    private final long total;
+    private long offset;
+
+    private GeneratedInput(String prefix, char fill, long count, String suffix) {
+      this.prefix = prefix.getBytes(StandardCharsets.US_ASCII);
+      this.suffix = suffix.getBytes(StandardCharsets.US_ASCII);
+      this.fill = (byte) fill;
+      this.total = this.prefix.length + count + this.suffix.length;
+    }
+
+    @Override
+    public int read() {
+      byte[] one = new byte[1];
+      return read(one, 0, 1) < 0 ? -1 : one[0];
+    }
+
+    @Override
+    public int read(byte[] buffer, int off, int len) {
+      if (offset >= total) {
+        return -1;
+      }
+      int count = (int) Math.min(len, total - offset);
+      for (int i = 0; i < count; i++, offset++) {
+        if (offset < prefix.length) {
+          buffer[off + i] = prefix[(int) offset];
+        } else if (offset >= total - suffix.length) {
+          buffer[off + i] = suffix[(int) (offset - (total - suffix.length))];
+        } else {
+          buffer[off + i] = fill;
+        }
+      }
+      return count;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.example.mars.parse;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Validates and counts instructions a whole vector of characters at a time with the incubating
+ * Vector API.
+ *
+ * <p>Each vector is compared against L, R and M at once. If the union of the three masks is not
+ * all set, some character is not an instruction; otherwise the population counts of the masks are
+ * the counts of each instruction. The tail that does not fill a vector is scanned by the {@link
+ * InstructionScanner.Scalar scalar scanner}.
+ *
+ * <p>Compiled only by builds made with {@code -PvectorApi}, and loaded reflectively by {@link
+ * InstructionScanner#get()} when the JVM runs with {@code --add-modules jdk.incubator.vector}.
+ */
+final class VectorInstructionScanner extends InstructionScanner {
+
+  private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Short> CHARS = ShortVector.SPECIES_PREFERRED;
+
+  private final InstructionScanner tail = new InstructionScanner.Scalar();
+
+  @Override
+  boolean scan(byte[] bytes, int from, int to, InstructionCounts counts) {
+    long left = 0;
+    long right = 0;
+    long moves = 0;
+    int i = from;
+    for (int bound = from + BYTES.loopBound(to - from); i < bound; i += BYTES.length()) {
+      ByteVector block = ByteVector.fromArray(BYTES, bytes, i);
+      VectorMask<Byte> lefts = block.eq((byte) 'L');
+      VectorMask<Byte> rights = block.eq((byte) 'R');
+      VectorMask<Byte> movesMask = block.eq((byte) 'M');
+      if (!lefts.or(rights).or(movesMask).allTrue()) {
+        return false;
+      }
+      left += lefts.trueCount();
+      right += rights.trueCount();
+      moves += movesMask.trueCount();
+    }
+    counts.add(left, right, moves);
+    return tail.scan(bytes, i, to, counts);
+  }
+
+  @Override
+  boolean scan(char[] chars, int from, int to, InstructionCounts counts) {
+    long left = 0;
+    long right = 0;
+    long moves = 0;
+    int i = from;
+    for (int bound = from + CHARS.loopBound(to - from); i < bound; i += CHARS.length()) {
+      ShortVector block = ShortVector.fromCharArray(CHARS, chars, i);
+      VectorMask<Short> lefts = block.eq((short) 'L');
+      VectorMask<Short> rights = block.eq((short) 'R');
+      VectorMask<Short> movesMask = block.eq((short) 'M');
+      if (!lefts.or(rights).or(movesMask).allTrue()) {
+        return false;
+      }
+      left += lefts.trueCount();
+      right += rights.trueCount();
+      moves += movesMask.trueCount();
+    }
+    counts.add(left, right, moves);
+    return tail.scan(chars, i, to, counts);
+  }
+
+  @Override
+  boolean isVectorized() {
+    return true;
+  }
+}